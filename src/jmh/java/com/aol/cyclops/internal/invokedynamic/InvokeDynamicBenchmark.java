@@ -0,0 +1,125 @@
+package com.aol.cyclops.internal.invokedynamic;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares InvokeDynamic#execute against the previous lookup path ({@link LegacyInvokeDynamic}) and reflective Method#invoke
+ * for a single receiver type (monomorphic) and for six receiver types (megamorphic, beyond the inline cache limit)
+ *
+ * gradle jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokeDynamicBenchmark {
+
+    private final InvokeDynamic dyn = new InvokeDynamic();
+    private final LegacyInvokeDynamic legacy = new LegacyInvokeDynamic();
+    private final InvokeDynamic.Site getSite = InvokeDynamic.site("get", 0);
+
+    private Object mono;
+    private Object[] mega;
+    private Method monoMethod;
+    private Method[] megaMethods;
+    private int index = 0;
+
+    @Setup
+    public void setup() throws Exception {
+        mono = new AtomicInteger(
+                                 1);
+        mega = new Object[] { new AtomicInteger(
+                                                1),
+                              new AtomicLong(
+                                             2),
+                              new AtomicReference<>(
+                                                    3),
+                              Optional.of(4), new ThreadLocal<Integer>() {
+                                  @Override
+                                  protected Integer initialValue() {
+                                      return 5;
+                                  }
+                              }, new java.util.concurrent.CompletableFuture<Integer>() };
+        ((java.util.concurrent.CompletableFuture<Integer>) mega[5]).complete(6);
+        monoMethod = mono.getClass()
+                         .getMethod("get");
+        megaMethods = new Method[mega.length];
+        for (int i = 0; i < mega.length; i++) {
+            megaMethods[i] = mega[i].getClass()
+                                    .getMethod("get");
+            megaMethods[i].setAccessible(true);
+        }
+    }
+
+    private int next() {
+        final int i = index++;
+        if (index == mega.length)
+            index = 0;
+        return i;
+    }
+
+    @Benchmark
+    public Object monomorphicReflection() throws Exception {
+        return monoMethod.invoke(mono);
+    }
+
+    @Benchmark
+    public Object monomorphicLegacy() {
+        return legacy.execute("get", mono)
+                     .get();
+    }
+
+    @Benchmark
+    public Object monomorphicExecute() {
+        return dyn.execute("get", mono)
+                  .get();
+    }
+
+    @Benchmark
+    public Object monomorphicSite() {
+        return getSite.execute(mono)
+                      .get();
+    }
+
+    @Benchmark
+    public Object megamorphicReflection() throws Exception {
+        final int i = next();
+        return megaMethods[i].invoke(mega[i]);
+    }
+
+    @Benchmark
+    public Object megamorphicLegacy() {
+        return legacy.execute("get", mega[next()])
+                     .get();
+    }
+
+    @Benchmark
+    public Object megamorphicExecute() {
+        return dyn.execute("get", mega[next()])
+                  .get();
+    }
+
+    @Benchmark
+    public Object megamorphicSite() {
+        return getSite.execute(mega[next()])
+                      .get();
+    }
+}
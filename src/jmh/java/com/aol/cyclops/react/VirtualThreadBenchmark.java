@@ -0,0 +1,71 @@
+package com.aol.cyclops.react;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.react.collectors.lazy.MaxActive;
+
+/**
+ * Compares a LazyFutureStream of blocking (simulated I/O) tasks run on a fixed pool of platform threads, against the same
+ * pipeline run with a virtual thread per task. Run on JDK 21+ to compare against virtual threads, on earlier JDKs the
+ * virtual builder falls back to a cached pool of platform threads.
+ *
+ * gradle jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    @Param({ "100", "1000" })
+    int tasks;
+
+    private LazyReact platform;
+    private LazyReact virtual;
+
+    @Setup
+    public void setup() {
+        platform = LazyReact.parallelBuilder(MaxActive.IO.getMaxActive())
+                            .withMaxActive(MaxActive.IO);
+        virtual = LazyReact.virtualThreadBuilder();
+    }
+
+    private static int blockingIO(final int i) {
+        try {
+            Thread.sleep(5);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+        return i;
+    }
+
+    @Benchmark
+    public long platformThreads() {
+        return platform.range(0, tasks)
+                       .map(VirtualThreadBenchmark::blockingIO)
+                       .count();
+    }
+
+    @Benchmark
+    public long virtualThreads() {
+        return virtual.range(0, tasks)
+                      .map(VirtualThreadBenchmark::blockingIO)
+                      .count();
+    }
+}
@@ -0,0 +1,80 @@
+package com.aol.cyclops;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * A Monoid over primitive doubles, reductions with {@link com.aol.cyclops.control.StreamUtils#reduce(java.util.stream.DoubleStream, DoubleMonoid...)}
+ * combine unboxed values. As a Monoid&lt;Double&gt; it can also be used anywhere a boxed Monoid is accepted.
+ * 
+ * <pre>
+ * {@code
+ *   double[] stats = StreamUtils.reduce(DoubleStream.of(1,2,3), DoubleMonoid.sum(), DoubleMonoid.min(), DoubleMonoid.max());
+ *   //[6.0,1.0,3.0]
+ * }
+ * </pre>
+ * 
+ * @author johnmcclean
+ *
+ */
+public interface DoubleMonoid extends Monoid<Double> {
+
+    /**
+     * @return Identity element, unboxed
+     */
+    double zeroAsDouble();
+
+    /**
+     * Combine two doubles without boxing
+     */
+    double applyAsDouble(double t, double u);
+
+    @Override
+    default Double zero() {
+        return zeroAsDouble();
+    }
+
+    @Override
+    default Double apply(final Double t, final Double u) {
+        return applyAsDouble(t, u);
+    }
+
+    /**
+     * @param zero Identity element
+     * @param combiner Combining function
+     * @return DoubleMonoid consisting of the supplied identity element and combiner
+     */
+    public static DoubleMonoid of(final double zero, final DoubleBinaryOperator combiner) {
+        return new DoubleMonoid() {
+            @Override
+            public double zeroAsDouble() {
+                return zero;
+            }
+
+            @Override
+            public double applyAsDouble(final double t, final double u) {
+                return combiner.applyAsDouble(t, u);
+            }
+        };
+    }
+
+    /**
+     * @return Sum of doubles
+     */
+    public static DoubleMonoid sum() {
+        return of(0, Double::sum);
+    }
+
+    /**
+     * @return Minimum double, Double.POSITIVE_INFINITY if there are none
+     */
+    public static DoubleMonoid min() {
+        return of(Double.POSITIVE_INFINITY, Math::min);
+    }
+
+    /**
+     * @return Maximum double, Double.NEGATIVE_INFINITY if there are none
+     */
+    public static DoubleMonoid max() {
+        return of(Double.NEGATIVE_INFINITY, Math::max);
+    }
+}
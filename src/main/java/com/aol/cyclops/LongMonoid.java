@@ -0,0 +1,80 @@
+package com.aol.cyclops;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A Monoid over primitive longs, reductions with {@link com.aol.cyclops.control.StreamUtils#reduce(java.util.stream.LongStream, LongMonoid...)}
+ * combine unboxed values. As a Monoid&lt;Long&gt; it can also be used anywhere a boxed Monoid is accepted.
+ * 
+ * <pre>
+ * {@code
+ *   long[] stats = StreamUtils.reduce(LongStream.of(1,2,3), LongMonoid.sum(), LongMonoid.min(), LongMonoid.max());
+ *   //[6,1,3]
+ * }
+ * </pre>
+ * 
+ * @author johnmcclean
+ *
+ */
+public interface LongMonoid extends Monoid<Long> {
+
+    /**
+     * @return Identity element, unboxed
+     */
+    long zeroAsLong();
+
+    /**
+     * Combine two longs without boxing
+     */
+    long applyAsLong(long t, long u);
+
+    @Override
+    default Long zero() {
+        return zeroAsLong();
+    }
+
+    @Override
+    default Long apply(final Long t, final Long u) {
+        return applyAsLong(t, u);
+    }
+
+    /**
+     * @param zero Identity element
+     * @param combiner Combining function
+     * @return LongMonoid consisting of the supplied identity element and combiner
+     */
+    public static LongMonoid of(final long zero, final LongBinaryOperator combiner) {
+        return new LongMonoid() {
+            @Override
+            public long zeroAsLong() {
+                return zero;
+            }
+
+            @Override
+            public long applyAsLong(final long t, final long u) {
+                return combiner.applyAsLong(t, u);
+            }
+        };
+    }
+
+    /**
+     * @return Sum of longs
+     */
+    public static LongMonoid sum() {
+        return of(0, Long::sum);
+    }
+
+    /**
+     * @return Minimum long, Long.MAX_VALUE if there are none
+     */
+    public static LongMonoid min() {
+        return of(Long.MAX_VALUE, Math::min);
+    }
+
+    /**
+     * @return Maximum long, Long.MIN_VALUE if there are none
+     */
+    public static LongMonoid max() {
+        return of(Long.MIN_VALUE, Math::max);
+    }
+}
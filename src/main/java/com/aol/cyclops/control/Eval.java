@@ -2,8 +2,8 @@ package com.aol.cyclops.control;
 
 import static com.aol.cyclops.control.For.Values.each2;
 
+import java.util.ArrayDeque;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
@@ -21,7 +21,6 @@ import com.aol.cyclops.Monoid;
 import com.aol.cyclops.Reducer;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.persistent.PVectorX;
-import com.aol.cyclops.data.collections.extensions.standard.DequeX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.types.Combiner;
 import com.aol.cyclops.types.Filterable;
@@ -32,7 +31,6 @@ import com.aol.cyclops.types.To;
 import com.aol.cyclops.types.Value;
 import com.aol.cyclops.types.applicative.ApplicativeFunctor;
 import com.aol.cyclops.types.stream.reactive.ValueSubscriber;
-import com.aol.cyclops.util.function.Memoize;
 
 /**
  * Represents a computation that can be defered (always), cached (later) or immediate(now).
@@ -504,11 +502,11 @@ public interface Eval<T>
         public static class Later<T> extends Rec<T>implements Eval<T> {
 
             Later(final Function<Object, ? extends T> s) {
-                super(PVectorX.of(Rec.raw(Memoize.memoizeFunction(s))));
+                super(null, s, false);
             }
 
-            Later(final PVectorX<Function<Object, Object>> s) {
-                super(s);
+            Later(final Rec<?> parent, final Function<?, ?> fn, final boolean flat) {
+                super(parent, fn, flat);
 
             }
 
@@ -516,18 +514,22 @@ public interface Eval<T>
             public <R> Eval<R> map(final Function<? super T, ? extends R> mapper) {
 
                 return new Later<R>(
-                                    super.fns.plus(Rec.raw(Memoize.memoizeFunction(mapper))));
+                                    this, mapper, false);
             }
 
             @Override
             public <R> Eval<R> flatMap(final Function<? super T, ? extends MonadicValue<? extends R>> mapper) {
-                final RecFunction s = __ -> asEval(mapper.apply(super.apply())).steps();
 
                 return new Later<R>(
-                                    PVectorX.of(s));
+                                    this, mapper, true);
 
             }
 
+            @Override
+            boolean memoize() {
+                return true;
+            }
+
             @Override
             public T get() {
                 return super.get();
@@ -577,11 +579,11 @@ public interface Eval<T>
         public static class Always<T> extends Rec<T>implements Eval<T> {
 
             Always(final Function<Object, ? extends T> s) {
-                super(PVectorX.of(Rec.raw(s)));
+                super(null, s, false);
             }
 
-            Always(final PVectorX<Function<Object, Object>> s) {
-                super(s);
+            Always(final Rec<?> parent, final Function<?, ?> fn, final boolean flat) {
+                super(parent, fn, flat);
 
             }
 
@@ -589,16 +591,20 @@ public interface Eval<T>
             public <R> Eval<R> map(final Function<? super T, ? extends R> mapper) {
 
                 return new Always<R>(
-                                     fns.plus(Rec.raw(mapper)));
+                                     this, mapper, false);
 
             }
 
             @Override
             public <R> Eval<R> flatMap(final Function<? super T, ? extends MonadicValue<? extends R>> mapper) {
-                final RecFunction s = __ -> asEval(mapper.apply(apply())).steps();
 
                 return new Always<R>(
-                                     PVectorX.of(s));
+                                     this, mapper, true);
+            }
+
+            @Override
+            boolean memoize() {
+                return false;
             }
 
             @Override
@@ -644,44 +650,160 @@ public interface Eval<T>
 
         }
 
-        private static class Rec<T> {
-            final PVectorX<Function<Object, Object>> fns;
-            private final static Object VOID = new Object();
+        /**
+         * A single step in an Eval chain : either a source (no parent) or a map / flatMap over a parent step.
+         * 
+         * Chains are evaluated by a trampoline (see {@link #evaluate(Rec)}) so deeply nested map / flatMap chains do not
+         * consume stack. Memoizing (Later) steps cache their result in a single volatile slot, null indicates not yet evaluated
+         * so construction requires no volatile writes. Once a result is cached the step drops it's parent and function, so an
+         * evaluated chain doesn't keep upstream steps (or anything their functions capture) reachable.
+         *
+         * @param <T> Type of value computed by this step
+         */
+        private static abstract class Rec<T> {
+            private final static Object NULL = new Object();
+            private final static Object COMPLETE = new Object();
+
+            //parent and fn are cleared (under this lock) once result is cached, a step with a result is terminal
+            private Rec<?> parent;
+            private Function<Object, Object> fn;
+            private final boolean flat;
+            private volatile Object result;
+            //guarded by this, populated for memoizing flatMap steps
+            private Object inner;
+
+            Rec(final Rec<?> parent, final Function<?, ?> fn, final boolean flat) {
+                this.parent = parent;
+                this.fn = (Function<Object, Object>) fn;
+                this.flat = flat;
+            }
+
+            abstract boolean memoize();
 
-            Rec(final PVectorX<Function<Object, Object>> s) {
-                fns = s;
+            public T get() {
+                final Object cached = result;
+                if (cached != null)
+                    return (T) unmask(cached);
+                return (T) evaluate(this);
             }
 
-            private static Function<Object, Object> raw(final Function<?, ?> fn) {
-                return (Function<Object, Object>) fn;
+            private static Object mask(final Object value) {
+                return value == null ? NULL : value;
             }
 
-            static interface RecFunction extends Function<Object, Object> {
+            private static Object unmask(final Object value) {
+                return value == NULL ? null : value;
+            }
 
+            /**
+             * Apply a map step (or run a source), memoizing steps compute at most once
+             */
+            private Object applyMap(final Object input) {
+                if (!memoize())
+                    return fn.apply(input);
+                synchronized (this) {
+                    final Object cached = result;
+                    if (cached != null)
+                        return unmask(cached);
+                    final Object value = fn.apply(input);
+                    cache(value);
+                    return value;
+                }
             }
 
-            public PVectorX<Function<Object, Object>> steps() {
-                return fns;
+            //called holding this lock
+            private void cache(final Object value) {
+                result = mask(value);
+                parent = null;
+                fn = null;
+                inner = null;
             }
 
-            T apply() {
-                Object input = VOID;
-                for (final Function<Object, Object> n : fns) {
-                    final DequeX<Function<Object, Object>> newFns = DequeX.of(n);
-                    while (newFns.size() > 0) {
-                        final Function<Object, Object> next = newFns.pop();
-                        if (next instanceof RecFunction) {
-                            newFns.plusAll((List) ((RecFunction) next).apply(VOID));
-                        } else
-                            input = next.apply(input);
+            /**
+             * Apply a flatMap step, returning the Eval to be evaluated next
+             */
+            private Eval<?> applyFlatMap(final Object input) {
+                if (!memoize())
+                    return asEval((MonadicValue<?>) fn.apply(input));
+                synchronized (this) {
+                    final Object cached = result;
+                    if (cached != null)
+                        return Eval.now(unmask(cached));
+                    if (inner == null)
+                        inner = asEval((MonadicValue<?>) fn.apply(input));
+                    return (Eval<?>) inner;
+                }
+            }
 
-                    }
+            /**
+             * Record the result of evaluating the Eval returned by a flatMap step
+             */
+            private Object complete(final Object value) {
+                if (!memoize())
+                    return value;
+                synchronized (this) {
+                    final Object cached = result;
+                    if (cached != null)
+                        return unmask(cached);
+                    cache(value);
+                    return value;
                 }
-                return (T) input;
             }
 
-            public T get() {
-                return apply();
+            private static Object evaluate(final Rec<?> start) {
+                ArrayDeque<Object> stack = null;
+                Rec<?> current = start;
+                Object value;
+                for (;;) {
+                    //descend to the nearest evaluated (or source) step
+                    for (;;) {
+                        final Object cached = current.result;
+                        if (cached != null) {
+                            value = unmask(cached);
+                            break;
+                        }
+                        //parent may have just been cleared by another thread caching the result, applyMap returns it
+                        final Rec<?> parent = current.parent;
+                        if (parent == null) {
+                            value = current.applyMap(null);
+                            break;
+                        }
+                        if (stack == null)
+                            stack = new ArrayDeque<>();
+                        stack.push(current);
+                        current = parent;
+                    }
+                    //unwind, applying each step in turn
+                    Rec<?> next = null;
+                    while (next == null && stack != null && !stack.isEmpty()) {
+                        final Object frame = stack.pop();
+                        if (frame == COMPLETE) {
+                            value = ((Rec<?>) stack.pop()).complete(value);
+                            continue;
+                        }
+                        final Rec<?> step = (Rec<?>) frame;
+                        if (!step.flat) {
+                            value = step.applyMap(value);
+                            continue;
+                        }
+                        final Object cached = step.result;
+                        if (cached != null) {
+                            value = unmask(cached);
+                            continue;
+                        }
+                        final Eval<?> flatMapped = step.applyFlatMap(value);
+                        if (flatMapped instanceof Rec) {
+                            stack.push(step);
+                            stack.push(COMPLETE);
+                            next = (Rec<?>) flatMapped;
+                        } else {
+                            value = step.complete(flatMapped.get());
+                        }
+                    }
+                    if (next == null)
+                        return value;
+                    current = next;
+                }
             }
 
         }
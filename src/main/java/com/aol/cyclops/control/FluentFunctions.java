@@ -4,6 +4,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -29,6 +30,7 @@ import com.aol.cyclops.util.function.CurryVariance;
 import com.aol.cyclops.util.function.Memoize;
 import com.aol.cyclops.util.function.PartialApplicator;
 import com.aol.cyclops.util.function.QuadConsumer;
+import com.aol.cyclops.util.function.RetryPolicy;
 import com.aol.cyclops.util.function.TriConsumer;
 import com.aol.cyclops.util.function.TriFunction;
 
@@ -393,6 +395,22 @@ public class FluentFunctions {
             return withFn(Memoize.memoizeSupplier(fn, cache));
         }
 
+        /**
+         * @return A Supplier where concurrent calls share a single execution (results are not cached)
+         */
+        public FluentSupplier<R> singleFlight() {
+            return withFn(Memoize.singleFlightSupplier(fn));
+        }
+
+        /**
+         * @param ttl Time to cache a successful result for
+         * @param unit Unit for ttl
+         * @return A Supplier where concurrent calls share a single execution, and a successful result is cached briefly
+         */
+        public FluentSupplier<R> singleFlight(final long ttl, final TimeUnit unit) {
+            return withFn(Memoize.singleFlightSupplier(fn, ttl, unit));
+        }
+
         /**
          * @param name To give this supplier
          * @return A supplier with a name (useful for logging purposes)
@@ -489,6 +507,18 @@ public class FluentFunctions {
 
         }
 
+        /**
+         * A Supplier that retries on failure without blocking, attempts run on the supplied Executor and retries are scheduled
+         * according to the RetryPolicy (e.g. with decorrelated jitter, per exception type policies and a shared retry budget)
+         *
+         * @param policy Determines whether and when failed attempts are retried
+         * @param ex Executor to execute each attempt on
+         * @return Supplier that returns it's result in a CompletableFuture
+         */
+        public FluentSupplier<CompletableFuture<R>> retryAsync(final RetryPolicy policy, final Executor ex) {
+            return FluentFunctions.of(() -> policy.call(() -> CompletableFuture.supplyAsync(fn, ex)));
+        }
+
         /**
          * A supplier that triggers an event if the result matches the case provided, or generates a new value from the supplier
          * provided if not
@@ -653,6 +683,51 @@ public class FluentFunctions {
             return withFn(Memoize.memoizeFunction(fn, cache));
         }
 
+        /**
+         * @return A Function where concurrent calls with the same input share a single execution (results are not cached)
+         */
+        public FluentFunction<T, R> singleFlight() {
+            return withFn(Memoize.singleFlightFunction(fn));
+        }
+
+        /**
+         * @param ttl Time to cache successful results for
+         * @param unit Unit for ttl
+         * @return A Function where concurrent calls with the same input share a single execution, and successful results are
+         *         cached briefly
+         */
+        public FluentFunction<T, R> singleFlight(final long ttl, final TimeUnit unit) {
+            return withFn(Memoize.singleFlightFunction(fn, ttl, unit));
+        }
+
+        /**
+         * An asynchronous Function where concurrent calls with the same input share one in-flight CompletableFuture, rather
+         * than each executing this Function
+         *
+         * <pre>
+         * {@code
+         *  FluentFunction<String, CompletableFuture<User>> load = FluentFunctions.of(this::loadUser)
+         *                                                                        .singleFlightAsync(ex, 100, TimeUnit.MILLISECONDS);
+         * }
+         * </pre>
+         *
+         * @param ex Executor to execute this function on
+         * @param ttl Time to cache successful results for, 0 to not cache them
+         * @param unit Unit for ttl
+         * @return A Function that returns a shared, asynchronously executing CompletableFuture
+         */
+        public FluentFunction<T, CompletableFuture<R>> singleFlightAsync(final Executor ex, final long ttl, final TimeUnit unit) {
+            return FluentFunctions.of(Memoize.<T, R> singleFlightAsync(t -> CompletableFuture.supplyAsync(() -> fn.apply(t), ex), ttl, unit));
+        }
+
+        /**
+         * @param ex Executor to execute this function on
+         * @return A Function where concurrent calls with the same input share one asynchronously executing CompletableFuture
+         */
+        public FluentFunction<T, CompletableFuture<R>> singleFlightAsync(final Executor ex) {
+            return singleFlightAsync(ex, 0, TimeUnit.MILLISECONDS);
+        }
+
         /**
          * @param name To give this Function
          * @return A Function with a name (useful for logging purposes)
@@ -775,6 +850,18 @@ public class FluentFunctions {
 
         }
 
+        /**
+         * A Function that retries on failure without blocking, attempts run on the supplied Executor and retries are scheduled
+         * according to the RetryPolicy (e.g. with decorrelated jitter, per exception type policies and a shared retry budget)
+         *
+         * @param policy Determines whether and when failed attempts are retried
+         * @param ex Executor to execute each attempt on
+         * @return Function that returns it's result in a CompletableFuture
+         */
+        public FluentFunction<T, CompletableFuture<R>> retryAsync(final RetryPolicy policy, final Executor ex) {
+            return FluentFunctions.of(t -> policy.call(() -> CompletableFuture.supplyAsync(() -> fn.apply(t), ex)));
+        }
+
         /**
          * A Function that triggers an event if the result matches the case provided, or generates a new value from the supplier
          * provided if not
@@ -1180,6 +1267,18 @@ public class FluentFunctions {
 
         }
 
+        /**
+         * A BiFunction that retries on failure without blocking, attempts run on the supplied Executor and retries are scheduled
+         * according to the RetryPolicy (e.g. with decorrelated jitter, per exception type policies and a shared retry budget)
+         *
+         * @param policy Determines whether and when failed attempts are retried
+         * @param ex Executor to execute each attempt on
+         * @return BiFunction that returns it's result in a CompletableFuture
+         */
+        public FluentBiFunction<T1, T2, CompletableFuture<R>> retryAsync(final RetryPolicy policy, final Executor ex) {
+            return FluentFunctions.of((t1, t2) -> policy.call(() -> CompletableFuture.supplyAsync(() -> fn.apply(t1, t2), ex)));
+        }
+
         /**
          * A BiFunction that triggers an event if the result matches the case provided, or generates a new value from the supplier
          * provided if not
@@ -1595,6 +1694,19 @@ public class FluentFunctions {
             });
 
         }
+
+        /**
+         * A TriFunction that retries on failure without blocking, attempts run on the supplied Executor and retries are scheduled
+         * according to the RetryPolicy (e.g. with decorrelated jitter, per exception type policies and a shared retry budget)
+         *
+         * @param policy Determines whether and when failed attempts are retried
+         * @param ex Executor to execute each attempt on
+         * @return TriFunction that returns it's result in a CompletableFuture
+         */
+        public FluentTriFunction<T1, T2, T3, CompletableFuture<R>> retryAsync(final RetryPolicy policy, final Executor ex) {
+            return FluentFunctions.of((t1, t2, t3) -> policy.call(() -> CompletableFuture.supplyAsync(() -> fn.apply(t1, t2, t3), ex)));
+        }
+
         /**
          * A TriFunction that triggers an event if the result matches the case provided, or generates a new value from the supplier
          * provided if not
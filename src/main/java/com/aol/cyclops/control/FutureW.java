@@ -112,7 +112,8 @@ public class FutureW<T> implements To<FutureW<T>>,ConvertableFunctor<T>, Applica
                                                                       .toArray(new CompletableFuture[0])));
      }
     /**
-     * Block until a Quorum of results have returned as determined by the provided Predicate
+     * Asynchronously collect results until a Quorum have returned as determined by the provided Predicate. Once the Quorum is
+     * reached any FutureWs that have not yet completed are cancelled.
      * 
      * <pre>
      * {@code 
@@ -141,7 +142,7 @@ public class FutureW<T> implements To<FutureW<T>>,ConvertableFunctor<T>, Applica
         
         return FutureW.of(new Blocker<T>(list, Optional.of(e-> {
                     log.error(e.getMessage(), e);
-                })).nonBlocking(breakout));
+                }), true).nonBlocking(breakout));
                 
        
     }
@@ -465,7 +466,7 @@ public class FutureW<T> implements To<FutureW<T>>,ConvertableFunctor<T>, Applica
      * @return FutureW asynchronously populated with the accumulate success operation
      */
     public static <T, R> FutureW<R> accumulate(final CollectionX<FutureW<T>> fts, final Reducer<R> reducer) {
-        return sequence(fts).map(s -> s.mapReduce(reducer));
+        return FutureW.of(CompletableFutures.accumulate(fts.map(FutureW::getFuture), reducer));
     }
     /**
      * Asynchronously accumulate the results only from those Futures which have completed successfully, using the supplied mapping function to
@@ -529,9 +530,7 @@ public class FutureW<T> implements To<FutureW<T>>,ConvertableFunctor<T>, Applica
      * @return FutureW asynchronously populated with the accumulate operation
      */
     public static <T, R> FutureW<R> accumulate(final CollectionX<FutureW<T>> fts, final Function<? super T, R> mapper, final Monoid<R> reducer) {
-        return sequence(fts).map(s -> s.map(mapper)
-                                       .reduce(reducer)
-                                       );
+        return FutureW.of(CompletableFutures.accumulate(fts.map(FutureW::getFuture), mapper, reducer));
     }
 
     /**
@@ -554,8 +553,30 @@ public class FutureW<T> implements To<FutureW<T>>,ConvertableFunctor<T>, Applica
      * @return FutureW asynchronously populated with the accumulate operation
      */
     public static <T> FutureW<T> accumulate(final Monoid<T> reducer,final CollectionX<FutureW<T>> fts) {
-        return sequence(fts).map(s -> s.reduce(reducer)
-                                      );
+        return FutureW.of(CompletableFutures.accumulate(reducer, fts.map(FutureW::getFuture)));
+    }
+
+    /**
+     * Asynchronously accumulate the results of the provided Futures in the order in which they complete, completing as soon as
+     * the partial result satisfies the supplied predicate (or all Futures have completed). Futures that have not completed
+     * by then are cancelled. As results are combined in completion order the Monoid should be commutative.
+     * 
+     * <pre>
+     * {@code 
+     * FutureW<Integer> acks = FutureW.accumulateUntil(ListX.of(replica1,replica2,replica3),r->r.isAck() ? 1 : 0,Monoids.intSum,n->n>=2);
+       //FutureW[2] as soon as 2 replicas have acknowledged
+     * }
+     * </pre>
+     * 
+     * @param fts Collection of Futures to accumulate
+     * @param mapper Mapping function to be applied to the result of each Future
+     * @param reducer Commutative Monoid to combine values from each Future
+     * @param done Predicate that determines when enough results have been accumulated
+     * @return FutureW asynchronously populated with the accumulate operation
+     */
+    public static <T, R> FutureW<R> accumulateUntil(final CollectionX<FutureW<T>> fts, final Function<? super T, R> mapper, final Monoid<R> reducer,
+            final Predicate<? super R> done) {
+        return FutureW.of(CompletableFutures.accumulateUntil(fts.map(FutureW::getFuture), mapper, reducer, done));
     }
 
     /**
@@ -24,12 +24,14 @@ import com.aol.cyclops.data.async.Adapter;
 import com.aol.cyclops.internal.react.LazyFutureStreamImpl;
 import com.aol.cyclops.internal.react.stream.InfiniteClosingSpliteratorFromSupplier;
 import com.aol.cyclops.internal.react.stream.ReactBuilder;
+import com.aol.cyclops.react.Bulkhead;
 import com.aol.cyclops.react.RetryBuilder;
 import com.aol.cyclops.react.ThreadPools;
 import com.aol.cyclops.react.async.subscription.Subscription;
 import com.aol.cyclops.react.collectors.lazy.MaxActive;
 import com.aol.cyclops.types.futurestream.LazyFutureStream;
 import com.aol.cyclops.types.stream.reactive.SeqSubscriber;
+import com.aol.cyclops.react.metrics.PipelineMetrics;
 import com.aol.cyclops.util.function.Cacheable;
 import com.nurkiewicz.asyncretry.AsyncRetryExecutor;
 import com.nurkiewicz.asyncretry.RetryExecutor;
@@ -97,6 +99,8 @@ public class LazyReact implements ReactBuilder {
     private final boolean autoMemoize;
     @Getter
     private final Cacheable<?> memoizeCache;
+    @Getter
+    private final PipelineMetrics pipelineMetrics;
 
     /**
      * Turn automatic caching of values on for the FutureStream to be generated
@@ -123,6 +127,29 @@ public class LazyReact implements ReactBuilder {
         return withAutoMemoize(true).withMemoizeCache(memoizeCache);
     }
 
+    /**
+     * Record execution time, queueing delay and failures for each stage of the FutureStreams generated by this Stream builder
+     * 
+     * <pre>
+     * {@code 
+     *  PipelineMetrics metrics = new PipelineMetrics();
+        new LazyReact().instrument(metrics)
+                       .of(1,2,3)
+                       .map(this::load)
+                       .named("load")
+                       .toList();
+                       
+        metrics.snapshot().get("load").getExecution().p99();               
+     * }
+     * </pre>
+     * 
+     * @param metrics Registry to record per-stage metrics into
+     * @return LazyReact Stream builder
+     */
+    public LazyReact instrument(final PipelineMetrics metrics) {
+        return withPipelineMetrics(metrics);
+    }
+
     /* 
      * The async flag determines whether, on completion, a Future executes the next task
      * synchronously on it's current thread or redistributes it back to a task executor
@@ -172,6 +199,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        pipelineMetrics = null;
     }
 
     /**
@@ -190,6 +218,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        pipelineMetrics = null;
     }
 
     /**
@@ -212,6 +241,7 @@ public class LazyReact implements ReactBuilder {
         autoOptimize = true;
         autoMemoize = false;
         memoizeCache = null;
+        pipelineMetrics = null;
     }
 
     /**
@@ -571,6 +601,24 @@ public class LazyReact implements ReactBuilder {
     public LazyReact(final Executor executor, final RetryExecutor retrier, final Boolean async, final MaxActive maxActive,
             final boolean streamOfFutures, final boolean objectPoolingActive, final boolean autoOptimize, final boolean autoMemoize,
             final Cacheable memoizeCache) {
+        this(executor, retrier, async, maxActive, streamOfFutures, objectPoolingActive, autoOptimize, autoMemoize, memoizeCache, null);
+    }
+
+    /**
+     * @param executor Task Executor for concurrent tasks
+     * @param retrier Async Retrier
+     * @param async If true each task will be submitted to an executor service
+     * @param maxActive Max Active Future Tasks
+     * @param streamOfFutures true if the Stream is a Stream of Futures
+     * @param objectPoolingActive true if FastFutures should be pooled
+     * @param autoOptimize true if stages should be automatically fused
+     * @param autoMemoize true if stage functions should be memoized
+     * @param memoizeCache Cacheable instance that controls memoization
+     * @param pipelineMetrics Registry for per-stage metrics (or null)
+     */
+    public LazyReact(final Executor executor, final RetryExecutor retrier, final Boolean async, final MaxActive maxActive,
+            final boolean streamOfFutures, final boolean objectPoolingActive, final boolean autoOptimize, final boolean autoMemoize,
+            final Cacheable memoizeCache, final PipelineMetrics pipelineMetrics) {
         super();
         this.executor = executor;
         this.retrier = retrier;
@@ -584,6 +632,7 @@ public class LazyReact implements ReactBuilder {
         this.autoOptimize = autoOptimize;
         this.autoMemoize = autoMemoize;
         this.memoizeCache = memoizeCache;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     /**
@@ -789,6 +838,68 @@ public class LazyReact implements ReactBuilder {
                         .build();
     }
 
+    /**
+     * Construct a LazyReact builder for blocking (e.g. I/O bound) tasks, each task runs on it's own virtual thread on JDK 21+.
+     * On earlier JDKs an elastic pool of up to 100 daemon platform threads is used instead, and the number of active tasks is limited
+     * to {@link MaxActive#IO}
+     * 
+     * <pre>
+     * {@code 
+     *  LazyReact.virtualThreadBuilder()
+     *           .from(urls)
+     *           .map(this::load)
+     *           .toList();
+     * }
+     * </pre>
+     * 
+     * @see ThreadPools#getVirtual()
+     * @return LazyReact builder configured with a thread per task Executor and {@link MaxActive#VIRTUAL}
+     */
+    public static LazyReact virtualThreadBuilder() {
+        return virtualThreadBuilder(MaxActive.VIRTUAL);
+    }
+
+    /**
+     * @param maxActive Max active Future Tasks
+     * @return LazyReact builder configured with a thread per task Executor
+     * @see LazyReact#virtualThreadBuilder()
+     */
+    public static LazyReact virtualThreadBuilder(final MaxActive maxActive) {
+        return LazyReact.builder()
+                        .maxActive(maxActive)
+                        .async(true)
+                        .executor(ThreadPools.getVirtual())
+                        .retrier(RetryBuilder.getDefaultInstance()
+                                             .withScheduler(ThreadPools.getCommonFreeThreadRetry()))
+                        .build();
+    }
+
+    /**
+     * Construct a LazyReact builder that runs tasks on the supplied {@link Bulkhead}, isolating the generated FutureStreams from
+     * other pipelines. The number of active tasks is limited to the number the Bulkhead can run or queue.
+     * 
+     * <pre>
+     * {@code 
+     *  LazyReact.isolatedBuilder(ThreadPools.bulkhead("user-service"))
+     *           .from(ids)
+     *           .map(this::loadUser)
+     *           .toList();
+     * }
+     * </pre>
+     * 
+     * @param bulkhead Bulkhead to execute tasks on
+     * @return LazyReact builder
+     */
+    public static LazyReact isolatedBuilder(final Bulkhead bulkhead) {
+        return LazyReact.builder()
+                        .maxActive(bulkhead.maxActive())
+                        .async(true)
+                        .executor(bulkhead)
+                        .retrier(RetryBuilder.getDefaultInstance()
+                                             .withScheduler(ThreadPools.getCommonFreeThreadRetry()))
+                        .build();
+    }
+
     private static final Object NONE = new Object();
 
     /**
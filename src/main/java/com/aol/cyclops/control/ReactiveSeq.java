@@ -2,6 +2,10 @@ package com.aol.cyclops.control;
 
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -11,6 +15,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -43,12 +48,15 @@ import org.jooq.lambda.tuple.Tuple3;
 import org.jooq.lambda.tuple.Tuple4;
 import org.reactivestreams.Publisher;
 
+import com.aol.cyclops.DoubleMonoid;
+import com.aol.cyclops.LongMonoid;
 import com.aol.cyclops.Monoid;
 import com.aol.cyclops.Reducer;
 import com.aol.cyclops.control.Matchable.CheckValue1;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.data.collections.extensions.standard.MapX;
+import com.aol.cyclops.internal.stream.spliterators.MappedFileSpliterator;
 import com.aol.cyclops.internal.stream.spliterators.ReversingArraySpliterator;
 import com.aol.cyclops.internal.stream.spliterators.ReversingListSpliterator;
 import com.aol.cyclops.internal.stream.spliterators.ReversingRangeIntSpliterator;
@@ -68,15 +76,19 @@ import com.aol.cyclops.types.applicative.zipping.ApplyingZippingApplicativeBuild
 import com.aol.cyclops.types.applicative.zipping.ZippingApplicativable;
 import com.aol.cyclops.types.stream.ConvertableSequence;
 import com.aol.cyclops.types.stream.CyclopsCollectable;
+import com.aol.cyclops.types.stream.FileSinkConfig;
 import com.aol.cyclops.types.stream.HeadAndTail;
 import com.aol.cyclops.types.stream.HotStream;
 import com.aol.cyclops.types.stream.JoolManipulation;
 import com.aol.cyclops.types.stream.JoolWindowing;
+import com.aol.cyclops.types.stream.OverflowPolicy;
 import com.aol.cyclops.types.stream.PausableHotStream;
+import com.aol.cyclops.types.stream.SpillConfig;
 import com.aol.cyclops.types.stream.future.FutureOperations;
 import com.aol.cyclops.types.stream.reactive.ReactiveStreamsTerminalOperations;
 import com.aol.cyclops.types.stream.reactive.SeqSubscriber;
 import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.util.function.RetryPolicy;
 
 import lombok.val;
 
@@ -322,6 +334,61 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
     @SuppressWarnings("unchecked")
     Tuple4<ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>> quadruplicate();
 
+    /**
+     * Duplicate a Stream into copies that share a ring buffer holding at most bound elements. Memory use is constant no
+     * matter how far one copy runs ahead of the other, when the leading copy is bound elements ahead the supplied
+     * {@link OverflowPolicy} determines whether it blocks until the other catches up, lets the buffer grow or fails.
+     * 
+     * <pre>
+     * {@code
+     *  Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, 1_000_000)
+     *                                                                         .duplicateSequence(1024, OverflowPolicy.BLOCK);
+     *  
+     *  //consume copies.v1 and copies.v2 on separate threads
+     * }
+     * </pre>
+     * 
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return duplicated stream
+     */
+    default Tuple2<ReactiveSeq<T>, ReactiveSeq<T>> duplicateSequence(final int bound, final OverflowPolicy policy) {
+        return StreamUtils.duplicate(this, bound, policy)
+                          .map1(ReactiveSeq::fromStream)
+                          .map2(ReactiveSeq::fromStream);
+    }
+
+    /**
+     * Triplicate a Stream into copies that share a ring buffer holding at most bound elements
+     * 
+     * @see #duplicateSequence(int, OverflowPolicy)
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return Tuple3 containing 3 copies
+     */
+    default Tuple3<ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>> triplicate(final int bound, final OverflowPolicy policy) {
+        return StreamUtils.triplicate(this, bound, policy)
+                          .map1(ReactiveSeq::fromStream)
+                          .map2(ReactiveSeq::fromStream)
+                          .map3(ReactiveSeq::fromStream);
+    }
+
+    /**
+     * Make four copies of a Stream that share a ring buffer holding at most bound elements
+     * 
+     * @see #duplicateSequence(int, OverflowPolicy)
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return Tuple4 containing 4 copies
+     */
+    default Tuple4<ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>, ReactiveSeq<T>> quadruplicate(final int bound, final OverflowPolicy policy) {
+        return StreamUtils.quadruplicate(this, bound, policy)
+                          .map1(ReactiveSeq::fromStream)
+                          .map2(ReactiveSeq::fromStream)
+                          .map3(ReactiveSeq::fromStream)
+                          .map4(ReactiveSeq::fromStream);
+    }
+
     /**
      * Split a Stream at it's head (similar to headAndTail)
      * 
@@ -592,6 +659,92 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
     @Override
     ReactiveSeq<ListX<T>> sliding(int windowSize, int increment);
 
+    /**
+     * Create a sliding view over this Sequence where each window is a read-only view of a shared ring buffer, rather than a
+     * copy. A window may only be used until the next window is requested, so it should be reduced or mapped as it is emitted
+     * (use {@link #sliding(int, int)} to retain windows).
+     * 
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1, 2, 3, 4, 5, 6)
+     *             .slidingView(3, 1)
+     *             .map(w -> w.size())
+     *             .toList();
+     *  
+     *  //[3,3,3,3]
+     * }
+     * </pre>
+     * 
+     * @param windowSize
+     *            number of elements in each window
+     * @param increment
+     *            for each window
+     * @return ReactiveSeq of window views
+     */
+    default ReactiveSeq<ListX<T>> slidingView(final int windowSize, final int increment) {
+        return fromStream(StreamUtils.slidingView(this, windowSize, increment));
+    }
+
+    /**
+     * Sum each window of windowSize elements, updating the sum as elements enter and leave the window
+     * 
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1, 2, 3, 4, 5)
+     *             .rollingSum(3, i -> i)
+     *             .toList();
+     *  
+     *  //[6.0,9.0,12.0]
+     * }
+     * </pre>
+     * 
+     * @param windowSize
+     *            number of elements in each window
+     * @param fn
+     *            Function to extract the value to sum from each element
+     * @return ReactiveSeq of rolling sums
+     */
+    default ReactiveSeq<Double> rollingSum(final int windowSize, final ToDoubleFunction<? super T> fn) {
+        return fromStream(StreamUtils.rollingSum(this, windowSize, fn));
+    }
+
+    /**
+     * Find the smallest element in each window of windowSize elements at an amortised constant cost per element
+     * 
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(4, 2, 5, 3, 1)
+     *             .rollingMin(2, Comparator.naturalOrder())
+     *             .toList();
+     *  
+     *  //[2,2,3,1]
+     * }
+     * </pre>
+     * 
+     * @param windowSize
+     *            number of elements in each window
+     * @param comparator
+     *            Comparator to determine the smallest element
+     * @return ReactiveSeq of rolling minimums
+     */
+    default ReactiveSeq<T> rollingMin(final int windowSize, final Comparator<? super T> comparator) {
+        return fromStream(StreamUtils.rollingMin(this, windowSize, comparator));
+    }
+
+    /**
+     * Find the largest element in each window of windowSize elements at an amortised constant cost per element
+     * 
+     * @see #rollingMin(int, Comparator)
+     * @param windowSize
+     *            number of elements in each window
+     * @param comparator
+     *            Comparator to determine the largest element
+     * @return ReactiveSeq of rolling maximums
+     */
+    default ReactiveSeq<T> rollingMax(final int windowSize, final Comparator<? super T> comparator) {
+        return fromStream(StreamUtils.rollingMax(this, windowSize, comparator));
+    }
+
     /**
      * Group elements in a Stream
      * 
@@ -829,13 +982,95 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
     @Override
     <C extends Collection<? super T>> ReactiveSeq<C> groupedUntil(Predicate<? super T> predicate, Supplier<C> factory);
 
-    /* (non-Javadoc)
+    /**
+     * Group elements in this Sequence by key, aggregating the elements with each key with the supplied Collector. Only an
+     * accumulator per distinct key is held in memory, groups are emitted in encounter order once this Sequence is exhausted.
+     * 
+     * <pre>
+     * {@code 
+     *  ReactiveSeq.of(1, 2, 3, 4).grouped(i -> i % 2, Collectors.summingInt(i -> i)).toList();
+     *  //[(1,4),(0,6)]
+     * }
+     * </pre>
+     * 
      * @see org.jooq.lambda.Seq#grouped(java.util.function.Function, java.util.stream.Collector)
      */
     @Override
     default <K, A, D> ReactiveSeq<Tuple2<K, D>> grouped(final Function<? super T, ? extends K> classifier,
             final Collector<? super T, A, D> downstream) {
-        return fromStream(JoolManipulation.super.grouped(classifier, downstream));
+        return aggregateBy(classifier, downstream);
+    }
+
+    /**
+     * Aggregate elements in this Sequence by key with the supplied Collector, holding only an accumulator per distinct key in
+     * memory (rather than the elements themselves, as {@link #groupBy(Function)} does). Aggregating a very large Sequence
+     * by key needs memory proportional to the number of distinct keys. Keys are emitted in encounter order once this Sequence
+     * is exhausted.
+     * 
+     * <pre>
+     * {@code 
+     *  ReactiveSeq.fromIterable(events)
+     *             .aggregateBy(Event::getUserId, Collectors.counting())
+     *             .forEach(t -> System.out.println(t.v1 + " : " + t.v2));
+     * }
+     * </pre>
+     * 
+     * @param classifier Function to determine the key for each element
+     * @param collector Collector to aggregate the elements with each key
+     * @return ReactiveSeq of each key and its aggregated result
+     */
+    default <K, A, D> ReactiveSeq<Tuple2<K, D>> aggregateBy(final Function<? super T, ? extends K> classifier,
+            final Collector<? super T, A, D> collector) {
+        return fromStream(StreamUtils.aggregateBy(this, classifier, collector));
+    }
+
+    /**
+     * Aggregate elements in this Sequence by key, mapping each element and reducing the mapped values with each key with the
+     * supplied Monoid (or Reducer). Only the reduced value per distinct key is held in memory.
+     * 
+     * <pre>
+     * {@code 
+     *  ReactiveSeq.of("a", "bb", "c", "dd", "eee")
+     *             .aggregateBy(String::length, s -> 1, Reducers.toTotalInt())
+     *             .toList();
+     *  //[(1,2),(2,2),(3,1)]
+     * }
+     * </pre>
+     * 
+     * @param classifier Function to determine the key for each element
+     * @param mapper Function to map each element to the type reduced
+     * @param monoid Monoid to reduce the mapped elements with each key
+     * @return ReactiveSeq of each key and its reduced value
+     */
+    default <K, R> ReactiveSeq<Tuple2<K, R>> aggregateBy(final Function<? super T, ? extends K> classifier,
+            final Function<? super T, ? extends R> mapper, final Monoid<R> monoid) {
+        return fromStream(StreamUtils.aggregateBy(this, classifier, mapper, monoid));
+    }
+
+    /**
+     * Aggregate elements in this Sequence by key, emitting partial results whenever a new key would take the number of keys
+     * held above maxKeys, or the current accumulators are older than the supplied time limit. The time limit is checked as
+     * elements arrive. After emitting, accumulation starts afresh, so a key may be emitted more than once with a partial result
+     * each time - memory is bounded by maxKeys accumulators even for unbounded key spaces.
+     * 
+     * <pre>
+     * {@code 
+     *  ReactiveSeq.fromIterable(infiniteEvents)
+     *             .aggregateBy(Event::getUserId, Collectors.counting(), 10_000, 1, TimeUnit.SECONDS)
+     *             .forEach(t -> store.increment(t.v1, t.v2));
+     * }
+     * </pre>
+     * 
+     * @param classifier Function to determine the key for each element
+     * @param collector Collector to aggregate the elements with each key
+     * @param maxKeys Maximum number of keys held before emitting partial results, 0 or less for no limit
+     * @param time Maximum age of the accumulators before emitting partial results, 0 or less for no limit
+     * @param unit Time unit for time
+     * @return ReactiveSeq of each key and its (partial) aggregated result
+     */
+    default <K, A, D> ReactiveSeq<Tuple2<K, D>> aggregateBy(final Function<? super T, ? extends K> classifier,
+            final Collector<? super T, A, D> collector, final int maxKeys, final long time, final TimeUnit unit) {
+        return fromStream(StreamUtils.aggregateBy(this, classifier, collector, maxKeys, time, unit));
     }
 
     /* (non-Javadoc)
@@ -865,6 +1100,28 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
         return MapX.fromMap(JoolManipulation.super.groupBy(classifier));
     }
 
+    /**
+     * Group elements in this Sequence by key, spilling to disk rather than holding the whole Sequence in memory when it has
+     * more elements than the in-memory budget of the supplied {@link SpillConfig}. Elements are spilled to temporary files
+     * partitioned by the hash of their key, and each partition is grouped in memory in turn, so groups are emitted lazily
+     * one partition at a time. Within a group elements are in encounter order.
+     * 
+     * <pre>
+     * {@code 
+     *  ReactiveSeq.fromIterable(events)
+     *             .grouped(Event::getUserId, SpillConfig.of(eventSerializer, 1_000_000))
+     *             .forEach(t -> process(t.v1, t.v2));
+     * }
+     * </pre>
+     * 
+     * @param classifier Function to determine the key for each element
+     * @param spill Serializer, in-memory budget and temporary directory to use
+     * @return ReactiveSeq of each key and the elements with that key
+     */
+    default <K> ReactiveSeq<Tuple2<K, ListX<T>>> grouped(final Function<? super T, ? extends K> classifier, final SpillConfig<T> spill) {
+        return fromStream(StreamUtils.grouped(this, classifier, spill));
+    }
+
     /*
      * Return the distinct Stream of elements
      * 
@@ -963,6 +1220,28 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
     @Override
     ReactiveSeq<T> sorted(Comparator<? super T> c);
 
+    /**
+     * Sort this Sequence, spilling to disk rather than holding the whole Sequence in memory when it has more elements than the
+     * in-memory budget of the supplied {@link SpillConfig}. Sorted runs are written to temporary files and then streamed back
+     * through a k-way merge. The sort is stable, and temporary files are deleted once they have been read or the Stream is
+     * closed.
+     * 
+     * <pre>
+     * {@code 
+     *  ReactiveSeq.fromStream(Files.lines(path))
+     *             .sorted(Comparator.naturalOrder(), SpillConfig.of(Serializer.strings(), 500_000))
+     *             .forEach(System.out::println);
+     * }
+     * </pre>
+     * 
+     * @param c Comparator to sort with
+     * @param spill Serializer, in-memory budget and temporary directory to use
+     * @return Sorted Stream
+     */
+    default ReactiveSeq<T> sorted(final Comparator<? super T> c, final SpillConfig<T> spill) {
+        return fromStream(StreamUtils.sorted(this, c, spill));
+    }
+
     /* (non-Javadoc)
      * @see com.aol.cyclops.types.Traversable#takeWhile(java.util.function.Predicate)
      */
@@ -1455,6 +1734,67 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
     @Override
     ListX<T> reduce(Iterable<? extends Monoid<T>> reducers);
 
+    /**
+     * Reduce with multiple primitive Monoids in a single pass, each element is mapped to a double once and reduced without
+     * boxing into a fixed array of accumulators
+     * 
+     * <pre>
+     * {@code 
+     *  double[] stats = ReactiveSeq.of(1, 2, 3, 4)
+     *                              .reduceDoubles(i -> i, DoubleMonoid.sum(), DoubleMonoid.min(), DoubleMonoid.max());
+     *  //[10.0, 1.0, 4.0]
+     * }
+     * </pre>
+     * 
+     * @param mapper Function to map each element to a double
+     * @param reducers Monoids to reduce with
+     * @return Reduced values, in the same order as the reducers
+     */
+    default double[] reduceDoubles(final ToDoubleFunction<? super T> mapper, final DoubleMonoid... reducers) {
+        return StreamUtils.reduce(mapToDouble(mapper), reducers);
+    }
+
+    /**
+     * Reduce with multiple primitive Monoids in a single pass, each element is mapped to a long once and reduced without
+     * boxing into a fixed array of accumulators
+     * 
+     * <pre>
+     * {@code 
+     *  long[] stats = ReactiveSeq.of(1, 2, 3, 4)
+     *                            .reduceLongs(i -> i, LongMonoid.sum(), LongMonoid.min(), LongMonoid.max());
+     *  //[10, 1, 4]
+     * }
+     * </pre>
+     * 
+     * @param mapper Function to map each element to a long
+     * @param reducers Monoids to reduce with
+     * @return Reduced values, in the same order as the reducers
+     */
+    default long[] reduceLongs(final ToLongFunction<? super T> mapper, final LongMonoid... reducers) {
+        return StreamUtils.reduce(mapToLong(mapper), reducers);
+    }
+
+    /**
+     * Write this Stream to disk. Elements are encoded into a pool of direct buffers, full buffers are coalesced into large
+     * writes by a dedicated writer thread and the Stream is blocked whenever every buffer is waiting to be written. Files can be
+     * rotated by size or time and synced to disk according to the configured {@link com.aol.cyclops.types.stream.FsyncPolicy}
+     * 
+     * <pre>
+     * {@code 
+     *  ReactiveSeq.range(0, 1_000_000)
+     *             .writeTo(FileSinkConfig.lines(Paths.get("numbers.txt"))
+     *                                    .withRotateBytes(1024 * 1024));
+     *  //[numbers.txt.0, numbers.txt.1, ...]
+     * }
+     * </pre>
+     * 
+     * @param config Where and how to write the Stream
+     * @return Files written, in order
+     */
+    default ListX<Path> writeTo(final FileSinkConfig<? super T> config) {
+        return StreamUtils.writeTo(this, config);
+    }
+
     /**
      * 
      * <pre>
@@ -2537,6 +2877,114 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
         return fromIterable(() -> iterator);
     }
 
+    /**
+     * Construct a ReactiveSeq of the UTF-8 lines in a file, the file is memory-mapped and lines are found with a byte scan of the
+     * mapped buffer and decoded only as they are consumed. Lines end with "\n" or "\r\n". The Spliterator of the returned
+     * ReactiveSeq splits the file on line boundaries for parallel processing.
+     * 
+     * <pre>
+     * {@code 
+     *   long errors = ReactiveSeq.lines(Paths.get("/var/log/app.log"))
+     *                            .filter(line -> line.contains("ERROR"))
+     *                            .count();
+     * }
+     * </pre>
+     * 
+     * @param path File to read
+     * @return ReactiveSeq of lines
+     */
+    public static ReactiveSeq<String> lines(final Path path) {
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Construct a ReactiveSeq of the lines in a memory-mapped file, see {@link #lines(Path)}
+     * 
+     * @param path File to read
+     * @param charset Charset of the file, must encode '\n' and '\r' as single bytes (as ASCII, UTF-8 and ISO-8859 variants do)
+     * @return ReactiveSeq of lines
+     */
+    public static ReactiveSeq<String> lines(final Path path, final Charset charset) {
+        final MappedFileSpliterator<String> records = MappedFileSpliterator.lines(path, charset, MappedFileSpliterator.DEFAULT_WINDOW);
+        return StreamUtils.reactiveSeq(StreamSupport.stream(records, false), Optional.empty());
+    }
+
+    /**
+     * Construct a ReactiveSeq of the lines in a chunk of a file (see {@link #chunks(Path, int)})
+     * 
+     * @param chunk Buffer of whole lines
+     * @param charset Charset of the chunk
+     * @return ReactiveSeq of lines
+     */
+    public static ReactiveSeq<String> lines(final ByteBuffer chunk, final Charset charset) {
+        return fromIterator(MappedFileSpliterator.lines(chunk, charset));
+    }
+
+    /**
+     * Construct a ReactiveSeq of chunks of a memory-mapped file, each chunk is at most chunkSize bytes and ends on a line boundary
+     * (unless a single line is longer than chunkSize). Chunks are read-only buffers onto the mapped file and can be processed
+     * independently, for example in parallel with LazyReact.
+     * 
+     * <pre>
+     * {@code 
+     *   new LazyReact().fromStream(ReactiveSeq.chunks(Paths.get("/var/log/app.log"), 64 * 1024 * 1024))
+     *                  .map(chunk -> ReactiveSeq.lines(chunk, StandardCharsets.UTF_8)
+     *                                           .filter(line -> line.contains("ERROR"))
+     *                                           .count())
+     *                  .reduce(0l, (a, b) -> a + b);
+     * }
+     * </pre>
+     * 
+     * @param path File to read
+     * @param chunkSize Maximum size of each chunk in bytes
+     * @return ReactiveSeq of chunks
+     */
+    public static ReactiveSeq<ByteBuffer> chunks(final Path path, final int chunkSize) {
+        final MappedFileSpliterator<ByteBuffer> records = MappedFileSpliterator.chunks(path, chunkSize, (byte) '\n');
+        return StreamUtils.reactiveSeq(StreamSupport.stream(records, false), Optional.empty());
+    }
+
+    /**
+     * Construct a ReactiveSeq of the records in a memory-mapped file of delimiter-separated binary records. Each record (excluding
+     * the delimiter) is passed to the decoder as a read-only view onto the mapped file.
+     * 
+     * <pre>
+     * {@code 
+     *   ReactiveSeq<String> fields = ReactiveSeq.fromFile(path, (byte) 0, buffer -> StandardCharsets.US_ASCII.decode(buffer).toString());
+     * }
+     * </pre>
+     * 
+     * @param path File to read
+     * @param delimiter Byte separating records
+     * @param decoder Decodes each record
+     * @return ReactiveSeq of decoded records
+     */
+    public static <T> ReactiveSeq<T> fromFile(final Path path, final byte delimiter, final Function<? super ByteBuffer, ? extends T> decoder) {
+        final MappedFileSpliterator<T> records = MappedFileSpliterator.delimited(path, delimiter, decoder, MappedFileSpliterator.DEFAULT_WINDOW);
+        return StreamUtils.reactiveSeq(StreamSupport.stream(records, false), Optional.empty());
+    }
+
+    /**
+     * Construct a ReactiveSeq of the records in a memory-mapped file of fixed width binary records. Each record is passed to the
+     * decoder as a read-only view onto the mapped file, a trailing partial record is passed as is.
+     * 
+     * <pre>
+     * {@code 
+     *   ReactiveSeq<Long> timestamps = ReactiveSeq.fromFixedWidthFile(path, 16, buffer -> buffer.getLong(0));
+     * }
+     * </pre>
+     * 
+     * @param path File to read
+     * @param recordSize Width of each record in bytes
+     * @param decoder Decodes each record
+     * @return ReactiveSeq of decoded records
+     */
+    public static <T> ReactiveSeq<T> fromFixedWidthFile(final Path path, final int recordSize,
+            final Function<? super ByteBuffer, ? extends T> decoder) {
+        final MappedFileSpliterator<T> records = MappedFileSpliterator.fixedWidth(path, recordSize, decoder, MappedFileSpliterator.DEFAULT_WINDOW);
+        return StreamUtils.reactiveSeq(StreamSupport.stream(records, false), Optional.empty());
+    }
+
     /**
      * @see Stream#iterate(Object, UnaryOperator)
      */
@@ -3107,6 +3555,31 @@ public interface ReactiveSeq<T> extends To<ReactiveSeq<T>>,
         return map(retry);
     }
 
+    /**
+     * Apply a transformation to each element without blocking, retrying failures according to the supplied RetryPolicy.
+     * Attempts run on the supplied Executor and retries are scheduled on a timer, rather than sleeping the current thread.
+     *
+     * <pre>
+     * {@code
+     *  ReactiveSeq.of(1, 2, 3)
+     *             .retryAsync(this::loadUser, RetryPolicy.decorrelatedJitter(5, 100, 5000, TimeUnit.MILLISECONDS), executor)
+     *             .map(FutureW::get)
+     *             .toList();
+     * }
+     * </pre>
+     *
+     * @param fn
+     *            Function to retry if fails
+     * @param policy
+     *            Determines whether and when failed attempts are retried
+     * @param ex
+     *            Executor to execute each attempt on
+     * @return ReactiveSeq of asynchronously populated results
+     */
+    default <R> ReactiveSeq<FutureW<R>> retryAsync(final Function<? super T, ? extends R> fn, final RetryPolicy policy, final Executor ex) {
+        return map(t -> FutureW.of(policy.<R> call(() -> CompletableFuture.supplyAsync(() -> fn.apply(t), ex))));
+    }
+
     /**
      * Remove all occurances of the specified element from the ReactiveSeq
      * 
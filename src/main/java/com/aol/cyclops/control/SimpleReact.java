@@ -21,6 +21,7 @@ import org.reactivestreams.Publisher;
 
 import com.aol.cyclops.internal.react.SimpleReactStreamImpl;
 import com.aol.cyclops.internal.react.stream.ReactBuilder;
+import com.aol.cyclops.react.Bulkhead;
 import com.aol.cyclops.react.RetryBuilder;
 import com.aol.cyclops.react.ThreadPools;
 import com.aol.cyclops.types.futurestream.SimpleReactStream;
@@ -92,6 +93,8 @@ public class SimpleReact implements ReactBuilder {
     private final RetryExecutor retrier;
 
     private final Boolean async;
+    @Getter
+    private final int maxInFlight;
 
     public <U> SimpleReactStream<U> construct(final Stream s) {
         return new SimpleReactStreamImpl<U>(
@@ -127,6 +130,7 @@ public class SimpleReact implements ReactBuilder {
 
         this.async = Optional.ofNullable(async)
                              .orElse(true);
+        maxInFlight = 0;
     }
 
     /**
@@ -138,6 +142,7 @@ public class SimpleReact implements ReactBuilder {
         retrier = null;
 
         async = true;
+        maxInFlight = 0;
     }
 
     /**
@@ -152,6 +157,7 @@ public class SimpleReact implements ReactBuilder {
         this.retrier = retrier;
 
         async = true;
+        maxInFlight = 0;
     }
 
     /**
@@ -161,16 +167,17 @@ public class SimpleReact implements ReactBuilder {
      * @param queueCopier Task executor to transfer results during flatMap operations
      */
     public SimpleReact(final Executor executor, final RetryExecutor retrier, final Executor queueCopier) {
-        queueService = ThreadPools.getQueueCopyExecutor();
+        queueService = queueCopier;
         this.executor = executor;
         this.retrier = retrier;
 
         async = true;
+        maxInFlight = 0;
     }
 
     public SimpleReact withQueueCopyExecutor(final Executor queueCopyExecutor) {
         return new SimpleReact(
-                               executor, retrier, queueCopyExecutor);
+                               queueCopyExecutor, executor, retrier, async, maxInFlight);
     }
 
     /**
@@ -362,6 +369,77 @@ public class SimpleReact implements ReactBuilder {
                           .build();
     }
 
+    /**
+     * @return new eager SimpleReact builder for blocking (e.g. I/O bound) tasks, each task runs on it's own virtual thread
+     *         on JDK 21+. On earlier JDKs tasks run on an elastic pool of up to 100 daemon platform threads, and once every
+     *         thread is busy further tasks run on the thread submitting them
+     * 
+     * @see ThreadPools#getVirtual()
+     */
+    public static SimpleReact virtualThreadBuilder() {
+        return SimpleReact.builder()
+                          .executor(ThreadPools.getVirtual())
+                          .async(true)
+                          .retrier(RetryBuilder.getDefaultInstance()
+                                               .withScheduler(ThreadPools.getCommonFreeThreadRetry()))
+                          .build();
+    }
+
+    /**
+     * Construct a SimpleReact builder that runs tasks on the supplied {@link Bulkhead}, isolating the generated Streams from
+     * other pipelines.
+     * 
+     * Results are still transferred (e.g. during flatMap operations) on the common queue copy Executor, as Streams block
+     * waiting for that transfer, which could deadlock a saturated Bulkhead if Streams are built inside it's own tasks. Use
+     * {@link #withQueueCopyExecutor(Executor)} to transfer results on the Bulkhead as well.
+     * 
+     * @param bulkhead Bulkhead to execute tasks on
+     * @return new eager SimpleReact builder
+     */
+    public static SimpleReact isolatedBuilder(final Bulkhead bulkhead) {
+        return SimpleReact.builder()
+                          .executor(bulkhead)
+                          .queueService(ThreadPools.getQueueCopyExecutor())
+                          .async(true)
+                          .retrier(RetryBuilder.getDefaultInstance()
+                                               .withScheduler(ThreadPools.getCommonFreeThreadRetry()))
+                          .build();
+    }
+
+    /**
+     * Construct a SimpleReact builder whose Streams keep at most maxInFlight elements in flight at once, rather than starting
+     * a task for every element up front and holding the futures for every stage in memory.
+     * Futures are created as results are consumed (e.g. by block) and released once complete, each windowed stage can only
+     * be consumed once.
+     * 
+     * <pre>
+     * {@code 
+     *  new SimpleReact().windowed(1000)
+     *                   .from(Files.lines(path))
+     *                   .then(this::parse)
+     *                   .then(this::save)
+     *                   .block(Collectors.counting());
+     * }
+     * </pre>
+     * 
+     * @param maxInFlight Maximum number of elements in flight at once
+     * @return windowed SimpleReact builder
+     */
+    public SimpleReact windowed(final int maxInFlight) {
+        if (maxInFlight < 1)
+            throw new IllegalArgumentException(
+                                               "maxInFlight must be at least 1");
+        return withMaxInFlight(maxInFlight);
+    }
+
+    /**
+     * @return true if Streams created by this SimpleReact are windowed
+     * @see SimpleReact#windowed(int)
+     */
+    public boolean isWindowed() {
+        return maxInFlight > 0;
+    }
+
     public SimpleReactStream<Integer> range(final int startInclusive, final int endExclusive) {
         return from(IntStream.range(startInclusive, endExclusive));
     }
@@ -457,7 +535,13 @@ public class SimpleReact implements ReactBuilder {
     }
 
     public SimpleReact(final Executor queueService, final Executor executor, final RetryExecutor retrier, final Boolean async) {
+        this(queueService, executor, retrier, async, 0);
+    }
+
+    public SimpleReact(final Executor queueService, final Executor executor, final RetryExecutor retrier, final Boolean async,
+            final int maxInFlight) {
         super();
+        this.maxInFlight = maxInFlight;
         this.queueService = Optional.ofNullable(queueService)
                                     .orElse(ThreadPools.getQueueCopyExecutor());
         this.executor = Optional.ofNullable(executor)
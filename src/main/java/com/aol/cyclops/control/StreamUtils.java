@@ -3,6 +3,7 @@ package com.aol.cyclops.control;
 import java.io.BufferedReader;
 import java.io.File;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -29,8 +30,12 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.BaseStream;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -38,28 +43,33 @@ import org.jooq.lambda.Seq;
 import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 import org.jooq.lambda.tuple.Tuple4;
-import org.pcollections.ConsPStack;
-import org.pcollections.PStack;
 import org.reactivestreams.Subscription;
 
 import com.aol.cyclops.CyclopsCollectors;
+import com.aol.cyclops.DoubleMonoid;
+import com.aol.cyclops.LongMonoid;
 import com.aol.cyclops.Monoid;
 import com.aol.cyclops.Reducer;
-import com.aol.cyclops.data.Mutable;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.internal.monads.MonadWrapper;
+import com.aol.cyclops.internal.stream.FileSink;
 import com.aol.cyclops.internal.stream.FutureStreamUtils;
 import com.aol.cyclops.internal.stream.PausableHotStreamImpl;
 import com.aol.cyclops.internal.stream.ReactiveSeqFutureOpterationsImpl;
 import com.aol.cyclops.internal.stream.ReactiveSeqImpl;
 import com.aol.cyclops.internal.stream.ReversedIterator;
+import com.aol.cyclops.internal.stream.RingBufferCopier;
 import com.aol.cyclops.internal.stream.SeqUtils;
 import com.aol.cyclops.internal.stream.operators.BatchBySizeOperator;
 import com.aol.cyclops.internal.stream.operators.BatchByTimeAndSizeOperator;
 import com.aol.cyclops.internal.stream.operators.BatchByTimeOperator;
 import com.aol.cyclops.internal.stream.operators.BatchWhileOperator;
 import com.aol.cyclops.internal.stream.operators.DebounceOperator;
+import com.aol.cyclops.internal.stream.operators.EventTimeWindowOperator;
+import com.aol.cyclops.internal.stream.operators.ExternalGroupOperator;
+import com.aol.cyclops.internal.stream.operators.ExternalSortOperator;
+import com.aol.cyclops.internal.stream.operators.KeyedAggregateOperator;
 import com.aol.cyclops.internal.stream.operators.LimitLastOperator;
 import com.aol.cyclops.internal.stream.operators.LimitWhileOperator;
 import com.aol.cyclops.internal.stream.operators.LimitWhileTimeOperator;
@@ -69,12 +79,19 @@ import com.aol.cyclops.internal.stream.operators.RecoverOperator;
 import com.aol.cyclops.internal.stream.operators.SkipLastOperator;
 import com.aol.cyclops.internal.stream.operators.SkipWhileOperator;
 import com.aol.cyclops.internal.stream.operators.SkipWhileTimeOperator;
+import com.aol.cyclops.internal.stream.operators.SlidingWindowOperator;
 import com.aol.cyclops.internal.stream.operators.WindowStatefullyWhileOperator;
 import com.aol.cyclops.internal.stream.spliterators.ReversableSpliterator;
+import com.aol.cyclops.types.stream.EventWindow;
+import com.aol.cyclops.types.stream.EventWindows;
+import com.aol.cyclops.types.stream.FileSinkConfig;
 import com.aol.cyclops.types.stream.HeadAndTail;
 import com.aol.cyclops.types.stream.HotStream;
 import com.aol.cyclops.types.stream.NonPausableHotStream;
+import com.aol.cyclops.types.stream.OverflowPolicy;
 import com.aol.cyclops.types.stream.PausableHotStream;
+import com.aol.cyclops.types.stream.SpillConfig;
+import com.aol.cyclops.types.stream.Watermarks;
 import com.aol.cyclops.types.stream.future.FutureOperations;
 import com.aol.cyclops.util.ExceptionSoftener;
 
@@ -575,6 +592,79 @@ public class StreamUtils {
                           it.next(), it.next(), it.next(), it.next());
     }
 
+    /**
+     * Duplicate a Stream, the copies share a ring buffer that holds at most bound elements. When one copy is bound elements
+     * ahead of the other the supplied {@link OverflowPolicy} determines whether it blocks, lets the buffer grow or fails.
+     * 
+     * <pre>
+     * {@code 
+     *  Tuple2<Stream<Integer>, Stream<Integer>> copies = StreamUtils.duplicate(Stream.of(1,2,3,4,5,6),2,OverflowPolicy.FAIL);
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to duplicate
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return duplicated stream
+     */
+    public final static <T> Tuple2<Stream<T>, Stream<T>> duplicate(final Stream<T> stream, final int bound, final OverflowPolicy policy) {
+        final Tuple2<Iterator<T>, Iterator<T>> Tuple2 = StreamUtils.toBufferingDuplicator(stream.iterator(), bound, policy);
+        return new Tuple2(
+                          StreamUtils.stream(Tuple2.v1()), StreamUtils.stream(Tuple2.v2()));
+    }
+
+    /**
+     * Triplicate a Stream, the copies share a ring buffer that holds at most bound elements
+     * 
+     * @see #duplicate(Stream, int, OverflowPolicy)
+     * @param stream Stream to triplicate
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return triplicated stream
+     */
+    @SuppressWarnings("unchecked")
+    public final static <T> Tuple3<Stream<T>, Stream<T>, Stream<T>> triplicate(final Stream<T> stream, final int bound, final OverflowPolicy policy) {
+        final Iterator<Stream<T>> it = copy(stream, 3, bound, policy).iterator();
+        return new Tuple3(
+                          it.next(), it.next(), it.next());
+    }
+
+    /**
+     * Make four copies of a Stream, the copies share a ring buffer that holds at most bound elements
+     * 
+     * @see #duplicate(Stream, int, OverflowPolicy)
+     * @param stream Stream to copy
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return Tuple4 containing 4 copies
+     */
+    @SuppressWarnings("unchecked")
+    public final static <T> Tuple4<Stream<T>, Stream<T>, Stream<T>, Stream<T>> quadruplicate(final Stream<T> stream, final int bound,
+            final OverflowPolicy policy) {
+        final Iterator<Stream<T>> it = copy(stream, 4, bound, policy).iterator();
+        return new Tuple4(
+                          it.next(), it.next(), it.next(), it.next());
+    }
+
+    /**
+     * Make the specified number of copies of a Stream, the copies share a ring buffer that holds at most bound elements
+     * 
+     * <pre>
+     * {@code 
+     *  ListX<Stream<Integer>> copies = StreamUtils.copy(Stream.of(1,2,3),5,1000,OverflowPolicy.BLOCK);
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to copy
+     * @param copies Number of copies
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return List of copies
+     */
+    public final static <T> ListX<Stream<T>> copy(final Stream<T> stream, final int copies, final int bound, final OverflowPolicy policy) {
+        return toBufferingCopier(stream.iterator(), copies, bound, policy).map(it -> StreamUtils.stream(it));
+    }
+
     /**
      * Append Stream to this SequenceM
      * 
@@ -1087,7 +1177,6 @@ public class StreamUtils {
      * @param reducers Reducers to reduce Stream
      * @return Reduced Stream values as List entries
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public static <R> ListX<R> reduce(final Stream<R> stream, final Iterable<? extends Monoid<R>> reducers) {
         return ListX.fromIterable(new MultiReduceOperator<R>(
                                                              stream).reduce(reducers));
@@ -1116,6 +1205,113 @@ public class StreamUtils {
 
     }
 
+    /**
+     * Simultaneously reduce a stream with multiple reducers in parallel. The Stream is split, each split is reduced into it's
+     * own accumulators and the accumulators are then combined, so the Monoids must be associative with a true identity element
+     * 
+     * <pre>
+     * {@code 
+     *  Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
+        Monoid<Integer> max = Monoid.of(Integer.MIN_VALUE,Math::max);
+        StreamUtils.parallelReduce(IntStream.range(0,1000).boxed(),Arrays.asList(sum,max));
+        //[499500,999]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to reduce
+     * @param reducers Reducers to reduce Stream
+     * @return Reduced Stream values as List entries
+     */
+    public static <R> ListX<R> parallelReduce(final Stream<R> stream, final Iterable<? extends Monoid<R>> reducers) {
+        return ListX.fromIterable(new MultiReduceOperator<R>(
+                                                             stream).parallelReduce(reducers));
+    }
+
+    /**
+     * Simultaneously reduce a DoubleStream with multiple primitive Monoids, without boxing
+     * 
+     * <pre>
+     * {@code 
+     *  StreamUtils.reduce(DoubleStream.of(1,2,3),DoubleMonoid.sum(),DoubleMonoid.min(),DoubleMonoid.max());
+     *  //[6.0,1.0,3.0]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to reduce
+     * @param reducers Reducers to reduce Stream
+     * @return Reduced values, in the same order as the reducers
+     */
+    public static double[] reduce(final DoubleStream stream, final DoubleMonoid... reducers) {
+        return MultiReduceOperator.reduce(stream, reducers);
+    }
+
+    /**
+     * Simultaneously reduce a DoubleStream with multiple (associative) primitive Monoids in parallel, without boxing
+     * 
+     * @param stream Stream to reduce
+     * @param reducers Reducers to reduce Stream
+     * @return Reduced values, in the same order as the reducers
+     */
+    public static double[] parallelReduce(final DoubleStream stream, final DoubleMonoid... reducers) {
+        return MultiReduceOperator.parallelReduce(stream, reducers);
+    }
+
+    /**
+     * Simultaneously reduce a LongStream with multiple primitive Monoids, without boxing
+     * 
+     * <pre>
+     * {@code 
+     *  StreamUtils.reduce(LongStream.of(1,2,3),LongMonoid.sum(),LongMonoid.min(),LongMonoid.max());
+     *  //[6,1,3]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to reduce
+     * @param reducers Reducers to reduce Stream
+     * @return Reduced values, in the same order as the reducers
+     */
+    public static long[] reduce(final LongStream stream, final LongMonoid... reducers) {
+        return MultiReduceOperator.reduce(stream, reducers);
+    }
+
+    /**
+     * Simultaneously reduce a LongStream with multiple (associative) primitive Monoids in parallel, without boxing
+     * 
+     * @param stream Stream to reduce
+     * @param reducers Reducers to reduce Stream
+     * @return Reduced values, in the same order as the reducers
+     */
+    public static long[] parallelReduce(final LongStream stream, final LongMonoid... reducers) {
+        return MultiReduceOperator.parallelReduce(stream, reducers);
+    }
+
+    /**
+     * Write a Stream to disk in large batched writes, elements are encoded into pooled direct buffers which are written by a
+     * dedicated thread. If the writer falls behind the Stream is blocked until a buffer becomes free.
+     * 
+     * <pre>
+     * {@code 
+     *  ListX<Path> files = StreamUtils.writeTo(Stream.of("hello","world"), FileSinkConfig.lines(Paths.get("out.txt")));
+     *  //[out.txt]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to write
+     * @param config Where and how to write the Stream
+     * @return Files written, in order (more than one if the config rotates files)
+     */
+    public static <T> ListX<Path> writeTo(final Stream<T> stream, final FileSinkConfig<? super T> config) {
+        final FileSink<T> sink = new FileSink<>(
+                                                config);
+        try {
+            stream.forEach(sink);
+        } finally {
+            sink.close();
+        }
+        //the last file is only opened once the sink is closed and it's final buffer written
+        return sink.files();
+    }
+
     /**
      * Repeat in a Stream while specified predicate holds
      * <pre>
@@ -1279,32 +1475,8 @@ public class StreamUtils {
      * @return Stream with sliding view 
      */
     public final static <T> Stream<ListX<T>> sliding(final Stream<T> stream, final int windowSize, final int increment) {
-        final Iterator<T> it = stream.iterator();
-        final Mutable<PStack<T>> list = Mutable.of(ConsPStack.empty());
-        return StreamUtils.stream(new Iterator<ListX<T>>() {
-
-            @Override
-            public boolean hasNext() {
-                return it.hasNext();
-            }
-
-            @Override
-            public ListX<T> next() {
-                for (int i = 0; i < increment && list.get()
-                                                     .size() > 0; i++)
-                    list.mutate(var -> var.minus(0));
-                for (; list.get()
-                           .size() < windowSize
-                        && it.hasNext();) {
-                    if (it.hasNext()) {
-                        list.mutate(var -> var.plus(Math.max(0, var.size()), it.next()));
-                    }
-
-                }
-                return ListX.fromIterable(list.get());
-            }
-
-        });
+        return new SlidingWindowOperator<>(
+                                           stream, windowSize, increment).sliding();
     }
 
     /**
@@ -1325,32 +1497,8 @@ public class StreamUtils {
      * @return Stream with sliding view over monad
      */
     public final static <T> Stream<Streamable<T>> window(final Stream<T> stream, final int windowSize, final int increment) {
-        final Iterator<T> it = stream.iterator();
-        final Mutable<PStack<T>> list = Mutable.of(ConsPStack.empty());
-        return StreamUtils.stream(new Iterator<Streamable<T>>() {
-
-            @Override
-            public boolean hasNext() {
-                return it.hasNext();
-            }
-
-            @Override
-            public Streamable<T> next() {
-                for (int i = 0; i < increment && list.get()
-                                                     .size() > 0; i++)
-                    list.mutate(var -> var.minus(0));
-                for (; list.get()
-                           .size() < windowSize
-                        && it.hasNext();) {
-                    if (it.hasNext()) {
-                        list.mutate(var -> var.plus(Math.max(0, var.size()), it.next()));
-                    }
-
-                }
-                return Streamable.fromIterable(list.get());
-            }
-
-        });
+        return new SlidingWindowOperator<>(
+                                           stream, windowSize, increment).window();
     }
 
     /**
@@ -1375,6 +1523,235 @@ public class StreamUtils {
         return sliding(stream, windowSize, 1);
     }
 
+    /**
+     * Create a sliding view over this Stream where each window is a read-only view of a shared ring buffer rather than a copy.
+     * A window may only be used until the next window is requested (after which it throws a ConcurrentModificationException),
+     * so it should be reduced, mapped or copied as it is emitted.
+     * 
+     * <pre>
+     * {@code 
+     * List<Integer> sums = StreamUtils.slidingView(Stream.of(1,2,3,4,5,6),3,1)
+     *                                 .map(w->w.stream().mapToInt(i->i).sum())
+     *                                 .collect(Collectors.toList());
+     * 
+     *  //[6,9,12,15]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to create sliding view on
+     * @param windowSize Size of sliding window
+     * @param increment Number of elements the window moves by
+     * @return Stream of window views
+     */
+    public final static <T> Stream<ListX<T>> slidingView(final Stream<T> stream, final int windowSize, final int increment) {
+        return new SlidingWindowOperator<>(
+                                           stream, windowSize, increment).slidingView();
+    }
+
+    /**
+     * Sum each window of windowSize elements (with an increment of one, emitting the same windows as {@link #sliding(Stream, int)}),
+     * the sum is updated as elements enter and leave the window rather than recalculated for each window
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.rollingSum(Stream.of(1,2,3,4,5),3,i->i)
+     *            .collect(Collectors.toList());
+     * 
+     * //[6.0,9.0,12.0]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to sum windows of
+     * @param windowSize Size of sliding window
+     * @param fn Function to extract the value to sum from each element
+     * @return Stream of rolling sums
+     */
+    public final static <T> Stream<Double> rollingSum(final Stream<T> stream, final int windowSize, final ToDoubleFunction<? super T> fn) {
+        return new SlidingWindowOperator<>(
+                                           stream, windowSize, 1).rollingSum(fn);
+    }
+
+    /**
+     * Find the smallest element in each window of windowSize elements (with an increment of one), candidates for the minimum
+     * are maintained in a monotonic deque so each element is compared an amortised constant number of times
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.rollingMin(Stream.of(4,2,5,3,1),2,Comparator.naturalOrder())
+     *            .collect(Collectors.toList());
+     * 
+     * //[2,2,3,1]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to find the minimum of each window in
+     * @param windowSize Size of sliding window
+     * @param comparator Comparator to determine the smallest element
+     * @return Stream of rolling minimums
+     */
+    public final static <T> Stream<T> rollingMin(final Stream<T> stream, final int windowSize, final Comparator<? super T> comparator) {
+        return new SlidingWindowOperator<>(
+                                           stream, windowSize, 1).rollingMin(comparator);
+    }
+
+    /**
+     * Find the largest element in each window of windowSize elements (with an increment of one)
+     * 
+     * @see #rollingMin(Stream, int, Comparator)
+     * @param stream Stream to find the maximum of each window in
+     * @param windowSize Size of sliding window
+     * @param comparator Comparator to determine the largest element
+     * @return Stream of rolling maximums
+     */
+    public final static <T> Stream<T> rollingMax(final Stream<T> stream, final int windowSize, final Comparator<? super T> comparator) {
+        return new SlidingWindowOperator<>(
+                                           stream, windowSize, 1).rollingMax(comparator);
+    }
+
+    /**
+     * Sort a Stream that may be larger than the heap, sorted runs of at most maxInMemory elements are spilled to temporary
+     * files and streamed back through a k-way merge
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.sorted(Stream.of(4,3,6,7),Comparator.naturalOrder(),SpillConfig.of(Serializer.ints(),2))
+     *            .collect(Collectors.toList());
+     * //[3,4,6,7]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to sort
+     * @param comparator Comparator to sort with
+     * @param spill Serializer, in-memory budget and temporary directory to use
+     * @return Sorted Stream
+     */
+    public final static <T> Stream<T> sorted(final Stream<T> stream, final Comparator<? super T> comparator, final SpillConfig<T> spill) {
+        return new ExternalSortOperator<>(
+                                          stream, comparator, spill).sorted();
+    }
+
+    /**
+     * Group a Stream that may be larger than the heap, elements are spilled to temporary files partitioned by the hash of their
+     * key and each partition is grouped in memory in turn
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.grouped(Stream.of(1,2,3,4),i->i%2,SpillConfig.of(Serializer.ints(),2))
+     *            .collect(Collectors.toList());
+     * //[(1,[1,3]),(0,[2,4])] in an order determined by the key hashes
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to group
+     * @param classifier Function to determine the key for each element
+     * @param spill Serializer, in-memory budget and temporary directory to use
+     * @return Stream of each key and the elements with that key
+     */
+    public final static <T, K> Stream<Tuple2<K, ListX<T>>> grouped(final Stream<T> stream, final Function<? super T, ? extends K> classifier,
+            final SpillConfig<T> spill) {
+        return new ExternalGroupOperator<T, K>(
+                                               stream, classifier, spill).grouped();
+    }
+
+    /**
+     * Aggregate a Stream by key, holding only a Collector accumulator per distinct key in memory rather than the elements
+     * themselves. Keys are emitted in encounter order once the Stream is exhausted.
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.aggregateBy(Stream.of("a","bb","c","dd","eee"),String::length,Collectors.counting())
+     *            .collect(Collectors.toList());
+     * //[(1,2),(2,2),(3,1)]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to aggregate
+     * @param classifier Function to determine the key for each element
+     * @param collector Collector to aggregate the elements with each key
+     * @return Stream of each key and its aggregated result
+     */
+    public final static <T, K, A, D> Stream<Tuple2<K, D>> aggregateBy(final Stream<T> stream, final Function<? super T, ? extends K> classifier,
+            final Collector<? super T, A, D> collector) {
+        return new KeyedAggregateOperator<T, K, A, D>(
+                                                      stream, classifier, collector).aggregate();
+    }
+
+    /**
+     * Aggregate a Stream by key, emitting partial results whenever a new key would take the number of keys held above
+     * maxKeys, or the current accumulators are older than the supplied time limit (checked as elements arrive). A key may be
+     * emitted more than once, with a partial result each time.
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.aggregateBy(Stream.of(1,2,3,1),i->i,Collectors.counting(),2,0,TimeUnit.SECONDS)
+     *            .collect(Collectors.toList());
+     * //[(1,1),(2,1),(3,1),(1,1)]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to aggregate
+     * @param classifier Function to determine the key for each element
+     * @param collector Collector to aggregate the elements with each key
+     * @param maxKeys Maximum number of keys held before emitting partial results, 0 or less for no limit
+     * @param time Maximum age of the accumulators before emitting partial results, 0 or less for no limit
+     * @param unit Time unit for time
+     * @return Stream of each key and its (partial) aggregated result
+     */
+    public final static <T, K, A, D> Stream<Tuple2<K, D>> aggregateBy(final Stream<T> stream, final Function<? super T, ? extends K> classifier,
+            final Collector<? super T, A, D> collector, final int maxKeys, final long time, final TimeUnit unit) {
+        return new KeyedAggregateOperator<T, K, A, D>(
+                                                      stream, classifier, collector, maxKeys, time, unit).aggregate();
+    }
+
+    /**
+     * Aggregate a Stream by key with a Monoid, holding only the reduced value per distinct key in memory
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.aggregateBy(Stream.of("a","bb","c"),String::length,s->1,Reducers.toTotalInt())
+     *            .collect(Collectors.toList());
+     * //[(1,2),(2,1)]
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to aggregate
+     * @param classifier Function to determine the key for each element
+     * @param mapper Function to map each element to the type reduced
+     * @param monoid Monoid to reduce the mapped elements with each key
+     * @return Stream of each key and its reduced value
+     */
+    public final static <T, K, R> Stream<Tuple2<K, R>> aggregateBy(final Stream<T> stream, final Function<? super T, ? extends K> classifier,
+            final Function<? super T, ? extends R> mapper, final Monoid<R> monoid) {
+        return aggregateBy(stream, classifier, KeyedAggregateOperator.reducing(mapper, monoid));
+    }
+
+    /**
+     * Window a Stream by event time, reducing the elements in each window incrementally with a Monoid. Windows are emitted as
+     * the watermark passes their end, only open windows are held in memory.
+     * 
+     * <pre>
+     * {@code 
+     * StreamUtils.windowByEventTime(clicks,Click::getPage,EventWindows.tumbling(60_000),
+     *                               Watermarks.boundedOutOfOrder(Click::getTimestamp,5_000),c->1,Reducers.toTotalInt())
+     *            .forEach(w -> System.out.println(w.getKey() + " " + w.getStart() + " : " + w.getValue()));
+     * }
+     * </pre>
+     * 
+     * @param stream Stream to window
+     * @param classifier Function to determine the key for each element, windows are maintained independently per key
+     * @param windows Tumbling, sliding or session windows
+     * @param watermarks Event timestamps, watermark delay and allowed lateness
+     * @param mapper Function to map each element to the type reduced
+     * @param monoid Monoid to reduce the mapped elements in each window
+     * @return Stream of window results
+     */
+    public final static <T, K, R> Stream<EventWindow<K, R>> windowByEventTime(final Stream<T> stream,
+            final Function<? super T, ? extends K> classifier, final EventWindows windows, final Watermarks<? super T> watermarks,
+            final Function<? super T, ? extends R> mapper, final Monoid<R> monoid) {
+        return new EventTimeWindowOperator<T, K, R>(
+                                                    stream, classifier, windows, watermarks, mapper, monoid).windowed();
+    }
+
     /**
      * Group elements in a Stream by size
      * 
@@ -2010,7 +2387,22 @@ public class StreamUtils {
     }
 
     public static final <A> Tuple2<Iterator<A>, Iterator<A>> toBufferingDuplicator(final Iterator<A> iterator) {
-        return toBufferingDuplicator(iterator, Long.MAX_VALUE);
+        return toBufferingDuplicator(iterator, Integer.MAX_VALUE, OverflowPolicy.SPILL);
+    }
+
+    /**
+     * Duplicate an Iterator, the copies share a ring buffer that holds at most bound elements
+     * 
+     * @param iterator Iterator to duplicate
+     * @param bound Maximum number of elements the leading copy may be ahead of the other
+     * @param policy What to do when the leading copy reaches the bound
+     * @return Tuple2 containing the two copies
+     */
+    public static final <A> Tuple2<Iterator<A>, Iterator<A>> toBufferingDuplicator(final Iterator<A> iterator, final int bound,
+            final OverflowPolicy policy) {
+        final ListX<Iterator<A>> copies = RingBufferCopier.copy(iterator, 2, bound, policy);
+        return new Tuple2<>(
+                            copies.get(0), copies.get(1));
     }
 
     public static final <A> Tuple2<Iterator<A>, Iterator<A>> toBufferingDuplicator(final Iterator<A> iterator, final long pos) {
@@ -2024,13 +2416,21 @@ public class StreamUtils {
     }
 
     public static final <A> ListX<Iterator<A>> toBufferingCopier(final Iterator<A> iterator, final int copies) {
-        final List<Iterator<A>> result = new ArrayList<>();
-        final List<CopyingIterator<A>> leaderboard = new LinkedList<>();
-        final LinkedList<A> buffer = new LinkedList<>();
-        for (int i = 0; i < copies; i++)
-            result.add(new CopyingIterator(
-                                           iterator, leaderboard, buffer, copies));
-        return ListX.fromIterable(result);
+        return toBufferingCopier(iterator, copies, Integer.MAX_VALUE, OverflowPolicy.SPILL);
+    }
+
+    /**
+     * Copy an Iterator, the copies share a ring buffer that holds at most bound elements
+     * 
+     * @param iterator Iterator to copy
+     * @param copies Number of copies
+     * @param bound Maximum number of elements the leading copy may be ahead of the slowest copy
+     * @param policy What to do when the leading copy reaches the bound
+     * @return List of copies
+     */
+    public static final <A> ListX<Iterator<A>> toBufferingCopier(final Iterator<A> iterator, final int copies, final int bound,
+            final OverflowPolicy policy) {
+        return RingBufferCopier.copy(iterator, copies, bound, policy);
     }
 
     @AllArgsConstructor
@@ -2067,75 +2467,6 @@ public class StreamUtils {
 
     }
 
-    static class CopyingIterator<T> implements Iterator<T> {
-
-        LinkedList<T> buffer;
-        Iterator<T> it;
-        List<CopyingIterator<T>> leaderboard = new LinkedList<>();
-        boolean added = false;
-        int total = 0;
-        int counter = 0;
-
-        @Override
-        public boolean hasNext() {
-
-            if (isLeader())
-                return it.hasNext();
-            if (isLast())
-                return buffer.size() > 0 || it.hasNext();
-            if (it.hasNext())
-                return true;
-            return counter < buffer.size();
-        }
-
-        private boolean isLeader() {
-            return leaderboard.size() == 0 || this == leaderboard.get(0);
-        }
-
-        private boolean isLast() {
-            return leaderboard.size() == total && this == leaderboard.get(leaderboard.size() - 1);
-        }
-
-        @Override
-        public T next() {
-
-            if (!added) {
-
-                this.leaderboard.add(this);
-                added = true;
-            }
-
-            if (isLeader()) {
-
-                return handleLeader();
-            }
-            if (isLast()) {
-
-                if (buffer.size() > 0)
-                    return buffer.poll();
-                return it.next();
-            }
-            if (counter < buffer.size())
-                return buffer.get(counter++);
-            return handleLeader(); //exceed buffer, now leading
-
-        }
-
-        private T handleLeader() {
-            final T next = it.next();
-            buffer.offer(next);
-            return next;
-        }
-
-        public CopyingIterator(final Iterator<T> it, final List<CopyingIterator<T>> leaderboard, final LinkedList<T> buffer, final int total) {
-
-            this.it = it;
-            this.leaderboard = leaderboard;
-            this.buffer = buffer;
-            this.total = total;
-        }
-    }
-
     /**
       * Projects an immutable collection of this stream. Initial iteration over the collection is not thread safe 
       * (can't be performed by multiple threads concurrently) subsequent iterations are.
@@ -1,5 +1,8 @@
 package com.aol.cyclops.control;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -99,6 +102,72 @@ public interface Streamable<T> extends To<Streamable<T>>,ToStream<T>, IterableFo
                                   Impl.collectStream(iterable));
     }
 
+    /**
+     * Construct a Streamable of the UTF-8 lines in a file, each time the Streamable is streamed the file is memory-mapped and
+     * read again (lines are not cached). See {@link ReactiveSeq#lines(Path)}
+     * 
+     * @param path File to read
+     * @return Streamable of lines
+     */
+    public static Streamable<String> lines(final Path path) {
+        return fromIterable(() -> ReactiveSeq.lines(path)
+                                             .iterator());
+    }
+
+    /**
+     * Construct a Streamable of the lines in a file, re-read each time the Streamable is streamed. See
+     * {@link ReactiveSeq#lines(Path, Charset)}
+     * 
+     * @param path File to read
+     * @param charset Charset of the file
+     * @return Streamable of lines
+     */
+    public static Streamable<String> lines(final Path path, final Charset charset) {
+        return fromIterable(() -> ReactiveSeq.lines(path, charset)
+                                             .iterator());
+    }
+
+    /**
+     * Construct a Streamable of chunks of whole lines of a memory-mapped file, see {@link ReactiveSeq#chunks(Path, int)}
+     * 
+     * @param path File to read
+     * @param chunkSize Maximum size of each chunk in bytes
+     * @return Streamable of chunks
+     */
+    public static Streamable<ByteBuffer> chunks(final Path path, final int chunkSize) {
+        return fromIterable(() -> ReactiveSeq.chunks(path, chunkSize)
+                                             .iterator());
+    }
+
+    /**
+     * Construct a Streamable of the records in a memory-mapped file of delimiter-separated binary records, see
+     * {@link ReactiveSeq#fromFile(Path, byte, Function)}
+     * 
+     * @param path File to read
+     * @param delimiter Byte separating records
+     * @param decoder Decodes each record
+     * @return Streamable of decoded records
+     */
+    public static <T> Streamable<T> fromFile(final Path path, final byte delimiter, final Function<? super ByteBuffer, ? extends T> decoder) {
+        return fromIterable(() -> ReactiveSeq.<T> fromFile(path, delimiter, decoder)
+                                             .iterator());
+    }
+
+    /**
+     * Construct a Streamable of the records in a memory-mapped file of fixed width binary records, see
+     * {@link ReactiveSeq#fromFixedWidthFile(Path, int, Function)}
+     * 
+     * @param path File to read
+     * @param recordSize Width of each record in bytes
+     * @param decoder Decodes each record
+     * @return Streamable of decoded records
+     */
+    public static <T> Streamable<T> fromFixedWidthFile(final Path path, final int recordSize,
+            final Function<? super ByteBuffer, ? extends T> decoder) {
+        return fromIterable(() -> ReactiveSeq.<T> fromFixedWidthFile(path, recordSize, decoder)
+                                             .iterator());
+    }
+
     /**
      * @param toCoerce Efficiently / lazily Makes Stream repeatable, guards iteration with locks on initial iteration
      * @return
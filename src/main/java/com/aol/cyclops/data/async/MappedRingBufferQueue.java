@@ -0,0 +1,219 @@
+package com.aol.cyclops.data.async;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractQueue;
+import java.util.Iterator;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+
+import com.aol.cyclops.types.stream.Serializer;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Non-blocking bounded Queue over an Agrona ring buffer in a memory-mapped file, so processes on the same host that map the
+ * same file can exchange serialized elements through shared memory. Elements are serialized into a per thread buffer and
+ * copied into the ring, and deserialized straight from the mapped file when read, without copying them out first.
+ *
+ * A ManyToOneRingBuffer supports producers in any number of processes (and threads), a OneToOneRingBuffer a single producer.
+ * Either way there should be one consuming process, reads within it are serialized. After the ring the file holds counts of
+ * elements written and read, so the Queue's size is the number of elements in the ring across all processes.
+ *
+ * Poison pills offered by the async.Queue (e.g. via {@link Queue#disconnectStreams(int)}) are written to the ring, so a
+ * producing process can close Streams in the consuming process.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Queue
+ */
+class MappedRingBufferQueue<T> extends AbstractQueue<T> {
+
+    private static final int DATA = 1;
+    private static final int NULL = 2;
+    private static final int POISON_PILL = 3;
+    private static final int CLEAR_PILL = 4;
+    private static final int WRITTEN = 0;
+    private static final int READ = 64;
+    private static final int COUNTERS_LENGTH = 128;
+
+    private final RingBuffer ring;
+    private final UnsafeBuffer counters;
+    private final Serializer<T> serializer;
+    private final ThreadLocal<Encoder> encoders = ThreadLocal.withInitial(Encoder::new);
+    private final DirectBufferInput input = new DirectBufferInput();
+    private final DataInputStream in = new DataInputStream(
+                                                           input);
+    private volatile Object next;
+
+    /**
+     * @param file File shared between processes, created if it doesn't exist
+     * @param capacity Capacity of the ring in bytes, a power of 2
+     * @param serializer Writes and reads elements
+     * @param singleProducer true if only one thread (in one process) will offer elements
+     */
+    MappedRingBufferQueue(final File file, final int capacity, final Serializer<T> serializer, final boolean singleProducer) {
+        if (!BitUtil.isPowerOfTwo(capacity))
+            throw new IllegalArgumentException(
+                                               "Capacity must be a positive power of 2, got " + capacity);
+        this.serializer = serializer;
+        final int ringLength = capacity + RingBufferDescriptor.TRAILER_LENGTH;
+        final MappedByteBuffer mapped = map(file, ringLength + COUNTERS_LENGTH);
+        final UnsafeBuffer buffer = new UnsafeBuffer(
+                                                     mapped, 0, ringLength);
+        this.ring = singleProducer ? new OneToOneRingBuffer(
+                                                            buffer)
+                : new ManyToOneRingBuffer(
+                                          buffer);
+        this.counters = new UnsafeBuffer(
+                                         mapped, ringLength, COUNTERS_LENGTH);
+    }
+
+    private static MappedByteBuffer map(final File file, final int length) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            if (channel.size() != 0 && channel.size() != length)
+                throw new IllegalArgumentException(
+                                                   file + " is " + channel.size() + " bytes, but a ring of this capacity needs " + length
+                                                           + " bytes");
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    /**
+     * @return false if there is no room in the ring
+     */
+    @Override
+    public boolean offer(final T e) {
+        final int type;
+        final Encoder encoder = encoders.get();
+        encoder.bytes.wrap(encoder.buffer);
+        if (e == Queue.NILL) {
+            type = NULL;
+        } else if (e == Queue.poisonPill()) {
+            type = POISON_PILL;
+        } else if (e == Queue.clearPill()) {
+            type = CLEAR_PILL;
+        } else {
+            type = DATA;
+            try {
+                serializer.write(e, encoder.out);
+            } catch (final IOException ex) {
+                throw ExceptionSoftener.throwSoftenedException(ex);
+            }
+        }
+        if (!ring.write(type, encoder.buffer, 0, Math.max(1, encoder.bytes.position())))
+            return false;
+        counters.getAndAddLong(WRITTEN, 1);
+        return true;
+    }
+
+    @Override
+    public synchronized T poll() {
+        final T result = peek();
+        next = null;
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized T peek() {
+        if (next == null && ring.read((type, buffer, index, length) -> next = decode(type, buffer, index, length), 1) > 0)
+            counters.putLongOrdered(READ, counters.getLong(READ) + 1);
+        return (T) next;
+    }
+
+    private Object decode(final int type, final DirectBuffer buffer, final int index, final int length) {
+        switch (type) {
+        case NULL:
+            return Queue.NILL;
+        case POISON_PILL:
+            return Queue.poisonPill();
+        case CLEAR_PILL:
+            return Queue.clearPill();
+        default:
+            input.wrap(buffer, index, length);
+            try {
+                return serializer.read(in);
+            } catch (final IOException e) {
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+        }
+    }
+
+    /**
+     * @return Number of elements in the ring, written by any process and not yet read
+     */
+    @Override
+    public int size() {
+        final long size = counters.getLongVolatile(WRITTEN) - counters.getLongVolatile(READ);
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size)) + (next == null ? 0 : 1);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        throw new UnsupportedOperationException(
+                                                "Shared memory Queues can't be iterated");
+    }
+
+    /**
+     * InputStream that reads a message directly from the ring (Agrona's DirectBufferInputStream returns bytes from read()
+     * signed, which DataInputStream mistakes for the end of the stream)
+     */
+    private static class DirectBufferInput extends InputStream {
+        DirectBuffer buffer;
+        int position;
+        int limit;
+
+        void wrap(final DirectBuffer buffer, final int index, final int length) {
+            this.buffer = buffer;
+            this.position = index;
+            this.limit = index + length;
+        }
+
+        @Override
+        public int read() {
+            return position < limit ? buffer.getByte(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0)
+                return 0;
+            final int count = Math.min(len, limit - position);
+            if (count <= 0)
+                return -1;
+            buffer.getBytes(position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+    }
+
+    private static class Encoder {
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(
+                                                                       256);
+        final ExpandableDirectBufferOutputStream bytes = new ExpandableDirectBufferOutputStream();
+        final DataOutputStream out = new DataOutputStream(
+                                                          bytes);
+    }
+}
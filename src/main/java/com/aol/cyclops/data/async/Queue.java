@@ -103,12 +103,16 @@ public class Queue<T> implements Adapter<T> {
     private final WaitStrategy<T> consumerWait;
     private final WaitStrategy<T> producerWait;
     @Getter
-    @Setter
     private volatile Signal<Integer> sizeSignal;
+    @Getter
+    @Setter
+    private volatile QueueMetrics metrics = QueueMetrics.none();
 
     private volatile Continueable sub;
     private ContinuationStrategy continuationStrategy;
     private volatile boolean shuttingDown = false;
+    //tracked only while a sizeSignal is set, as size() on some JDK Queues (e.g. ConcurrentLinkedQueue) is O(n)
+    private final AtomicInteger depth = new AtomicInteger();
 
     /**
      * Construct a Queue backed by a LinkedBlockingQueue
@@ -133,6 +137,7 @@ public class Queue<T> implements Adapter<T> {
 
         this.consumerWait = q.consumerWait;
         this.producerWait = q.producerWait;
+        this.metrics = q.metrics;
     }
 
     Queue(final BlockingQueue<T> queue, final WaitStrategy<T> consumer, final WaitStrategy<T> producer) {
@@ -168,6 +173,16 @@ public class Queue<T> implements Adapter<T> {
              consumer, producer);
     }
 
+    /**
+     * Publish the size of this Queue to the supplied Signal each time data is added or removed
+     * 
+     * @param sizeSignal Signal to publish Queue size to (null to stop publishing)
+     */
+    public void setSizeSignal(final Signal<Integer> sizeSignal) {
+        depth.set(queue.size());
+        this.sizeSignal = sizeSignal;
+    }
+
     public static <T> Queue<T> createMergeQueue() {
         final Queue<T> q = new Queue<>();
         q.continuationStrategy = new StreamOfContinuations(
@@ -315,6 +330,8 @@ public class Queue<T> implements Adapter<T> {
         
         final SimpleTimer timer = new SimpleTimer();
         final long timeoutNanos = timeUnit.toNanos(timeout);
+        final QueueMetrics metrics = this.metrics;
+        final long start = metrics.isEnabled() ? System.nanoTime() : 0;
         T data = null;
         try {
             if (this.continuationStrategy != null) {
@@ -328,7 +345,7 @@ public class Queue<T> implements Adapter<T> {
 
                 }
                 if (data != null)
-                    return (T) nillSafe(ensureNotPoisonPill(ensureClear(data)));
+                    return (T) nillSafe(dequeued(metrics, start, ensureClear(data)));
             }
             if (!open && queue.size() == 0)
                 throw new ClosedQueueException();
@@ -337,7 +354,7 @@ public class Queue<T> implements Adapter<T> {
                 if (this.sub != null && this.sub.timeLimit() > -1) {
                     data = ensureClear(consumerWait.take(() -> queue.poll(sub.timeLimit(), TimeUnit.NANOSECONDS)));
                     if (data == null)
-                        throw new QueueTimeoutException();
+                        throw timedOut(metrics);
                 }
 
                 else
@@ -345,7 +362,7 @@ public class Queue<T> implements Adapter<T> {
             } else {
                 data = ensureClear(consumerWait.take(() -> queue.poll(timeout, timeUnit)));
                 if (data == null)
-                    throw new QueueTimeoutException();
+                    throw timedOut(metrics);
             }
         } catch (final InterruptedException e) {
             Thread.currentThread()
@@ -353,18 +370,34 @@ public class Queue<T> implements Adapter<T> {
             throw ExceptionSoftener.throwSoftenedException(e);
         }
 
-        ensureNotPoisonPill(data);
-        if (sizeSignal != null)
-            this.sizeSignal.set(queue.size());
+        return (T) nillSafe(dequeued(metrics, start, data));
 
-        return (T) nillSafe(data);
+    }
+
+    private T dequeued(final QueueMetrics metrics, final long start, final T data) {
+        if (data instanceof PoisonPill) {
+            metrics.poisonPill();
+            throw new ClosedQueueException();
+        }
+        if (metrics.isEnabled()) {
+            metrics.consumerWait(System.nanoTime() - start);
+            metrics.dequeued();
+        }
+        final Signal<Integer> sizeSignal = this.sizeSignal;
+        if (sizeSignal != null)
+            sizeSignal.set(depth.decrementAndGet());
+        return data;
+    }
 
+    private QueueTimeoutException timedOut(final QueueMetrics metrics) {
+        metrics.timeout();
+        return new QueueTimeoutException();
     }
 
     private void handleTimeout(final SimpleTimer timer, final long timeout) {
         if (timer.getElapsedNanoseconds() > timeout) {
 
-            throw new QueueTimeoutException();
+            throw timedOut(metrics);
         }
 
     }
@@ -375,18 +408,12 @@ public class Queue<T> implements Adapter<T> {
                 poll = ensureClear(queue.poll());
 
             this.queue.clear();
+            depth.set(0);
         }
 
         return poll;
     }
 
-    private T ensureNotPoisonPill(final T data) {
-        if (data instanceof PoisonPill) {
-            throw new ClosedQueueException();
-        }
-        return data;
-    }
-
     /**
      * Exception thrown if Queue closed
      * 
@@ -433,6 +460,27 @@ public class Queue<T> implements Adapter<T> {
     private static class PoisonPill {
     }
 
+    /**
+     * @return true if value is one of the control signals this Queue passes through it's backing queue, rather than data
+     */
+    static boolean isSignal(final Object value) {
+        return value instanceof PoisonPill;
+    }
+
+    /**
+     * @return The poison pill used to close connected Streams, for backing queues that recreate signals they've stored
+     */
+    static Object poisonPill() {
+        return POISON_PILL;
+    }
+
+    /**
+     * @return The pill used by closeAndClear, for backing queues that recreate signals they've stored
+     */
+    static Object clearPill() {
+        return CLEAR_PILL;
+    }
+
     public T poll(final long time, final TimeUnit unit) throws QueueTimeoutException {
         return this.ensureOpen(time, unit);
     }
@@ -455,10 +503,8 @@ public class Queue<T> implements Adapter<T> {
 
         try {
             final boolean result = queue.add((T) nullSafe(data));
-            if (result) {
-                if (sizeSignal != null)
-                    this.sizeSignal.set(queue.size());
-            }
+            if (result)
+                enqueued();
             return result;
 
         } catch (final IllegalStateException e) {
@@ -481,11 +527,16 @@ public class Queue<T> implements Adapter<T> {
 
         if (!open)
             throw new ClosedQueueException();
+        final QueueMetrics metrics = this.metrics;
+        final long start = metrics.isEnabled() ? System.nanoTime() : 0;
         try {
             final boolean result = producerWait.offer(() -> this.queue.offer((T) nullSafe(data), this.offerTimeout, this.offerTimeUnit));
-
-            if (sizeSignal != null)
-                this.sizeSignal.set(queue.size());
+            if (metrics.isEnabled())
+                metrics.producerWait(System.nanoTime() - start);
+            if (result)
+                enqueued();
+            else
+                metrics.timeout();
             return result;
         } catch (final InterruptedException e) {
             Thread.currentThread()
@@ -495,6 +546,13 @@ public class Queue<T> implements Adapter<T> {
 
     }
 
+    private void enqueued() {
+        metrics.enqueued();
+        final Signal<Integer> sizeSignal = this.sizeSignal;
+        if (sizeSignal != null)
+            sizeSignal.set(depth.incrementAndGet());
+    }
+
     private boolean timeout(final SimpleTimer timer) {
 
         if (timer.getElapsedNanoseconds() >= offerTimeUnit.toNanos(this.offerTimeout))
@@ -601,9 +659,10 @@ public class Queue<T> implements Adapter<T> {
         public Collection<T> drainToOrBlock() {
 
             final Collection<T> result = new ArrayList<>();
-            if (size() > 0)
+            if (size() > 0) {
                 queue.queue.drainTo(result);
-            else {
+                queue.drained(result);
+            } else {
                 try {
 
                     result.add(queue.ensureOpen(queue.timeout, queue.timeUnit));
@@ -621,6 +680,22 @@ public class Queue<T> implements Adapter<T> {
         }
     }
 
+    private void drained(final Collection<T> result) {
+        final QueueMetrics metrics = this.metrics;
+        final Signal<Integer> sizeSignal = this.sizeSignal;
+        if (!metrics.isEnabled() && sizeSignal == null)
+            return;
+        int count = 0;
+        for (final T next : result) {
+            if (next != POISON_PILL) {
+                metrics.dequeued();
+                count++;
+            }
+        }
+        if (sizeSignal != null)
+            sizeSignal.set(depth.addAndGet(-count));
+    }
+
     public int size() {
         return queue.size();
     }
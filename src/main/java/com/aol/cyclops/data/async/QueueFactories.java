@@ -1,5 +1,6 @@
 package com.aol.cyclops.data.async;
 
+import java.io.File;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -11,6 +12,7 @@ import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import com.aol.cyclops.control.LazyReact;
 import com.aol.cyclops.data.async.wait.NoWaitRetry;
 import com.aol.cyclops.data.async.wait.WaitStrategy;
+import com.aol.cyclops.types.stream.Serializer;
 
 /**
  * Methods for generating QueueFactories for plumbing Streams together
@@ -202,6 +204,113 @@ public class QueueFactories {
 
     }
 
+    /**
+     * Create a QueueFactory for unbounded Queues that hold up to a configured number of elements on the heap, and spill the
+     * rest to memory-mapped segment files, so bursts are absorbed without growing the heap or blocking producers. Durable
+     * configurations write every element to disk and recover unconsumed elements when a Queue is next built over the same
+     * directory.
+     * <pre>
+     * {@code 
+     *   Queue<String> queue = QueueFactories.spillingQueue(SpillingQueueConfig.of(Serializer.strings())
+     *                                                                         .withMaxInMemory(1000))
+     *                                       .build();
+     *   
+     *   ReactiveSeq.range(0, 1_000_000)
+     *              .map(i->"data " + i)
+     *              .forEach(queue::offer);
+     * }
+     * </pre>
+     * @param config How to spill (or persist) elements
+     * @return QueueFactory for unbounded Queues that spill to disk
+     */
+    public static <T> QueueFactory<T> spillingQueue(final SpillingQueueConfig<T> config) {
+        return () -> new Queue<T>(
+                                  new SpillingBlockingQueue<>(
+                                                              config));
+    }
+
+    /**
+     * Creates an async.Queue backed by an Agrona ManyToOneRingBuffer in a memory-mapped file, Queues built over the same file
+     * in different processes on the same host share the ring, so elements offered in any of them can be streamed from one
+     * consuming process. Elements are serialized into the ring and deserialized directly from the mapped file. 
+     * 
+     * Wait strategy used is NoWaitRetry by default for both Consumers and Producers, use withConsumerWaitStrategy &amp;
+     * withProducerWaitStrategy methods on the returned queue to change the wait strategy. 
+     * 
+     * <pre>
+     * {@code
+     *    //producing process
+     *    Queue<String> events = QueueFactories.sharedMemoryQueue(new File("/dev/shm/events"), 1024 * 1024, Serializer.strings())
+     *                                         .build();
+     *    events.offer("hello");
+     *    events.disconnectStreams(1); //closes the Stream in the consuming process
+     *    
+     *    //consuming process
+     *    QueueFactories.sharedMemoryQueue(new File("/dev/shm/events"), 1024 * 1024, Serializer.strings())
+     *                  .build()
+     *                  .stream()
+     *                  .forEach(System.out::println);
+     * }</pre>
+     * @param file File to map, created if it does not exist
+     * @param capacity Capacity of the ring in bytes, must be a power of 2
+     * @param serializer Writes and reads elements
+     * @return Factory for bounded wait free Queues shared between processes
+     */
+    public static <T> QueueFactory<T> sharedMemoryQueue(final File file, final int capacity, final Serializer<T> serializer) {
+        return sharedMemoryQueue(file, capacity, serializer, new NoWaitRetry<>());
+    }
+
+    /**
+     * Creates an async.Queue backed by an Agrona ManyToOneRingBuffer in a memory-mapped file (see
+     * {@link #sharedMemoryQueue(File, int, Serializer)}). The provided WaitStrategy is used to determine behaviour of both
+     * producers and consumers when the Queue is full (producer) or empty (consumer).
+     * 
+     * @param file File to map, created if it does not exist
+     * @param capacity Capacity of the ring in bytes, must be a power of 2
+     * @param serializer Writes and reads elements
+     * @param strategy Strategy to be employed by producers when Queue is full, or consumers when Queue is empty
+     * @return Factory for bounded wait free Queues shared between processes
+     */
+    public static <T> QueueFactory<T> sharedMemoryQueue(final File file, final int capacity, final Serializer<T> serializer,
+            final WaitStrategy<T> strategy) {
+        return () -> new Queue<T>(
+                                  new MappedRingBufferQueue<>(
+                                                              file, capacity, serializer, false),
+                                  strategy, strategy);
+    }
+
+    /**
+     * Creates an async.Queue backed by an Agrona OneToOneRingBuffer in a memory-mapped file, for a single producing thread in
+     * one process and a consumer in another (see {@link #sharedMemoryQueue(File, int, Serializer)}).
+     * 
+     * @param file File to map, created if it does not exist
+     * @param capacity Capacity of the ring in bytes, must be a power of 2
+     * @param serializer Writes and reads elements
+     * @return Factory for bounded wait free Queues shared between two processes
+     */
+    public static <T> QueueFactory<T> singleWriterSharedMemoryQueue(final File file, final int capacity, final Serializer<T> serializer) {
+        return singleWriterSharedMemoryQueue(file, capacity, serializer, new NoWaitRetry<>());
+    }
+
+    /**
+     * Creates an async.Queue backed by an Agrona OneToOneRingBuffer in a memory-mapped file (see
+     * {@link #singleWriterSharedMemoryQueue(File, int, Serializer)}). The provided WaitStrategy is used to determine behaviour
+     * of both producers and consumers when the Queue is full (producer) or empty (consumer).
+     * 
+     * @param file File to map, created if it does not exist
+     * @param capacity Capacity of the ring in bytes, must be a power of 2
+     * @param serializer Writes and reads elements
+     * @param strategy Strategy to be employed by producers when Queue is full, or consumers when Queue is empty
+     * @return Factory for bounded wait free Queues shared between two processes
+     */
+    public static <T> QueueFactory<T> singleWriterSharedMemoryQueue(final File file, final int capacity, final Serializer<T> serializer,
+            final WaitStrategy<T> strategy) {
+        return () -> new Queue<T>(
+                                  new MappedRingBufferQueue<>(
+                                                              file, capacity, serializer, true),
+                                  strategy, strategy);
+    }
+
     /**
      * @return async.Queue backed by a Synchronous Queue
      */
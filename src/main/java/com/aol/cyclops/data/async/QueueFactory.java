@@ -1,5 +1,7 @@
 package com.aol.cyclops.data.async;
 
+import java.util.function.Supplier;
+
 /**
  * Interface for Factories of async.Queues
  * {@see QueueFactories}
@@ -35,4 +37,25 @@ public interface QueueFactory<T> {
      * @return async.Queue
      */
     public Queue<T> build();
+
+    /**
+     * Record metrics for each Queue built by this factory
+     * 
+     * <pre>
+     * {@code 
+     *   StripedQueueMetrics metrics = QueueMetrics.striped();
+     *   new LazyReact().withQueueFactory(QueueFactories.unboundedQueue().withMetrics(()->metrics))
+     * }
+     * </pre>
+     * 
+     * @param metrics Factory for QueueMetrics, called once per Queue built
+     * @return QueueFactory that builds instrumented Queues
+     */
+    default QueueFactory<T> withMetrics(final Supplier<? extends QueueMetrics> metrics) {
+        return () -> {
+            final Queue<T> queue = build();
+            queue.setMetrics(metrics.get());
+            return queue;
+        };
+    }
 }
@@ -0,0 +1,110 @@
+package com.aol.cyclops.data.async;
+
+/**
+ * Service provider interface for recording metrics about an async.Queue
+ * 
+ * Queues record nothing by default ({@link #none()}), {@link StripedQueueMetrics} records counts and wait times using striped
+ * counters. Custom implementations can forward events to an external metrics library.
+ * 
+ * <pre>
+ * {@code 
+ *   StripedQueueMetrics metrics = QueueMetrics.striped();
+ *   Queue<String> queue = QueueFactories.<String>unboundedNonBlockingQueue()
+ *                                       .withMetrics(()->metrics)
+ *                                       .build();
+ *   queue.offer("hello");
+ *   queue.get();
+ *   
+ *   metrics.stats().getDequeued(); //1
+ * }
+ * </pre>
+ * 
+ * @author johnmcclean
+ *
+ */
+public interface QueueMetrics {
+
+    /**
+     * @return Metrics that record nothing
+     */
+    public static QueueMetrics none() {
+        return Disabled.INSTANCE;
+    }
+
+    /**
+     * @return Metrics backed by striped (LongAdder) counters
+     */
+    public static StripedQueueMetrics striped() {
+        return new StripedQueueMetrics();
+    }
+
+    /**
+     * @return false if this instance ignores all events, in which case the Queue will not measure wait times
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * A data point was added to the Queue
+     */
+    void enqueued();
+
+    /**
+     * A data point was removed from the Queue
+     */
+    void dequeued();
+
+    /**
+     * @param nanos Time a producer spent offering a single data point to the Queue
+     */
+    void producerWait(long nanos);
+
+    /**
+     * @param nanos Time a consumer spent waiting for a single data point from the Queue
+     */
+    void consumerWait(long nanos);
+
+    /**
+     * A producer or consumer timed out
+     */
+    void timeout();
+
+    /**
+     * A consumer received a poison pill (the Queue was closed)
+     */
+    void poisonPill();
+
+    static enum Disabled implements QueueMetrics {
+        INSTANCE;
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void enqueued() {
+        }
+
+        @Override
+        public void dequeued() {
+        }
+
+        @Override
+        public void producerWait(final long nanos) {
+        }
+
+        @Override
+        public void consumerWait(final long nanos) {
+        }
+
+        @Override
+        public void timeout() {
+        }
+
+        @Override
+        public void poisonPill() {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.aol.cyclops.data.async;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the metrics recorded by a {@link StripedQueueMetrics} instance
+ * 
+ * @author johnmcclean
+ *
+ */
+@Value
+public class QueueStats {
+
+    private final long enqueued;
+    private final long dequeued;
+    private final long producerWaitNanos;
+    private final long consumerWaitNanos;
+    private final long timeouts;
+    private final long poisonPills;
+    private final long elapsedNanos;
+
+    /**
+     * @return Number of data points added but not yet removed (for a Topic subscriber, it's lag)
+     */
+    public long depth() {
+        return Math.max(0, enqueued - dequeued);
+    }
+
+    /**
+     * @return Average number of data points added per second since the metrics were created
+     */
+    public double enqueueRate() {
+        return rate(enqueued);
+    }
+
+    /**
+     * @return Average number of data points removed per second since the metrics were created
+     */
+    public double dequeueRate() {
+        return rate(dequeued);
+    }
+
+    /**
+     * @return Mean time, in nanoseconds, consumers waited per data point removed
+     */
+    public double meanConsumerWaitNanos() {
+        return dequeued == 0 ? 0 : (double) consumerWaitNanos / dequeued;
+    }
+
+    /**
+     * @return Mean time, in nanoseconds, producers waited per data point added
+     */
+    public double meanProducerWaitNanos() {
+        return enqueued == 0 ? 0 : (double) producerWaitNanos / enqueued;
+    }
+
+    private double rate(final long count) {
+        return elapsedNanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
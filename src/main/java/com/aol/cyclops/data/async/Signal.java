@@ -3,6 +3,7 @@ package com.aol.cyclops.data.async;
 import java.util.Objects;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import lombok.Getter;
@@ -90,6 +91,26 @@ public class Signal<T> {
             discrete.offer(newValue);
     }
 
+    /**
+     * Record metrics for the continuous and discrete Adapters backing this Signal
+     * 
+     * @param metrics Factory for QueueMetrics, called once per backing Queue (or per subscriber for Topic backed Signals)
+     */
+    public void setMetrics(final Supplier<? extends QueueMetrics> metrics) {
+        setMetrics(continuous, metrics);
+        setMetrics(discrete, metrics);
+    }
+
+    private void setMetrics(final Adapter<T> adapter, final Supplier<? extends QueueMetrics> metrics) {
+        adapter.visit(q -> {
+            q.setMetrics(metrics.get());
+            return q;
+        } , t -> {
+            t.setMetrics(metrics);
+            return t;
+        });
+    }
+
     /**
      * Close this Signal
      * 
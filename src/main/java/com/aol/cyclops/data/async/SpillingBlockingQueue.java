@@ -0,0 +1,455 @@
+package com.aol.cyclops.data.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.types.stream.FsyncPolicy;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Unbounded BlockingQueue that holds a bounded number of elements on the heap and spills the rest to append-only
+ * memory-mapped segment files. Once anything has been spilled new elements are appended to disk until the spilled elements
+ * have been consumed, so ordering is preserved. Segment files are deleted as soon as they have been read.
+ *
+ * Each record in a segment is it's length, a type byte and the serialized element. The length is written last, so a record
+ * torn by a crash is never read. Durable Queues spill every element and persist the read position to a small mapped file,
+ * on construction any records after that position are recovered. Control signals from the async.Queue (e.g. poison pills) are
+ * kept on the heap, with a placeholder record on disk marking their place, and are not recovered. Durable Queues force the
+ * write segment and the position file to disk according to the configured {@link FsyncPolicy}.
+ *
+ * Bulk operations that need to iterate over the Queue (iterator, contains, remove(Object)) are not supported.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Queue
+ */
+class SpillingBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+    private static final String SEGMENT = "segment-";
+    private static final String POSITION = "position";
+    private static final byte DATA = 0;
+    private static final byte NULL = 1;
+    private static final byte SIGNAL = 2;
+    /**
+     * Marks the end of the records in a segment, when the next record did not fit
+     */
+    private static final int END = -1;
+
+    private final SpillingQueueConfig<T> config;
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<T> hot = new ArrayDeque<>();
+    private final ArrayDeque<T> signals = new ArrayDeque<>();
+    private final Bytes bytes = new Bytes();
+    private final DataOutputStream out = new DataOutputStream(
+                                                              bytes);
+    private MappedByteBuffer position;
+    private long writeIndex;
+    private MappedByteBuffer writeSegment;
+    private long readIndex;
+    private MappedByteBuffer readSegment;
+    /**
+     * Records on disk that have not been read, other than stale signals
+     */
+    private int spilled;
+    /**
+     * Placeholders for signals recovered from a previous run, skipped when read
+     */
+    private int staleSignals;
+    private final FsyncPolicy fsync;
+    private final long fsyncNanos;
+    private long synced = System.nanoTime();
+
+    SpillingBlockingQueue(final SpillingQueueConfig<T> config) {
+        if (config.getSegmentBytes() <= 0)
+            throw new IllegalArgumentException(
+                                               "Segment size must be positive, got " + config.getSegmentBytes());
+        if (config.isDurable() && config.getDirectory() == null)
+            throw new IllegalArgumentException(
+                                               "Durable Queues require a directory");
+        this.config = config;
+        this.fsync = config.isDurable() && config.getFsync() != null ? config.getFsync() : FsyncPolicy.NEVER;
+        this.fsyncNanos = TimeUnit.MILLISECONDS.toNanos(config.getFsyncMillis());
+        try {
+            if (config.isDurable()) {
+                directory = config.getDirectory()
+                                  .toPath();
+                Files.createDirectories(directory);
+                recover();
+            } else {
+                directory = config.getDirectory() == null ? Files.createTempDirectory("cyclops-queue")
+                        : Files.createTempDirectory(config.getDirectory()
+                                                          .toPath(),
+                                                    "cyclops-queue");
+                directory.toFile()
+                         .deleteOnExit();
+            }
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    @Override
+    public boolean offer(final T e) {
+        lock.lock();
+        try {
+            if (config.isDurable() || spilled > 0 || hot.size() >= config.getMaxInMemory())
+                spill(e);
+            else
+                hot.add(e);
+            notEmpty.signal();
+            return true;
+        } catch (final IOException ex) {
+            throw ExceptionSoftener.throwSoftenedException(ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(final T e) {
+        offer(e);
+    }
+
+    @Override
+    public boolean offer(final T e, final long timeout, final TimeUnit unit) {
+        return offer(e);
+    }
+
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size() == 0)
+                notEmpty.await();
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size() == 0) {
+                if (nanos <= 0)
+                    return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T peek() {
+        lock.lock();
+        try {
+            if (!hot.isEmpty())
+                return hot.peek();
+            return spilled > 0 ? read(false) : null;
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return hot.size() + spilled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(final Collection<? super T> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super T> c, final int maxElements) {
+        lock.lock();
+        try {
+            int count = 0;
+            while (count < maxElements && size() > 0) {
+                c.add(next());
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            hot.clear();
+            signals.clear();
+            for (long i = readIndex; i <= writeIndex; i++)
+                delete(i);
+            readIndex = writeIndex = writeIndex + 1;
+            readSegment = writeSegment = null;
+            spilled = 0;
+            staleSignals = 0;
+            savePosition();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        throw new UnsupportedOperationException(
+                                                "Spilling Queues can't be iterated");
+    }
+
+    private T next() {
+        if (!hot.isEmpty())
+            return hot.poll();
+        try {
+            return spilled > 0 ? read(true) : null;
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void spill(final T value) throws IOException {
+        bytes.reset();
+        final byte type;
+        if (value == Queue.NILL) {
+            type = NULL;
+        } else if (Queue.isSignal(value)) {
+            type = SIGNAL;
+        } else {
+            type = DATA;
+            config.getSerializer()
+                  .write(value, out);
+        }
+        //room for the length, type and data, and for an END marker after them
+        final int length = bytes.size() + 1;
+        if (writeSegment == null || writeSegment.remaining() < length + 8) {
+            if (writeSegment != null) {
+                writeSegment.putInt(writeSegment.position(), END);
+                if (fsync != FsyncPolicy.NEVER)
+                    force();
+                writeIndex++;
+            }
+            writeSegment = segment(writeIndex, Math.max(config.getSegmentBytes(), length + 8));
+        }
+        final int start = writeSegment.position();
+        writeSegment.position(start + 4);
+        writeSegment.put(type);
+        writeSegment.put(bytes.buffer(), 0, bytes.size());
+        writeSegment.putInt(start, length);
+        if (type == SIGNAL)
+            signals.add(value);
+        spilled++;
+        if (fsync == FsyncPolicy.EVERY_WRITE || fsync == FsyncPolicy.INTERVAL && System.nanoTime() - synced >= fsyncNanos)
+            force();
+    }
+
+    /**
+     * fsync the current write segment and the read position
+     */
+    private void force() {
+        writeSegment.force();
+        if (position != null)
+            position.force();
+        synced = System.nanoTime();
+    }
+
+    /**
+     * Read the next record from disk, if consume is false the read position is left unchanged
+     */
+    private T read(final boolean consume) throws IOException {
+        final long index = readIndex;
+        final MappedByteBuffer segment = readSegment;
+        final int mark = segment == null ? 0 : segment.position();
+        final int stale = staleSignals;
+        try {
+            return readNext(consume);
+        } finally {
+            if (!consume) {
+                readIndex = index;
+                readSegment = segment;
+                if (segment != null)
+                    segment.position(mark);
+                staleSignals = stale;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T readNext(final boolean consume) throws IOException {
+        while (true) {
+            if (readSegment == null)
+                readSegment = segment(readIndex, 0);
+            final int start = readSegment.position();
+            final int length = readSegment.remaining() < 4 ? END : readSegment.getInt(start);
+            if (length == END) {
+                readSegment = null;
+                readIndex++;
+                if (consume) {
+                    savePosition();
+                    delete(readIndex - 1);
+                }
+                continue;
+            }
+            final byte type = readSegment.get(start + 4);
+            final byte[] data = new byte[length - 1];
+            readSegment.position(start + 5);
+            readSegment.get(data);
+            if (type == SIGNAL && staleSignals > 0) {
+                staleSignals--;
+                continue;
+            }
+            if (consume) {
+                spilled--;
+                savePosition();
+            }
+            if (type == SIGNAL)
+                return consume ? signals.poll() : signals.peek();
+            if (type == NULL)
+                return (T) Queue.NILL;
+            return config.getSerializer()
+                         .read(new DataInputStream(
+                                                   new ByteArrayInputStream(
+                                                                            data)));
+        }
+    }
+
+    /**
+     * Find the unread records left by a previous durable Queue, and where to append new ones
+     */
+    private void recover() throws IOException {
+        position = map(directory.resolve(POSITION), 12);
+        final TreeSet<Long> indices = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(p -> p.getFileName()
+                            .toString())
+                 .filter(name -> name.startsWith(SEGMENT))
+                 .forEach(name -> indices.add(Long.parseLong(name.substring(SEGMENT.length()))));
+        }
+        readIndex = writeIndex = position.getLong(0);
+        if (indices.isEmpty())
+            return;
+        int offset = position.getInt(8);
+        if (!indices.contains(readIndex)) {
+            readIndex = indices.ceiling(readIndex) == null ? indices.last() + 1 : indices.ceiling(readIndex);
+            offset = 0;
+        }
+        for (final long consumed : indices.headSet(readIndex))
+            delete(consumed);
+        writeIndex = readIndex;
+        for (long i = readIndex; i <= indices.last(); i++) {
+            final MappedByteBuffer segment = segment(i, 0);
+            segment.position(i == readIndex ? offset : 0);
+            if (i == readIndex) {
+                readSegment = segment(i, 0);
+                readSegment.position(offset);
+            }
+            boolean ended = false;
+            while (segment.remaining() >= 4) {
+                final int start = segment.position();
+                final int length = segment.getInt(start);
+                if (length == END || length == 0) {
+                    ended = length == END;
+                    break;
+                }
+                if (segment.get(start + 4) == SIGNAL)
+                    staleSignals++;
+                else
+                    spilled++;
+                segment.position(start + 4 + length);
+            }
+            writeIndex = i;
+            writeSegment = ended || segment.remaining() < 4 ? null : segment;
+        }
+        if (writeSegment == null && indices.last() >= readIndex)
+            writeIndex++;
+    }
+
+    private void savePosition() {
+        if (position == null)
+            return;
+        position.putLong(0, readIndex);
+        position.putInt(8, readSegment == null ? 0 : readSegment.position());
+    }
+
+    private Path file(final long index) {
+        return directory.resolve(SEGMENT + index);
+    }
+
+    /**
+     * @param size Size to map, or 0 to map the existing file
+     */
+    private MappedByteBuffer segment(final long index, final int size) throws IOException {
+        return map(file(index), size);
+    }
+
+    private MappedByteBuffer map(final Path file, final long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size > 0 ? Math.max(size, channel.size()) : channel.size());
+        }
+    }
+
+    private void delete(final long index) {
+        try {
+            Files.deleteIfExists(file(index));
+        } catch (final IOException e) {
+            //still mapped on some platforms, try again on exit
+            file(index).toFile()
+                       .deleteOnExit();
+        }
+    }
+
+    private static class Bytes extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.aol.cyclops.data.async;
+
+import java.io.File;
+
+import com.aol.cyclops.types.stream.FsyncPolicy;
+import com.aol.cyclops.types.stream.Serializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Builder;
+import lombok.experimental.Wither;
+
+/**
+ * Configuration for async.Queues that spill to memory-mapped segment files on disk (see
+ * {@link QueueFactories#spillingQueue(SpillingQueueConfig)}). Up to maxInMemory elements are held on the heap, once that is
+ * exceeded new elements are serialized and appended to segment files until the spilled elements have been consumed.
+ * 
+ * Durable Queues write every element straight to disk and record how far the consumer has read, so a Queue built over the same
+ * directory after a crash resumes with the unconsumed elements. Only one Queue should use a durable directory at a time.
+ * Writes to the mapped segments survive the JVM crashing, but only elements forced to disk by the fsync policy are guaranteed
+ * to survive the operating system crashing or a power failure. The read position is forced at the same time, so elements
+ * consumed since the last fsync may be delivered again.
+ *
+ * <pre>
+ * {@code
+ *  Queue<String> queue = QueueFactories.spillingQueue(SpillingQueueConfig.of(Serializer.strings())
+ *                                                                        .withMaxInMemory(10_000))
+ *                                      .build();
+ *  
+ *  Queue<String> recoverable = QueueFactories.spillingQueue(SpillingQueueConfig.durable(Serializer.strings(), new File("/data/queue"))
+ *                                                                              .withFsync(FsyncPolicy.EVERY_WRITE))
+ *                                            .build();
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Queue
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+@Builder
+public class SpillingQueueConfig<T> {
+
+    /**
+     * Writes and reads spilled elements
+     */
+    private final Serializer<T> serializer;
+    /**
+     * Maximum number of elements held on the heap before spilling, ignored by durable Queues
+     */
+    private final int maxInMemory;
+    /**
+     * Size in bytes of each segment file, elements larger than a segment get a segment of their own
+     */
+    private final int segmentBytes;
+    /**
+     * Directory for segment files, null for the default temporary-file directory (required for durable Queues)
+     */
+    private final File directory;
+    /**
+     * Whether unconsumed elements can be recovered from the directory after a restart
+     */
+    private final boolean durable;
+    /**
+     * When durable Queues force segments and the read position to disk, {@link FsyncPolicy#ON_CLOSE} forces each segment once
+     * it is full
+     */
+    private final FsyncPolicy fsync;
+    /**
+     * Minimum time between fsyncs in milliseconds, for {@link FsyncPolicy#INTERVAL} (checked as elements are written)
+     */
+    private final long fsyncMillis;
+
+    /**
+     * @param serializer Writes and reads spilled elements
+     * @return Configuration holding up to 10,000 elements on the heap and spilling to 64MB temporary segments
+     */
+    public static <T> SpillingQueueConfig<T> of(final Serializer<T> serializer) {
+        return new SpillingQueueConfig<>(
+                                         serializer, 10_000, 64 * 1024 * 1024, null, false, FsyncPolicy.NEVER, 1000);
+    }
+
+    /**
+     * @param serializer Writes and reads elements
+     * @param directory Directory to store (and recover) elements in
+     * @return Configuration for a durable Queue, that forces each segment to disk once it is full
+     */
+    public static <T> SpillingQueueConfig<T> durable(final Serializer<T> serializer, final File directory) {
+        return new SpillingQueueConfig<>(
+                                         serializer, 0, 64 * 1024 * 1024, directory, true, FsyncPolicy.ON_CLOSE, 1000);
+    }
+}
@@ -0,0 +1,76 @@
+package com.aol.cyclops.data.async;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * QueueMetrics implementation that records events in striped counters (LongAdder), so that concurrent producers and
+ * consumers do not contend on a single counter. Counts are summed when {@link #stats()} is called.
+ * 
+ * @author johnmcclean
+ *
+ */
+public class StripedQueueMetrics implements QueueMetrics {
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+    private final LongAdder producerWaitNanos = new LongAdder();
+    private final LongAdder consumerWaitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder poisonPills = new LongAdder();
+    private volatile long created = System.nanoTime();
+
+    @Override
+    public void enqueued() {
+        enqueued.increment();
+    }
+
+    @Override
+    public void dequeued() {
+        dequeued.increment();
+    }
+
+    @Override
+    public void producerWait(final long nanos) {
+        producerWaitNanos.add(nanos);
+    }
+
+    @Override
+    public void consumerWait(final long nanos) {
+        consumerWaitNanos.add(nanos);
+    }
+
+    @Override
+    public void timeout() {
+        timeouts.increment();
+    }
+
+    @Override
+    public void poisonPill() {
+        poisonPills.increment();
+    }
+
+    /**
+     * @return Snapshot of the metrics recorded so far
+     */
+    public QueueStats stats() {
+        //read dequeued first, so concurrent activity can't produce a negative depth
+        final long out = dequeued.sum();
+        final long in = enqueued.sum();
+        return new QueueStats(
+                              in, out, producerWaitNanos.sum(), consumerWaitNanos.sum(), timeouts.sum(), poisonPills.sum(),
+                              System.nanoTime() - created);
+    }
+
+    /**
+     * Reset all counters to zero (and restart the rate measurement period)
+     */
+    public void reset() {
+        enqueued.reset();
+        dequeued.reset();
+        producerWaitNanos.reset();
+        consumerWaitNanos.reset();
+        timeouts.reset();
+        poisonPills.reset();
+        created = System.nanoTime();
+    }
+}
@@ -3,7 +3,9 @@ package com.aol.cyclops.data.async;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
+import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +38,7 @@ public class Topic<T> implements Adapter<T> {
     private volatile PMap<Seq, Queue<T>> streamToQueue = HashTreePMap.empty();
     private final Object lock = new Object();
     private volatile int index = 0;
+    private volatile Supplier<? extends QueueMetrics> metrics = QueueMetrics::none;
 
     /**
      * Construct a new Topic
@@ -125,7 +128,9 @@ public class Topic<T> implements Adapter<T> {
         if (index >= this.distributor.getSubscribers()
                                      .size()) {
 
-            this.distributor.addQueue(new Queue());
+            final Queue<T> queue = new Queue<>();
+            queue.setMetrics(metrics.get());
+            this.distributor.addQueue(queue);
 
         }
         return this.distributor.getSubscribers()
@@ -160,6 +165,44 @@ public class Topic<T> implements Adapter<T> {
                         .setSizeSignal(s);
     }
 
+    /**
+     * Record metrics for each subscriber to this Topic, each subscriber Queue (existing and future) is given it's
+     * own QueueMetrics instance from the supplied factory
+     * 
+     * <pre>
+     * {@code 
+     *   Topic<Integer> topic = new Topic<>();
+     *   List<StripedQueueMetrics> metrics = new CopyOnWriteArrayList<>();
+     *   topic.setMetrics(()->{ 
+     *                          StripedQueueMetrics m = QueueMetrics.striped();
+     *                          metrics.add(m);
+     *                          return m;
+     *                   });
+     * }
+     * </pre>
+     * 
+     * @param metrics Factory for per subscriber QueueMetrics
+     */
+    @Synchronized("lock")
+    public void setMetrics(final Supplier<? extends QueueMetrics> metrics) {
+        this.metrics = metrics;
+        this.distributor.getSubscribers()
+                        .forEach(q -> q.setMetrics(metrics.get()));
+    }
+
+    /**
+     * Sample the number of data points waiting to be consumed by each subscriber. Sampled on demand, as computing the
+     * size of some Queue types is O(n).
+     * 
+     * @return Backlog of each subscriber Queue, in subscription order
+     */
+    public List<Integer> subscriberLag() {
+        return this.distributor.getSubscribers()
+                               .stream()
+                               .map(Queue::size)
+                               .collect(Collectors.toList());
+    }
+
     /**
      * Add a single datapoint to this Queue
      * 
@@ -1,113 +1,102 @@
 package com.aol.cyclops.internal.comprehensions.comprehenders;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
-import java.util.Arrays;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.aol.cyclops.control.ReactiveSeq;
-import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.internal.invokedynamic.InvokeDynamic;
 import com.aol.cyclops.types.extensability.Comprehender;
 import com.aol.cyclops.types.extensability.ValueComprehender;
-
-import lombok.AllArgsConstructor;
-
-@AllArgsConstructor
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Comprehender for monad types with no registered Comprehender. map / flatMap / filter methods are located once per class and
+ * invoked via pre-adapted MethodHandles. Functions are converted to the functional interface expected by the target method via
+ * LambdaMetafactory (falling back to a dynamic Proxy where the interface can not be implemented that way).
+ * 
+ * @author johnmcclean
+ *
+ */
 public class InvokeDynamicComprehender implements ValueComprehender {
     @Override
     public Class getTargetClass() {
         return null;
     }
 
-    Optional<Class> type;
+    final Optional<Class> type;
+    //monomorphic inline cache for the type this Comprehender was selected for
+    private final Dispatch dispatch;
 
-    private static volatile Map<Class, Method> mapMethod = new ConcurrentHashMap<>();
-    private static volatile Map<Class, Method> flatMapMethod = new ConcurrentHashMap<>();
-    private static volatile Map<Class, ListX<Method>> filterMethod = new ConcurrentHashMap<>();
+    private static final InvokeDynamic.Site[] ofSites = sites(true, 1, "of", "singleton", "some", "right", "success", "primary");
+    private static final InvokeDynamic.Site[] emptySites = sites(true, 0, "empty", "of", "cons", "none", "nil", "left", "failure", "secondary");
+    private static final InvokeDynamic.Site[] extractionSites = sites(false, 0, "get", "join");
 
-    @Override
-    public Object filter(final Object t, final Predicate p) {
-        final Class clazz = t.getClass();
-        final ListX<Method> m = filterMethod.computeIfAbsent(clazz, c -> ReactiveSeq.of(c.getMethods())
-                                                                                    .filter(method -> "filter".equals(method.getName()))
-                                                                                    .filter(method -> method.getParameterCount() == 1)
-                                                                                    .toListX()
-                                                                                    .map(m2 -> {
-                                                                                        m2.setAccessible(true);
-                                                                                        return m2;
-                                                                                    }));
-        if (m.size() == 0)
-            return ValueComprehender.super.filter(t, p);
-        for (final Method next : m) {
+    private static final ClassValue<Dispatch> dispatchers = new ClassValue<Dispatch>() {
+        @Override
+        protected Dispatch computeValue(final Class<?> type) {
+            return new Dispatch(
+                                type);
+        }
+    };
 
-            final Class z = next.getParameterTypes()[0];
-            if (z.isInterface()) {
+    public InvokeDynamicComprehender(final Optional<Class> type) {
+        this.type = type;
+        this.dispatch = type.map(t -> dispatchers.get(t))
+                            .orElse(null);
+    }
 
-                Object target = p;
-                if (!z.isAssignableFrom(Predicate.class)) {
-                    target = Proxy.newProxyInstance(InvokeDynamicComprehender.class.getClassLoader(), new Class[] { z },
-                                                    new FunctionExecutionInvocationHandler(
-                                                                                           input -> p.test(input)));
-                }
+    private static InvokeDynamic.Site[] sites(final boolean statics, final int arity, final String... names) {
+        return Stream.of(names)
+                     .map(name -> statics ? InvokeDynamic.staticSite(name, arity) : InvokeDynamic.site(name, arity))
+                     .toArray(InvokeDynamic.Site[]::new);
+    }
 
-                return new InvokeDynamic().executeMethod(next, t, target);
-            }
+    private static Optional<Object> executeFirst(final InvokeDynamic.Site[] sites, final Object obj, final Object... args) {
+        for (final InvokeDynamic.Site site : sites) {
+            final Optional<Object> result = site.execute(obj, args);
+            if (result.isPresent())
+                return result;
         }
-        return ValueComprehender.super.filter(t, p);
-
+        return Optional.empty();
     }
 
-    @Override
-    public Object map(final Object t, final Function fn) {
-
+    private Dispatch dispatch(final Object t) {
         final Class clazz = t.getClass();
+        if (dispatch != null && dispatch.type == clazz)
+            return dispatch;
+        return dispatchers.get(clazz);
+    }
 
-        final Method m = mapMethod.computeIfAbsent(clazz, c -> Stream.of(c.getMethods())
-                                                                     .filter(method -> "map".equals(method.getName())
-                                                                             || "transform".equals(method.getName()))
-                                                                     .filter(method -> method.getParameterCount() == 1)
-                                                                     .findFirst()
-                                                                     .map(m2 -> {
-                                                                         m2.setAccessible(true);
-                                                                         return m2;
-                                                                     })
-                                                                     .get());
-
-        return execute(t, fn, m);
+    @Override
+    public Object filter(final Object t, final Predicate p) {
+        final Invoker filter = dispatch(t).filter();
+        if (filter == null)
+            return ValueComprehender.super.filter(t, p);
+        return filter.invoke(t, p);
 
     }
 
-    private Object execute(final Object t, final Function fn, final Method m) {
-        final Class z = m.getParameterTypes()[0];
-        Object target = fn;
-        if (!z.isAssignableFrom(Function.class)) {
-            target = Proxy.newProxyInstance(InvokeDynamicComprehender.class.getClassLoader(), new Class[] { z },
-                                            new FunctionExecutionInvocationHandler(
-                                                                                   input -> fn.apply(input)));
-        }
+    @Override
+    public Object map(final Object t, final Function fn) {
+        return dispatch(t).map()
+                          .invoke(t, fn);
 
-        return new InvokeDynamic().execute(m.getName(), t, target)
-                                  .get();
     }
 
     @Override
     public Object flatMap(final Object t, final Function fn) {
-        final Class clazz = t.getClass();
-        final Method m = flatMapMethod.computeIfAbsent(clazz, c -> Stream.of(c.getMethods())
-                                                                         .filter(method -> "flatMap".equals(method.getName())
-                                                                                 || "bind".equals(method.getName())
-                                                                                 || "transformAndConcat".equals(method.getName()))
-                                                                         .filter(method -> method.getParameterCount() == 1)
-                                                                         .findFirst()
-                                                                         .get());
-
-        return execute(t, fn, m);
+        return dispatch(t).flatMap()
+                          .invoke(t, fn);
     }
 
     private boolean isAssignableFrom(final Class t, final Object apply) {
@@ -133,8 +122,7 @@ public class InvokeDynamicComprehender implements ValueComprehender {
     @Override
     public Object of(final Object o) {
 
-        final InvokeDynamic dyn = new InvokeDynamic();
-        final Optional ob = dyn.execute(Arrays.asList("of", "singleton", "some", "right", "success", "primary"), type.get(), o);
+        final Optional ob = executeFirst(ofSites, type.get(), o);
 
         return ob.get();
 
@@ -143,16 +131,14 @@ public class InvokeDynamicComprehender implements ValueComprehender {
     @Override
     public Object empty() {
 
-        final InvokeDynamic dyn = new InvokeDynamic();
-        final Optional o = dyn.execute(Arrays.asList("empty", "of", "cons", "none", "nil", "left", "failure", "secondary"), type.get());
+        final Optional o = executeFirst(emptySites, type.get());
         return o.get();
     }
 
     @Override
     public Object resolveForCrossTypeFlatMap(final Comprehender comp, final Object apply) {
-        final InvokeDynamic dyn = new InvokeDynamic();
         try {
-            final Optional o = dyn.execute(Arrays.asList("get", "join"), apply);
+            final Optional o = executeFirst(extractionSites, apply);
             if (o.isPresent()) //extraction method exists?
                 return comp.of(o.get());
             else //no? let's just wrap the value in the appropriate monad type, this allows flatten() to work
@@ -165,4 +151,150 @@ public class InvokeDynamicComprehender implements ValueComprehender {
 
     }
 
+    /**
+     * Lazily resolved per class map / flatMap / filter invokers
+     */
+    private static final class Dispatch {
+        private final Class type;
+        private volatile Invoker map;
+        private volatile Invoker flatMap;
+        private volatile Optional<Invoker> filter;
+
+        Dispatch(final Class type) {
+            this.type = type;
+        }
+
+        Invoker map() {
+            Invoker result = map;
+            if (result == null) {
+                final Method m = Stream.of(type.getMethods())
+                                       .filter(method -> "map".equals(method.getName()) || "transform".equals(method.getName()))
+                                       .filter(method -> method.getParameterCount() == 1)
+                                       .findFirst()
+                                       .get();
+                map = result = new Invoker(
+                                           m, Function.class, "apply");
+            }
+            return result;
+        }
+
+        Invoker flatMap() {
+            Invoker result = flatMap;
+            if (result == null) {
+                final Method m = Stream.of(type.getMethods())
+                                       .filter(method -> "flatMap".equals(method.getName()) || "bind".equals(method.getName())
+                                               || "transformAndConcat".equals(method.getName()))
+                                       .filter(method -> method.getParameterCount() == 1)
+                                       .findFirst()
+                                       .get();
+                flatMap = result = new Invoker(
+                                               m, Function.class, "apply");
+            }
+            return result;
+        }
+
+        Invoker filter() {
+            Optional<Invoker> result = filter;
+            if (result == null) {
+                filter = result = Stream.of(type.getMethods())
+                                        .filter(method -> "filter".equals(method.getName()))
+                                        .filter(method -> method.getParameterCount() == 1)
+                                        .filter(method -> method.getParameterTypes()[0].isInterface())
+                                        .findFirst()
+                                        .map(m -> new Invoker(
+                                                              m, Predicate.class, "test"));
+            }
+            return result.orElse(null);
+        }
+    }
+
+    /**
+     * Invokes a single argument method via a MethodHandle adapted to (Object,Object)Object, converting the supplied
+     * java.util.function type to the functional interface the method accepts
+     */
+    private static final class Invoker {
+        private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class, Object.class);
+        private static final MethodType ADAPTER = MethodType.methodType(Object.class, Object.class);
+
+        private final MethodHandle handle;
+        //null if the java.util.function type can be passed directly
+        private final MethodHandle adapter;
+        private final boolean predicate;
+        private final Class parameterType;
+
+        Invoker(final Method m, final Class source, final String sourceMethod) {
+            try {
+                m.setAccessible(true);
+            } catch (final RuntimeException e) {
+                //fall back to public access
+            }
+            try {
+                this.handle = MethodHandles.lookup()
+                                           .unreflect(m)
+                                           .asType(GENERIC);
+            } catch (final IllegalAccessException e) {
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+            this.parameterType = m.getParameterTypes()[0];
+            this.predicate = source == Predicate.class;
+            this.adapter = parameterType.isAssignableFrom(source) ? null : lambdaFactory(parameterType, source, sourceMethod);
+        }
+
+        Object invoke(final Object target, final Object fn) {
+            try {
+                return handle.invokeExact(target, adapt(fn));
+            } catch (final Throwable t) {
+                throw ExceptionSoftener.throwSoftenedException(t);
+            }
+        }
+
+        private Object adapt(final Object fn) throws Throwable {
+            if (parameterType.isInstance(fn))
+                return fn;
+            if (adapter != null)
+                return adapter.invokeExact(fn);
+            final Function f = predicate ? input -> ((Predicate) fn).test(input) : (Function) fn;
+            return Proxy.newProxyInstance(InvokeDynamicComprehender.class.getClassLoader(), new Class[] { parameterType },
+                                          new FunctionExecutionInvocationHandler(
+                                                                                 f));
+        }
+
+        /**
+         * @return MethodHandle (Object)Object that converts a source instance to the functional interface z, or null if
+         *          LambdaMetafactory can not implement z (e.g. not a single abstract method interface or not accessible)
+         */
+        private static MethodHandle lambdaFactory(final Class z, final Class source, final String sourceMethod) {
+            if (!z.isInterface())
+                return null;
+            final List<Method> abstractMethods = Stream.of(z.getMethods())
+                                                       .filter(method -> Modifier.isAbstract(method.getModifiers()))
+                                                       .filter(method -> !isObjectMethod(method))
+                                                       .collect(Collectors.toList());
+            if (abstractMethods.size() != 1 || abstractMethods.get(0)
+                                                              .getParameterCount() != 1)
+                return null;
+            final Method sam = abstractMethods.get(0);
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                final Method sourceSam = source.getMethod(sourceMethod, Object.class);
+                final MethodHandle impl = lookup.unreflect(sourceSam);
+                final MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+                return LambdaMetafactory.metafactory(lookup, sam.getName(), MethodType.methodType(z, source), samType, impl, samType)
+                                        .getTarget()
+                                        .asType(ADAPTER);
+            } catch (final Throwable t) {
+                return null;
+            }
+        }
+
+        private static boolean isObjectMethod(final Method m) {
+            try {
+                Object.class.getMethod(m.getName(), m.getParameterTypes());
+                return true;
+            } catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,147 @@
+package com.aol.cyclops.internal.invokedynamic;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Extracts the values of all (non-static) fields of a class, in declaration order with super class fields first.
+ *
+ * An extractor is generated once per class : a single MethodHandle that applies a getter for each field and collects the
+ * results directly into an array, the values are returned as a read-only List view over that array.
+ *
+ * @author johnmcclean
+ *
+ */
+public final class FieldExtractor {
+
+    //MethodHandle arity limit is 255, classes with more fields than this read each field in turn
+    private static final int MAX_COLLECTED = 200;
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType EXTRACT = MethodType.methodType(Object[].class, Object.class);
+
+    private static final ClassValue<FieldExtractor> extractors = new ClassValue<FieldExtractor>() {
+        @Override
+        protected FieldExtractor computeValue(final Class<?> type) {
+            return new FieldExtractor(
+                                      type);
+        }
+    };
+
+    private final MethodHandle[] getters;
+    private final MethodHandle extract;
+
+    private FieldExtractor(final Class<?> type) {
+        final List<Field> fields = ReflectionCache.getFields(type);
+        getters = new MethodHandle[fields.size()];
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                getters[i] = MethodHandles.lookup()
+                                          .unreflectGetter(fields.get(i))
+                                          .asType(GETTER);
+            }
+        } catch (final IllegalAccessException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+        extract = getters.length > MAX_COLLECTED ? null : collecting(getters);
+    }
+
+    private static MethodHandle collecting(final MethodHandle[] getters) {
+        if (getters.length == 0)
+            return MethodHandles.dropArguments(MethodHandles.constant(Object[].class, new Object[0]), 0, Object.class);
+        final MethodHandle collector = MethodHandles.identity(Object[].class)
+                                                    .asCollector(Object[].class, getters.length);
+        return MethodHandles.permuteArguments(MethodHandles.filterArguments(collector, 0, getters), EXTRACT, new int[getters.length]);
+    }
+
+    /**
+     * @param type Class to extract field values from
+     * @return (Cached) extractor for the supplied class
+     */
+    public static FieldExtractor of(final Class<?> type) {
+        return extractors.get(type);
+    }
+
+    /**
+     * @param o Object to extract field values from
+     * @return Read-only List of the supplied Objects field values
+     */
+    public static List<Object> unapply(final Object o) {
+        return of(o.getClass()).values(o);
+    }
+
+    /**
+     * @return Number of fields extracted
+     */
+    public int arity() {
+        return getters.length;
+    }
+
+    /**
+     * @param o Object to extract field values from, must be an instance of the class this extractor was created for
+     * @return Read-only List of field values
+     */
+    public List<Object> values(final Object o) {
+        return new FieldValues(
+                               toArray(o));
+    }
+
+    /**
+     * @param o Object to extract field values from, must be an instance of the class this extractor was created for
+     * @return Newly allocated array of field values
+     */
+    public Object[] toArray(final Object o) {
+        try {
+            if (extract != null)
+                return (Object[]) extract.invokeExact(o);
+            final Object[] values = new Object[getters.length];
+            for (int i = 0; i < getters.length; i++)
+                values[i] = getters[i].invokeExact(o);
+            return values;
+        } catch (final Throwable t) {
+            throw ExceptionSoftener.throwSoftenedException(t);
+        }
+    }
+
+    /**
+     * @param o Object to extract field value from, must be an instance of the class this extractor was created for
+     * @param index Index of field to extract
+     * @return Value of field
+     */
+    public Object get(final Object o, final int index) {
+        try {
+            return getters[index].invokeExact(o);
+        } catch (final Throwable t) {
+            throw ExceptionSoftener.throwSoftenedException(t);
+        }
+    }
+
+    private static final class FieldValues extends AbstractList<Object> implements RandomAccess {
+        private final Object[] values;
+
+        FieldValues(final Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Object get(final int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public Object[] toArray() {
+            return values.clone();
+        }
+    }
+}
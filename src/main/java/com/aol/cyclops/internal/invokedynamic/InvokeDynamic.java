@@ -1,110 +1,257 @@
 package com.aol.cyclops.internal.invokedynamic;
 
-import java.lang.invoke.CallSite;
-import java.lang.invoke.ConstantCallSite;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentMap;
 
 import com.aol.cyclops.util.ExceptionSoftener;
 
+/**
+ * Dynamically invoke methods by name.
+ *
+ * Each (method name, argument count) pair is served by a {@link Site}, a polymorphic inline cache that maps receiver classes to
+ * MethodHandles pre-adapted to a generic (Object...)Object signature and invoked via invokeExact. Sites cache up to
+ * {@link Site#POLYMORPHIC_LIMIT} receiver classes inline, beyond that lookups fall back to a per class ClassValue.
+ * Hot callers can hold on to a Site directly (see {@link #site(String, int)}) to skip the name lookup.
+ *
+ * @author johnmcclean
+ *
+ */
 public class InvokeDynamic {
-    private static volatile Map<Method, CallSite> callSites = new ConcurrentHashMap<>();
 
-    private static volatile Map<String, Map<Class, List<Method>>> generalMethods = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<SiteKey, Site> sites = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, Target> methods = new ConcurrentHashMap<>();
 
-    public <T> Optional<T> execute(final List<String> methodNames, final Object obj, final Object... args) {
-        return (Optional) methodNames.stream()
-                                     .map(s -> execute(s, obj, args))
-                                     .filter(Optional::isPresent)
-                                     .findFirst()
-                                     .flatMap(i -> i);
+    /**
+     * @param methodName Name of the instance method to invoke
+     * @param arity Number of arguments the method accepts
+     * @return Shared call site for the specified method name and argument count
+     */
+    public static Site site(final String methodName, final int arity) {
+        return site(methodName, arity, false);
     }
 
-    public <T> Optional<T> execute(final String methodName, final Object obj, final Object... args) {
-        final Class clazz = obj instanceof Class ? (Class) obj : obj.getClass();
-        final Map<Class, List<Method>> methods = generalMethods.computeIfAbsent(methodName, k -> new ConcurrentHashMap<>());
-        final List<Method> om = methods.computeIfAbsent(clazz, c -> Stream.of(c.getMethods())
-                                                                          .filter(method -> methodName.equals(method.getName()))
-                                                                          .filter(method -> method.getParameterCount() == args.length)
-                                                                          .map(m2 -> {
-                                                                              m2.setAccessible(true);
-                                                                              return m2;
-                                                                          })
-                                                                          .collect(Collectors.toList()));
-
-        if (om.size() > 0) {
-            return obj instanceof Class ? Optional.of((T) executeStaticMethod(om.get(0), (Class) obj, args))
-                    : Optional.of((T) executeMethod(om.get(0), obj, args));
+    /**
+     * @param methodName Name of the static method to invoke
+     * @param arity Number of arguments the method accepts
+     * @return Shared call site for the specified static method name and argument count
+     */
+    public static Site staticSite(final String methodName, final int arity) {
+        return site(methodName, arity, true);
+    }
+
+    private static Site site(final String methodName, final int arity, final boolean statics) {
+        return sites.computeIfAbsent(new SiteKey(
+                                                 methodName, arity, statics),
+                                     k -> new Site(
+                                                   methodName, arity, statics));
+    }
+
+    public <T> Optional<T> execute(final List<String> methodNames, final Object obj, final Object... args) {
+        for (final String name : methodNames) {
+            final Optional<T> result = execute(name, obj, args);
+            if (result.isPresent())
+                return result;
         }
         return Optional.empty();
     }
 
-    private Object executeStaticMethod(final Method m, final Class type, final Object... args) {
+    public <T> Optional<T> execute(final String methodName, final Object obj, final Object... args) {
+        return site(methodName, args.length, obj instanceof Class).execute(obj, args);
+    }
+
+    public Object executeMethod(final Method m, final Object obj, final Object... args) {
         try {
+            return methods.computeIfAbsent(m, Target::of)
+                          .invoke(obj, args);
+        } catch (final Throwable e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
 
-            final MethodHandle mh = callSites.computeIfAbsent(m, (m2) -> {
-                try {
-                    return new ConstantCallSite(
-                                                MethodHandles.publicLookup()
-                                                             .unreflect(m2));
-                } catch (final Exception e) {
-                    throw ExceptionSoftener.throwSoftenedException(e);
+    /**
+     * Polymorphic inline cache for a given method name and argument count
+     */
+    public static final class Site {
+        static final int POLYMORPHIC_LIMIT = 4;
 
-                }
+        private final String methodName;
+        private final int arity;
+        private final boolean statics;
+        //receiver classes seen so far, grown copy on write up to POLYMORPHIC_LIMIT entries
+        private volatile Target[] inline = new Target[0];
+        private final ClassValue<Target> megamorphic = new ClassValue<Target>() {
+            @Override
+            protected Target computeValue(final Class<?> type) {
+                return resolve(type);
+            }
+        };
 
-            })
-                                             .dynamicInvoker();
+        private Site(final String methodName, final int arity, final boolean statics) {
+            this.methodName = methodName;
+            this.arity = arity;
+            this.statics = statics;
+        }
 
-            if (args.length == 0)
-                return mh.invoke();
-            if (args.length == 1)
-                return mh.invoke(args[0]);
-            if (args.length == 2)
-                return mh.invoke(args[0], args[1]);
+        /**
+         * Invoke the method on the supplied object, or for static sites invoke the static method on the supplied Class
+         *
+         * @param obj Receiver (or Class for static sites)
+         * @param args Method arguments
+         * @return Result of invocation, or Optional.empty() if no suitable method exists
+         */
+        public <T> Optional<T> execute(final Object obj, final Object... args) {
+            final Target target = target(statics ? (Class) obj : obj.getClass());
+            if (target.isMissing())
+                return Optional.empty();
+            try {
+                return Optional.of((T) target.invoke(obj, args));
+            } catch (final Throwable e) {
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+        }
 
-        } catch (final Throwable e) {
-            throw ExceptionSoftener.throwSoftenedException(e);
-        } finally {
+        private Target target(final Class type) {
+            final Target[] cached = inline;
+            for (int i = 0; i < cached.length; i++) {
+                if (cached[i].type == type)
+                    return cached[i];
+            }
+            final Target resolved = megamorphic.get(type);
+            if (cached.length < POLYMORPHIC_LIMIT) {
+                synchronized (this) {
+                    final Target[] current = inline;
+                    if (current.length < POLYMORPHIC_LIMIT) {
+                        final Target[] grown = new Target[current.length + 1];
+                        System.arraycopy(current, 0, grown, 0, current.length);
+                        grown[current.length] = resolved;
+                        inline = grown;
+                    }
+                }
+            }
+            return resolved;
+        }
 
+        private Target resolve(final Class<?> type) {
+            for (final Method m : type.getMethods()) {
+                if (methodName.equals(m.getName()) && m.getParameterCount() == arity && Modifier.isStatic(m.getModifiers()) == statics)
+                    return Target.of(type, m);
+            }
+            return Target.missing(type);
         }
-        return null;
     }
 
-    public Object executeMethod(final Method m, final Object obj, final Object... args) {
-        try {
+    /**
+     * A resolved method, adapted to (Object...)Object (statics) or (Object,Object...)Object (instance methods)
+     */
+    private static final class Target {
+        final Class type;
+        private final MethodHandle handle;
+        private final boolean isStatic;
+        private final int arity;
+
+        private Target(final Class type, final MethodHandle handle, final boolean isStatic, final int arity) {
+            this.type = type;
+            this.handle = handle;
+            this.isStatic = isStatic;
+            this.arity = arity;
+        }
+
+        static Target missing(final Class type) {
+            return new Target(
+                              type, null, false, 0);
+        }
+
+        boolean isMissing() {
+            return handle == null;
+        }
 
-            final MethodHandle mh = callSites.computeIfAbsent(m, (m2) -> {
-                try {
-                    return new ConstantCallSite(
-                                                MethodHandles.publicLookup()
-                                                             .unreflect(m2));
-                } catch (final Exception e) {
-                    throw ExceptionSoftener.throwSoftenedException(e);
+        static Target of(final Method m) {
+            return of(m.getDeclaringClass(), m);
+        }
+
+        static Target of(final Class type, final Method m) {
+            final boolean isStatic = Modifier.isStatic(m.getModifiers());
+            try {
+                m.setAccessible(true);
+            } catch (final RuntimeException e) {
+                //fall back to public access
+            }
+            try {
+                final int arity = m.getParameterCount();
+                final MethodHandle handle = MethodHandles.lookup()
+                                                         .unreflect(m)
+                                                         .asFixedArity()
+                                                         .asType(MethodType.genericMethodType(isStatic ? arity : arity + 1));
+                return new Target(
+                                  type, handle, isStatic, arity);
+            } catch (final IllegalAccessException e) {
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+        }
 
+        Object invoke(final Object obj, final Object... args) throws Throwable {
+            if (isStatic) {
+                switch (arity) {
+                case 0:
+                    return handle.invokeExact();
+                case 1:
+                    return handle.invokeExact(args[0]);
+                case 2:
+                    return handle.invokeExact(args[0], args[1]);
+                case 3:
+                    return handle.invokeExact(args[0], args[1], args[2]);
+                default:
+                    return handle.invokeWithArguments(args);
                 }
+            }
+            switch (arity) {
+            case 0:
+                return handle.invokeExact(obj);
+            case 1:
+                return handle.invokeExact(obj, args[0]);
+            case 2:
+                return handle.invokeExact(obj, args[0], args[1]);
+            case 3:
+                return handle.invokeExact(obj, args[0], args[1], args[2]);
+            default:
+                final Object[] all = new Object[args.length + 1];
+                all[0] = obj;
+                System.arraycopy(args, 0, all, 1, args.length);
+                return handle.invokeWithArguments(all);
+            }
+        }
+    }
 
-            })
-                                             .dynamicInvoker();
-            if (args.length == 0)
-                return mh.invoke(obj);
-            if (args.length == 1)
-                return mh.invoke(obj, args[0]);
-            if (args.length == 2)
-                return mh.invoke(obj, args[0], args[1]);
+    private static final class SiteKey {
+        private final String methodName;
+        private final int arity;
+        private final boolean statics;
 
-        } catch (final Throwable e) {
-            throw ExceptionSoftener.throwSoftenedException(e);
-        } finally {
+        SiteKey(final String methodName, final int arity, final boolean statics) {
+            this.methodName = methodName;
+            this.arity = arity;
+            this.statics = statics;
+        }
+
+        @Override
+        public int hashCode() {
+            return (methodName.hashCode() * 31 + arity) * 2 + (statics ? 1 : 0);
+        }
 
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof SiteKey))
+                return false;
+            final SiteKey other = (SiteKey) obj;
+            return arity == other.arity && statics == other.statics && methodName.equals(other.methodName);
         }
-        return null;
     }
 
-}
\ No newline at end of file
+}
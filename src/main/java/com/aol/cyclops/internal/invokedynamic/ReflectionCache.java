@@ -1,11 +1,9 @@
 package com.aol.cyclops.internal.invokedynamic;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -15,8 +13,6 @@ import org.jooq.lambda.Seq;
 public class ReflectionCache {
     private final static Map<Class, List<Field>> fields = new ConcurrentHashMap<>();
 
-    private final static Map<Class, Optional<Method>> unapplyMethods = new ConcurrentHashMap<>();
-
     public static List<Field> getFields(final Class class1) {
         return getFieldData(class1).stream()
                                    .collect(Collectors.<Field> toList());
@@ -45,16 +41,4 @@ public class ReflectionCache {
 
     }
 
-    public static Optional<Method> getUnapplyMethod(final Class c) {
-
-        return unapplyMethods.computeIfAbsent(c, cl -> {
-            try {
-                return Optional.of(cl.getMethod("unapply"));
-            } catch (final NoSuchMethodException e) {
-                return Optional.empty();
-            }
-        });
-
-    }
-
 }
@@ -1,7 +1,6 @@
 package com.aol.cyclops.internal.matcher2;
 
-import java.util.Objects;
-import java.util.Optional;
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.jooq.lambda.tuple.Tuple;
@@ -31,14 +30,15 @@ public class ADTPredicateBuilder<T> {
 
         @SafeVarargs
         final public <V> Predicate<V> hasWhere(final Predicate<V>... values) {
-            final ReactiveSeq<Predicate> predicates = ReactiveSeq.of(values)
-                                                                 .map(nextValue -> convertToPredicate(nextValue));
+            final List<Predicate> predicates = ReactiveSeq.of(values)
+                                                          .map(nextValue -> convertToPredicate(nextValue))
+                                                          .toList();
 
             return t -> builder.toPredicate()
                                .test(t)
                     && SeqUtils.seq(Extractors.decomposeCoerced()
                                               .apply(t))
-                               .zip(predicates, (a, b) -> Tuple.tuple(a, b))
+                               .zip(ReactiveSeq.fromList(predicates), (a, b) -> Tuple.tuple(a, b))
                                .map(tuple -> tuple.v2.test(tuple.v1))
                                .allMatch(v -> v == true);
         }
@@ -46,9 +46,10 @@ public class ADTPredicateBuilder<T> {
         @SafeVarargs
         final public <V> Predicate<V> isWhere(final Predicate<V>... values) {
             final Predicate p = test -> SeqUtils.EMPTY == test;
-            final ReactiveSeq<Predicate> predicates = ReactiveSeq.of(values)
-                                                                 .map(nextValue -> convertToPredicate(nextValue))
-                                                                 .concat(p);
+            final List<Predicate> predicates = ReactiveSeq.of(values)
+                                                          .map(nextValue -> convertToPredicate(nextValue))
+                                                          .concat(p)
+                                                          .toList();
             ;
 
             return t -> builder.toPredicate()
@@ -56,7 +57,7 @@ public class ADTPredicateBuilder<T> {
 
             && SeqUtils.seq(Extractors.decomposeCoerced()
                                       .apply(t))
-                       .zip(predicates, (a, b) -> Tuple.tuple(a, b))
+                       .zip(ReactiveSeq.fromList(predicates), (a, b) -> Tuple.tuple(a, b))
                        .map(tuple -> tuple.v2.test(tuple.v1))
                        .allMatch(v -> v == true);
         }
@@ -65,9 +66,8 @@ public class ADTPredicateBuilder<T> {
 
     Predicate toPredicate() {
 
-        return t -> Optional.ofNullable(t)
-                            .map(v -> type.isAssignableFrom(v.getClass()))
-                            .orElse(false);
+        return new TypeGuard<>(
+                               type);
     }
 
     final public <V> Predicate<V> anyValues() {
@@ -99,33 +99,32 @@ public class ADTPredicateBuilder<T> {
      */
     @SafeVarargs
     final public <V> Predicate<V> hasGuard(final V... values) {
-        final ReactiveSeq<Predicate> predicates = ReactiveSeq.of(values)
-                                                             .map(nextValue -> convertToPredicate(nextValue));
-
-        return t -> toPredicate().test(t) && SeqUtils.seq(Extractors.decomposeCoerced()
-                                                                    .apply(t))
-                                                     .zip(predicates, (a, b) -> Tuple.tuple(a, b))
-                                                     .map(tuple -> tuple.v2.test(tuple.v1))
-                                                     .allMatch(v -> v == true);
+        final List<Predicate> predicates = ReactiveSeq.of(values)
+                                                      .map(nextValue -> convertToPredicate(nextValue))
+                                                      .toList();
+
+        return new TypeGuard<>(
+                               type, t -> SeqUtils.seq(Extractors.decomposeCoerced()
+                                                                 .apply(t))
+                                                  .zip(ReactiveSeq.fromList(predicates), (a, b) -> Tuple.tuple(a, b))
+                                                  .map(tuple -> tuple.v2.test(tuple.v1))
+                                                  .allMatch(v -> v == true));
     }
 
     @SafeVarargs
     final public <V> Predicate<V> isGuard(final V... values) {
         final Predicate p = test -> SeqUtils.EMPTY == test;
-        final ReactiveSeq<Predicate> predicates = ReactiveSeq.of(values)
-                                                             .map(nextValue -> convertToPredicate(nextValue))
-                                                             .concat(p);
-
-        return t -> {
-
-            return toPredicate().test(t)
-
-            && SeqUtils.seq(Extractors.decomposeCoerced()
-                                      .apply(t))
-                       .zip(predicates, (a, b) -> Tuple.tuple(a, b))
-                       .map(tuple -> tuple.v2.test(tuple.v1))
-                       .allMatch(v -> v == true);
-        };
+        final List<Predicate> predicates = ReactiveSeq.of(values)
+                                                      .map(nextValue -> convertToPredicate(nextValue))
+                                                      .concat(p)
+                                                      .toList();
+
+        return new TypeGuard<>(
+                               type, t -> SeqUtils.seq(Extractors.decomposeCoerced()
+                                                                 .apply(t))
+                                                  .zip(ReactiveSeq.fromList(predicates), (a, b) -> Tuple.tuple(a, b))
+                                                  .map(tuple -> tuple.v2.test(tuple.v1))
+                                                  .allMatch(v -> v == true));
 
     }
 
@@ -137,10 +136,8 @@ public class ADTPredicateBuilder<T> {
         if (o instanceof Predicate)
             return (Predicate) o;
 
-        return test -> {
-
-            return Objects.equals(test, o);
-        };
+        return new ValueGuard<>(
+                                o);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.aol.cyclops.internal.matcher2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A compiled form of an ordered list of Cases.
+ *
+ * Cases guarded by a {@link TypeGuard} are only evaluated for input classes the guard can accept, and runs of
+ * consecutive Cases guarded by a {@link ValueGuard} are replaced by a single hash lookup. The resulting plan is built
+ * once per input class and cached, first match semantics are the same as evaluating each Case in turn.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Input type
+ * @param <R> Return type
+ */
+final class CaseDispatcher<T, R> {
+
+    private final Case<T, R>[] cases;
+    private final ConcurrentMap<Class<?>, Step<T, R>[]> plans = new ConcurrentHashMap<>();
+
+    CaseDispatcher(final Iterable<Case<T, R>> cases) {
+        final List<Case<T, R>> list = new ArrayList<>();
+        for (final Case<T, R> next : cases)
+            list.add(next);
+        this.cases = list.toArray(new Case[list.size()]);
+    }
+
+    Optional<R> match(final T t) {
+        if (t == null)
+            return linear(t);
+        Step<T, R>[] plan = plans.get(t.getClass());
+        if (plan == null)
+            plan = plans.computeIfAbsent(t.getClass(), this::plan);
+        for (int i = 0; i < plan.length; i++) {
+            final Optional<R> result = plan[i].match(t);
+            if (result.isPresent())
+                return result;
+        }
+        return Optional.empty();
+    }
+
+    private Optional<R> linear(final T t) {
+        for (int i = 0; i < cases.length; i++) {
+            final Optional<R> result = cases[i].match(t);
+            if (result.isPresent())
+                return result;
+        }
+        return Optional.empty();
+    }
+
+    private Step<T, R>[] plan(final Class<?> type) {
+        final List<Step<T, R>> steps = new ArrayList<>();
+        Map<Object, Case<T, R>> run = null;
+        Case<T, R> runStart = null;
+        for (final Case<T, R> next : cases) {
+            if (next.isEmpty())
+                continue;
+            final Predicate<? super T> guard = guard(next);
+            if (guard instanceof ValueGuard) {
+                final Object value = ((ValueGuard) guard).getValue();
+                if (runStart == null) {
+                    runStart = next;
+                } else {
+                    if (run == null) {
+                        run = new HashMap<>();
+                        run.put(((ValueGuard) guard(runStart)).getValue(), runStart);
+                    }
+                    run.putIfAbsent(value, next);
+                }
+                continue;
+            }
+            flush(steps, run, runStart);
+            runStart = null;
+            run = null;
+            if (guard instanceof TypeGuard) {
+                final TypeGuard<? super T> typeGuard = (TypeGuard<? super T>) guard;
+                if (!typeGuard.getType()
+                              .isAssignableFrom(type))
+                    continue;
+                if (typeGuard.isTypeOnly()) {
+                    final Function<? super T, ? extends R> action = next.getAction();
+                    steps.add(t -> Optional.of(action.apply(t)));
+                    continue;
+                }
+            }
+            steps.add(next::match);
+        }
+        flush(steps, run, runStart);
+        return steps.toArray(new Step[steps.size()]);
+    }
+
+    private void flush(final List<Step<T, R>> steps, final Map<Object, Case<T, R>> run, final Case<T, R> runStart) {
+        if (run != null) {
+            steps.add(t -> {
+                final Case<T, R> found = run.get(t);
+                return found == null ? Optional.empty() : found.match(t);
+            });
+        } else if (runStart != null) {
+            steps.add(runStart::match);
+        }
+    }
+
+    //only Cases with the default predicate then action behaviour can be reordered or skipped
+    private Predicate<? super T> guard(final Case<T, R> next) {
+        if (next instanceof ActiveCase)
+            return next.getPredicate();
+        return null;
+    }
+
+    private static interface Step<T, R> {
+        Optional<R> match(T t);
+    }
+}
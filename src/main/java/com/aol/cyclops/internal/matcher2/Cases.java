@@ -14,28 +14,40 @@ import org.pcollections.PStack;
 import com.aol.cyclops.control.Maybe;
 import com.aol.cyclops.types.Decomposable;
 
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
-import lombok.experimental.Wither;
-
 /**
  * Represents an ordered list of pattern matching cases.
  * 
+ * Larger sets of Cases are compiled (once, on first use) into a dispatch plan per input class, see {@link #compile()}.
+ * 
  * @author johnmcclean
  *
  * @param <T>  Input type for predicate and function (action)
  * @param <R>  Return type for function (action) which is executed if the predicate tests positive
  */
-@AllArgsConstructor
 public class Cases<T, R> implements Function<T, Maybe<R>> {
-    @Wither
+    //below this many cases, testing each Case in turn is cheaper than building a dispatch plan
+    private static final int COMPILE_THRESHOLD = 4;
+
     private final PStack<Case<T, R>> cases;
-    @Wither(AccessLevel.PRIVATE)
     private final boolean sequential;
+    private volatile CaseDispatcher<T, R> dispatcher;
 
     Cases() {
-        cases = ConsPStack.empty();
-        sequential = true;
+        this(ConsPStack.empty(), true);
+    }
+
+    public Cases(final PStack<Case<T, R>> cases, final boolean sequential) {
+        this.cases = cases;
+        this.sequential = sequential;
+    }
+
+    /**
+     * @param cases Cases to replace the current cases with
+     * @return New Cases instance
+     */
+    public Cases<T, R> withCases(final PStack<Case<T, R>> cases) {
+        return this.cases == cases ? this : new Cases<>(
+                                                        cases, sequential);
     }
 
     public PStack<Case<T, R>> get() {
@@ -62,11 +74,11 @@ public class Cases<T, R> implements Function<T, Maybe<R>> {
     * @return  New Cases instance (sequential)
     */
     public static <T, R> Cases<T, R> ofList(final List<Case<T, R>> cases) {
+        PStack<Case<T, R>> stack = ConsPStack.empty();
+        for (int i = cases.size() - 1; i >= 0; i--)
+            stack = stack.plus(cases.get(i));
         return new Cases<>(
-                           cases.stream()
-                                .map(ConsPStack::singleton)
-                                .reduce(ConsPStack.empty(), (acc, next) -> acc.plus(acc.size(), next.get(0))),
-                           true);
+                           stack, true);
     }
 
     /**
@@ -77,10 +89,7 @@ public class Cases<T, R> implements Function<T, Maybe<R>> {
      * @return New Cases instance (sequential)
      */
     public static <T, R> Cases<T, R> of(final Case<T, R>... cazes) {
-        return ofPStack(Stream.of(cazes)
-                              .map(ConsPStack::singleton)
-                              .reduce(ConsPStack.empty(), (acc, next) -> acc.plus(acc.size(), next.get(0))));
-
+        return ofList(Arrays.asList(cazes));
     }
 
     /**
@@ -157,10 +166,10 @@ public class Cases<T, R> implements Function<T, Maybe<R>> {
      * @return Stream of matched values, one case per input value can match
      */
     public <R> Stream<R> matchFromStream(final Stream<T> s) {
-
-        final Stream<Maybe<R>> results = s.<Maybe<R>> map(this::match);
-        return results.filter(Maybe::isPresent)
-                      .map(Maybe::get);
+        final CaseDispatcher<T, R> compiled = (CaseDispatcher<T, R>) dispatcher();
+        return s.map(compiled::match)
+                .filter(Optional::isPresent)
+                .map(Optional::get);
     }
 
     /**
@@ -248,12 +257,36 @@ public class Cases<T, R> implements Function<T, Maybe<R>> {
      *         Optional.empty()
      */
     public <R> Maybe<R> match(final T t) {
+        if (dispatcher == null && cases.size() < COMPILE_THRESHOLD) {
+            for (final Case<T, ?> next : cases) {
+                final Optional<?> result = next.match(t);
+                if (result.isPresent())
+                    return Maybe.fromOptional((Optional) result);
+            }
+            return Maybe.none();
+        }
+        return Maybe.fromOptional((Optional) dispatcher().match(t));
+    }
 
-        return Maybe.fromOptional((Optional) stream().map(pattern -> pattern.match(t))
-                                                     .filter(Optional::isPresent)
-                                                     .map(Optional::get)
-                                                     .findFirst());
+    /**
+     * Compile these Cases into a dispatch plan. Cases guarded by type checks (e.g. {@link com.aol.cyclops.util.function.Predicates#instanceOf(Class)}
+     * or {@link com.aol.cyclops.util.function.Predicates#type(Class)}) are only evaluated for input classes they can match, and consecutive
+     * value equality Cases are resolved by a single hash lookup. Compilation otherwise happens lazily on the first match against 
+     * sufficiently large sets of Cases.
+     * 
+     * @return This Cases instance, compiled
+     */
+    public Cases<T, R> compile() {
+        dispatcher();
+        return this;
+    }
 
+    private CaseDispatcher<T, R> dispatcher() {
+        CaseDispatcher<T, R> local = dispatcher;
+        if (local == null)
+            dispatcher = local = new CaseDispatcher<>(
+                                                      cases);
+        return local;
     }
 
     public Stream<Case<T, R>> stream() {
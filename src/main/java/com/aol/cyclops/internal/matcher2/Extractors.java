@@ -2,9 +2,8 @@ package com.aol.cyclops.internal.matcher2;
 
 import java.util.Optional;
 
-import com.aol.cyclops.control.FluentFunctions;
 import com.aol.cyclops.control.Maybe;
-import com.aol.cyclops.internal.invokedynamic.ReflectionCache;
+import com.aol.cyclops.internal.invokedynamic.InvokeDynamic;
 import com.aol.cyclops.types.Decomposable;
 
 /**
@@ -15,6 +14,8 @@ import com.aol.cyclops.types.Decomposable;
  */
 public class Extractors {
 
+    private static final InvokeDynamic.Site unapply = InvokeDynamic.site("unapply", 0);
+
     /**
      * @return Extractor that decomposes Case classes into iterables 
      */
@@ -45,10 +46,11 @@ public class Extractors {
                 return (R) Maybe.fromOptional((Optional) input);
             }
 
-            return (R) ReflectionCache.getUnapplyMethod(input.getClass())
-                                      .map(FluentFunctions.ofChecked(m -> m.invoke(input)))
-                                      .orElse(AsDecomposable.asDecomposable(input)
-                                                            .unapply());
+            final Optional<Object> unapplied = unapply.execute(input);
+            if (unapplied.isPresent())
+                return (R) unapplied.get();
+            return (R) AsDecomposable.asDecomposable(input)
+                                     .unapply();
 
         };
     }
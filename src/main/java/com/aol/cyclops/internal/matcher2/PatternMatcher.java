@@ -110,6 +110,17 @@ public class PatternMatcher implements Function {
 
     }
 
+    /**
+     * Compile the current cases into a dispatch plan, this is worthwhile when the same PatternMatcher is used to match many values
+     * 
+     * @see Cases#compile()
+     * @return PatternMatcher with compiled cases
+     */
+    public PatternMatcher compile() {
+        cases.compile();
+        return this;
+    }
+
     private Function extractorAction(final Extractor extractor, final Function action) {
         if (extractor == null)
             return action;
@@ -0,0 +1,40 @@
+package com.aol.cyclops.internal.matcher2;
+
+import java.util.function.Predicate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A Predicate that only holds for non-null instances of a given type (and optionally a further condition).
+ * 
+ * Cases whose predicate is a TypeGuard can be dispatched on the class of the input, without evaluating the guard for
+ * classes that can never match.
+ * 
+ * @author johnmcclean
+ *
+ * @param <T> Input type
+ */
+@AllArgsConstructor
+public final class TypeGuard<T> implements Predicate<T> {
+    @Getter
+    private final Class<?> type;
+    private final Predicate<? super T> and;
+
+    public TypeGuard(final Class<?> type) {
+        this(type, null);
+    }
+
+    /**
+     * @return true if this guard only checks the type of it's input
+     */
+    public boolean isTypeOnly() {
+        return and == null;
+    }
+
+    @Override
+    public boolean test(final T t) {
+        return type.isInstance(t) && (and == null || and.test(t));
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.aol.cyclops.internal.matcher2;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A Predicate that holds when it's input is equal (Object#equals) to a given value.
+ * 
+ * Consecutive Cases whose predicates are ValueGuards can be dispatched via a single hash lookup.
+ * 
+ * @author johnmcclean
+ *
+ * @param <T> Input type
+ */
+@AllArgsConstructor
+public final class ValueGuard<T> implements Predicate<T> {
+    @Getter
+    private final Object value;
+
+    @Override
+    public boolean test(final T t) {
+        return Objects.equals(t, value);
+    }
+
+}
@@ -1,45 +1,51 @@
 package com.aol.cyclops.internal.monads;
 
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import com.aol.cyclops.internal.comprehensions.comprehenders.Comprehenders;
 import com.aol.cyclops.internal.comprehensions.comprehenders.InvokeDynamicComprehender;
 import com.aol.cyclops.types.extensability.Comprehender;
 
+/**
+ * Selects the Comprehender for a given monad type.
+ *
+ * Selections are held in a global, class-keyed registry (a ClassValue), so the ServiceLoader registered Comprehenders are
+ * scanned at most once per class, regardless of how many ComprehenderSelector instances are created.
+ *
+ * @author johnmcclean
+ *
+ */
 public class ComprehenderSelector {
 
-    private final Comprehenders comprehenders = new Comprehenders();
+    private static final Comprehenders comprehenders = new Comprehenders();
     @SuppressWarnings("rawtypes")
-    private final ConcurrentMap<Class, Comprehender> cache = new ConcurrentHashMap<>();
+    private static final ClassValue<Comprehender> registry = new ClassValue<Comprehender>() {
+        @Override
+        protected Comprehender computeValue(final Class<?> type) {
+            return resolve(type);
+        }
+    };
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    public Comprehender selectComprehender(final Class structure) {
+    private static Comprehender resolve(final Class structure) {
+        return comprehenders.getRegisteredComprehenders()
+                            .stream()
+                            .filter(e -> e.getKey()
+                                          .isAssignableFrom(structure))
+                            .map(e -> e.getValue())
+                            .findFirst()
+                            .orElseGet(() -> new InvokeDynamicComprehender(
+                                                                           Optional.of(structure)));
+    }
 
-        return cache.computeIfAbsent(structure, st -> comprehenders.getRegisteredComprehenders()
-                                                                   .stream()
-                                                                   .filter(e -> e.getKey()
-                                                                                 .isAssignableFrom(structure))
-                                                                   .map(e -> e.getValue())
-                                                                   .findFirst()
-                                                                   .orElse(new InvokeDynamicComprehender(
-                                                                                                         Optional.of(structure))));
+    @SuppressWarnings({ "rawtypes" })
+    public Comprehender selectComprehender(final Class structure) {
+        return registry.get(structure);
     }
 
-    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @SuppressWarnings({ "rawtypes" })
     public Comprehender selectComprehender(final Object structure) {
-
-        return cache.computeIfAbsent(structure.getClass(), st -> comprehenders.getRegisteredComprehenders()
-                                                                              .stream()
-                                                                              .filter(e -> e.getKey()
-                                                                                            .isAssignableFrom(structure.getClass()))
-                                                                              .map(e -> e.getValue())
-                                                                              .findFirst()
-                                                                              .orElse(new InvokeDynamicComprehender(
-                                                                                                                    Optional.ofNullable(structure)
-                                                                                                                            .map(Object::getClass))));
-
+        return registry.get(structure.getClass());
     }
 
 }
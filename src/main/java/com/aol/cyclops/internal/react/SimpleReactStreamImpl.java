@@ -13,6 +13,7 @@ import com.aol.cyclops.data.async.Queue;
 import com.aol.cyclops.data.async.QueueFactories;
 import com.aol.cyclops.data.async.QueueFactory;
 import com.aol.cyclops.internal.react.stream.EagerStreamWrapper;
+import com.aol.cyclops.internal.react.stream.WindowedStreamWrapper;
 import com.aol.cyclops.react.async.subscription.AlwaysContinue;
 import com.aol.cyclops.react.async.subscription.Continueable;
 import com.aol.cyclops.types.futurestream.EagerToQueue;
@@ -43,8 +44,10 @@ public class SimpleReactStreamImpl<U> implements SimpleReactStream<U>, EagerToQu
         this.errorHandler = Optional.of((e) -> {
             log.error(e.getMessage(), e);
         });
-        this.lastActive = new EagerStreamWrapper(
-                                                 s, this.errorHandler);
+        this.lastActive = simpleReact.isWindowed() ? new WindowedStreamWrapper(
+                                                                               s, simpleReact.getMaxInFlight(), this.errorHandler)
+                : new EagerStreamWrapper(
+                                         s, this.errorHandler);
         this.queueFactory = QueueFactories.unboundedQueue();
         this.subscription = new AlwaysContinue();
 
@@ -0,0 +1,131 @@
+package com.aol.cyclops.internal.react;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Access to JDK 21+ virtual threads from Java 8 compiled code.
+ *
+ * The virtual thread API is resolved once via MethodHandles, on earlier JDKs (or if the API can't be resolved)
+ * executors fall back to elastic pools of up to {@link #FALLBACK_MAX_THREADS} daemon platform threads, where tasks submitted
+ * when every thread is busy run on the submitting thread. Eager SimpleReact Streams start a task for every element up front,
+ * so an unbounded pool would start a platform thread per element.
+ *
+ * @author johnmcclean
+ *
+ */
+public final class VirtualThreads {
+
+    /**
+     * Maximum number of platform threads in executors created where virtual threads are not supported (the same as
+     * MaxActive.IO)
+     */
+    public static final int FALLBACK_MAX_THREADS = 100;
+
+    private static final MethodHandle ofVirtual;
+    private static final MethodHandle name;
+    private static final MethodHandle factory;
+    private static final MethodHandle threadPerTask;
+    private static final MethodHandle isVirtual;
+
+    static {
+        MethodHandle ofVirtualMh = null;
+        MethodHandle nameMh = null;
+        MethodHandle factoryMh = null;
+        MethodHandle threadPerTaskMh = null;
+        MethodHandle isVirtualMh = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtualMh = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(builder));
+            nameMh = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class, long.class));
+            factoryMh = lookup.findVirtual(Class.forName("java.lang.Thread$Builder"), "factory", MethodType.methodType(ThreadFactory.class));
+            threadPerTaskMh = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                                                MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            isVirtualMh = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            ofVirtualMh = null;
+        }
+        ofVirtual = ofVirtualMh;
+        name = nameMh;
+        factory = factoryMh;
+        threadPerTask = threadPerTaskMh;
+        isVirtual = isVirtualMh;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the running JDK supports virtual threads
+     */
+    public static boolean isSupported() {
+        return ofVirtual != null;
+    }
+
+    /**
+     * @param prefix Thread name prefix, threads are named prefix followed by a sequence number
+     * @return ThreadFactory that creates virtual threads, or daemon platform threads if virtual threads are not supported
+     */
+    public static ThreadFactory threadFactory(final String prefix) {
+        if (!isSupported())
+            return platformThreadFactory(prefix);
+        try {
+            final Object builder = ofVirtual.invoke();
+            return (ThreadFactory) factory.invoke(name.invoke(builder, prefix, 0l));
+        } catch (final Throwable t) {
+            throw ExceptionSoftener.throwSoftenedException(t);
+        }
+    }
+
+    /**
+     * @param prefix Thread name prefix
+     * @return Executor that starts a new virtual thread per task, or an elastic pool of up to {@link #FALLBACK_MAX_THREADS}
+     *         daemon platform threads if virtual threads are not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String prefix) {
+        if (!isSupported())
+            return new ThreadPoolExecutor(
+                                          0, FALLBACK_MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                                          platformThreadFactory(prefix), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            return (ExecutorService) threadPerTask.invoke(threadFactory(prefix));
+        } catch (final Throwable t) {
+            throw ExceptionSoftener.throwSoftenedException(t);
+        }
+    }
+
+    /**
+     * @param t Thread to check
+     * @return true if the supplied Thread is a virtual thread
+     */
+    public static boolean isVirtual(final Thread t) {
+        if (!isSupported())
+            return false;
+        try {
+            return (boolean) isVirtual.invokeExact(t);
+        } catch (final Throwable e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory(final String prefix) {
+        final AtomicLong count = new AtomicLong();
+        return r -> {
+            final Thread t = new Thread(
+                                        r, prefix + count.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package com.aol.cyclops.internal.react.async.future;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.aol.cyclops.Monoid;
+
+/**
+ * Folds the results of a collection of futures into a Monoid as each future completes, rather than waiting for all of them
+ * and then reducing a List of results.
+ *
+ * {@link #ordered} is a left fold in the encounter order of the futures (giving the same result as reducing a List of results),
+ * results are folded in as soon as every earlier future has completed, so only results that complete ahead of an earlier
+ * future are held.
+ * {@link #unordered} combines results in completion order (so the Monoid should also be commutative) and holds a single
+ * partial result, it can terminate early once the partial result satisfies a predicate.
+ *
+ * @author johnmcclean
+ *
+ */
+public final class IncrementalFold {
+
+    private static final Object SKIP = new Object();
+
+    private IncrementalFold() {
+    }
+
+    /**
+     * Fold in encounter order
+     *
+     * @param fts Futures to fold
+     * @param mapper Function to convert each result
+     * @param monoid Associative combiner and identity
+     * @param skipFailures If true failed futures are ignored, otherwise the first failure fails the result
+     * @return Future populated with the folded result
+     */
+    public static <T, R> CompletableFuture<R> ordered(final Collection<? extends CompletableFuture<T>> fts, final Function<? super T, ? extends R> mapper,
+            final Monoid<R> monoid, final boolean skipFailures) {
+        final int size = fts.size();
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        if (size == 0) {
+            result.complete(monoid.zero());
+            return result;
+        }
+        final Prefix<R> prefix = new Prefix<>(
+                                              size, monoid);
+        int index = 0;
+        for (final CompletableFuture<T> next : fts) {
+            final int position = index++;
+            next.whenComplete((value, error) -> {
+                if (result.isDone())
+                    return;
+                if (error != null && !skipFailures) {
+                    result.completeExceptionally(unwrap(error));
+                    return;
+                }
+                final boolean complete;
+                try {
+                    complete = error != null ? prefix.skip(position) : prefix.add(position, mapper.apply(value));
+                } catch (final Throwable t) {
+                    result.completeExceptionally(t);
+                    return;
+                }
+                if (complete)
+                    result.complete(prefix.result());
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Fold in completion order, completing early (and cancelling futures that have not yet completed) once the partial
+     * result satisfies the supplied predicate
+     *
+     * @param fts Futures to fold
+     * @param mapper Function to convert each result
+     * @param monoid Associative and commutative combiner and identity
+     * @param skipFailures If true failed futures are ignored, otherwise the first failure fails the result
+     * @param done Predicate that determines whether the partial result is sufficient
+     * @return Future populated with the folded result
+     */
+    public static <T, R> CompletableFuture<R> unordered(final Collection<? extends CompletableFuture<T>> fts, final Function<? super T, ? extends R> mapper,
+            final Monoid<R> monoid, final boolean skipFailures, final Predicate<? super R> done) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        if (fts.size() == 0 || done.test(monoid.zero())) {
+            result.complete(monoid.zero());
+            return result;
+        }
+        final Partial<R> partial = new Partial<>(
+                                                 monoid.zero(), fts.size());
+        for (final CompletableFuture<T> next : fts) {
+            next.whenComplete((value, error) -> {
+                if (result.isDone())
+                    return;
+                if (error != null && !skipFailures) {
+                    result.completeExceptionally(unwrap(error));
+                    return;
+                }
+                R current;
+                boolean complete;
+                try {
+                    synchronized (partial) {
+                        if (error == null)
+                            partial.value = monoid.apply(partial.value, mapper.apply(value));
+                        current = partial.value;
+                        complete = --partial.remaining == 0;
+                    }
+                    complete = complete || done.test(current);
+                } catch (final Throwable t) {
+                    result.completeExceptionally(t);
+                    return;
+                }
+                if (complete && result.complete(current))
+                    cancelIncomplete(fts);
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Cancel all futures in the supplied collection that have not yet completed
+     *
+     * @param fts Futures to cancel
+     */
+    public static void cancelIncomplete(final Collection<? extends CompletableFuture<?>> fts) {
+        for (final CompletableFuture<?> next : fts) {
+            if (!next.isDone())
+                next.cancel(true);
+        }
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null)
+            return error.getCause();
+        return error;
+    }
+
+    /**
+     * Left fold over the completed prefix of positions, values that complete ahead of the prefix are buffered until the gap
+     * before them is filled
+     */
+    private static final class Prefix<R> {
+        private final int size;
+        private final Monoid<R> monoid;
+        //values completed ahead of the prefix, failed positions are marked with SKIP
+        private final Map<Integer, Object> ahead = new HashMap<>();
+        private R result;
+        private int next;
+
+        Prefix(final int size, final Monoid<R> monoid) {
+            this.size = size;
+            this.monoid = monoid;
+            this.result = monoid.zero();
+        }
+
+        synchronized boolean add(final int position, final R value) {
+            return advance(position, value);
+        }
+
+        synchronized boolean skip(final int position) {
+            return advance(position, SKIP);
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean advance(final int position, final Object value) {
+            if (position != next) {
+                ahead.put(position, value);
+                return false;
+            }
+            Object current = value;
+            while (true) {
+                if (current != SKIP)
+                    result = monoid.apply(result, (R) current);
+                if (!ahead.containsKey(++next))
+                    return next == size;
+                current = ahead.remove(next);
+            }
+        }
+
+        synchronized R result() {
+            return result;
+        }
+    }
+
+    private static final class Partial<R> {
+        R value;
+        int remaining;
+
+        Partial(final R value, final int remaining) {
+            this.value = value;
+            this.remaining = remaining;
+        }
+    }
+}
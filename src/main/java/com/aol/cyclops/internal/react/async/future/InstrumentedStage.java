@@ -0,0 +1,97 @@
+package com.aol.cyclops.internal.react.async.future;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.aol.cyclops.internal.react.exceptions.FilteredExecutionPathException;
+import com.aol.cyclops.react.metrics.PipelineMetrics;
+import com.aol.cyclops.react.metrics.StageMetrics;
+
+/**
+ * Wraps the functions and executors of a single pipeline stage so that they record into the stage's metrics.
+ * 
+ * Stages are named after they are added to a pipeline, so naming a stage replaces it with a new InstrumentedStage (see
+ * PipelineBuilder#named), an InstrumentedStage's name never changes.
+ * 
+ * @author johnmcclean
+ *
+ */
+class InstrumentedStage {
+
+    private final PipelineMetrics registry;
+    private final String name;
+    private volatile StageMetrics metrics;
+
+    InstrumentedStage(final PipelineMetrics registry, final String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    private StageMetrics metrics() {
+        StageMetrics local = metrics;
+        if (local == null)
+            metrics = local = registry.stage(name);
+        return local;
+    }
+
+    <T, R> Function<T, R> function(final Function<T, R> fn) {
+        return t -> {
+            final long start = System.nanoTime();
+            try {
+                return fn.apply(t);
+            } catch (final FilteredExecutionPathException e) {
+                throw e;
+            } catch (final Throwable e) {
+                metrics().recordFailure();
+                throw e;
+            } finally {
+                metrics().recordExecution(System.nanoTime() - start);
+            }
+        };
+    }
+
+    <T> Consumer<T> consumer(final Consumer<T> c) {
+        final Function<T, T> fn = function(t -> {
+            c.accept(t);
+            return t;
+        });
+        return fn::apply;
+    }
+
+    /**
+     * Time composed stages until the returned future completes, rather than until it is created
+     */
+    <T, R> Function<T, CompletableFuture<? extends R>> composer(final Function<T, CompletableFuture<? extends R>> fn) {
+        return t -> {
+            final long start = System.nanoTime();
+            final CompletableFuture<? extends R> result;
+            try {
+                result = fn.apply(t);
+            } catch (final Throwable e) {
+                metrics().recordFailure();
+                metrics().recordExecution(System.nanoTime() - start);
+                throw e;
+            }
+            result.whenComplete((r, e) -> {
+                if (e != null)
+                    metrics().recordFailure();
+                metrics().recordExecution(System.nanoTime() - start);
+            });
+            return result;
+        };
+    }
+
+    Executor executor(final Executor exec) {
+        if (exec == null)
+            return null;
+        return task -> {
+            final long submitted = System.nanoTime();
+            exec.execute(() -> {
+                metrics().recordQueueing(System.nanoTime() - submitted);
+                task.run();
+            });
+        };
+    }
+}
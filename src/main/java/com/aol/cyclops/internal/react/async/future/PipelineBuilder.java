@@ -6,6 +6,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.aol.cyclops.react.metrics.PipelineMetrics;
 import com.aol.cyclops.util.function.Cacheable;
 import com.aol.cyclops.util.function.Memoize;
 
@@ -21,13 +22,14 @@ public class PipelineBuilder {
     private final Executor optimisingExec;
     private final boolean autoMemoize;
     private final Cacheable memoizeFactory;
+    private final PipelineMetrics metrics; //null if stages are not instrumented
+    private final InstrumentedStage lastStage;
+    private final int stageCount;
+    //rebuilds the pipeline from before the last instrumented stage, so it can be re-added under a new name
+    private final Function<InstrumentedStage, ExecutionPipeline> lastStageFactory;
 
     public PipelineBuilder() {
-        builder = new ExecutionPipeline();
-        autoOptimise = false;
-        optimisingExec = null;
-        autoMemoize = false;
-        memoizeFactory = null;
+        this(false, null, false, null);
     }
 
     private <T, R> Function<T, R> memoize(final Function<T, R> fn) {
@@ -40,17 +42,75 @@ public class PipelineBuilder {
     }
 
     public PipelineBuilder(final boolean autoOptimise, final Executor optimisingExec, final boolean autoMemoize, final Cacheable memoizeFactory) {
+        this(autoOptimise, optimisingExec, autoMemoize, memoizeFactory, null);
+    }
+
+    public PipelineBuilder(final boolean autoOptimise, final Executor optimisingExec, final boolean autoMemoize, final Cacheable memoizeFactory,
+            final PipelineMetrics metrics) {
         builder = new ExecutionPipeline();
         this.autoOptimise = autoOptimise;
         this.optimisingExec = optimisingExec;
         this.autoMemoize = autoMemoize;
         this.memoizeFactory = memoizeFactory;
+        this.metrics = metrics;
+        this.lastStage = null;
+        this.stageCount = 0;
+        this.lastStageFactory = null;
+    }
+
+    /**
+     * Name the most recently added stage, for reporting to PipelineMetrics. The stage is rebuilt under the new name, other
+     * PipelineBuilders sharing it are unaffected.
+     * 
+     * @param name Stage name
+     * @return PipelineBuilder with it's last stage named
+     */
+    public PipelineBuilder named(final String name) {
+        if (lastStage == null)
+            return this;
+        final InstrumentedStage stage = new InstrumentedStage(
+                                                              metrics, name);
+        return new PipelineBuilder(
+                                   lastStageFactory.apply(stage), autoOptimise, optimisingExec, autoMemoize, memoizeFactory, metrics, stage,
+                                   stageCount, lastStageFactory);
+    }
+
+    private PipelineBuilder stage(final Function<InstrumentedStage, ExecutionPipeline> next) {
+        if (metrics == null)
+            return withBuilder(next.apply(null));
+        final InstrumentedStage stage = new InstrumentedStage(
+                                                              metrics, "stage-" + stageCount);
+        return new PipelineBuilder(
+                                   next.apply(stage), autoOptimise, optimisingExec, autoMemoize, memoizeFactory, metrics, stage, stageCount + 1,
+                                   next);
+    }
+
+    /**
+     * Apply an uninstrumented step, recording it so it is reapplied if the last stage is renamed
+     */
+    private PipelineBuilder step(final Function<ExecutionPipeline, ExecutionPipeline> next) {
+        return new PipelineBuilder(
+                                   next.apply(builder), autoOptimise, optimisingExec, autoMemoize, memoizeFactory, metrics, lastStage,
+                                   stageCount, lastStageFactory == null ? null : lastStageFactory.andThen(next));
+    }
+
+    private static <T, R> Function<T, R> instrument(final InstrumentedStage stage, final Function<T, R> fn) {
+        return stage == null ? fn : stage.function(fn);
+    }
+
+    private static Executor instrument(final InstrumentedStage stage, final Executor exec) {
+        return stage == null ? exec : stage.executor(exec);
+    }
+
+    private static <T, R> Function<T, CompletableFuture<? extends R>> instrumentCompose(final InstrumentedStage stage,
+            final Function<T, CompletableFuture<? extends R>> fn) {
+        return stage == null ? fn : stage.composer(fn);
     }
 
     public <T, R> PipelineBuilder thenCompose(final Function<? super T, CompletableFuture<? extends R>> fn) {
         if (autoOptimise && builder.functionListSize() == 0)
             return thenComposeAsync(fn, optimisingExec);
-        return withBuilder(builder.thenCompose((Function) memoize(fn)));
+        return stage(s -> builder.thenCompose((Function) instrumentCompose(s, (Function) memoize(fn))));
     }
 
     public <T, R> PipelineBuilder thenComposeAsync(final Function<? super T, CompletableFuture<? extends R>> fn, final Executor exec) {
@@ -59,7 +119,7 @@ public class PipelineBuilder {
                 return thenCompose(fn);
         }
 
-        return withBuilder(builder.thenComposeAsync((Function) memoize(fn), exec));
+        return stage(s -> builder.thenComposeAsync((Function) instrumentCompose(s, (Function) memoize(fn)), instrument(s, exec)));
 
     }
 
@@ -68,30 +128,30 @@ public class PipelineBuilder {
             if (builder.functionListSize() > 0)
                 return thenApply(fn);
         }
-        return withBuilder(builder.thenApplyAsync(memoize(fn), exec));
+        return stage(s -> builder.thenApplyAsync(instrument(s, memoize(fn)), instrument(s, exec)));
 
     }
 
     public <T> PipelineBuilder peek(final Consumer<? super T> c) {
 
-        return withBuilder(builder.peek(c));
+        return stage(s -> builder.peek(s == null ? c : s.consumer((Consumer) c)));
 
     }
 
     public <T, R> PipelineBuilder thenApply(final Function<? super T, ? extends R> fn) {
         if (autoOptimise && builder.functionListSize() == 0)
-            return withBuilder(builder.thenApplyAsync(memoize(fn), optimisingExec));
-        return withBuilder(builder.thenApply(memoize(fn)));
+            return stage(s -> builder.thenApplyAsync(instrument(s, memoize(fn)), instrument(s, optimisingExec)));
+        return stage(s -> builder.thenApply(instrument(s, memoize(fn))));
 
     }
 
     public <X extends Throwable, T> PipelineBuilder exceptionally(final Function<? super X, ? extends T> fn) {
 
-        return withBuilder(builder.exceptionally(fn));
+        return step(b -> b.exceptionally(fn));
     }
 
     public <T, X extends Throwable> PipelineBuilder whenComplete(final BiConsumer<? super T, ? super X> fn) {
-        return withBuilder(builder.whenComplete(fn));
+        return step(b -> b.whenComplete(fn));
     }
 
     public <T> FastFuture<T> build() {
@@ -101,7 +161,7 @@ public class PipelineBuilder {
     }
 
     public PipelineBuilder onFail(final Consumer<Throwable> onFail) {
-        return withBuilder(builder.onFail(onFail));
+        return step(b -> b.onFail(onFail));
     }
 
     public boolean isSequential() {
@@ -29,7 +29,8 @@ public class LazyStreamWrapper<U> implements StreamWrapper<U> {
 
         this.values = values;
         this.pipeline = new PipelineBuilder(
-                                            react.isAutoOptimize(), react.getExecutor(), react.isAutoMemoize(), react.getMemoizeCache());
+                                            react.isAutoOptimize(), react.getExecutor(), react.isAutoMemoize(), react.getMemoizeCache(),
+                                            react.getPipelineMetrics());
 
         this.react = react;
         if (react.isPoolingActive())
@@ -0,0 +1,161 @@
+package com.aol.cyclops.internal.react.stream;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.aol.cyclops.control.SimpleReact;
+import com.aol.cyclops.types.futurestream.BlockingStreamHelper;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Streaming variant of {@link EagerStreamWrapper} used by windowed SimpleReact instances (see {@link SimpleReact#windowed(int)}).
+ *
+ * Rather than collecting the futures for each stage into a List, stages are composed lazily over the source Stream and
+ * futures are only created as the Stream is consumed. No more than window elements are in flight at once (each element
+ * being the chain of futures for every stage), and completed futures are released as soon as they are consumed.
+ *
+ * Like a java.util.stream.Stream a windowed stage can only be consumed once. Operations that need all futures at once
+ * (e.g. allOf, anyOf, merge or block with a breakout predicate) fall back to materialising the stage as a List.
+ *
+ * @author johnmcclean
+ *
+ */
+public class WindowedStreamWrapper extends EagerStreamWrapper {
+
+    private final Stream<CompletableFuture> source;
+    private final int window;
+    private final Optional<Consumer<Throwable>> errorHandler;
+    private List<CompletableFuture> materialised;
+
+    public WindowedStreamWrapper(final Stream<CompletableFuture> source, final int window, final Optional<Consumer<Throwable>> errorHandler) {
+        super(null, null, null, errorHandler);
+        this.source = source;
+        this.window = window;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public EagerStreamWrapper stream(final Function<Stream<CompletableFuture>, Stream<CompletableFuture>> action) {
+        if (isMaterialised())
+            return new EagerStreamWrapper(
+                                          action.apply(list().stream()), errorHandler);
+        return new WindowedStreamWrapper(
+                                         action.apply(source), window, errorHandler);
+    }
+
+    @Override
+    public EagerStreamWrapper withNewStream(final Stream<CompletableFuture> stream, final SimpleReact simple) {
+        return new WindowedStreamWrapper(
+                                         stream, window, errorHandler);
+    }
+
+    @Override
+    public EagerStreamWrapper withStream(final Stream<CompletableFuture> stream) {
+        return new WindowedStreamWrapper(
+                                         stream, window, errorHandler);
+    }
+
+    @Override
+    public EagerStreamWrapper withErrorHandler(final Optional<Consumer<Throwable>> errorHandler) {
+        if (isMaterialised())
+            return new EagerStreamWrapper(
+                                          list(), errorHandler);
+        return new WindowedStreamWrapper(
+                                         source, window, errorHandler);
+    }
+
+    /**
+     * @return Stream of futures, at most window of which will be incomplete at any one time
+     */
+    @Override
+    public Stream<CompletableFuture> stream() {
+        if (isMaterialised())
+            return list().stream();
+        return StreamSupport.stream(new WindowSpliterator(
+                                                          source.spliterator(), window),
+                                    false);
+    }
+
+    @Override
+    public synchronized List<CompletableFuture> list() {
+        if (materialised == null)
+            materialised = source.collect(Collectors.toList());
+        return materialised;
+    }
+
+    /**
+     * Start every element of the stage, blocking the calling thread while the window is full
+     */
+    @Override
+    public void collect() {
+        final Function<Throwable, Object> captureFn = t -> {
+            BlockingStreamHelper.captureUnwrap(t, errorHandler);
+            throw ExceptionSoftener.throwSoftenedException(t);
+        };
+        stream().forEach(cf -> {
+            if (errorHandler.isPresent())
+                cf.exceptionally(captureFn);
+        });
+    }
+
+    private synchronized boolean isMaterialised() {
+        return materialised != null;
+    }
+
+    static final class WindowSpliterator extends Spliterators.AbstractSpliterator<CompletableFuture> {
+        private final Spliterator<CompletableFuture> source;
+        private final int window;
+        //pulled from source, not yet passed downstream
+        private final ArrayDeque<CompletableFuture> pending = new ArrayDeque<>();
+        //pulled from source and not yet seen to complete
+        private final ArrayDeque<CompletableFuture> inFlight = new ArrayDeque<>();
+
+        WindowSpliterator(final Spliterator<CompletableFuture> source, final int window) {
+            super(source.estimateSize(), source.characteristics() & (ORDERED | SIZED));
+            this.source = source;
+            this.window = window;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super CompletableFuture> action) {
+            while (pending.size() < window) {
+                awaitCapacity();
+                if (!source.tryAdvance(next -> {
+                    pending.add(next);
+                    inFlight.add(next);
+                }))
+                    break;
+            }
+            final CompletableFuture next = pending.poll();
+            if (next == null)
+                return false;
+            action.accept(next);
+            return true;
+        }
+
+        private void awaitCapacity() {
+            release();
+            while (inFlight.size() >= window) {
+                inFlight.peek()
+                        .handle((r, t) -> null)
+                        .join();
+                release();
+            }
+        }
+
+        private void release() {
+            while (!inFlight.isEmpty() && inFlight.peek()
+                                                  .isDone())
+                inFlight.poll();
+        }
+    }
+}
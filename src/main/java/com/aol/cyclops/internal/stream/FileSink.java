@@ -0,0 +1,235 @@
+package com.aol.cyclops.internal.stream;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.aol.cyclops.data.async.Queue;
+import com.aol.cyclops.data.async.QueueFactories;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.stream.FileSinkConfig;
+import com.aol.cyclops.types.stream.FsyncPolicy;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Writes elements to disk in batches. Elements are encoded into pooled direct ByteBuffers, when a buffer fills it is handed to
+ * a dedicated writer thread, which drains every full buffer waiting for it and writes them with a single gathering write
+ * before returning them to the pool. Both hand offs are bounded async Queues, so when the writer falls behind the producer
+ * blocks waiting for a free buffer.
+ *
+ * Errors writing to disk are rethrown to the producer on it's next element, or on close.
+ *
+ * accept and close are synchronized, so a FileSink can be used as the forEach Consumer of a parallel Stream or LazyFutureStream
+ * (which call it from many threads at once), each element is encoded whole, but elements from different threads are written
+ * in the order they arrive.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements written
+ */
+public class FileSink<T> implements Consumer<T>, AutoCloseable {
+
+    private static final ByteBuffer EOF = ByteBuffer.allocate(0);
+
+    private final FileSinkConfig<? super T> config;
+    private final Queue<ByteBuffer> free;
+    private final Queue<ByteBuffer> full;
+    private final Thread writer;
+    private final List<Path> files = new ArrayList<>();
+    private ByteBuffer current;
+    private volatile Throwable error;
+    private boolean closed = false;
+
+    public FileSink(final FileSinkConfig<? super T> config) {
+        if (config.getBufferSize() <= 0 || config.getBuffers() <= 0)
+            throw new IllegalArgumentException(
+                                               "Buffer size and number of buffers must be positive, got " + config.getBufferSize() + " and "
+                                                       + config.getBuffers());
+        this.config = config;
+        this.free = QueueFactories.<ByteBuffer> boundedQueue(config.getBuffers())
+                                  .build();
+        //room for every buffer and EOF, so handing a buffer to the writer never blocks
+        this.full = QueueFactories.<ByteBuffer> boundedQueue(config.getBuffers() + 1)
+                                  .build();
+        for (int i = 0; i < config.getBuffers(); i++)
+            free.offer(ByteBuffer.allocateDirect(config.getBufferSize()));
+        this.current = free.get();
+        this.writer = new Thread(
+                                 this::write, "file-sink-" + config.getPath()
+                                                                   .getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public synchronized void accept(final T next) {
+        rethrow();
+        final int position = current.position();
+        try {
+            config.getEncoder()
+                  .encode(next, current);
+            return;
+        } catch (final BufferOverflowException e) {
+            current.position(position);
+        }
+        if (position == 0)
+            throw new IllegalArgumentException(
+                                               "Encoded element is larger than the buffer size of " + config.getBufferSize() + " bytes");
+        flush();
+        accept(next);
+    }
+
+    /**
+     * @return Files written to so far, in order
+     */
+    public ListX<Path> files() {
+        synchronized (files) {
+            return ListX.fromIterable(new ArrayList<>(
+                                                      files));
+        }
+    }
+
+    /**
+     * Write any buffered elements, close the current file (applying the fsync policy) and wait for the writer to finish
+     */
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        if (current.position() > 0)
+            flush();
+        full.offer(EOF);
+        try {
+            writer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+        rethrow();
+    }
+
+    private void flush() {
+        current.flip();
+        full.offer(current);
+        current = free.get();
+        current.clear();
+    }
+
+    private void rethrow() {
+        if (error != null)
+            throw ExceptionSoftener.throwSoftenedException(error);
+    }
+
+    private void write() {
+        final long rotateBytes = config.getRotateBytes();
+        final long rotateNanos = TimeUnit.MILLISECONDS.toNanos(config.getRotateMillis());
+        final boolean interval = config.getFsync() == FsyncPolicy.INTERVAL;
+        final long fsyncNanos = TimeUnit.MILLISECONDS.toNanos(config.getFsyncMillis());
+        //wake up periodically if files need rotating or syncing while no data arrives
+        final long wakeNanos = rotateNanos > 0 && interval ? Math.min(rotateNanos, fsyncNanos) : rotateNanos > 0 ? rotateNanos
+                : interval ? fsyncNanos : -1;
+        final List<ByteBuffer> batch = new ArrayList<>();
+        FileChannel channel = null;
+        long written = 0;
+        long opened = 0;
+        long synced = System.nanoTime();
+        boolean dirty = false;
+        boolean eof = false;
+        while (!eof) {
+            ByteBuffer next = null;
+            try {
+                next = wakeNanos > 0 ? full.poll(wakeNanos, TimeUnit.NANOSECONDS) : full.get();
+            } catch (final Queue.QueueTimeoutException e) {
+            }
+            while (next != null) {
+                if (next == EOF) {
+                    eof = true;
+                    break;
+                }
+                batch.add(next);
+                next = full.size() > 0 ? full.get() : null;
+            }
+            try {
+                final long now = System.nanoTime();
+                if (channel != null && (rotateBytes > 0 && written >= rotateBytes || rotateNanos > 0 && now - opened >= rotateNanos)) {
+                    close(channel);
+                    channel = null;
+                    dirty = false;
+                }
+                if (!batch.isEmpty() && error == null) {
+                    if (channel == null) {
+                        channel = open();
+                        written = 0;
+                        opened = now;
+                    }
+                    final ByteBuffer[] buffers = batch.toArray(new ByteBuffer[batch.size()]);
+                    long remaining = 0;
+                    for (final ByteBuffer b : buffers)
+                        remaining += b.remaining();
+                    while (remaining > 0) {
+                        final long count = channel.write(buffers);
+                        remaining -= count;
+                        written += count;
+                    }
+                    dirty = true;
+                    if (config.getFsync() == FsyncPolicy.EVERY_WRITE) {
+                        channel.force(false);
+                        dirty = false;
+                        synced = System.nanoTime();
+                    }
+                }
+                if (interval && dirty && System.nanoTime() - synced >= fsyncNanos) {
+                    channel.force(false);
+                    dirty = false;
+                    synced = System.nanoTime();
+                }
+            } catch (final Throwable t) {
+                //keep recycling buffers after an error, so the producer is never left waiting for one
+                if (error == null)
+                    error = t;
+            }
+            for (final ByteBuffer b : batch) {
+                b.clear();
+                free.offer(b);
+            }
+            batch.clear();
+        }
+        if (channel != null) {
+            try {
+                close(channel);
+            } catch (final Throwable t) {
+                if (error == null)
+                    error = t;
+            }
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        final Path path = config.getPath();
+        final Path file;
+        synchronized (files) {
+            file = config.getRotateBytes() > 0 || config.getRotateMillis() > 0 ? Paths.get(path.toString() + "." + files.size()) : path;
+            files.add(file);
+        }
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private void close(final FileChannel channel) throws IOException {
+        try {
+            if (config.getFsync() != FsyncPolicy.NEVER)
+                channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+}
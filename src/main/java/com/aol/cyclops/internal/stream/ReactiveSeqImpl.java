@@ -58,6 +58,7 @@ import com.aol.cyclops.internal.monads.ComprehenderSelector;
 import com.aol.cyclops.internal.stream.spliterators.ReversableSpliterator;
 import com.aol.cyclops.types.Unwrapable;
 import com.aol.cyclops.types.anyM.AnyMSeq;
+import com.aol.cyclops.types.extensability.Comprehender;
 import com.aol.cyclops.types.stream.HeadAndTail;
 import com.aol.cyclops.types.stream.HotStream;
 import com.aol.cyclops.types.stream.PausableHotStream;
@@ -205,8 +206,8 @@ public class ReactiveSeqImpl<T> implements Unwrapable, ReactiveSeq<T>, Iterable<
     }
 
     public final <R> ReactiveSeq<R> cycle(final Class<R> monadC, final int times) {
-        return (ReactiveSeqImpl) cycle(times).map(r -> new ComprehenderSelector().selectComprehender(monadC)
-                                                                                 .of(r));
+        final Comprehender comprehender = new ComprehenderSelector().selectComprehender(monadC);
+        return (ReactiveSeqImpl) cycle(times).map(r -> comprehender.of(r));
     }
 
     @Override
@@ -761,13 +762,13 @@ public class ReactiveSeqImpl<T> implements Unwrapable, ReactiveSeq<T>, Iterable<
 
     @Override
     public ReactiveSeq<T> onClose(final Runnable closeHandler) {
-
+        stream.onClose(closeHandler);
         return this;
     }
 
     @Override
     public void close() {
-
+        stream.close();
     }
 
     @Override
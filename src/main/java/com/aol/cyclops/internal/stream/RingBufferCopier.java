@@ -0,0 +1,168 @@
+package com.aol.cyclops.internal.stream;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.stream.BufferFullException;
+import com.aol.cyclops.types.stream.OverflowPolicy;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Copies of an Iterator that share a single ring buffer. Each copy has a cursor into the buffer, whichever copy is ahead pulls
+ * the next element from the source and writes it to the buffer, and elements are released as soon as the slowest copy has read
+ * them. The buffer holds at most bound elements, when the leading copy is bound elements ahead of the slowest copy the
+ * {@link OverflowPolicy} determines whether it blocks, grows the buffer or fails.
+ *
+ * Copies may be consumed concurrently by different threads.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements copied
+ */
+public class RingBufferCopier<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Iterator<T> source;
+    private final int bound;
+    private final OverflowPolicy policy;
+    private final long[] cursors;
+    private final int minCapacity;
+    private Object[] buffer;
+    private int mask;
+    //number of elements pulled from the source
+    private long head;
+    //position of the slowest copy
+    private long tail;
+
+    private RingBufferCopier(final Iterator<T> source, final int copies, final int bound, final OverflowPolicy policy) {
+        this.source = source;
+        this.bound = bound;
+        this.policy = policy;
+        this.cursors = new long[copies];
+        this.minCapacity = powerOfTwo(Math.min(bound, INITIAL_CAPACITY));
+        this.buffer = new Object[minCapacity];
+        this.mask = minCapacity - 1;
+    }
+
+    /**
+     * @param source Iterator to copy
+     * @param copies Number of copies
+     * @param bound Maximum number of elements the leading copy may be ahead of the slowest copy
+     * @param policy What to do when the leading copy reaches the bound
+     * @return List of copies
+     */
+    public static <T> ListX<Iterator<T>> copy(final Iterator<T> source, final int copies, final int bound, final OverflowPolicy policy) {
+        if (copies < 1)
+            throw new IllegalArgumentException(
+                                               "copies must be at least 1 but was " + copies);
+        if (bound < 1)
+            throw new IllegalArgumentException(
+                                               "bound must be at least 1 but was " + bound);
+        final RingBufferCopier<T> ring = new RingBufferCopier<>(
+                                                                source, copies, bound, policy);
+        final List<Iterator<T>> result = new ArrayList<>(
+                                                         copies);
+        for (int i = 0; i < copies; i++)
+            result.add(ring.new Copy(
+                                     i));
+        return ListX.fromIterable(result);
+    }
+
+    private synchronized boolean hasNext(final int index) {
+        return cursors[index] < head || source.hasNext();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized T next(final int index) {
+        final long position = cursors[index];
+        final T value;
+        if (position < head) {
+            value = (T) buffer[(int) (position & mask)];
+        } else {
+            awaitSpace(index);
+            if (cursors[index] < head)
+                return next(index);
+            if (!source.hasNext())
+                throw new NoSuchElementException();
+            value = source.next();
+            if (head - tail == buffer.length)
+                resize(buffer.length * 2);
+            if (cursors.length > 1)
+                buffer[(int) (head & mask)] = value;
+            head++;
+        }
+        cursors[index] = position + 1;
+        release();
+        return value;
+    }
+
+    private void awaitSpace(final int index) {
+        while (head - tail >= bound && cursors[index] == head) {
+            switch (policy) {
+            case SPILL:
+                return;
+            case FAIL:
+                throw new BufferFullException(
+                                              bound);
+            case BLOCK:
+                try {
+                    wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread()
+                          .interrupt();
+                    throw ExceptionSoftener.throwSoftenedException(e);
+                }
+            }
+        }
+    }
+
+    private void release() {
+        long slowest = Long.MAX_VALUE;
+        for (final long cursor : cursors)
+            slowest = Math.min(slowest, cursor);
+        if (slowest == tail)
+            return;
+        for (long p = tail; p < slowest; p++)
+            buffer[(int) (p & mask)] = null;
+        tail = slowest;
+        if (buffer.length > minCapacity && head - tail <= buffer.length / 4)
+            resize(buffer.length / 2);
+        if (policy == OverflowPolicy.BLOCK)
+            notifyAll();
+    }
+
+    private void resize(final int capacity) {
+        final Object[] resized = new Object[capacity];
+        final int resizedMask = capacity - 1;
+        for (long p = tail; p < head; p++)
+            resized[(int) (p & resizedMask)] = buffer[(int) (p & mask)];
+        buffer = resized;
+        mask = resizedMask;
+    }
+
+    private static int powerOfTwo(final int size) {
+        return Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+    }
+
+    private final class Copy implements Iterator<T> {
+        private final int index;
+
+        Copy(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return RingBufferCopier.this.hasNext(index);
+        }
+
+        @Override
+        public T next() {
+            return RingBufferCopier.this.next(index);
+        }
+    }
+}
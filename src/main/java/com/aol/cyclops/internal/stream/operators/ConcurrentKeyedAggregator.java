@@ -0,0 +1,87 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+import com.aol.cyclops.control.StreamUtils;
+
+/**
+ * Keyed aggregation that can be fed from many threads at once (e.g. from the tasks of a
+ * {@link com.aol.cyclops.types.futurestream.LazyFutureStream}). Each distinct key has a single Collector accumulator in a
+ * ConcurrentHashMap, updates to the same key are serialised but different keys are updated in parallel. As elements with the
+ * same key may be accumulated in any order, the Collector (or Monoid) should be commutative.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements aggregated
+ * @param <K> Key type
+ * @param <A> Accumulator type
+ * @param <D> Aggregated result type
+ */
+public class ConcurrentKeyedAggregator<T, K, A, D> implements Consumer<T> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<? super T, ? extends K> classifier;
+    private final Supplier<A> supplier;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final Function<A, D> finisher;
+    private final ConcurrentHashMap<Object, A> accumulators = new ConcurrentHashMap<>();
+
+    public ConcurrentKeyedAggregator(final Function<? super T, ? extends K> classifier, final Collector<? super T, A, D> collector) {
+        this.classifier = classifier;
+        this.supplier = collector.supplier();
+        this.accumulator = collector.accumulator();
+        this.finisher = collector.finisher();
+    }
+
+    @Override
+    public void accept(final T next) {
+        final K key = classifier.apply(next);
+        accumulators.compute(key == null ? NULL_KEY : key, (k, acc) -> {
+            final A result = acc == null ? supplier.get() : acc;
+            accumulator.accept(result, next);
+            return result;
+        });
+    }
+
+    /**
+     * @param run Feeds every element to this aggregator, returning once all have been accepted
+     * @return Lazy Stream of each key and its aggregated result, run is executed when the Stream is first iterated
+     */
+    public Stream<Tuple2<K, D>> aggregate(final Runnable run) {
+        return StreamUtils.stream(new Iterator<Tuple2<K, D>>() {
+            Iterator<Map.Entry<Object, A>> results;
+
+            @Override
+            public boolean hasNext() {
+                if (results == null) {
+                    run.run();
+                    results = accumulators.entrySet()
+                                          .iterator();
+                }
+                return results.hasNext();
+            }
+
+            @Override
+            public Tuple2<K, D> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                final Map.Entry<Object, A> next = results.next();
+                results.remove();
+                return Tuple.tuple(next.getKey() == NULL_KEY ? null : (K) next.getKey(), finisher.apply(next.getValue()));
+            }
+        });
+    }
+}
@@ -0,0 +1,250 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.Monoid;
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.types.stream.EventWindow;
+import com.aol.cyclops.types.stream.EventWindows;
+import com.aol.cyclops.types.stream.Watermarks;
+
+/**
+ * Tumbling, sliding and session windows over event time. Each open window holds only its key, bounds and a value reduced
+ * incrementally with a Monoid, so memory is proportional to the number of open windows rather than the length of the Stream.
+ * Windows are fired (in order of their end) as the watermark passes them, kept for the allowed lateness so late elements can
+ * update (and re-emit) them, and then discarded. Any windows still open when the Stream is exhausted are fired at the end.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Stream
+ * @param <K> Key type
+ * @param <R> Aggregated result type
+ */
+public class EventTimeWindowOperator<T, K, R> {
+
+    private final Stream<T> stream;
+    private final Function<? super T, ? extends K> classifier;
+    private final EventWindows windows;
+    private final Watermarks<? super T> watermarks;
+    private final Function<? super T, ? extends R> mapper;
+    private final Monoid<R> monoid;
+
+    public EventTimeWindowOperator(final Stream<T> stream, final Function<? super T, ? extends K> classifier, final EventWindows windows,
+            final Watermarks<? super T> watermarks, final Function<? super T, ? extends R> mapper, final Monoid<R> monoid) {
+        this.stream = stream;
+        this.classifier = classifier;
+        this.windows = windows;
+        this.watermarks = watermarks;
+        this.mapper = mapper;
+        this.monoid = monoid;
+    }
+
+    public Stream<EventWindow<K, R>> windowed() {
+        final Iterator<T> it = stream.iterator();
+        final State state = new State();
+        return StreamUtils.stream(new Iterator<EventWindow<K, R>>() {
+            boolean finished = false;
+
+            @Override
+            public boolean hasNext() {
+                while (state.output.isEmpty()) {
+                    if (it.hasNext()) {
+                        state.accept(it.next());
+                    } else if (!finished) {
+                        finished = true;
+                        state.fireAll();
+                    } else {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public EventWindow<K, R> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return state.output.poll();
+            }
+        });
+    }
+
+    private final class Pane {
+        final K key;
+        final long seq;
+        final long start;
+        final long end;
+        R value;
+        boolean fired;
+        /**
+         * When the pane next needs attention, it's end until fired, then the end of it's allowed lateness
+         */
+        long timer;
+
+        Pane(final K key, final long seq, final long start, final long end, final R value) {
+            this.key = key;
+            this.seq = seq;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.timer = end;
+        }
+    }
+
+    private final class State {
+        final ArrayDeque<EventWindow<K, R>> output = new ArrayDeque<>();
+        final Map<K, NavigableMap<Long, Pane>> panes = new HashMap<>();
+        final TreeSet<Pane> timers = new TreeSet<>(
+                                                   Comparator.<Pane> comparingLong(p -> p.timer)
+                                                             .thenComparingLong(p -> p.seq));
+        final long lateness = Math.max(0, watermarks.getAllowedLateness());
+        long maxTimestamp = Long.MIN_VALUE;
+        long watermark = Long.MIN_VALUE;
+        long seq = 0;
+
+        void accept(final T next) {
+            final long timestamp = watermarks.getTimestamp()
+                                             .applyAsLong(next);
+            final K key = classifier.apply(next);
+            final R value = mapper.apply(next);
+            final boolean added = windows.getType() == EventWindows.Type.SESSION ? addToSession(key, timestamp, value)
+                    : addToWindows(key, timestamp, value);
+            if (!added)
+                watermarks.getOnLate()
+                          .accept(next);
+            if (timestamp > maxTimestamp) {
+                maxTimestamp = timestamp;
+                final long candidate = timestamp - watermarks.getMaxOutOfOrderness();
+                if (candidate > watermark) {
+                    watermark = candidate;
+                    fire();
+                }
+            }
+        }
+
+        private boolean expired(final long end) {
+            return watermark != Long.MIN_VALUE && watermark >= end + lateness;
+        }
+
+        private boolean addToWindows(final K key, final long timestamp, final R value) {
+            final long size = windows.getSize();
+            final long slide = windows.getSlide();
+            boolean added = false;
+            for (long start = timestamp - Math.floorMod(timestamp, slide); start > timestamp - size; start -= slide) {
+                final long end = start + size;
+                if (expired(end))
+                    continue;
+                final NavigableMap<Long, Pane> forKey = panes.computeIfAbsent(key, k -> new TreeMap<>());
+                final Pane pane = forKey.get(start);
+                if (pane == null) {
+                    final Pane created = new Pane(
+                                                  key, seq++, start, end, monoid.apply(monoid.zero(), value));
+                    forKey.put(start, created);
+                    timers.add(created);
+                    updated(created);
+                } else {
+                    pane.value = monoid.apply(pane.value, value);
+                    updated(pane);
+                }
+                added = true;
+            }
+            return added;
+        }
+
+        private boolean addToSession(final K key, final long timestamp, final R value) {
+            long start = timestamp;
+            long end = timestamp + windows.getSize();
+            final NavigableMap<Long, Pane> forKey = panes.computeIfAbsent(key, k -> new TreeMap<>());
+            //sessions for a key never overlap, so those overlapping the new window are the latest starting before it's end
+            final List<Pane> overlapping = new ArrayList<>();
+            for (final Pane pane : forKey.headMap(end, false)
+                                         .descendingMap()
+                                         .values()) {
+                if (pane.end <= start)
+                    break;
+                overlapping.add(0, pane);
+                end = Math.max(end, pane.end);
+            }
+            if (expired(end)) {
+                if (forKey.isEmpty())
+                    panes.remove(key);
+                return false;
+            }
+            R merged = monoid.zero();
+            for (final Pane pane : overlapping) {
+                forKey.remove(pane.start);
+                timers.remove(pane);
+                start = Math.min(start, pane.start);
+                merged = monoid.apply(merged, pane.value);
+            }
+            final Pane session = new Pane(
+                                          key, seq++, start, end, monoid.apply(merged, value));
+            forKey.put(start, session);
+            timers.add(session);
+            updated(session);
+            return true;
+        }
+
+        /**
+         * A pane the watermark has already passed was updated by a late element, emit the updated result straight away
+         */
+        private void updated(final Pane pane) {
+            if (watermark == Long.MIN_VALUE || pane.end > watermark)
+                return;
+            output.add(new EventWindow<>(
+                                         pane.key, pane.start, pane.end, pane.value, true));
+            if (!pane.fired) {
+                timers.remove(pane);
+                pane.fired = true;
+                pane.timer = pane.end + lateness;
+                timers.add(pane);
+            }
+        }
+
+        private void fire() {
+            while (!timers.isEmpty() && timers.first().timer <= watermark) {
+                final Pane pane = timers.pollFirst();
+                if (!pane.fired) {
+                    output.add(new EventWindow<>(
+                                                 pane.key, pane.start, pane.end, pane.value, false));
+                    if (!expired(pane.end)) {
+                        pane.fired = true;
+                        pane.timer = pane.end + lateness;
+                        timers.add(pane);
+                        continue;
+                    }
+                }
+                remove(pane);
+            }
+        }
+
+        void fireAll() {
+            while (!timers.isEmpty()) {
+                final Pane pane = timers.pollFirst();
+                if (!pane.fired)
+                    output.add(new EventWindow<>(
+                                                 pane.key, pane.start, pane.end, pane.value, false));
+            }
+            panes.clear();
+        }
+
+        private void remove(final Pane pane) {
+            final NavigableMap<Long, Pane> forKey = panes.get(pane.key);
+            forKey.remove(pane.start);
+            if (forKey.isEmpty())
+                panes.remove(pane.key);
+        }
+    }
+}
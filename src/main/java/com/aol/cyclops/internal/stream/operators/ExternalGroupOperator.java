@@ -0,0 +1,134 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.stream.SpillConfig;
+
+/**
+ * Groups a Stream that may be larger than the heap. Streams that fit within the in-memory budget are grouped in memory,
+ * otherwise every element is spilled to one of a number of temporary files by the hash of it's key, and each partition is then
+ * grouped in memory in turn. Partitions that are still too large are partitioned again (a single key with more elements than
+ * the budget can't be split and is loaded regardless). Within a group elements are in encounter order.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Stream
+ * @param <K> Key type
+ */
+public class ExternalGroupOperator<T, K> {
+
+    private static final int MAX_DEPTH = 3;
+
+    private final Stream<T> stream;
+    private final Function<? super T, ? extends K> classifier;
+    private final SpillConfig<T> config;
+    private final List<SpillFile<T>> spilled = new ArrayList<>();
+
+    public ExternalGroupOperator(final Stream<T> stream, final Function<? super T, ? extends K> classifier, final SpillConfig<T> config) {
+        this.stream = stream;
+        this.classifier = classifier;
+        this.config = config;
+    }
+
+    public Stream<Tuple2<K, ListX<T>>> grouped() {
+        return StreamUtils.stream(new Iterator<Tuple2<K, ListX<T>>>() {
+            final List<SpillFile<T>> pending = new ArrayList<>();
+            final List<Integer> depths = new ArrayList<>();
+            Iterator<Map.Entry<K, List<T>>> groups;
+
+            @Override
+            public boolean hasNext() {
+                if (groups == null)
+                    groups = first(pending, depths);
+                while (!groups.hasNext() && !pending.isEmpty())
+                    groups = group(pending.remove(0)
+                                                .iterator(),
+                                   depths.remove(0), pending, depths);
+                return groups.hasNext();
+            }
+
+            @Override
+            public Tuple2<K, ListX<T>> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                final Map.Entry<K, List<T>> next = groups.next();
+                return Tuple.tuple(next.getKey(), ListX.fromIterable(next.getValue()));
+            }
+        })
+                          .onClose(() -> spilled.forEach(SpillFile::delete));
+    }
+
+    private Iterator<Map.Entry<K, List<T>>> first(final List<SpillFile<T>> pending, final List<Integer> depths) {
+        return group(stream.iterator(), 0, pending, depths);
+    }
+
+    /**
+     * Group the supplied elements in memory if they fit, otherwise partition them and add the partitions to pending
+     */
+    private Iterator<Map.Entry<K, List<T>>> group(final Iterator<T> it, final int depth, final List<SpillFile<T>> pending,
+            final List<Integer> depths) {
+        final Map<K, List<T>> groups = new LinkedHashMap<>();
+        int count = 0;
+        while (it.hasNext() && (count < config.getMaxInMemory() || depth >= MAX_DEPTH)) {
+            add(groups, it.next());
+            count++;
+        }
+        if (!it.hasNext())
+            return groups.entrySet()
+                         .iterator();
+
+        final List<SpillFile<T>> partitions = new ArrayList<>();
+        final int size = Math.max(2, config.getPartitions());
+        for (int i = 0; i < size; i++) {
+            final SpillFile<T> partition = new SpillFile<>(
+                                                           config);
+            spilled.add(partition);
+            partitions.add(partition);
+        }
+        for (final Map.Entry<K, List<T>> group : groups.entrySet()) {
+            final SpillFile<T> partition = partitions.get(partition(group.getKey(), depth, size));
+            group.getValue()
+                 .forEach(partition::write);
+        }
+        groups.clear();
+        while (it.hasNext()) {
+            final T next = it.next();
+            partitions.get(partition(classifier.apply(next), depth, size))
+                      .write(next);
+        }
+        for (final SpillFile<T> partition : partitions) {
+            if (partition.size() > 0) {
+                pending.add(partition);
+                depths.add(depth + 1);
+            } else {
+                partition.delete();
+            }
+        }
+        return groups.entrySet()
+                     .iterator();
+    }
+
+    private void add(final Map<K, List<T>> groups, final T next) {
+        groups.computeIfAbsent(classifier.apply(next), k -> new ArrayList<>())
+              .add(next);
+    }
+
+    private static int partition(final Object key, final int depth, final int partitions) {
+        final int hash = key == null ? 0 : key.hashCode();
+        //different hash bits at each depth so an oversized partition is split when partitioned again
+        final int mixed = Integer.rotateLeft((hash ^ (hash >>> 16)) * 0x9E3779B9, depth * 11);
+        return Math.floorMod(mixed, partitions);
+    }
+}
@@ -0,0 +1,152 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.types.stream.SpillConfig;
+
+/**
+ * Sorts a Stream that may be larger than the heap. Elements are sorted in memory in runs of at most maxInMemory elements,
+ * each full run is written to a temporary file, and the runs are then streamed back through a k-way merge (in several passes if
+ * there are more than mergeFactor runs). Streams that fit within the budget are sorted entirely in memory. The sort is stable.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Stream
+ */
+public class ExternalSortOperator<T> {
+
+    private final Stream<T> stream;
+    private final Comparator<? super T> comparator;
+    private final SpillConfig<T> config;
+    private final List<SpillFile<T>> spilled = new ArrayList<>();
+
+    public ExternalSortOperator(final Stream<T> stream, final Comparator<? super T> comparator, final SpillConfig<T> config) {
+        this.stream = stream;
+        this.comparator = comparator;
+        this.config = config;
+    }
+
+    public Stream<T> sorted() {
+        return StreamUtils.stream(new Iterator<T>() {
+            Iterator<T> sorted;
+
+            @Override
+            public boolean hasNext() {
+                if (sorted == null)
+                    sorted = sort();
+                return sorted.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return sorted.next();
+            }
+        })
+                          .onClose(this::deleteAll);
+    }
+
+    private Iterator<T> sort() {
+        final Iterator<T> it = stream.iterator();
+        List<SpillFile<T>> runs = new ArrayList<>();
+        final List<T> buffer = new ArrayList<>();
+        while (it.hasNext()) {
+            buffer.add(it.next());
+            if (buffer.size() >= config.getMaxInMemory()) {
+                buffer.sort(comparator);
+                runs.add(write(buffer.iterator()));
+                buffer.clear();
+            }
+        }
+        buffer.sort(comparator);
+        if (runs.isEmpty())
+            return buffer.iterator();
+        final int mergeFactor = Math.max(2, config.getMergeFactor());
+        while (runs.size() > mergeFactor) {
+            final List<SpillFile<T>> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += mergeFactor)
+                merged.add(write(merge(iterators(runs.subList(i, Math.min(runs.size(), i + mergeFactor))))));
+            runs = merged;
+        }
+        final List<Iterator<T>> sources = iterators(runs);
+        sources.add(buffer.iterator());
+        return merge(sources);
+    }
+
+    private SpillFile<T> write(final Iterator<T> values) {
+        final SpillFile<T> run = new SpillFile<>(
+                                                 config);
+        spilled.add(run);
+        while (values.hasNext())
+            run.write(values.next());
+        return run;
+    }
+
+    private List<Iterator<T>> iterators(final List<SpillFile<T>> runs) {
+        final List<Iterator<T>> result = new ArrayList<>();
+        for (final SpillFile<T> run : runs)
+            result.add(run.iterator());
+        return result;
+    }
+
+    /**
+     * k-way merge of sorted sources, equal elements are taken from earlier sources first
+     */
+    private Iterator<T> merge(final List<Iterator<T>> sources) {
+        final PriorityQueue<Head> heads = new PriorityQueue<>(
+                                                              Math.max(1, sources.size()), (a, b) -> {
+                                                                  final int result = comparator.compare(a.value, b.value);
+                                                                  return result != 0 ? result : Integer.compare(a.source, b.source);
+                                                              });
+        for (int i = 0; i < sources.size(); i++) {
+            if (sources.get(i)
+                       .hasNext())
+                heads.add(new Head(
+                                   i, sources.get(i)));
+        }
+        return new Iterator<T>() {
+
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                final Head head = heads.poll();
+                if (head == null)
+                    throw new NoSuchElementException();
+                final T value = head.value;
+                if (head.it.hasNext()) {
+                    head.value = head.it.next();
+                    heads.add(head);
+                }
+                return value;
+            }
+        };
+    }
+
+    private void deleteAll() {
+        spilled.forEach(SpillFile::delete);
+    }
+
+    private final class Head {
+        final int source;
+        final Iterator<T> it;
+        T value;
+
+        Head(final int source, final Iterator<T> it) {
+            this.source = source;
+            this.it = it;
+            this.value = it.next();
+        }
+    }
+}
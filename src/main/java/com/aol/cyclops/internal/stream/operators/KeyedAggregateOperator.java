@@ -0,0 +1,129 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+import com.aol.cyclops.Monoid;
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.data.Mutable;
+
+/**
+ * Streaming keyed aggregation. Only a Collector accumulator per distinct key is held in memory (never the elements
+ * themselves), so aggregating a Stream by key needs memory proportional to the number of distinct keys.
+ *
+ * Optionally partial results are emitted (and the accumulators discarded) whenever a new key would take the number of keys
+ * above maxKeys, or once the current accumulators are older than a time limit. In that case a key may be emitted more
+ * than once, and the downstream is responsible for combining the partial results. The time limit is checked as elements
+ * arrive, an idle Stream does not emit. Keys are emitted in the order they were first encountered within each flush.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Stream
+ * @param <K> Key type
+ * @param <A> Accumulator type
+ * @param <D> Aggregated result type
+ */
+public class KeyedAggregateOperator<T, K, A, D> {
+
+    private final Stream<T> stream;
+    private final Function<? super T, ? extends K> classifier;
+    private final Collector<? super T, A, D> collector;
+    private final int maxKeys;
+    private final long maxAgeNanos;
+
+    public KeyedAggregateOperator(final Stream<T> stream, final Function<? super T, ? extends K> classifier,
+            final Collector<? super T, A, D> collector) {
+        this(stream, classifier, collector, 0, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param maxKeys Maximum number of keys to accumulate before emitting partial results, 0 or less for no limit
+     * @param time Maximum age of the accumulators before emitting partial results, 0 or less for no limit
+     * @param unit Time unit for time
+     */
+    public KeyedAggregateOperator(final Stream<T> stream, final Function<? super T, ? extends K> classifier,
+            final Collector<? super T, A, D> collector, final int maxKeys, final long time, final TimeUnit unit) {
+        this.stream = stream;
+        this.classifier = classifier;
+        this.collector = collector;
+        this.maxKeys = maxKeys;
+        this.maxAgeNanos = unit.toNanos(time);
+    }
+
+    public Stream<Tuple2<K, D>> aggregate() {
+        final Iterator<T> it = stream.iterator();
+        final Supplier<A> supplier = collector.supplier();
+        final BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        final Function<A, D> finisher = collector.finisher();
+
+        return StreamUtils.stream(new Iterator<Tuple2<K, D>>() {
+            Map<K, A> current = new LinkedHashMap<>();
+            Iterator<Map.Entry<K, A>> flushing = Collections.emptyIterator();
+            long started = System.nanoTime();
+
+            @Override
+            public boolean hasNext() {
+                while (!flushing.hasNext()) {
+                    if (!it.hasNext()) {
+                        if (current.isEmpty())
+                            return false;
+                        flush();
+                        continue;
+                    }
+                    final T next = it.next();
+                    final K key = classifier.apply(next);
+                    A acc = current.get(key);
+                    if (acc == null && !current.containsKey(key)) {
+                        if (maxKeys > 0 && current.size() >= maxKeys)
+                            flush();
+                        acc = supplier.get();
+                        current.put(key, acc);
+                    }
+                    accumulator.accept(acc, next);
+                    //a flush for maxKeys may already be pending, flushing again would drop it's partial results
+                    if (!flushing.hasNext() && maxAgeNanos > 0 && System.nanoTime() - started >= maxAgeNanos)
+                        flush();
+                }
+                return true;
+            }
+
+            @Override
+            public Tuple2<K, D> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                final Map.Entry<K, A> next = flushing.next();
+                flushing.remove();
+                return Tuple.tuple(next.getKey(), finisher.apply(next.getValue()));
+            }
+
+            private void flush() {
+                flushing = current.entrySet()
+                                  .iterator();
+                current = new LinkedHashMap<>();
+                started = System.nanoTime();
+            }
+        });
+    }
+
+    /**
+     * @param mapper Function to map each element to the type reduced
+     * @param monoid Monoid to reduce with, reduction is a left fold from the Monoid's zero
+     * @return Collector that reduces the mapped elements with the supplied Monoid
+     */
+    public static <T, R> Collector<T, Mutable<R>, R> reducing(final Function<? super T, ? extends R> mapper, final Monoid<R> monoid) {
+        return Collector.of(() -> Mutable.of(monoid.zero()), (acc, next) -> acc.set(monoid.apply(acc.get(), mapper.apply(next))),
+                            (a, b) -> a.set(monoid.apply(a.get(), b.get())), Mutable::get);
+    }
+}
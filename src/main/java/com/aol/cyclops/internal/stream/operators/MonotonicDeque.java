@@ -0,0 +1,62 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.util.Comparator;
+
+/**
+ * Fixed capacity deque of the candidates for the smallest value (as determined by the supplied Comparator) in a sliding window.
+ * Values are kept in increasing order, when a value is added any larger values behind it can never be the smallest value again
+ * and are discarded, so adding and evicting are amortised O(1) and the smallest value is always at the front.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of values in the window
+ */
+class MonotonicDeque<T> {
+
+    private final Comparator<? super T> comparator;
+    private final Object[] values;
+    private final long[] positions;
+    private int head;
+    private int size;
+
+    MonotonicDeque(final int capacity, final Comparator<? super T> comparator) {
+        this.comparator = comparator;
+        this.values = new Object[capacity];
+        this.positions = new long[capacity];
+    }
+
+    void add(final long position, final T value) {
+        while (size > 0 && comparator.compare(last(), value) > 0) {
+            values[index(size - 1)] = null;
+            size--;
+        }
+        final int tail = index(size++);
+        values[tail] = value;
+        positions[tail] = position;
+    }
+
+    /**
+     * Remove the value at the supplied window position, if it is still a candidate
+     */
+    void evict(final long position) {
+        if (size > 0 && positions[head] == position) {
+            values[head] = null;
+            head = index(1);
+            size--;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    T first() {
+        return size == 0 ? null : (T) values[head];
+    }
+
+    @SuppressWarnings("unchecked")
+    private T last() {
+        return (T) values[index(size - 1)];
+    }
+
+    private int index(final int offset) {
+        return (head + offset) % values.length;
+    }
+}
@@ -3,16 +3,30 @@ package com.aol.cyclops.internal.stream.operators;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.BiFunction;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import com.aol.cyclops.DoubleMonoid;
+import com.aol.cyclops.LongMonoid;
 import com.aol.cyclops.Monoid;
-import com.aol.cyclops.Reducer;
-import com.aol.cyclops.control.StreamUtils;
 
 import lombok.AllArgsConstructor;
 
+/**
+ * Reduces a Stream with several Monoids in a single pass. A fixed array holds one accumulator per Monoid and is updated in
+ * place for each element, so no per-element objects are allocated (other than by the Monoids themselves), and primitive
+ * Monoids reduce primitive Streams without boxing.
+ *
+ * Sequential reductions are strict left folds from each Monoid's zero in encounter order. Parallel reductions split the
+ * source, reduce each split into it's own accumulator array and combine the arrays, so they require the Monoids to be
+ * associative with a true identity element.
+ *
+ * @author johnmcclean
+ *
+ * @param <R> Data type of elements in the Stream
+ */
 @AllArgsConstructor
 public class MultiReduceOperator<R> {
 
@@ -20,35 +34,100 @@ public class MultiReduceOperator<R> {
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public List<R> reduce(final Iterable<? extends Monoid<R>> reducers) {
-        final Reducer<List<R>> m = new Reducer<List<R>>() {
-            @Override
-            public List<R> zero() {
-                return StreamUtils.stream(reducers)
-                                  .map(r -> r.zero())
-                                  .collect(Collectors.toList());
-            }
-
-           
-
-            @Override
-            public Stream mapToType(final Stream stream) {
-                return stream.map(value -> Arrays.asList(value));
-            }
-
-            @Override
-            public List<R> apply(final List<R> c1, final List<R> c2) {
-                final List l = new ArrayList<>();
-                int i = 0;
-                for (final Monoid next : reducers) {
-                    l.add(next
-                              .apply(c1.get(i), c2.get(0)));
-                    i++;
-                }
-
-                return l;
-
-            }
-        };
-        return m.mapReduce(stream);
+        final Monoid<R>[] monoids = toArray(reducers);
+        final Object[] acc = zeros(monoids);
+        final Spliterator<R> split = stream.spliterator();
+        split.forEachRemaining(next -> {
+            for (int i = 0; i < monoids.length; i++)
+                acc[i] = monoids[i].apply((R) acc[i], next);
+        });
+        return new ArrayList<>(
+                               (List<R>) (List) Arrays.asList(acc));
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public List<R> parallelReduce(final Iterable<? extends Monoid<R>> reducers) {
+        final Monoid<R>[] monoids = toArray(reducers);
+        final Object[] acc = stream.parallel()
+                                   .collect(() -> zeros(monoids), (a, next) -> {
+                                       for (int i = 0; i < monoids.length; i++)
+                                           a[i] = monoids[i].apply((R) a[i], next);
+                                   } , (a, b) -> {
+                                       for (int i = 0; i < monoids.length; i++)
+                                           a[i] = monoids[i].apply((R) a[i], (R) b[i]);
+                                   });
+        return new ArrayList<>(
+                               (List<R>) (List) Arrays.asList(acc));
+    }
+
+    public static double[] reduce(final DoubleStream stream, final DoubleMonoid... monoids) {
+        final double[] acc = zeros(monoids);
+        final Spliterator.OfDouble split = stream.spliterator();
+        split.forEachRemaining((double next) -> {
+            for (int i = 0; i < monoids.length; i++)
+                acc[i] = monoids[i].applyAsDouble(acc[i], next);
+        });
+        return acc;
+    }
+
+    public static double[] parallelReduce(final DoubleStream stream, final DoubleMonoid... monoids) {
+        return stream.parallel()
+                     .collect(() -> zeros(monoids), (a, next) -> {
+                         for (int i = 0; i < monoids.length; i++)
+                             a[i] = monoids[i].applyAsDouble(a[i], next);
+                     } , (a, b) -> {
+                         for (int i = 0; i < monoids.length; i++)
+                             a[i] = monoids[i].applyAsDouble(a[i], b[i]);
+                     });
+    }
+
+    public static long[] reduce(final LongStream stream, final LongMonoid... monoids) {
+        final long[] acc = zeros(monoids);
+        final Spliterator.OfLong split = stream.spliterator();
+        split.forEachRemaining((long next) -> {
+            for (int i = 0; i < monoids.length; i++)
+                acc[i] = monoids[i].applyAsLong(acc[i], next);
+        });
+        return acc;
+    }
+
+    public static long[] parallelReduce(final LongStream stream, final LongMonoid... monoids) {
+        return stream.parallel()
+                     .collect(() -> zeros(monoids), (a, next) -> {
+                         for (int i = 0; i < monoids.length; i++)
+                             a[i] = monoids[i].applyAsLong(a[i], next);
+                     } , (a, b) -> {
+                         for (int i = 0; i < monoids.length; i++)
+                             a[i] = monoids[i].applyAsLong(a[i], b[i]);
+                     });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> Monoid<R>[] toArray(final Iterable<? extends Monoid<R>> reducers) {
+        final List<Monoid<R>> list = new ArrayList<>();
+        for (final Monoid<R> next : reducers)
+            list.add(next);
+        return list.toArray(new Monoid[list.size()]);
+    }
+
+    private static Object[] zeros(final Monoid<?>[] monoids) {
+        final Object[] acc = new Object[monoids.length];
+        for (int i = 0; i < monoids.length; i++)
+            acc[i] = monoids[i].zero();
+        return acc;
+    }
+
+    private static double[] zeros(final DoubleMonoid[] monoids) {
+        final double[] acc = new double[monoids.length];
+        for (int i = 0; i < monoids.length; i++)
+            acc[i] = monoids[i].zeroAsDouble();
+        return acc;
+    }
+
+    private static long[] zeros(final LongMonoid[] monoids) {
+        final long[] acc = new long[monoids.length];
+        for (int i = 0; i < monoids.length; i++)
+            acc[i] = monoids[i].zeroAsLong();
+        return acc;
     }
 }
@@ -0,0 +1,229 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.control.Streamable;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+/**
+ * Sliding windows over a Stream backed by a single ring buffer of windowSize elements. Sliding the window by increment
+ * elements is O(increment), windows can be emitted as read-only copies, or as zero-copy views into the ring buffer, and
+ * rolling sums, minimums and maximums are maintained incrementally at O(1) amortised cost per element.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the Stream
+ */
+public class SlidingWindowOperator<T> {
+
+    private final Stream<T> stream;
+    private final int windowSize;
+    private final int increment;
+
+    public SlidingWindowOperator(final Stream<T> stream, final int windowSize, final int increment) {
+        this.stream = stream;
+        this.windowSize = windowSize;
+        this.increment = increment;
+    }
+
+    /**
+     * @return Stream of read-only copies of each window
+     */
+    public Stream<ListX<T>> sliding() {
+        return windows(w -> ListX.fromIterable(Collections.unmodifiableList(w.copy())));
+    }
+
+    /**
+     * @return Stream of read-only copies of each window as Streamables
+     */
+    public Stream<Streamable<T>> window() {
+        return windows(w -> Streamable.fromIterable(w.copy()));
+    }
+
+    /**
+     * @return Stream of read-only views of each window, a view may only be used until the next window is requested
+     */
+    public Stream<ListX<T>> slidingView() {
+        return windows(w -> ListX.fromIterable(w.new View()));
+    }
+
+    /**
+     * @param fn Function to extract the value to sum from each element
+     * @return Stream of the sum of each window
+     */
+    public Stream<Double> rollingSum(final ToDoubleFunction<? super T> fn) {
+        checkWindowSize();
+        final double[] values = new double[windowSize];
+        final double[] sum = new double[1];
+        final long[] evictions = new long[1];
+        return windows(new Window() {
+            @Override
+            void added(final long position, final T value) {
+                final double next = fn.applyAsDouble(value);
+                values[(int) (position % windowSize)] = next;
+                sum[0] += next;
+            }
+
+            @Override
+            void evicted(final long position, final T value) {
+                sum[0] -= values[(int) (position % windowSize)];
+                //recalculate once per window to stop rounding errors accumulating
+                if (++evictions[0] % windowSize == 0) {
+                    double exact = 0;
+                    for (long p = position + 1; p < position + size; p++)
+                        exact += values[(int) (p % windowSize)];
+                    sum[0] = exact;
+                }
+            }
+        }, w -> sum[0]);
+    }
+
+    /**
+     * @param comparator Comparator to determine the smallest element
+     * @return Stream of the smallest element in each window
+     */
+    public Stream<T> rollingMin(final Comparator<? super T> comparator) {
+        checkWindowSize();
+        final MonotonicDeque<T> candidates = new MonotonicDeque<>(
+                                                                  windowSize, comparator);
+        return windows(new Window() {
+            @Override
+            void added(final long position, final T value) {
+                candidates.add(position, value);
+            }
+
+            @Override
+            void evicted(final long position, final T value) {
+                candidates.evict(position);
+            }
+        }, w -> candidates.first());
+    }
+
+    /**
+     * @param comparator Comparator to determine the largest element
+     * @return Stream of the largest element in each window
+     */
+    public Stream<T> rollingMax(final Comparator<? super T> comparator) {
+        return rollingMin(comparator.reversed());
+    }
+
+    private void checkWindowSize() {
+        if (windowSize < 1)
+            throw new IllegalArgumentException(
+                                               "windowSize must be at least 1 but was " + windowSize);
+    }
+
+    private <R> Stream<R> windows(final Function<Window, R> emit) {
+        return windows(new Window(), emit);
+    }
+
+    private <R> Stream<R> windows(final Window window, final Function<Window, R> emit) {
+        final Iterator<T> it = stream.iterator();
+        return StreamUtils.stream(new Iterator<R>() {
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public R next() {
+                window.slide(it);
+                return emit.apply(window);
+            }
+
+        });
+    }
+
+    /**
+     * Ring buffer holding the current window, positions are the index of each element in the Stream
+     */
+    private class Window {
+        private final Object[] ring = new Object[windowSize];
+        //position of the first element in the window
+        private long start;
+        int size;
+        private long generation;
+
+        void slide(final Iterator<T> it) {
+            generation++;
+            for (int i = 0; i < increment && size > 0; i++) {
+                final int index = index(start);
+                evicted(start, element(index));
+                ring[index] = null;
+                start++;
+                size--;
+            }
+            while (size < windowSize && it.hasNext()) {
+                final long position = start + size;
+                final T next = it.next();
+                ring[index(position)] = next;
+                size++;
+                added(position, next);
+            }
+        }
+
+        void added(final long position, final T value) {
+        }
+
+        void evicted(final long position, final T value) {
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> copy() {
+            final Object[] result = new Object[size];
+            for (int i = 0; i < size; i++)
+                result[i] = ring[index(start + i)];
+            return (List<T>) Arrays.asList(result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T element(final int index) {
+            return (T) ring[index];
+        }
+
+        private int index(final long position) {
+            return (int) (position % windowSize);
+        }
+
+        /**
+         * Read-only view of the window, only valid until the window next slides
+         */
+        private class View extends AbstractList<T> implements RandomAccess {
+            private final long viewGeneration = generation;
+            private final int viewSize = size;
+
+            @Override
+            public T get(final int index) {
+                checkCurrent();
+                if (index < 0 || index >= viewSize)
+                    throw new IndexOutOfBoundsException(
+                                                        "Index: " + index + ", Size: " + viewSize);
+                return element(Window.this.index(start + index));
+            }
+
+            @Override
+            public int size() {
+                checkCurrent();
+                return viewSize;
+            }
+
+            private void checkCurrent() {
+                if (viewGeneration != generation)
+                    throw new ConcurrentModificationException(
+                                                              "Window view used after the window moved on, use sliding rather than slidingView to retain windows");
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.aol.cyclops.internal.stream.operators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.aol.cyclops.types.stream.SpillConfig;
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Temporary file of elements written with a {@link com.aol.cyclops.types.stream.Serializer}, that can be read back once
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements in the file
+ */
+class SpillFile<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SpillConfig<T> config;
+    private final File file;
+    private DataOutputStream out;
+    private DataInputStream in;
+    private long count;
+
+    SpillFile(final SpillConfig<T> config) {
+        this.config = config;
+        try {
+            this.file = File.createTempFile("cyclops-spill", ".bin", config.getDirectory());
+            this.out = new DataOutputStream(
+                                            new BufferedOutputStream(
+                                                                     new FileOutputStream(
+                                                                                          file),
+                                                                     BUFFER_SIZE));
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    void write(final T value) {
+        try {
+            config.getSerializer()
+                  .write(value, out);
+            count++;
+        } catch (final IOException e) {
+            delete();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    long size() {
+        return count;
+    }
+
+    /**
+     * Stop writing and read the elements back in the order they were written, the file is deleted once all elements have
+     * been read
+     */
+    Iterator<T> iterator() {
+        try {
+            out.close();
+            out = null;
+            in = new DataInputStream(
+                                     new BufferedInputStream(
+                                                             new FileInputStream(
+                                                                                 file),
+                                                             BUFFER_SIZE));
+        } catch (final IOException e) {
+            delete();
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+        return new Iterator<T>() {
+            long remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public T next() {
+                if (remaining == 0)
+                    throw new NoSuchElementException();
+                try {
+                    final T next = config.getSerializer()
+                                         .read(in);
+                    if (--remaining == 0)
+                        delete();
+                    return next;
+                } catch (final IOException e) {
+                    delete();
+                    throw ExceptionSoftener.throwSoftenedException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Close and delete the underlying file
+     */
+    void delete() {
+        try {
+            if (out != null)
+                out.close();
+            if (in != null)
+                in.close();
+        } catch (final IOException e) {
+            //file is deleted regardless
+        }
+        out = null;
+        in = null;
+        file.delete();
+    }
+}
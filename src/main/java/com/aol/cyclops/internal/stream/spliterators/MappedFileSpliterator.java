@@ -0,0 +1,294 @@
+package com.aol.cyclops.internal.stream.spliterators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Splittable Spliterator over the records of a file, read through memory-mapped windows of the file rather than a stream of
+ * bytes. Records are either delimited by a byte (e.g. '\n' for lines) or a fixed number of bytes wide, or are chunks of up to
+ * a given size ending on a delimiter. Each record is passed to the decoder as a read-only ByteBuffer view onto the mapped
+ * file, so bytes are only copied (or decoded) when the decoder does so.
+ *
+ * Files larger than the window size (or than a single mapping can hold) are mapped a window at a time. The file is split
+ * for parallel processing on record boundaries. The file is expected not to change while it's being read.
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of decoded records
+ */
+public class MappedFileSpliterator<T> implements Spliterator<T> {
+
+    public static final int DEFAULT_WINDOW = 64 * 1024 * 1024;
+    private static final long MIN_SPLIT = 64 * 1024;
+
+    private final Path path;
+    private final byte delimiter;
+    /**
+     * Fixed record width, or 0 for delimited records
+     */
+    private final int recordSize;
+    /**
+     * Maximum size of delimited chunks, or 0 for individual records
+     */
+    private final int chunkSize;
+    private final Function<? super ByteBuffer, ? extends T> decoder;
+    private final int windowSize;
+    private long position;
+    private final long end;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private MappedFileSpliterator(final Path path, final byte delimiter, final int recordSize, final int chunkSize,
+            final Function<? super ByteBuffer, ? extends T> decoder, final int windowSize, final long position, final long end) {
+        this.path = path;
+        this.delimiter = delimiter;
+        this.recordSize = recordSize;
+        this.chunkSize = chunkSize;
+        this.decoder = decoder;
+        this.windowSize = windowSize;
+        this.position = position;
+        this.end = end;
+    }
+
+    /**
+     * @param path File to read
+     * @param delimiter Byte that ends each record, the delimiter is not included in the record
+     * @param decoder Decodes each record
+     * @param windowSize Number of bytes mapped at once
+     * @return Spliterator over the delimited records in the file
+     */
+    public static <T> MappedFileSpliterator<T> delimited(final Path path, final byte delimiter, final Function<? super ByteBuffer, ? extends T> decoder,
+            final int windowSize) {
+        return new MappedFileSpliterator<>(
+                                           path, delimiter, 0, 0, decoder, windowSize, 0, size(path));
+    }
+
+    /**
+     * @param path File to read
+     * @param recordSize Width of each record in bytes, a final partial record is passed to the decoder as is
+     * @param decoder Decodes each record
+     * @param windowSize Number of bytes mapped at once
+     * @return Spliterator over the fixed width records in the file
+     */
+    public static <T> MappedFileSpliterator<T> fixedWidth(final Path path, final int recordSize, final Function<? super ByteBuffer, ? extends T> decoder,
+            final int windowSize) {
+        if (recordSize <= 0)
+            throw new IllegalArgumentException(
+                                               "Record size must be positive, got " + recordSize);
+        return new MappedFileSpliterator<>(
+                                           path, (byte) 0, recordSize, 0, decoder, Math.max(windowSize, recordSize), 0, size(path));
+    }
+
+    /**
+     * @param path File to read
+     * @param chunkSize Maximum size of each chunk, unless a single record is larger
+     * @param delimiter Byte that ends each record, chunks end on a delimiter (which is included) or at the end of the file
+     * @return Spliterator over chunks of whole records
+     */
+    public static MappedFileSpliterator<ByteBuffer> chunks(final Path path, final int chunkSize, final byte delimiter) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException(
+                                               "Chunk size must be positive, got " + chunkSize);
+        return new MappedFileSpliterator<>(
+                                           path, delimiter, 0, chunkSize, Function.identity(), chunkSize, 0, size(path));
+    }
+
+    /**
+     * @param path File to read
+     * @param charset Charset of the file, must encode '\n' and '\r' as single bytes (as ASCII, UTF-8 and ISO-8859 variants
+     *            do)
+     * @param windowSize Number of bytes mapped at once
+     * @return Spliterator over the lines in the file, lines end with "\n" or "\r\n" and are decoded as they are consumed
+     */
+    public static MappedFileSpliterator<String> lines(final Path path, final Charset charset, final int windowSize) {
+        return delimited(path, (byte) '\n', line -> decode(line, charset), windowSize);
+    }
+
+    /**
+     * @param chunk Buffer of whole lines (e.g. a chunk of a mapped file)
+     * @param charset Charset of the buffer
+     * @return Iterator over the lines in the buffer
+     */
+    public static Iterator<String> lines(final ByteBuffer chunk, final Charset charset) {
+        final ByteBuffer buffer = chunk.duplicate();
+        return new Iterator<String>() {
+
+            @Override
+            public boolean hasNext() {
+                return buffer.hasRemaining();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                final int start = buffer.position();
+                int index = start;
+                while (index < buffer.limit() && buffer.get(index) != '\n')
+                    index++;
+                final ByteBuffer line = buffer.duplicate();
+                line.position(start);
+                line.limit(index);
+                buffer.position(Math.min(buffer.limit(), index + 1));
+                return decode(line.slice(), charset);
+            }
+        };
+    }
+
+    private static String decode(final ByteBuffer line, final Charset charset) {
+        if (line.limit() > 0 && line.get(line.limit() - 1) == '\r')
+            line.limit(line.limit() - 1);
+        return charset.decode(line)
+                      .toString();
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (position >= end)
+            return false;
+        final ByteBuffer record;
+        if (recordSize > 0) {
+            final int length = (int) Math.min(recordSize, end - position);
+            record = slice(position, length);
+            position += length;
+        } else if (chunkSize > 0) {
+            //chunks are mapped by themselves, so a chunk doesn't keep a larger window alive
+            final long limit = Math.min(end, position + chunkSize);
+            final ByteBuffer chunk = map(position, limit - position).asReadOnlyBuffer();
+            long length = limit < end ? lastDelimiter(chunk) + 1 : chunk.limit();
+            if (length > 0) {
+                chunk.limit((int) length);
+                record = chunk.slice();
+            } else {
+                length = Math.min(end, nextDelimiter(limit, end) + 1) - position;
+                record = map(position, length).asReadOnlyBuffer();
+            }
+            position += length;
+        } else {
+            final long found = nextDelimiter(position, end);
+            final long recordEnd = Math.min(found, end);
+            record = slice(position, (int) (recordEnd - position));
+            position = recordEnd + 1;
+        }
+        action.accept(decoder.apply(record));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (end - position < MIN_SPLIT * 2)
+            return null;
+        final long mid = position + (end - position) / 2;
+        final long split;
+        if (recordSize > 0) {
+            split = position + ((mid - position) / recordSize) * recordSize;
+            if (split <= position)
+                return null;
+        } else {
+            final long found = nextDelimiter(mid, end);
+            if (found >= end - 1)
+                return null;
+            split = found + 1;
+        }
+        final MappedFileSpliterator<T> prefix = new MappedFileSpliterator<>(
+                                                                            path, delimiter, recordSize, chunkSize, decoder, windowSize,
+                                                                            position, split);
+        position = split;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (recordSize > 0)
+            return (end - position + recordSize - 1) / recordSize;
+        return chunkSize > 0 ? (end - position + chunkSize - 1) / chunkSize : end - position;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE | (recordSize > 0 ? SIZED | SUBSIZED : 0);
+    }
+
+    /**
+     * @return Index of the first delimiter at or after from, or to if there is none before to
+     */
+    private long nextDelimiter(final long from, final long to) {
+        long index = from;
+        while (index < to) {
+            ensureMapped(index, 1);
+            final int offset = (int) (index - windowStart);
+            final int limit = (int) Math.min(window.limit(), to - windowStart);
+            for (int i = offset; i < limit; i++) {
+                if (window.get(i) == delimiter)
+                    return windowStart + i;
+            }
+            index = windowStart + limit;
+        }
+        return to;
+    }
+
+    /**
+     * @return Index of the last delimiter in the buffer, or -1 if there is none
+     */
+    private int lastDelimiter(final ByteBuffer chunk) {
+        for (int i = chunk.limit() - 1; i >= 0; i--) {
+            if (chunk.get(i) == delimiter)
+                return i;
+        }
+        return -1;
+    }
+
+    private ByteBuffer slice(final long start, final int length) {
+        ensureMapped(start, length);
+        final ByteBuffer view = window.asReadOnlyBuffer();
+        final int offset = (int) (start - windowStart);
+        view.limit(offset + length);
+        view.position(offset);
+        return view.slice();
+    }
+
+    /**
+     * Make sure the current window covers length bytes from start, mapping a new window if it does not
+     */
+    private void ensureMapped(final long start, final int length) {
+        if (window != null && start >= windowStart && start + length <= windowStart + window.limit())
+            return;
+        final long size = Math.min(end - start, Math.max(windowSize, length));
+        window = map(start, size);
+        windowStart = start;
+    }
+
+    private MappedByteBuffer map(final long start, final long size) {
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException(
+                                               "Can't map more than " + Integer.MAX_VALUE + " bytes at once, record or chunk is " + size
+                                                       + " bytes");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+
+    private static long size(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.size();
+        } catch (final IOException e) {
+            throw ExceptionSoftener.throwSoftenedException(e);
+        }
+    }
+}
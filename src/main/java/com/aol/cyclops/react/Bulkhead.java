@@ -0,0 +1,137 @@
+package com.aol.cyclops.react;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.aol.cyclops.react.collectors.lazy.MaxActive;
+import com.aol.cyclops.react.metrics.LatencyHistogram;
+
+import lombok.Getter;
+
+/**
+ * An isolated, named, instrumented thread pool. Giving independent pipelines their own Bulkhead means a slow or blocked
+ * pipeline can only exhaust it's own threads and queue, not those of unrelated pipelines.
+ *
+ * Bulkheads have a bounded queue and a {@link RejectionPolicy} for tasks submitted when the Bulkhead is saturated, and
+ * record queueing delay, execution time, rejections and utilisation (see {@link #stats()}).
+ *
+ * <pre>
+ * {@code
+ *  Bulkhead bulkhead = ThreadPools.bulkhead(BulkheadConfig.io("user-service"));
+ *
+ *  LazyReact.isolatedBuilder(bulkhead)
+ *           .from(ids)
+ *           .map(this::loadUser)
+ *           .toList();
+ *
+ *  ReactiveSeq.of(1, 2, 3)
+ *             .hotStream(ThreadPools.bulkhead(BulkheadConfig.elastic("hot-streams", 10)));
+ *
+ *  bulkhead.stats().utilisation();
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+public class Bulkhead extends ThreadPoolExecutor {
+
+    @Getter
+    private final BulkheadConfig config;
+    private final LatencyHistogram queueing = new LatencyHistogram();
+    private final LatencyHistogram execution = new LatencyHistogram();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param config Configuration for this Bulkhead
+     */
+    public Bulkhead(final BulkheadConfig config) {
+        super(config.getCoreThreads(), config.getMaxThreads(), config.getKeepAliveMillis(), TimeUnit.MILLISECONDS, queue(config),
+              threadFactory(config));
+        this.config = config;
+        setRejectedExecutionHandler((r, exec) -> {
+            rejected.increment();
+            config.getRejectionPolicy()
+                  .reject(r, this);
+        });
+    }
+
+    private static BlockingQueue<Runnable> queue(final BulkheadConfig config) {
+        if (config.getQueueCapacity() == 0)
+            return new SynchronousQueue<>();
+        return new LinkedBlockingQueue<>(
+                                         config.getQueueCapacity());
+    }
+
+    private static ThreadFactory threadFactory(final BulkheadConfig config) {
+        final AtomicLong count = new AtomicLong();
+        return r -> {
+            final Thread t = new Thread(
+                                        r, config.getName() + "-" + count.getAndIncrement());
+            t.setDaemon(config.isDaemon());
+            return t;
+        };
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        submitted.increment();
+        super.execute(new TimedTask(
+                                    command, System.nanoTime()));
+    }
+
+    /**
+     * A task's Future completes just before the thread running it is free again, so active task counts are approximate and
+     * a saturated Bulkhead can still reject tasks (see {@link RejectionPolicy}).
+     * 
+     * @return MaxActive sized to the larger of the maximum number of threads and the queue capacity of this Bulkhead
+     */
+    public MaxActive maxActive() {
+        final int maxActive = Math.max(1, Math.max(getMaximumPoolSize(), config.getQueueCapacity()));
+        return new MaxActive(
+                             maxActive, maxActive - Math.max(1, maxActive / 10));
+    }
+
+    /**
+     * @return Point in time utilisation, queue depth and latency metrics for this Bulkhead
+     */
+    public BulkheadStats stats() {
+        return new BulkheadStats(
+                                 config.getName(), getPoolSize(), getActiveCount(), getMaximumPoolSize(), getQueue().size(),
+                                 config.getQueueCapacity(), submitted.sum(), execution.count(), rejected.sum(), queueing.snapshot(),
+                                 execution.snapshot());
+    }
+
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long submittedAt;
+
+        TimedTask(final Runnable task, final long submittedAt) {
+            this.task = task;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            queueing.record(start - submittedAt);
+            try {
+                task.run();
+            } finally {
+                execution.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead[" + config.getName() + "]";
+    }
+}
@@ -0,0 +1,89 @@
+package com.aol.cyclops.react;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Builder;
+import lombok.experimental.Wither;
+
+/**
+ * Configuration for a {@link Bulkhead}
+ *
+ * <pre>
+ * {@code
+ *  Bulkhead bulkhead = new Bulkhead(BulkheadConfig.io("downstream-service")
+ *                                                 .withQueueCapacity(500)
+ *                                                 .withRejectionPolicy(RejectionPolicy.ABORT));
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+@Builder
+public class BulkheadConfig {
+
+    private static final int PROCESSORS = Runtime.getRuntime()
+                                                 .availableProcessors();
+
+    /**
+     * Name of the Bulkhead, used for thread names and metrics
+     */
+    private final String name;
+    /**
+     * Number of threads kept alive when idle
+     */
+    private final int coreThreads;
+    /**
+     * Maximum number of threads, threads above coreThreads are only started once the queue is full
+     */
+    private final int maxThreads;
+    /**
+     * Maximum number of waiting tasks, 0 hands tasks directly to a thread
+     */
+    private final int queueCapacity;
+    /**
+     * Time threads above coreThreads can be idle before they are stopped
+     */
+    private final long keepAliveMillis;
+    /**
+     * What to do with tasks submitted when all threads are busy and the queue is full
+     */
+    private final RejectionPolicy rejectionPolicy;
+    /**
+     * Whether Bulkhead threads are daemon threads
+     */
+    private final boolean daemon;
+
+    /**
+     * @param name Bulkhead name
+     * @return Configuration for CPU bound tasks : one thread per processor, a deep queue and callers block when the queue is full
+     */
+    public static BulkheadConfig cpu(final String name) {
+        return new BulkheadConfig(
+                                  name, PROCESSORS, PROCESSORS, 10_000, 60_000, RejectionPolicy.BLOCK, true);
+    }
+
+    /**
+     * @param name Bulkhead name
+     * @return Configuration for blocking I/O tasks : up to 100 threads, a bounded queue and callers run tasks themselves when
+     *         the Bulkhead is saturated
+     */
+    public static BulkheadConfig io(final String name) {
+        return new BulkheadConfig(
+                                  name, PROCESSORS, 100, 1_000, 60_000, RejectionPolicy.CALLER_RUNS, true);
+    }
+
+    /**
+     * @param name Bulkhead name
+     * @param maxThreads Maximum number of threads
+     * @return Configuration for occasional, possibly long running, tasks : a thread per task up to maxThreads, idle threads
+     *         are released and callers run tasks themselves when the Bulkhead is saturated
+     */
+    public static BulkheadConfig elastic(final String name, final int maxThreads) {
+        return new BulkheadConfig(
+                                  name, 0, maxThreads, 0, 60_000, RejectionPolicy.CALLER_RUNS, true);
+    }
+}
@@ -0,0 +1,47 @@
+package com.aol.cyclops.react;
+
+import com.aol.cyclops.react.metrics.HistogramSnapshot;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the state and metrics of a {@link Bulkhead}
+ *
+ * @author johnmcclean
+ *
+ */
+@Value
+public class BulkheadStats {
+
+    private final String name;
+    private final int poolSize;
+    private final int activeThreads;
+    private final int maxThreads;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long submitted;
+    private final long completed;
+    private final long rejected;
+    /**
+     * Delay between a task being submitted and starting to run (nanoseconds)
+     */
+    private final HistogramSnapshot queueing;
+    /**
+     * Task execution time (nanoseconds)
+     */
+    private final HistogramSnapshot execution;
+
+    /**
+     * @return Proportion (0.0 - 1.0) of the maximum number of threads currently running tasks
+     */
+    public double utilisation() {
+        return maxThreads == 0 ? 0 : (double) activeThreads / maxThreads;
+    }
+
+    /**
+     * @return Proportion (0.0 - 1.0) of the queue capacity in use
+     */
+    public double queueUtilisation() {
+        return queueCapacity == 0 ? 0 : (double) queueDepth / queueCapacity;
+    }
+}
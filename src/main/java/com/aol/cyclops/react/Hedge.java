@@ -0,0 +1,166 @@
+package com.aol.cyclops.react;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.aol.cyclops.react.metrics.LatencyHistogram;
+
+import lombok.Getter;
+
+/**
+ * Hedged requests cut tail latency by issuing a duplicate of any call that is still running after a delay, and taking
+ * whichever response arrives first. The delay is either fixed, or a percentile of the latencies observed so far (so only the
+ * slowest calls are duplicated), and a budget caps duplicate calls as a proportion of all calls.
+ *
+ * Once a call completes the other is cancelled. Cancelling a CompletableFuture does not interrupt the task computing it, so
+ * the losing call may still run to completion, it's result is discarded. A call fails only if every call issued for it fails,
+ * a failure before the delay has elapsed is not hedged.
+ *
+ * A Hedge can be shared between Streams calling the same service, so latencies and the budget are tracked across all of them.
+ *
+ * <pre>
+ * {@code
+ *  Hedge hedge = new Hedge(HedgeConfig.percentile(95.0, 50, TimeUnit.MILLISECONDS));
+ *
+ *  new LazyReact().from(ids)
+ *                 .hedge(this::loadUser, hedge)
+ *                 .toList();
+ *
+ *  hedge.stats().getHedgeWins();
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+public class Hedge {
+
+    /**
+     * Calls between recalculations of a percentile based delay
+     */
+    private static final int REFRESH = 64;
+
+    @Getter
+    private final HedgeConfig config;
+    private final ScheduledExecutorService timer;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final LongAdder hedgeWins = new LongAdder();
+    private volatile long percentileDelay = -1;
+
+    /**
+     * @param config Configuration for this Hedge
+     */
+    public Hedge(final HedgeConfig config) {
+        this(config, ThreadPools.getStandardRetry());
+    }
+
+    /**
+     * @param config Configuration for this Hedge
+     * @param timer Executor that issues duplicate calls once the delay has elapsed
+     */
+    public Hedge(final HedgeConfig config, final ScheduledExecutorService timer) {
+        if (config.getBudget() < 0)
+            throw new IllegalArgumentException(
+                                               "Hedge budget can't be negative, got " + config.getBudget());
+        this.config = config;
+        this.timer = timer;
+    }
+
+    /**
+     * Make a hedged call. The Supplier may be called twice and should start an asynchronous call, rather than block, as the
+     * duplicate is issued from the timer thread.
+     *
+     * @param call Starts the call
+     * @return First successful response, or the last failure if every call fails
+     */
+    public <R> CompletableFuture<R> call(final Supplier<? extends CompletableFuture<? extends R>> call) {
+        final long start = System.nanoTime();
+        final long count = calls.incrementAndGet();
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final AtomicInteger running = new AtomicInteger(
+                                                        1);
+        final AtomicBoolean won = new AtomicBoolean();
+        final CompletableFuture<? extends R> primary = call.get();
+        primary.whenComplete((value, error) -> complete(result, running, won, value, error, start, false));
+        if (result.isDone())
+            return result;
+        final ScheduledFuture<?> scheduled = timer.schedule(() -> hedge(call, result, running, won, start), delay(count),
+                                                            TimeUnit.NANOSECONDS);
+        result.whenComplete((value, error) -> {
+            scheduled.cancel(false);
+            primary.cancel(true);
+        });
+        return result;
+    }
+
+    private <R> void hedge(final Supplier<? extends CompletableFuture<? extends R>> call, final CompletableFuture<R> result,
+            final AtomicInteger running, final AtomicBoolean won, final long start) {
+        if (result.isDone() || !reserveHedge())
+            return;
+        running.incrementAndGet();
+        final CompletableFuture<? extends R> duplicate;
+        try {
+            duplicate = call.get();
+        } catch (final Throwable t) {
+            complete(result, running, won, null, t, start, true);
+            return;
+        }
+        duplicate.whenComplete((value, error) -> complete(result, running, won, value, error, start, true));
+        result.whenComplete((value, error) -> duplicate.cancel(true));
+    }
+
+    /**
+     * Only one call can win, and it records it's stats before completing the result, so they are visible to the caller
+     */
+    private <R> void complete(final CompletableFuture<R> result, final AtomicInteger running, final AtomicBoolean won, final R value,
+            final Throwable error, final long start, final boolean duplicate) {
+        if (error == null) {
+            if (won.compareAndSet(false, true)) {
+                latency.record(System.nanoTime() - start);
+                if (duplicate)
+                    hedgeWins.increment();
+                result.complete(value);
+            }
+        } else if (running.decrementAndGet() == 0) {
+            result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+        }
+    }
+
+    private boolean reserveHedge() {
+        long current;
+        do {
+            current = hedges.get();
+            if (current >= config.getBudget() * calls.get())
+                return false;
+        } while (!hedges.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private long delay(final long count) {
+        if (config.getPercentile() <= 0 || latency.count() < Math.max(1, config.getMinSamples()))
+            return TimeUnit.MILLISECONDS.toNanos(config.getDelayMillis());
+        if (percentileDelay < 0 || count % REFRESH == 0)
+            percentileDelay = latency.snapshot()
+                                     .valueAtPercentile(config.getPercentile());
+        return percentileDelay;
+    }
+
+    /**
+     * @return Point in time call counts, current delay and latency metrics for this Hedge
+     */
+    public HedgeStats stats() {
+        final long count = calls.get();
+        return new HedgeStats(
+                              count, hedges.get(), hedgeWins.sum(), delay(count), latency.snapshot());
+    }
+}
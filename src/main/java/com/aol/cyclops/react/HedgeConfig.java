@@ -0,0 +1,67 @@
+package com.aol.cyclops.react;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Builder;
+import lombok.experimental.Wither;
+
+/**
+ * Configuration for a {@link Hedge}
+ *
+ * <pre>
+ * {@code
+ *  Hedge hedge = new Hedge(HedgeConfig.percentile(95.0, 50, TimeUnit.MILLISECONDS)
+ *                                     .withBudget(0.02));
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+@Builder
+public class HedgeConfig {
+
+    /**
+     * Time to wait for the first call before issuing a duplicate, until enough latencies have been recorded to use the
+     * percentile
+     */
+    private final long delayMillis;
+    /**
+     * Percentile (0.0 - 100.0) of observed latencies to wait for before issuing a duplicate, 0 always waits for delayMillis
+     */
+    private final double percentile;
+    /**
+     * Number of latencies to record before the percentile is used in place of delayMillis
+     */
+    private final int minSamples;
+    /**
+     * Maximum number of duplicate calls, as a proportion (0.0 - 1.0) of all calls
+     */
+    private final double budget;
+
+    /**
+     * @param delay Time to wait before issuing a duplicate call
+     * @param unit Unit for delay
+     * @return Configuration that hedges calls still running after a fixed delay, up to 5% extra calls
+     */
+    public static HedgeConfig delay(final long delay, final TimeUnit unit) {
+        return new HedgeConfig(
+                               unit.toMillis(delay), 0.0, 0, 0.05);
+    }
+
+    /**
+     * @param percentile Percentile of observed latencies to wait for before issuing a duplicate call (e.g. 95.0)
+     * @param initialDelay Time to wait before the first 100 latencies have been recorded
+     * @param unit Unit for initialDelay
+     * @return Configuration that hedges calls slower than the supplied percentile, up to 5% extra calls
+     */
+    public static HedgeConfig percentile(final double percentile, final long initialDelay, final TimeUnit unit) {
+        return new HedgeConfig(
+                               unit.toMillis(initialDelay), percentile, 100, 0.05);
+    }
+}
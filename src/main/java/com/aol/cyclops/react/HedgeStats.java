@@ -0,0 +1,40 @@
+package com.aol.cyclops.react;
+
+import com.aol.cyclops.react.metrics.HistogramSnapshot;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the metrics of a {@link Hedge}
+ *
+ * @author johnmcclean
+ *
+ */
+@Value
+public class HedgeStats {
+
+    private final long calls;
+    /**
+     * Duplicate calls issued
+     */
+    private final long hedges;
+    /**
+     * Calls where the duplicate completed first
+     */
+    private final long hedgeWins;
+    /**
+     * Current delay before a duplicate is issued (nanoseconds)
+     */
+    private final long delay;
+    /**
+     * Time for the first successful response to each call (nanoseconds)
+     */
+    private final HistogramSnapshot latency;
+
+    /**
+     * @return Duplicate calls as a proportion (0.0 - 1.0) of all calls
+     */
+    public double extraLoad() {
+        return calls == 0 ? 0 : (double) hedges / calls;
+    }
+}
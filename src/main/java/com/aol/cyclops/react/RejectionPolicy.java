@@ -0,0 +1,58 @@
+package com.aol.cyclops.react;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a {@link Bulkhead} does with a task submitted when all of it's threads are busy and it's queue is full
+ *
+ * @author johnmcclean
+ *
+ */
+public enum RejectionPolicy {
+    /**
+     * Throw a RejectedExecutionException (e.g. fail fast when a downstream dependency is saturated)
+     */
+    ABORT {
+        @Override
+        void reject(final Runnable r, final Bulkhead bulkhead) {
+            throw new RejectedExecutionException(
+                                                 "Bulkhead " + bulkhead.getConfig()
+                                                                       .getName()
+                                                         + " is saturated");
+        }
+    },
+    /**
+     * Run the task on the submitting thread, slowing producers down to the rate the Bulkhead can sustain
+     */
+    CALLER_RUNS {
+        @Override
+        void reject(final Runnable r, final Bulkhead bulkhead) {
+            if (bulkhead.isShutdown())
+                ABORT.reject(r, bulkhead);
+            r.run();
+        }
+    },
+    /**
+     * Block the submitting thread until there is space in the queue
+     */
+    BLOCK {
+        @Override
+        void reject(final Runnable r, final Bulkhead bulkhead) {
+            try {
+                while (!bulkhead.getQueue()
+                                .offer(r, 100, TimeUnit.MILLISECONDS)) {
+                    if (bulkhead.isShutdown())
+                        ABORT.reject(r, bulkhead);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw new RejectedExecutionException(
+                                                     e);
+            }
+        }
+    };
+
+    abstract void reject(Runnable r, Bulkhead bulkhead);
+}
@@ -1,11 +1,11 @@
 package com.aol.cyclops.react;
 
+import java.util.function.Supplier;
+
 import org.pcollections.PStack;
 
 import com.aol.cyclops.data.collections.extensions.persistent.PStackX;
 
-import lombok.AllArgsConstructor;
-
 /**
  * Class that returned to blocking predicates for short circuiting result collection
  * 
@@ -13,14 +13,46 @@ import lombok.AllArgsConstructor;
  *
  * @param <T> Result type
  */
-@AllArgsConstructor
 public class Status<T> {
 
     private final int completed;
     private final int errors;
     private final int total;
     private final long elapsedNanos;
-    private final PStackX<T> resultsSoFar;
+    private Supplier<PStackX<T>> results;
+    private PStackX<T> resultsSoFar;
+
+    public Status(final int completed, final int errors, final int total, final long elapsedNanos, final PStackX<T> resultsSoFar) {
+        this.completed = completed;
+        this.errors = errors;
+        this.total = total;
+        this.elapsedNanos = elapsedNanos;
+        this.resultsSoFar = resultsSoFar;
+    }
+
+    private Status(final int completed, final int errors, final int total, final long elapsedNanos, final Supplier<PStackX<T>> results) {
+        this.completed = completed;
+        this.errors = errors;
+        this.total = total;
+        this.elapsedNanos = elapsedNanos;
+        this.results = results;
+    }
+
+    /**
+     * Construct a Status whose results so far are only captured if a breakout Predicate asks for them
+     * 
+     * @param completed Number of successfully completed tasks
+     * @param errors Number of failed tasks
+     * @param total Total number of tasks
+     * @param elapsedNanos Time elapsed so far
+     * @param results Supplier for the results so far, called at most once
+     * @return Status with lazily captured results
+     */
+    public static <T> Status<T> lazy(final int completed, final int errors, final int total, final long elapsedNanos,
+            final Supplier<PStackX<T>> results) {
+        return new Status<>(
+                            completed, errors, total, elapsedNanos, results);
+    }
 
     public final int getAllCompleted() {
         return completed + errors;
@@ -46,7 +78,17 @@ public class Status<T> {
         return elapsedNanos;
     }
 
-    public PStack<T> getResultsSoFar() {
+    /**
+     * For a Status created via {@link #lazy(int, int, int, long, Supplier)} the results are captured on the first call, rather
+     * than when the Status was created, so they may include results that arrived after the Status was created
+     * 
+     * @return Results so far
+     */
+    public synchronized PStack<T> getResultsSoFar() {
+        if (resultsSoFar == null && results != null) {
+            resultsSoFar = results.get();
+            results = null;
+        }
         return resultsSoFar;
     }
 }
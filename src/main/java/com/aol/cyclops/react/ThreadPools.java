@@ -1,21 +1,36 @@
 package com.aol.cyclops.react;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.pcollections.HashTreePMap;
+import org.pcollections.PMap;
+
+import com.aol.cyclops.internal.react.VirtualThreads;
+
 import lombok.Getter;
 
 public class ThreadPools {
+    private static final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
     @Getter
     private static final Executor commonFreeThread = Executors.newFixedThreadPool(1);
 
     @Getter
     private static final Executor currentThreadExecutor = (final Runnable r) -> r.run();
 
+    //collecting a Stream for an eager flatMap may block, a dedicated thread per copy (up to a limit) stops one slow Stream delaying all others
+    //not registered with the named bulkheads, so removeBulkhead can't shut down a pool every eager flatMap depends on
     @Getter
-    private static final Executor queueCopyExecutor = Executors.newFixedThreadPool(1);
+    private static final Executor queueCopyExecutor = new Bulkhead(
+                                                                   BulkheadConfig.elastic("cyclops-queue-copy", Math.max(4, Runtime.getRuntime()
+                                                                                                                                   .availableProcessors()
+                                                                           * 2)));
 
     @Getter
     private static final Executor commonLazyExecutor = new ForkJoinPool(
@@ -28,6 +43,8 @@ public class ThreadPools {
     private static final ScheduledExecutorService commonStanardRetry = Executors.newScheduledThreadPool(Runtime.getRuntime()
                                                                                                                .availableProcessors());
 
+    private static final Executor commonVirtual = VirtualThreads.newThreadPerTaskExecutor("cyclops-virtual-");
+
     public static enum ExecutionMode {
         CURRENT,
         COMMON_FREE,
@@ -71,6 +88,12 @@ public class ThreadPools {
                                                            .availableProcessors());
     }
 
+    /**
+     * Nothing in cyclops-react schedules work on the lazy executor, so it is not a bottleneck for any pipeline. It stays single
+     * threaded as, like {@link ThreadPools#getSequential()}, callers may rely on tasks running one at a time in submission order.
+     * 
+     * @return Common single threaded Executor if @see {@link ThreadPools#isUseCommon()} is true, otherwise a new one
+     */
     public static Executor getLazyExecutor() {
         if (useCommon)
             return commonLazyExecutor;
@@ -79,6 +102,91 @@ public class ThreadPools {
                                     1);
     }
 
+    /**
+     * @return true if the running JDK (21+) supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * Executor suitable for blocking tasks, each task is run on it's own virtual thread (JDK 21+).
+     * On earlier JDKs this falls back to an elastic pool of up to 100 daemon platform threads, tasks submitted when every
+     * thread is busy run on the calling thread.
+     * 
+     * <pre>
+     * {@code 
+     *  new LazyReact(ThreadPools.getVirtual()).withMaxActive(MaxActive.VIRTUAL)
+     *                                         .of(urls)
+     *                                         .map(this::load);
+     * }
+     * </pre>
+     * 
+     * @return Common thread per task Executor if @see {@link ThreadPools#isUseCommon()} is true, otherwise a new thread per task Executor
+     */
+    public static Executor getVirtual() {
+        if (useCommon)
+            return commonVirtual;
+        return newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * @return A new Executor that starts a virtual thread per task (JDK 21+) or a new elastic pool of up to 100 daemon platform
+     *         threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("cyclops-virtual-");
+    }
+
+    /**
+     * Get or create a named {@link Bulkhead}, if a Bulkhead with the same name already exists it is returned and the
+     * supplied configuration is ignored. cyclops-react's own pools (such as the queue copy executor) are not registered here.
+     * 
+     * @param config Bulkhead configuration
+     * @return Bulkhead with the configured name
+     */
+    public static Bulkhead bulkhead(final BulkheadConfig config) {
+        return bulkheads.computeIfAbsent(config.getName(), n -> new Bulkhead(
+                                                                              config));
+    }
+
+    /**
+     * @param name Bulkhead name
+     * @return Existing Bulkhead with the supplied name, or a new Bulkhead configured for blocking I/O
+     * @see BulkheadConfig#io(String)
+     */
+    public static Bulkhead bulkhead(final String name) {
+        final Bulkhead existing = bulkheads.get(name);
+        if (existing != null)
+            return existing;
+        return bulkhead(BulkheadConfig.io(name));
+    }
+
+    /**
+     * @return Stats for all registered Bulkheads, by name
+     */
+    public static PMap<String, BulkheadStats> bulkheadStats() {
+        PMap<String, BulkheadStats> stats = HashTreePMap.empty();
+        for (final Bulkhead next : bulkheads.values())
+            stats = stats.plus(next.getConfig()
+                                   .getName(),
+                               next.stats());
+        return stats;
+    }
+
+    /**
+     * Shutdown and deregister the named Bulkhead, tasks already submitted will still be run
+     * 
+     * @param name Bulkhead name
+     * @return true if a Bulkhead was removed
+     */
+    public static boolean removeBulkhead(final String name) {
+        final Bulkhead removed = bulkheads.remove(name);
+        if (removed != null)
+            removed.shutdown();
+        return removed != null;
+    }
+
     public static boolean isUseCommon() {
         return useCommon;
     }
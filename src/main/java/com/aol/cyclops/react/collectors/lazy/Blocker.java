@@ -13,21 +13,20 @@ import java.util.function.Predicate;
 
 import com.aol.cyclops.data.collections.extensions.persistent.PStackX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.react.async.future.IncrementalFold;
 import com.aol.cyclops.react.Status;
 import com.aol.cyclops.util.SimpleTimer;
 import com.aol.cyclops.util.ThrowsSoftened;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-@AllArgsConstructor
 @Slf4j
 public class Blocker<U> {
 
     @SuppressWarnings("rawtypes")
     private final List<CompletableFuture<?>> lastActive;
     private final Optional<Consumer<Throwable>> errorHandler;
+    private final boolean cancelOnBreakout;
     private final CompletableFuture<List<U>> promise = new CompletableFuture<>();
 
     private final SimpleTimer timer = new SimpleTimer();
@@ -36,6 +35,22 @@ public class Blocker<U> {
 
     private final Queue<U> currentResults = new ConcurrentLinkedQueue<U>();
 
+    public Blocker(final List<CompletableFuture<?>> lastActive, final Optional<Consumer<Throwable>> errorHandler) {
+        this(lastActive, errorHandler, false);
+    }
+
+    /**
+     * @param lastActive Futures to wait on
+     * @param errorHandler Handler for failed futures
+     * @param cancelOnBreakout If true, once the breakout condition is met any futures that have not yet completed are cancelled
+     *            and later completions are ignored
+     */
+    public Blocker(final List<CompletableFuture<?>> lastActive, final Optional<Consumer<Throwable>> errorHandler, final boolean cancelOnBreakout) {
+        this.lastActive = lastActive;
+        this.errorHandler = errorHandler;
+        this.cancelOnBreakout = cancelOnBreakout;
+    }
+
     @SuppressWarnings("unchecked")
     @ThrowsSoftened({ InterruptedException.class, ExecutionException.class })
     public ListX<U> block(final Predicate<Status<U>> breakout) {
@@ -56,7 +71,7 @@ public class Blocker<U> {
 
     }
 
-    private Status buildStatus(final Throwable ex) {
+    private Status<U> buildStatus(final Throwable ex) {
         if (ex != null) {
             errors.incrementAndGet();
 
@@ -64,24 +79,28 @@ public class Blocker<U> {
             completed.incrementAndGet();
         }
 
-        return new Status(
-                          completed.get(), errors.get(), lastActive.size(), timer.getElapsedNanoseconds(), PStackX.fromIterable(currentResults));
+        return Status.lazy(completed.get(), errors.get(), lastActive.size(), timer.getElapsedNanoseconds(),
+                           () -> PStackX.fromIterable(currentResults));
 
     }
 
     private void testBreakoutConditionsBeforeUnblockingCurrentThread(final Predicate<Status<U>> breakout, final Object result, final Throwable ex) {
 
+        if (cancelOnBreakout && promise.isDone())
+            return;
         if (result != null)
             currentResults.add((U) result);
 
-        final Status status = buildStatus(ex); //new results may be added after status object is created
+        final Status<U> status = buildStatus(ex); //new results may be added after status object is created
         if (ex != null) {
             errorHandler.ifPresent((handler) -> handler.accept(((Exception) ex).getCause()));
         }
 
         if (breakoutConditionsMet(breakout, status) || allResultsReturned(status.getCompleted() + status.getErrors())) {
-            promise.complete(new LinkedList<U>(
-                                               currentResults));
+            if (promise.complete(new LinkedList<U>(
+                                                   currentResults))
+                    && cancelOnBreakout)
+                IncrementalFold.cancelIncomplete(lastActive);
         }
     }
 
@@ -89,7 +108,7 @@ public class Blocker<U> {
         return localComplete == lastActive.size();
     }
 
-    private boolean breakoutConditionsMet(final Predicate<Status<U>> breakout, final Status status) {
+    private boolean breakoutConditionsMet(final Predicate<Status<U>> breakout, final Status<U> status) {
         return breakout.test(status);
     }
 
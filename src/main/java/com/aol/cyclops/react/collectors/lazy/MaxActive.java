@@ -1,5 +1,7 @@
 package com.aol.cyclops.react.collectors.lazy;
 
+import com.aol.cyclops.internal.react.VirtualThreads;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.experimental.Builder;
@@ -23,5 +25,12 @@ public class MaxActive {
                                                              .availableProcessors() - 1);
     public static final MaxActive SEQUENTIAL = new MaxActive(
                                                              10, 1);
+    /**
+     * For blocking tasks run on virtual threads (JDK 21+), where concurrency is bounded by the downstream resource rather than
+     * the number of threads. Where virtual threads are not supported this is the same as {@link #IO}
+     */
+    public static final MaxActive VIRTUAL = VirtualThreads.isSupported() ? new MaxActive(
+                                                                                         10_000, 9_000)
+            : IO;
 
 }
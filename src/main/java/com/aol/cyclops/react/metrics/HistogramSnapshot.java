@@ -0,0 +1,89 @@
+package com.aol.cyclops.react.metrics;
+
+import lombok.Getter;
+
+/**
+ * Immutable, point in time copy of a {@link LatencyHistogram}
+ *
+ * @author johnmcclean
+ *
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    @Getter
+    private final long count;
+    @Getter
+    private final long min;
+    @Getter
+    private final long max;
+    @Getter
+    private final long sum;
+
+    HistogramSnapshot(final long[] counts, final long count, final long min, final long max, final long sum) {
+        this.counts = counts;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.sum = sum;
+    }
+
+    /**
+     * @return Mean of all recorded values, 0 if no values have been recorded
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile Percentile to compute (0.0 - 100.0)
+     * @return Highest recorded value (to within the histogram's precision) at or below which the supplied percentage of values fall
+     */
+    public long valueAtPercentile(final double percentile) {
+        if (count == 0)
+            return 0;
+        final double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long target = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target)
+                return Math.min(LatencyHistogram.highestEquivalentValue(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * @return Median
+     */
+    public long p50() {
+        return valueAtPercentile(50.0);
+    }
+
+    /**
+     * @return 90th percentile
+     */
+    public long p90() {
+        return valueAtPercentile(90.0);
+    }
+
+    /**
+     * @return 99th percentile
+     */
+    public long p99() {
+        return valueAtPercentile(99.0);
+    }
+
+    /**
+     * @return 99.9th percentile
+     */
+    public long p999() {
+        return valueAtPercentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot[count=" + count + ", min=" + min + ", p50=" + p50() + ", p90=" + p90() + ", p99=" + p99() + ", max=" + max
+                + "]";
+    }
+}
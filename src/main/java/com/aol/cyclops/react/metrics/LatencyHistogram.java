@@ -0,0 +1,123 @@
+package com.aol.cyclops.react.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, log-linear histogram of long values (e.g. latencies in nanoseconds), in the style of HdrHistogram.
+ *
+ * Values are recorded into buckets covering power-of-two ranges, each split into 64 linear sub-buckets, so any recorded
+ * value can be recovered to within ~1.6% of it's true value. Recording is a single atomic increment (plus striped counters
+ * for the count, sum, min and max), so histograms can be shared freely across threads.
+ *
+ * <pre>
+ * {@code
+ *   LatencyHistogram histogram = new LatencyHistogram();
+ *   histogram.record(1_000);
+ *   histogram.record(2_000_000);
+ *
+ *   histogram.snapshot().valueAtPercentile(99.0); //~2_000_000
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+public class LatencyHistogram {
+
+    //2^SUB_BUCKET_BITS sub-buckets for values below 2^SUB_BUCKET_BITS, 2^(SUB_BUCKET_BITS-1) per power of two above
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKETS = SUB_BUCKETS >> 1;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Construct a histogram that can track values up to one hour in nanoseconds
+     */
+    public LatencyHistogram() {
+        this(TimeUnit.HOURS.toNanos(1));
+    }
+
+    /**
+     * @param highestTrackableValue Largest value that can be recorded, larger values are recorded as this value
+     */
+    public LatencyHistogram(final long highestTrackableValue) {
+        if (highestTrackableValue < 1)
+            throw new IllegalArgumentException(
+                                               "highestTrackableValue must be positive");
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(
+                                          indexOf(highestTrackableValue) + 1);
+    }
+
+    /**
+     * Record a value, negative values are recorded as 0
+     *
+     * @param value Value to record
+     */
+    public void record(final long value) {
+        final long v = Math.min(Math.max(0, value), highestTrackableValue);
+        counts.incrementAndGet(indexOf(v));
+        count.increment();
+        sum.add(v);
+        min.accumulate(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * @return Number of values recorded
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return Point in time copy of this histogram
+     */
+    public HistogramSnapshot snapshot() {
+        final long[] copy = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new HistogramSnapshot(
+                                     copy, total, total == 0 ? 0 : min.get(), max.get(), sum.sum());
+    }
+
+    /**
+     * Clear all recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++)
+            counts.set(i, 0);
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        final int bucket = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int sub = (int) (value >>> bucket);
+        return SUB_BUCKETS + (bucket - 1) * HALF_SUB_BUCKETS + (sub - HALF_SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        final int bucket = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        final long sub = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((sub + 1) << bucket) - 1;
+    }
+}
@@ -0,0 +1,68 @@
+package com.aol.cyclops.react.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.pcollections.HashTreePMap;
+import org.pcollections.PMap;
+
+/**
+ * Registry of per-stage metrics for LazyFutureStream pipelines. Stages are keyed by name, stages with the same name (for example
+ * the same named stage in many streams built from one LazyReact instance) share metrics.
+ * 
+ * <pre>
+ * {@code
+ *   PipelineMetrics metrics = new PipelineMetrics();
+ *   new LazyReact().withPipelineMetrics(metrics)
+ *                  .of(1,2,3)
+ *                  .map(this::load)
+ *                  .named("load")
+ *                  .map(this::save)
+ *                  .named("save")
+ *                  .toList();
+ *                  
+ *   metrics.snapshot().get("load").getExecution().p99();
+ * }
+ * </pre>
+ * 
+ * Unnamed stages are reported as stage-0, stage-1 .. in the order they are added to a pipeline.
+ * 
+ * @author johnmcclean
+ *
+ */
+public class PipelineMetrics {
+
+    private final ConcurrentMap<String, StageMetrics> stages = new ConcurrentHashMap<>();
+
+    /**
+     * @param name Stage name
+     * @return Metrics for the named stage (created on first access)
+     */
+    public StageMetrics stage(final String name) {
+        final StageMetrics existing = stages.get(name);
+        if (existing != null)
+            return existing;
+        return stages.computeIfAbsent(name, StageMetrics::new);
+    }
+
+    /**
+     * @return Point in time copy of the metrics for all stages, keyed by stage name
+     */
+    public PMap<String, StageSnapshot> snapshot() {
+        final Map<String, StageSnapshot> snapshots = stages.values()
+                                                           .stream()
+                                                           .map(StageMetrics::snapshot)
+                                                           .collect(Collectors.toMap(StageSnapshot::getName, s -> s));
+        return HashTreePMap.from(snapshots);
+    }
+
+    /**
+     * Clear all recorded data
+     */
+    public void reset() {
+        stages.values()
+              .forEach(StageMetrics::reset);
+    }
+}
@@ -0,0 +1,61 @@
+package com.aol.cyclops.react.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * Metrics for a single named stage in a LazyFutureStream pipeline
+ * 
+ * Records execution time of the stage function, the queueing delay between an asynchronous stage being submitted to it's
+ * Executor and starting to run, and counts of invocations and failures.
+ * 
+ * @author johnmcclean
+ *
+ */
+public class StageMetrics {
+    @Getter
+    private final String name;
+    private final LatencyHistogram execution = new LatencyHistogram();
+    private final LatencyHistogram queueing = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+
+    StageMetrics(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param nanos Time taken to execute the stage function once
+     */
+    public void recordExecution(final long nanos) {
+        execution.record(nanos);
+    }
+
+    /**
+     * @param nanos Time an asynchronous task for this stage waited between submission and execution
+     */
+    public void recordQueueing(final long nanos) {
+        queueing.record(nanos);
+    }
+
+    /**
+     * Record a failed execution of the stage function
+     */
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * @return Point in time copy of the metrics for this stage
+     */
+    public StageSnapshot snapshot() {
+        return new StageSnapshot(
+                                 name, execution.snapshot(), queueing.snapshot(), failures.sum());
+    }
+
+    void reset() {
+        execution.reset();
+        queueing.reset();
+        failures.reset();
+    }
+}
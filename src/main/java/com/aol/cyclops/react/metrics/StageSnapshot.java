@@ -0,0 +1,30 @@
+package com.aol.cyclops.react.metrics;
+
+import lombok.Value;
+
+/**
+ * Immutable, point in time copy of the metrics recorded for a single pipeline stage
+ * 
+ * @author johnmcclean
+ *
+ */
+@Value
+public class StageSnapshot {
+    private final String name;
+    /**
+     * Stage function execution times (nanoseconds), one per invocation
+     */
+    private final HistogramSnapshot execution;
+    /**
+     * Delay between submitting an asynchronous stage task to it's Executor and the task starting (nanoseconds)
+     */
+    private final HistogramSnapshot queueing;
+    private final long failures;
+
+    /**
+     * @return Number of times the stage function was executed (successfully or not)
+     */
+    public long invocations() {
+        return execution.getCount();
+    }
+}
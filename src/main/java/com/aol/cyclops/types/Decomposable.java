@@ -1,14 +1,11 @@
 package com.aol.cyclops.types;
 
-import java.util.stream.Collectors;
-
-import com.aol.cyclops.internal.invokedynamic.ReflectionCache;
-import com.aol.cyclops.util.ExceptionSoftener;
+import com.aol.cyclops.internal.invokedynamic.FieldExtractor;
 
 /**
  * Unapply returns an ordered Iterable of the values of this types fields
  * 
- * unapply uses Reflection by default, but clients can override it if neccessary
+ * unapply uses Reflection by default (via a per class generated field extractor), but clients can override it if neccessary
  * 
  * <pre>
  * {@code 
@@ -47,26 +44,10 @@ public interface Decomposable {
     @SuppressWarnings("unchecked")
     default <I extends Iterable<?>> I unapply() {
 
-        if (unwrap() instanceof Iterable)
-            return (I) unwrap();
-        try {
-
-            return (I) ReflectionCache.getFields(unwrap().getClass())
-                                      .stream()
-                                      .map(f -> {
-                                          try {
-
-                                              return f.get(unwrap());
-                                          } catch (final Exception e) {
-                                              throw ExceptionSoftener.throwSoftenedException(e);
-
-                                          }
-                                      })
-                                      .collect(Collectors.toList());
-        } catch (final Exception e) {
-            throw ExceptionSoftener.throwSoftenedException(e);
-
-        }
+        final Object unwrapped = unwrap();
+        if (unwrapped instanceof Iterable)
+            return (I) unwrapped;
+        return (I) FieldExtractor.unapply(unwrapped);
 
     }
 
@@ -32,6 +32,7 @@ import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.BaseStream;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
@@ -71,6 +72,10 @@ import com.aol.cyclops.internal.react.stream.LazyStreamWrapper;
 import com.aol.cyclops.internal.react.stream.traits.future.operators.LazyFutureStreamUtils;
 import com.aol.cyclops.internal.react.stream.traits.future.operators.OperationsOnFuturesImpl;
 import com.aol.cyclops.internal.stream.LazyFutureStreamFutureOpterationsImpl;
+import com.aol.cyclops.internal.stream.operators.ConcurrentKeyedAggregator;
+import com.aol.cyclops.internal.stream.operators.KeyedAggregateOperator;
+import com.aol.cyclops.react.Hedge;
+import com.aol.cyclops.react.HedgeConfig;
 import com.aol.cyclops.react.RetryBuilder;
 import com.aol.cyclops.react.SimpleReactFailedStageException;
 import com.aol.cyclops.react.ThreadPools;
@@ -87,6 +92,7 @@ import com.aol.cyclops.types.anyM.AnyMSeq;
 import com.aol.cyclops.types.applicative.zipping.ApplyingZippingApplicativeBuilder;
 import com.aol.cyclops.types.applicative.zipping.ZippingApplicativable;
 import com.aol.cyclops.types.stream.HotStream;
+import com.aol.cyclops.types.stream.OverflowPolicy;
 import com.aol.cyclops.types.stream.future.FutureOperations;
 import com.aol.cyclops.types.stream.reactive.FutureStreamSynchronousPublisher;
 import com.nurkiewicz.asyncretry.AsyncRetryExecutor;
@@ -1376,6 +1382,32 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
         return (LazyFutureStream) LazySimpleReactStream.super.then(fn);
     }
 
+    /**
+     * Name the preceding stage (e.g. map, then, peek, filter or flatMapToCompletableFuture) for reporting via the
+     * PipelineMetrics configured on the LazyReact builder. Has no effect if no PipelineMetrics are configured.
+     * 
+     * <pre>
+     * {@code
+     *  PipelineMetrics metrics = new PipelineMetrics();
+     *  new LazyReact().instrument(metrics)
+     *                 .of(1,2,3)
+     *                 .map(this::load)
+     *                 .named("load")
+     *                 .toList();
+     *  
+     *  metrics.snapshot().get("load");
+     *  //StageSnapshot[name=load, execution=HistogramSnapshot[count=3 ...
+     * }
+     * </pre>
+     * 
+     * @see com.aol.cyclops.control.LazyReact#instrument(com.aol.cyclops.react.metrics.PipelineMetrics)
+     * @param stageName Name for the preceding stage
+     * @return This Stream, with it's last stage named
+     */
+    default LazyFutureStream<U> named(final String stageName) {
+        return this.withLastActive(getLastActive().operation(ft -> ft.named(stageName)));
+    }
+
     /**
      * Copy this Stream the specified number of times
      *
@@ -1396,6 +1428,78 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
 
     }
 
+    /**
+     * Copy this Stream the specified number of times, the copies share a ring buffer that holds at most bound elements.
+     * When the leading copy is bound elements ahead of the slowest copy the supplied {@link OverflowPolicy} determines
+     * whether it blocks, lets the buffer grow or fails.
+     *
+     * <pre>
+     * {@code
+     * LazyFutureStream.of(1,2,3,4,5,6)
+                .map(i->i+2)
+                .copy(5,100,OverflowPolicy.SPILL)
+                .forEach(s -> System.out.println(s.toList()));
+     *
+     * }</pre>
+     *
+     * @param times to copy this Stream
+     * @param bound Maximum number of elements buffered
+     * @param policy What to do when the buffer is full
+     * @return List with specified number of copies
+     */
+    default List<LazyFutureStream<U>> copy(final int times, final int bound, final OverflowPolicy policy) {
+        return (List) LazySimpleReactStream.super.copySimpleReactStream(times, bound, policy);
+    }
+
+    /**
+     * Aggregate the elements of this Stream by key concurrently, as each element is produced on the Executor of this Stream it
+     * is accumulated into a shared per-key Collector accumulator. Only one accumulator per distinct key is held in memory.
+     * Accumulation for different keys proceeds in parallel, while updates for the same key are serialised (but may happen in any
+     * order, so the Collector should be commutative). The aggregated results are emitted once this Stream completes.
+     *
+     * <pre>
+     * {@code
+     * LazyFutureStream.of(1,2,3,4,5,6)
+                .map(this::expensiveLookup)
+                .aggregateByConcurrently(Result::getType, Collectors.counting())
+                .forEach(t -> System.out.println(t.v1 + " : " + t.v2));
+     *
+     * }</pre>
+     *
+     * @param classifier Function to determine the key for each element
+     * @param collector Collector to aggregate the elements with each key
+     * @return ReactiveSeq of each key and its aggregated result
+     */
+    default <K, A, D> ReactiveSeq<Tuple2<K, D>> aggregateByConcurrently(final Function<? super U, ? extends K> classifier,
+            final Collector<? super U, A, D> collector) {
+        final ConcurrentKeyedAggregator<U, K, A, D> aggregator = new ConcurrentKeyedAggregator<>(
+                                                                                               classifier, collector);
+        return ReactiveSeq.fromStream(aggregator.aggregate(() -> peek(aggregator).runOnCurrent()));
+    }
+
+    /**
+     * Aggregate the elements of this Stream by key concurrently, reducing the mapped values with each key with the supplied
+     * (commutative) Monoid. See {@link #aggregateByConcurrently(Function, Collector)}
+     *
+     * <pre>
+     * {@code
+     * LazyFutureStream.of("a","bb","c")
+                .aggregateByConcurrently(String::length, s -> 1, Reducers.toTotalInt())
+                .toMap(t -> t.v1, t -> t.v2);
+       //{1=2, 2=1}
+     *
+     * }</pre>
+     *
+     * @param classifier Function to determine the key for each element
+     * @param mapper Function to map each element to the type reduced
+     * @param monoid Monoid to reduce the mapped elements with each key
+     * @return ReactiveSeq of each key and its reduced value
+     */
+    default <K, R> ReactiveSeq<Tuple2<K, R>> aggregateByConcurrently(final Function<? super U, ? extends K> classifier,
+            final Function<? super U, ? extends R> mapper, final Monoid<R> monoid) {
+        return aggregateByConcurrently(classifier, KeyedAggregateOperator.reducing(mapper, monoid));
+    }
+
     /**
      * Merges this stream and the supplied Streams into a single Stream where the next value
      * is the next returned across any of the involved Streams. Suitable for merging infinite streams
@@ -1599,6 +1703,78 @@ public interface LazyFutureStream<U> extends Functor<U>, Filterable<U>, LazySimp
         return (LazyFutureStream) LazySimpleReactStream.super.retry(fn);
     }
 
+    /**
+     * Apply a function to each element, issuing a duplicate call for any element whose call is still running after the
+     * supplied delay, and taking whichever result arrives first. Up to 5% extra calls are made, see {@link Hedge} to share
+     * a budget and latency statistics across Streams.
+     *
+     * <pre>
+     * {@code
+     *  new LazyReact().from(ids)
+     *                 .hedge(this::loadUser, 50, TimeUnit.MILLISECONDS)
+     *                 .toList();
+     * }
+     * </pre>
+     *
+     * @param fn Function to apply, which may be called more than once per element
+     * @param delay Time to wait before issuing a duplicate call
+     * @param unit Unit for delay
+     * @return LazyFutureStream with the results of fn
+     */
+    default <R> LazyFutureStream<R> hedge(final Function<? super U, ? extends R> fn, final long delay, final TimeUnit unit) {
+        return hedge(fn, new Hedge(
+                                   HedgeConfig.delay(delay, unit)));
+    }
+
+    /**
+     * Apply a function to each element, issuing a duplicate call for any element whose call is slower than the supplied
+     * percentile of the latencies observed so far (e.g. 95.0), and taking whichever result arrives first. Until 100
+     * latencies have been recorded duplicates are issued after 100ms.
+     *
+     * @param fn Function to apply, which may be called more than once per element
+     * @param percentile Percentile (0.0 - 100.0) of observed latencies to wait for before issuing a duplicate call
+     * @return LazyFutureStream with the results of fn
+     */
+    default <R> LazyFutureStream<R> hedge(final Function<? super U, ? extends R> fn, final double percentile) {
+        return hedge(fn, new Hedge(
+                                   HedgeConfig.percentile(percentile, 100, TimeUnit.MILLISECONDS)));
+    }
+
+    /**
+     * Apply a function to each element, making hedged calls on this Stream's task executor
+     *
+     * <pre>
+     * {@code
+     *  Hedge hedge = new Hedge(HedgeConfig.percentile(99.0, 20, TimeUnit.MILLISECONDS)
+     *                                     .withBudget(0.01));
+     *
+     *  new LazyReact().from(ids)
+     *                 .hedge(this::loadUser, hedge)
+     *                 .toList();
+     * }
+     * </pre>
+     *
+     * @param fn Function to apply, which may be called more than once per element
+     * @param hedge Hedge that determines when duplicate calls are issued
+     * @return LazyFutureStream with the results of fn
+     */
+    default <R> LazyFutureStream<R> hedge(final Function<? super U, ? extends R> fn, final Hedge hedge) {
+        final Executor executor = getTaskExecutor();
+        return hedgeAsync(t -> CompletableFuture.supplyAsync(() -> fn.apply(t), executor), hedge);
+    }
+
+    /**
+     * Make hedged asynchronous calls for each element (e.g. via a non-blocking client), taking the first result for each
+     *
+     * @param fn Function that starts an asynchronous call, which may be called more than once per element
+     * @param hedge Hedge that determines when duplicate calls are issued
+     * @return LazyFutureStream with the results of fn
+     */
+    default <R> LazyFutureStream<R> hedgeAsync(final Function<? super U, ? extends CompletableFuture<? extends R>> fn,
+            final Hedge hedge) {
+        return (LazyFutureStream<R>) LazySimpleReactStream.super.flatMapToCompletableFutureSync(t -> hedge.call(() -> fn.apply(t)));
+    }
+
     /*
      * Convert the specified Stream to a LazyFutureStream, using the configuration
      * of this LazyFutureStream (task executors, current config settings)
@@ -24,6 +24,7 @@ import com.aol.cyclops.internal.react.exceptions.FilteredExecutionPathException;
 import com.aol.cyclops.internal.react.stream.LazyStreamWrapper;
 import com.aol.cyclops.react.SimpleReactFailedStageException;
 import com.aol.cyclops.react.async.subscription.Continueable;
+import com.aol.cyclops.types.stream.OverflowPolicy;
 import com.nurkiewicz.asyncretry.RetryExecutor;
 import com.nurkiewicz.asyncretry.policy.AbortRetryException;
 
@@ -282,8 +283,12 @@ public interface LazySimpleReactStream<U> extends BlockingStream<U>, Configurabl
     }
 
     default ListX<BaseSimpleReactStream<U>> copySimpleReactStream(final int times) {
+        return copySimpleReactStream(times, Integer.MAX_VALUE, OverflowPolicy.SPILL);
+    }
+
+    default ListX<BaseSimpleReactStream<U>> copySimpleReactStream(final int times, final int bound, final OverflowPolicy policy) {
 
-        return StreamUtils.toBufferingCopier(iterator(), times)
+        return StreamUtils.toBufferingCopier(iterator(), times, bound, policy)
                           .stream()
                           .map(it -> StreamSupport.stream(Spliterators.spliteratorUnknownSize((Iterator) it, Spliterator.ORDERED), false))
                           .<BaseSimpleReactStream<U>> map(fs -> (BaseSimpleReactStream) this.getSimpleReact()
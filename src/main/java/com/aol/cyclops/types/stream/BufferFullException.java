@@ -0,0 +1,17 @@
+package com.aol.cyclops.types.stream;
+
+/**
+ * Thrown to the leading consumer of a copied Stream when the buffer shared by the copies is full and the
+ * {@link OverflowPolicy} is FAIL
+ * 
+ * @author johnmcclean
+ *
+ */
+public class BufferFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BufferFullException(final int bound) {
+        super("Leading copy is " + bound + " elements ahead of the slowest copy");
+    }
+}
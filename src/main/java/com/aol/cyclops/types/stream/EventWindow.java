@@ -0,0 +1,30 @@
+package com.aol.cyclops.types.stream;
+
+import lombok.Value;
+
+/**
+ * The aggregated result of an event-time window
+ *
+ * @author johnmcclean
+ *
+ * @param <K> Key type (Void for un-keyed windows, where the key is always null)
+ * @param <R> Aggregated result type
+ */
+@Value
+public class EventWindow<K, R> {
+
+    private final K key;
+    /**
+     * Start of the window (inclusive)
+     */
+    private final long start;
+    /**
+     * End of the window (exclusive)
+     */
+    private final long end;
+    private final R value;
+    /**
+     * True if this is an updated result for a window that already fired, emitted because of a late element
+     */
+    private final boolean late;
+}
@@ -0,0 +1,78 @@
+package com.aol.cyclops.types.stream;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The shape of event-time windows, sizes are in the same units as the event timestamps (typically epoch milliseconds).
+ * Windows are half-open, [start, end).
+ *
+ * <pre>
+ * {@code
+ *   EventWindows.tumbling(60_000);          //consecutive, non-overlapping one minute windows
+ *   EventWindows.sliding(60_000, 10_000);   //one minute windows starting every 10 seconds
+ *   EventWindows.session(30 * 60_000);      //windows closed after 30 minutes without an event
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+public class EventWindows {
+
+    public static enum Type {
+        TUMBLING, SLIDING, SESSION
+    }
+
+    private final Type type;
+    /**
+     * Size of each window (TUMBLING and SLIDING) or the gap that closes a session (SESSION)
+     */
+    private final long size;
+    /**
+     * Distance between the starts of consecutive windows (TUMBLING and SLIDING)
+     */
+    private final long slide;
+
+    /**
+     * @param size Size of each window
+     * @return Consecutive, non-overlapping windows
+     */
+    public static EventWindows tumbling(final long size) {
+        check(size);
+        return new EventWindows(
+                                Type.TUMBLING, size, size);
+    }
+
+    /**
+     * @param size Size of each window
+     * @param slide Distance between the starts of consecutive windows, each event belongs to size / slide windows
+     * @return Overlapping windows
+     */
+    public static EventWindows sliding(final long size, final long slide) {
+        check(size);
+        check(slide);
+        return new EventWindows(
+                                Type.SLIDING, size, slide);
+    }
+
+    /**
+     * @param gap Period without events after which a session is closed
+     * @return Per key sessions of activity, the window for an event is [timestamp, timestamp + gap) and overlapping windows are
+     *         merged
+     */
+    public static EventWindows session(final long gap) {
+        check(gap);
+        return new EventWindows(
+                                Type.SESSION, gap, 0);
+    }
+
+    private static void check(final long value) {
+        if (value <= 0)
+            throw new IllegalArgumentException(
+                                               "Window sizes must be positive, got " + value);
+    }
+}
@@ -0,0 +1,111 @@
+package com.aol.cyclops.types.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Builder;
+import lombok.experimental.Wither;
+
+/**
+ * Configuration for writing a Stream to disk (see {@link com.aol.cyclops.control.ReactiveSeq#writeTo(FileSinkConfig)}).
+ * Elements are encoded into a pool of direct ByteBuffers, full buffers are handed to a dedicated writer thread that coalesces
+ * them into large writes. When all buffers are waiting to be written the Stream is blocked until the disk catches up.
+ * 
+ * If rotation by size or time is configured files are named path.0, path.1 ... otherwise the single file is path. Rotation
+ * happens between writes, so files may exceed rotateBytes by up to a buffer's worth of data.
+ *
+ * <pre>
+ * {@code
+ *  ReactiveSeq.fromIterable(events)
+ *             .map(Event::toJson)
+ *             .writeTo(FileSinkConfig.lines(Paths.get("/data/events.log"))
+ *                                    .withRotateBytes(1024 * 1024 * 1024)
+ *                                    .withFsync(FsyncPolicy.INTERVAL));
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements written
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+@Builder
+public class FileSinkConfig<T> {
+
+    /**
+     * Encodes an element into a buffer, if there isn't room in the buffer a BufferOverflowException should be thrown (as
+     * ByteBuffer's put methods do) and the element will be encoded again into an empty buffer
+     */
+    @FunctionalInterface
+    public static interface Encoder<T> {
+        void encode(T value, ByteBuffer buffer);
+    }
+
+    /**
+     * File to write, or the base name of rotated files
+     */
+    private final Path path;
+    private final Encoder<? super T> encoder;
+    /**
+     * Size in bytes of each pooled buffer, an encoded element must fit in a single buffer
+     */
+    private final int bufferSize;
+    /**
+     * Number of pooled buffers, the Stream is blocked while all of them are waiting to be written
+     */
+    private final int buffers;
+    /**
+     * Rotate to a new file once this many bytes have been written to the current one, 0 for no size based rotation
+     */
+    private final long rotateBytes;
+    /**
+     * Rotate to a new file once the current one has been open this many milliseconds, 0 for no time based rotation
+     */
+    private final long rotateMillis;
+    private final FsyncPolicy fsync;
+    /**
+     * Minimum time between fsyncs in milliseconds, for {@link FsyncPolicy#INTERVAL}
+     */
+    private final long fsyncMillis;
+
+    /**
+     * @param path File to write
+     * @param encoder Encodes each element
+     * @return Configuration with 8 1MB buffers, no rotation and fsync on close
+     */
+    public static <T> FileSinkConfig<T> of(final Path path, final Encoder<? super T> encoder) {
+        return new FileSinkConfig<T>(
+                                     path, encoder, 1024 * 1024, 8, 0, 0, FsyncPolicy.ON_CLOSE, 1000);
+    }
+
+    /**
+     * @param path File to write
+     * @return Configuration that writes each element (via toString) as a UTF-8 line
+     */
+    public static FileSinkConfig<Object> lines(final Path path) {
+        return lines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param path File to write
+     * @param charset Charset to encode lines with
+     * @return Configuration that writes each element (via toString) as a line
+     */
+    public static FileSinkConfig<Object> lines(final Path path, final Charset charset) {
+        final byte[] newLine = "\n".getBytes(charset);
+        return of(path, (value, buffer) -> {
+            final byte[] line = String.valueOf(value)
+                                      .getBytes(charset);
+            if (buffer.remaining() < line.length + newLine.length)
+                throw new java.nio.BufferOverflowException();
+            buffer.put(line)
+                  .put(newLine);
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.aol.cyclops.types.stream;
+
+/**
+ * When a file written by a file sink (see {@link FileSinkConfig}) or a durable spilling Queue (see
+ * {@link com.aol.cyclops.data.async.SpillingQueueConfig}) is forced to disk with fsync
+ * 
+ * @author johnmcclean
+ *
+ */
+public enum FsyncPolicy {
+    /**
+     * Never, leave it to the operating system
+     */
+    NEVER,
+    /**
+     * When each file is closed, on rotation and when the sink is closed (for Queues, when each segment is full)
+     */
+    ON_CLOSE,
+    /**
+     * At most once per fsync interval while writing, and when each file is closed
+     */
+    INTERVAL,
+    /**
+     * After every (coalesced) write, or every element offered to a Queue, the safest and slowest option
+     */
+    EVERY_WRITE
+}
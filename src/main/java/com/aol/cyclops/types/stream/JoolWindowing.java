@@ -27,7 +27,9 @@ import org.jooq.lambda.tuple.Tuple7;
 import org.jooq.lambda.tuple.Tuple8;
 import org.jooq.lambda.tuple.Tuple9;
 
+import com.aol.cyclops.Monoid;
 import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.StreamUtils;
 
 public interface JoolWindowing<T> extends Seq<T> {
 
@@ -338,4 +340,50 @@ public interface JoolWindowing<T> extends Seq<T> {
                                            specification13, specification14, specification15, specification16));
     }
 
+    /**
+     * Window this stream by event time into tumbling, sliding or session windows, reducing the elements in each window
+     * incrementally with the supplied Monoid. Windows are emitted as the watermark passes their end, kept for the allowed
+     * lateness so late elements can update them (the updated result is emitted again, marked as late), and then discarded -
+     * only open windows are held in memory. Windows still open when the stream is exhausted are emitted at the end.
+     * <p>
+     * <code><pre>
+     * // windows [0,10) : 3, [10,20) : 1
+     * ReactiveSeq.of(1l, 5l, 9l, 12l).windowByEventTime(EventWindows.tumbling(10), Watermarks.of(t -> t), t -> 1, Reducers.toTotalInt())
+     * </pre></code>
+     * 
+     * @param windows Tumbling, sliding or session windows
+     * @param watermarks Event timestamps, watermark delay and allowed lateness
+     * @param mapper Function to map each element to the type reduced
+     * @param monoid Monoid to reduce the mapped elements in each window
+     * @return Stream of window results, the key of each window is null
+     */
+    default <R> ReactiveSeq<EventWindow<Void, R>> windowByEventTime(final EventWindows windows, final Watermarks<? super T> watermarks,
+            final Function<? super T, ? extends R> mapper, final Monoid<R> monoid) {
+        return windowByEventTime(t -> (Void) null, windows, watermarks, mapper, monoid);
+    }
+
+    /**
+     * Window this stream by event time per key, see {@link #windowByEventTime(EventWindows, Watermarks, Function, Monoid)}.
+     * Session windows in particular are usually per key (e.g. per user).
+     * <p>
+     * <code><pre>
+     * // clicks per user session, sessions end after 30 minutes of inactivity
+     * ReactiveSeq.fromIterable(clicks)
+     *            .windowByEventTime(Click::getUserId, EventWindows.session(30 * 60_000), 
+     *                               Watermarks.boundedOutOfOrder(Click::getTimestamp, 10_000), c -> 1, Reducers.toTotalInt())
+     * </pre></code>
+     * 
+     * @param classifier Function to determine the key for each element
+     * @param windows Tumbling, sliding or session windows
+     * @param watermarks Event timestamps, watermark delay and allowed lateness
+     * @param mapper Function to map each element to the type reduced
+     * @param monoid Monoid to reduce the mapped elements in each window
+     * @return Stream of window results
+     */
+    default <K, R> ReactiveSeq<EventWindow<K, R>> windowByEventTime(final Function<? super T, ? extends K> classifier,
+            final EventWindows windows, final Watermarks<? super T> watermarks, final Function<? super T, ? extends R> mapper,
+            final Monoid<R> monoid) {
+        return fromStream(StreamUtils.windowByEventTime(this, classifier, windows, watermarks, mapper, monoid));
+    }
+
 }
@@ -0,0 +1,25 @@
+package com.aol.cyclops.types.stream;
+
+/**
+ * What a bounded buffer shared by copies of a Stream (see {@link com.aol.cyclops.control.ReactiveSeq#duplicateSequence(int, OverflowPolicy)})
+ * does when the leading copy is a full buffer ahead of the slowest copy
+ * 
+ * @author johnmcclean
+ *
+ */
+public enum OverflowPolicy {
+    /**
+     * Block the leading consumer until the slowest copy catches up. Copies must be consumed on different threads, otherwise
+     * the leading consumer will block forever.
+     */
+    BLOCK,
+    /**
+     * Allow the buffer to grow beyond it's bound. Memory is no longer bounded, but elements are still held in a single array
+     * rather than a node per element, and the buffer shrinks back once the lagging copies catch up.
+     */
+    SPILL,
+    /**
+     * Throw a {@link BufferFullException} to the leading consumer
+     */
+    FAIL
+}
@@ -0,0 +1,124 @@
+package com.aol.cyclops.types.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import com.aol.cyclops.util.ExceptionSoftener;
+
+/**
+ * Writes and reads elements of a Stream that are spilled to disk (see {@link SpillConfig})
+ *
+ * <pre>
+ * {@code
+ *  Serializer<Trade> trades = Serializer.of((t,out)->{ out.writeLong(t.getId()); out.writeDouble(t.getPrice()); },
+ *                                           in->new Trade(in.readLong(),in.readDouble()));
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements serialized
+ */
+public interface Serializer<T> {
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Functional interface for writing a value, that may throw an IOException
+     */
+    @FunctionalInterface
+    public static interface Writer<T> {
+        void write(T value, DataOutput out) throws IOException;
+    }
+
+    /**
+     * Functional interface for reading a value, that may throw an IOException
+     */
+    @FunctionalInterface
+    public static interface Reader<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    /**
+     * @param writer Writes a value
+     * @param reader Reads a value
+     * @return Serializer from the supplied functions
+     */
+    public static <T> Serializer<T> of(final Writer<? super T> writer, final Reader<? extends T> reader) {
+        return new Serializer<T>() {
+            @Override
+            public void write(final T value, final DataOutput out) throws IOException {
+                writer.write(value, out);
+            }
+
+            @Override
+            public T read(final DataInput in) throws IOException {
+                return reader.read(in);
+            }
+        };
+    }
+
+    /**
+     * @return Serializer for (non-null) Strings, written as modified UTF-8
+     */
+    public static Serializer<String> strings() {
+        return of((s, out) -> out.writeUTF(s), DataInput::readUTF);
+    }
+
+    /**
+     * @return Serializer for (non-null) Integers
+     */
+    public static Serializer<Integer> ints() {
+        return of((i, out) -> out.writeInt(i), DataInput::readInt);
+    }
+
+    /**
+     * @return Serializer for (non-null) Longs
+     */
+    public static Serializer<Long> longs() {
+        return of((l, out) -> out.writeLong(l), DataInput::readLong);
+    }
+
+    /**
+     * @return Serializer for (non-null) Doubles
+     */
+    public static Serializer<Double> doubles() {
+        return of((d, out) -> out.writeDouble(d), DataInput::readDouble);
+    }
+
+    /**
+     * Java serialization of each element, convenient but much slower and larger on disk than a dedicated Serializer
+     *
+     * @return Serializer that uses Java serialization
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> Serializer<T> java() {
+        return of((value, out) -> {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(
+                                                                 bytes)) {
+                oos.writeObject(value);
+            }
+            out.writeInt(bytes.size());
+            out.write(bytes.toByteArray());
+        } , in -> {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            try (ObjectInputStream ois = new ObjectInputStream(
+                                                               new ByteArrayInputStream(
+                                                                                        bytes))) {
+                return (T) ois.readObject();
+            } catch (final ClassNotFoundException e) {
+                throw ExceptionSoftener.throwSoftenedException(e);
+            }
+        });
+    }
+}
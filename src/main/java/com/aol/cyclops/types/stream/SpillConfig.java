@@ -0,0 +1,71 @@
+package com.aol.cyclops.types.stream;
+
+import java.io.File;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Builder;
+import lombok.experimental.Wither;
+
+/**
+ * Configuration for operations that spill to disk when a Stream is larger than their in-memory budget (e.g.
+ * {@link com.aol.cyclops.control.ReactiveSeq#sorted(java.util.Comparator, SpillConfig)}). The budget is a number of elements
+ * rather than a number of bytes, as the size of an object on the heap can't be measured cheaply.
+ *
+ * <pre>
+ * {@code
+ *  ReactiveSeq.fromIterable(bigFile)
+ *             .sorted(Comparator.naturalOrder(), SpillConfig.of(Serializer.strings())
+ *                                                            .withMaxInMemory(500_000));
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements spilled
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+@Builder
+public class SpillConfig<T> {
+
+    /**
+     * Writes and reads spilled elements
+     */
+    private final Serializer<T> serializer;
+    /**
+     * Maximum number of elements held in memory at once
+     */
+    private final int maxInMemory;
+    /**
+     * Directory for temporary files, null for the default temporary-file directory
+     */
+    private final File directory;
+    /**
+     * Maximum number of sorted runs merged at once, more runs are merged in several passes
+     */
+    private final int mergeFactor;
+    /**
+     * Number of hash partitions elements are spilled to when grouping
+     */
+    private final int partitions;
+
+    /**
+     * @param serializer Writes and reads spilled elements
+     * @return Configuration holding up to 100,000 elements in memory
+     */
+    public static <T> SpillConfig<T> of(final Serializer<T> serializer) {
+        return of(serializer, 100_000);
+    }
+
+    /**
+     * @param serializer Writes and reads spilled elements
+     * @param maxInMemory Maximum number of elements held in memory at once
+     * @return Configuration
+     */
+    public static <T> SpillConfig<T> of(final Serializer<T> serializer, final int maxInMemory) {
+        return new SpillConfig<>(
+                                 serializer, maxInMemory, null, 64, 64);
+    }
+}
@@ -0,0 +1,70 @@
+package com.aol.cyclops.types.stream;
+
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Wither;
+
+/**
+ * Determines the event time of each element and how far event time has progressed. The watermark is the highest timestamp
+ * seen so far less maxOutOfOrderness, a window fires once the watermark reaches its end. Elements with a timestamp below the
+ * watermark are late, late elements still update their windows for allowedLateness after the window fired (and the updated
+ * result is emitted again), after which the window is discarded and late elements for it are passed to onLate.
+ *
+ * <pre>
+ * {@code
+ *   Watermarks.of(Click::getTimestamp)
+ *             .withMaxOutOfOrderness(5_000)
+ *             .withAllowedLateness(60_000)
+ *             .withOnLate(click -> log.warn("Dropped late click {}", click));
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ * @param <T> Data type of elements
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+public class Watermarks<T> {
+
+    /**
+     * Extracts the event time from each element
+     */
+    private final ToLongFunction<? super T> timestamp;
+    /**
+     * How far behind the highest timestamp seen the watermark trails
+     */
+    private final long maxOutOfOrderness;
+    /**
+     * How long after firing a window is kept, to be updated by late elements
+     */
+    private final long allowedLateness;
+    /**
+     * Receives elements that are too late to be added to any window
+     */
+    private final Consumer<? super T> onLate;
+
+    /**
+     * @param timestamp Extracts the event time from each element
+     * @return Watermarks for elements that arrive in timestamp order, late elements are dropped
+     */
+    public static <T> Watermarks<T> of(final ToLongFunction<? super T> timestamp) {
+        return new Watermarks<T>(
+                                 timestamp, 0, 0, t -> {
+                                 });
+    }
+
+    /**
+     * @param timestamp Extracts the event time from each element
+     * @param maxOutOfOrderness How far behind the highest timestamp seen the watermark trails
+     * @return Watermarks for elements that arrive at most maxOutOfOrderness out of order
+     */
+    public static <T> Watermarks<T> boundedOutOfOrder(final ToLongFunction<? super T> timestamp, final long maxOutOfOrderness) {
+        return Watermarks.<T> of(timestamp)
+                         .withMaxOutOfOrderness(maxOutOfOrderness);
+    }
+}
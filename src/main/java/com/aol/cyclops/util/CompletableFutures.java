@@ -7,6 +7,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -20,6 +21,7 @@ import com.aol.cyclops.control.FutureW;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.data.collections.extensions.CollectionX;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.react.async.future.IncrementalFold;
 import com.aol.cyclops.types.Value;
 
 import lombok.experimental.UtilityClass;
@@ -98,15 +100,7 @@ public class CompletableFutures {
      * @return CompletableFuture asynchronously populated with the accumulate success operation
      */
     public static <T, R> CompletableFuture<R> accumulateSuccess(final CollectionX<CompletableFuture<T>> fts, final Reducer<R> reducer) {
-        CompletableFuture<R> result = new CompletableFuture<>();
-        Stream<T> successes = fts.stream()
-                                                    .filter(ft->!ft.isCompletedExceptionally())
-                                                    .map(CompletableFuture::join);
-        CompletableFuture.allOf(fts.toArray(new CompletableFuture[0]))
-                        .thenRun(()-> result.complete(reducer.mapReduce(successes)))
-                        .exceptionally(e->{ result.complete(reducer.mapReduce(successes)); return null;});
-        
-        return result;    
+        return IncrementalFold.ordered(fts, t -> reducer.mapReduce(Stream.of(t)), reducer, true);
     }
     /**
      * Asynchronously accumulate the results only from those Futures which have completed successfully, using the supplied mapping function to
@@ -126,16 +120,7 @@ public class CompletableFutures {
      * @return CompletableFuture asynchronously populated with the accumulate operation
      */
     public static <T, R> CompletableFuture<R> accumulateSuccess(final CollectionX<CompletableFuture<T>> fts,final Function<? super T, R> mapper,final Monoid<R> reducer) {
-        CompletableFuture<R> result = new CompletableFuture<>();
-        ReactiveSeq<R> successes = fts.stream()
-                                      .filter(ft->!ft.isCompletedExceptionally())
-                                      .map(CompletableFuture::join)
-                                      .map(mapper);
-        CompletableFuture.allOf(fts.toArray(new CompletableFuture[0]))
-                        .thenRun(()-> result.complete(successes.reduce(reducer)))
-                        .exceptionally(e->{ result.complete(successes.reduce(reducer)); return null;});
-        
-        return result;    
+        return IncrementalFold.ordered(fts, mapper, reducer, true);
     }
     /**
      * Asynchronously accumulate the results only from those Futures which have completed successfully,
@@ -156,15 +141,7 @@ public class CompletableFutures {
      * @return CompletableFuture asynchronously populated with the accumulate operation
      */
     public static <T, R> CompletableFuture<T> accumulateSuccess(final Monoid<T> reducer,final CollectionX<CompletableFuture<T>> fts) {
-        CompletableFuture<T> result = new CompletableFuture<>();
-        ReactiveSeq<T> successes = fts.stream()
-                                      .filter(ft->!ft.isCompletedExceptionally())
-                                      .map(CompletableFuture::join);
-        CompletableFuture.allOf(fts.toArray(new CompletableFuture[0]))
-                        .thenRun(()-> result.complete(successes.reduce(reducer)))
-                        .exceptionally(e->{ result.complete(successes.reduce(reducer)); return null;});
-        
-        return result;    
+        return IncrementalFold.ordered(fts, Function.identity(), reducer, true);
     }
     /**
      * Asynchronously accumulate the results of Futures, a single failure will cause a failed result, using the supplied Reducer {@see com.aol.cyclops.Reducers}
@@ -185,7 +162,7 @@ public class CompletableFutures {
      * @return FutureW asynchronously populated with the accumulate success operation
      */
     public static <T, R> CompletableFuture<R> accumulate(final CollectionX<CompletableFuture<T>> fts, final Reducer<R> reducer) {
-        return sequence(fts).thenApply(s -> s.mapReduce(reducer));
+        return IncrementalFold.ordered(fts, t -> reducer.mapReduce(Stream.of(t)), reducer, false);
     }
     /**
      * Asynchronously accumulate the results of a batch of Futures which using the supplied mapping function to
@@ -207,8 +184,7 @@ public class CompletableFutures {
      */
     public static <T, R> CompletableFuture<R> accumulate(final CollectionX<CompletableFuture<T>> fts, final Function<? super T, R> mapper,
             final Monoid<R> reducer) {
-        return sequence(fts).thenApply(s -> s.map(mapper)
-                                             .reduce(reducer));
+        return IncrementalFold.ordered(fts, mapper, reducer, false);
     }
     /**
      * Asynchronously accumulate the results only from the provided Futures,
@@ -233,8 +209,52 @@ public class CompletableFutures {
      */
     public static <T> CompletableFuture<T> accumulate( final Monoid<T> reducer,final CollectionX<CompletableFuture<T>> fts
            ) {
-        return sequence(fts).thenApply(s -> s
-                                             .reduce(reducer));
+        return IncrementalFold.ordered(fts, Function.identity(), reducer, false);
+    }
+    /**
+     * Asynchronously accumulate the results of the provided Futures in the order in which they complete, completing as soon as
+     * the partial result satisfies the supplied predicate (or all Futures have completed). Futures that have not completed
+     * by then are cancelled. As results are combined in completion order the Monoid should be commutative as well as associative.
+     * 
+     * A single Failure results in a Failed Future.
+     * 
+     * <pre>
+     * {@code 
+     * CompletableFuture<Integer> future = CompletableFutures.accumulateUntil(ListX.of(replica1,replica2,replica3),
+     *                                                                        r->r.isAck() ? 1 : 0,Monoids.intSum,acks->acks>=2);
+       //CompletableFuture[2] as soon as 2 replicas have acknowledged, the third is cancelled
+     * }
+     * </pre>
+     * 
+     * @param fts Collection of Futures to accumulate
+     * @param mapper Mapping function to be applied to the result of each Future
+     * @param reducer Commutative Monoid to combine values from each Future
+     * @param done Predicate that determines when enough results have been accumulated
+     * @return CompletableFuture asynchronously populated with the accumulate operation
+     */
+    public static <T, R> CompletableFuture<R> accumulateUntil(final CollectionX<CompletableFuture<T>> fts, final Function<? super T, R> mapper,
+            final Monoid<R> reducer, final Predicate<? super R> done) {
+        return IncrementalFold.unordered(fts, mapper, reducer, false, done);
+    }
+    /**
+     * Asynchronously accumulate the results of the provided Futures in the order in which they complete, completing as soon as
+     * the partial result satisfies the supplied predicate (or all Futures have completed). Futures that have not completed
+     * by then are cancelled.
+     * 
+     * <pre>
+     * {@code 
+     * CompletableFuture<Integer> future = CompletableFutures.accumulateUntil(Monoids.intMax,ListX.of(f1,f2,f3),max->max>100);
+     * }
+     * </pre>
+     * 
+     * @param reducer Commutative Monoid to combine values from each Future
+     * @param fts Collection of Futures to accumulate
+     * @param done Predicate that determines when enough results have been accumulated
+     * @return CompletableFuture asynchronously populated with the accumulate operation
+     */
+    public static <T> CompletableFuture<T> accumulateUntil(final Monoid<T> reducer, final CollectionX<CompletableFuture<T>> fts,
+            final Predicate<? super T> done) {
+        return IncrementalFold.unordered(fts, Function.identity(), reducer, false, done);
     }
     /**
      * Schedule the population of a CompletableFuture from the provided Supplier, the provided Cron (Quartz format) expression will be used to
@@ -0,0 +1,592 @@
+package com.aol.cyclops.util.function;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded, in-process {@link Cacheable} implementation with no external dependencies, suitable for use with
+ * {@link Memoize}, FluentFunctions#memoize and LazyReact#autoMemoizeOn
+ *
+ * <ul>
+ * <li>Size bound : entries are evicted using a segmented LRU policy. New entries enter a probationary segment and are promoted to a protected segment
+ *  (80% of capacity) when read again, so one-off keys are evicted before frequently used ones.</li>
+ * <li>Expiry : entries can expire a fixed time after they were written</li>
+ * <li>Refresh : entries older than the refresh interval are reloaded asynchronously, the stale value is returned until the reload completes</li>
+ * <li>Weak / soft values : values can be held via weak or soft references, collected values are treated as absent</li>
+ * <li>Statistics : hit / miss / load / eviction counts can be recorded via striped counters</li>
+ * </ul>
+ *
+ * <pre>
+ * {@code
+ *   BoundedCache<Integer> cache = BoundedCache.<Integer>builder()
+ *                                             .maximumSize(10_000)
+ *                                             .expireAfterWrite(10, TimeUnit.MINUTES)
+ *                                             .recordStats()
+ *                                             .build();
+ *
+ *   Function<Integer,Integer> fn = Memoize.memoizeFunction(this::expensive,cache);
+ *
+ *   LazyReact react = new LazyReact().autoMemoizeOn(cache);
+ * }
+ * </pre>
+ *
+ * Reads re-order entries only when the eviction lock is uncontended, under heavy concurrent reads the eviction order is therefore approximate.
+ *
+ * @author johnmcclean
+ *
+ * @param <OUT> Type of cached values
+ */
+public class BoundedCache<OUT> implements Cacheable<OUT> {
+
+    private static final long UNBOUNDED = -1;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * How values are referenced by the cache
+     */
+    public static enum ValueStrength {
+        STRONG, WEAK, SOFT
+    }
+
+    private static enum Segment {
+        NONE, PROBATION, PROTECTED, DEAD
+    }
+
+    private final ConcurrentHashMap<Object, Node<OUT>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    //access order lists guarded by evictionLock
+    private final Node<OUT> probation = Node.sentinel();
+    private final Node<OUT> protectedSegment = Node.sentinel();
+    private final Node<OUT> writeOrder = Node.sentinel();
+    private long probationSize = 0;
+    private long protectedSize = 0;
+
+    private final long maximumSize;
+    private final long protectedMaximum;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final ValueStrength valueStrength;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+    private final boolean recordStats;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private BoundedCache(final Builder<OUT> builder) {
+        this.maximumSize = builder.maximumSize;
+        this.protectedMaximum = builder.maximumSize == UNBOUNDED ? UNBOUNDED : (long) (builder.maximumSize * PROTECTED_RATIO);
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.refreshAfterWriteNanos = builder.refreshAfterWriteNanos;
+        this.valueStrength = builder.valueStrength;
+        this.refreshExecutor = builder.refreshExecutor;
+        this.ticker = builder.ticker;
+        this.recordStats = builder.recordStats;
+    }
+
+    /**
+     * @return Builder for configuring a new BoundedCache
+     */
+    public static <OUT> Builder<OUT> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Construct a size bounded cache with no expiry and strong values
+     *
+     * @param maximumSize Maximum number of entries to retain
+     * @return Size bounded cache
+     */
+    public static <OUT> BoundedCache<OUT> maximumSize(final long maximumSize) {
+        return BoundedCache.<OUT> builder()
+                           .maximumSize(maximumSize)
+                           .build();
+    }
+
+    /*
+     * Look up the value for the supplied key, computing (and caching) it via the supplied function if absent, expired or collected.
+     * Null values are not cached.
+     *
+     *	@see com.aol.cyclops.util.function.Cacheable#computeIfAbsent(java.lang.Object, java.util.function.Function)
+     */
+    @Override
+    public OUT computeIfAbsent(final Object key, final Function<Object, OUT> fn) {
+        final long now = ticker.getAsLong();
+        final Node<OUT> existing = data.get(key);
+        if (existing != null) {
+            final OUT value = liveValue(existing, now);
+            if (value != null) {
+                if (recordStats)
+                    hits.increment();
+                afterRead(existing);
+                refreshIfStale(existing, fn, now);
+                return value;
+            }
+        }
+        if (recordStats)
+            misses.increment();
+        return load(key, fn, now);
+    }
+
+    /**
+     * Remove the entry for the supplied key, if present
+     *
+     * @param key Key to remove
+     */
+    public void invalidate(final Object key) {
+        final Node<OUT> removed = data.remove(key);
+        if (removed != null)
+            withLock(() -> retire(removed));
+    }
+
+    /**
+     * Remove all entries from this cache
+     */
+    public void invalidateAll() {
+        withLock(() -> {
+            for (final Node<OUT> node : data.values()) {
+                data.remove(node.key, node);
+                retire(node);
+            }
+        });
+    }
+
+    /**
+     * Remove expired and garbage collected entries. This is also performed incrementally as new values are loaded.
+     */
+    public void cleanUp() {
+        withLock(() -> maintain(ticker.getAsLong()));
+    }
+
+    /**
+     * @return Number of entries currently held, may include entries that have expired or been collected but not yet removed
+     */
+    public long estimatedSize() {
+        return data.mappingCount();
+    }
+
+    /**
+     * @return Snapshot of the statistics recorded by this cache (all zero unless recordStats was configured)
+     */
+    public CacheStats stats() {
+        return new CacheStats(
+                              hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(), refreshes.sum(), evictions.sum());
+    }
+
+    private OUT load(final Object key, final Function<Object, OUT> fn, final long now) {
+        final LoadResult<OUT> result = new LoadResult<>();
+        data.compute(key, (k, current) -> {
+            if (current != null) {
+                final OUT value = liveValue(current, now);
+                if (value != null) {
+                    result.value = value;
+                    return current;
+                }
+                result.replaced = current;
+            }
+            final OUT value = loadValue(k, fn);
+            result.value = value;
+            if (value == null)
+                return null;
+            final Node<OUT> node = new Node<>(
+                                              k, now);
+            node.value = wrap(node, value);
+            result.created = node;
+            return node;
+        });
+        if (result.replaced != null || result.created != null)
+            afterWrite(result.replaced, result.created, now);
+        return result.value;
+    }
+
+    private OUT loadValue(final Object key, final Function<Object, OUT> fn) {
+        try {
+            final OUT value = fn.apply(key);
+            if (recordStats)
+                loads.increment();
+            return value;
+        } catch (final RuntimeException | Error e) {
+            if (recordStats)
+                loadFailures.increment();
+            throw e;
+        }
+    }
+
+    private void refreshIfStale(final Node<OUT> node, final Function<Object, OUT> fn, final long now) {
+        if (refreshAfterWriteNanos == UNBOUNDED || now - node.writeTime < refreshAfterWriteNanos)
+            return;
+        if (!node.refreshing.compareAndSet(false, true))
+            return;
+        refreshExecutor.execute(() -> {
+            try {
+                final OUT value = loadValue(node.key, fn);
+                if (value != null) {
+                    node.value = wrap(node, value);
+                    node.writeTime = ticker.getAsLong();
+                    if (recordStats)
+                        refreshes.increment();
+                    if (expireAfterWriteNanos != UNBOUNDED)
+                        withLock(() -> {
+                            if (node.writeNext != null)
+                                moveToTail(writeOrder, node, true);
+                        });
+                }
+            } finally {
+                node.refreshing.set(false);
+            }
+        });
+    }
+
+    private OUT liveValue(final Node<OUT> node, final long now) {
+        if (expireAfterWriteNanos != UNBOUNDED && now - node.writeTime >= expireAfterWriteNanos)
+            return null;
+        return unwrap(node.value);
+    }
+
+    private void afterRead(final Node<OUT> node) {
+        if (maximumSize == UNBOUNDED || !evictionLock.tryLock())
+            return;
+        try {
+            if (node.segment == Segment.PROBATION) {
+                unlink(node, false);
+                probationSize--;
+                link(protectedSegment, node, false);
+                node.segment = Segment.PROTECTED;
+                protectedSize++;
+                while (protectedSize > protectedMaximum) {
+                    final Node<OUT> demoted = protectedSegment.next;
+                    unlink(demoted, false);
+                    protectedSize--;
+                    link(probation, demoted, false);
+                    demoted.segment = Segment.PROBATION;
+                    probationSize++;
+                }
+            } else if (node.segment == Segment.PROTECTED) {
+                moveToTail(protectedSegment, node, false);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void afterWrite(final Node<OUT> replaced, final Node<OUT> created, final long now) {
+        withLock(() -> {
+            if (replaced != null) {
+                retire(replaced);
+                if (recordStats)
+                    evictions.increment();
+            }
+            if (created != null && created.segment == Segment.NONE) {
+                if (maximumSize != UNBOUNDED) {
+                    link(probation, created, false);
+                    created.segment = Segment.PROBATION;
+                    probationSize++;
+                }
+                if (expireAfterWriteNanos != UNBOUNDED)
+                    link(writeOrder, created, true);
+            }
+            maintain(now);
+        });
+    }
+
+    //guarded by evictionLock
+    @SuppressWarnings("unchecked")
+    private void maintain(final long now) {
+        Reference<?> ref;
+        while ((ref = collected.poll()) != null) {
+            final Node<OUT> node = ((ValueReference<OUT>) ref).node();
+            if (node.value == ref)
+                evict(node);
+        }
+        if (expireAfterWriteNanos != UNBOUNDED) {
+            while (writeOrder.writeNext != writeOrder && now - writeOrder.writeNext.writeTime >= expireAfterWriteNanos)
+                evict(writeOrder.writeNext);
+        }
+        if (maximumSize != UNBOUNDED) {
+            while (probationSize + protectedSize > maximumSize)
+                evict(probation.next != probation ? probation.next : protectedSegment.next);
+        }
+    }
+
+    //guarded by evictionLock
+    private void evict(final Node<OUT> node) {
+        data.remove(node.key, node);
+        retire(node);
+        if (recordStats)
+            evictions.increment();
+    }
+
+    //guarded by evictionLock
+    private void retire(final Node<OUT> node) {
+        if (node.segment == Segment.PROBATION) {
+            unlink(node, false);
+            probationSize--;
+        } else if (node.segment == Segment.PROTECTED) {
+            unlink(node, false);
+            protectedSize--;
+        }
+        if (node.writeNext != null)
+            unlink(node, true);
+        node.segment = Segment.DEAD;
+    }
+
+    private void withLock(final Runnable r) {
+        evictionLock.lock();
+        try {
+            r.run();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private Object wrap(final Node<OUT> node, final OUT value) {
+        switch (valueStrength) {
+        case WEAK:
+            return new WeakValue<>(
+                                   value, collected, node);
+        case SOFT:
+            return new SoftValue<>(
+                                   value, collected, node);
+        default:
+            return value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private OUT unwrap(final Object value) {
+        if (valueStrength == ValueStrength.STRONG)
+            return (OUT) value;
+        return ((Reference<OUT>) value).get();
+    }
+
+    private static <OUT> void link(final Node<OUT> head, final Node<OUT> node, final boolean writeList) {
+        if (writeList) {
+            node.writePrev = head.writePrev;
+            node.writeNext = head;
+            head.writePrev.writeNext = node;
+            head.writePrev = node;
+        } else {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+        }
+    }
+
+    private static <OUT> void unlink(final Node<OUT> node, final boolean writeList) {
+        if (writeList) {
+            node.writePrev.writeNext = node.writeNext;
+            node.writeNext.writePrev = node.writePrev;
+            node.writePrev = null;
+            node.writeNext = null;
+        } else {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    private static <OUT> void moveToTail(final Node<OUT> head, final Node<OUT> node, final boolean writeList) {
+        unlink(node, writeList);
+        link(head, node, writeList);
+    }
+
+    private static final class Node<OUT> {
+        final Object key;
+        final AtomicBoolean refreshing = new AtomicBoolean(
+                                                           false);
+        volatile Object value;
+        volatile long writeTime;
+
+        //guarded by evictionLock
+        Segment segment = Segment.NONE;
+        Node<OUT> prev;
+        Node<OUT> next;
+        Node<OUT> writePrev;
+        Node<OUT> writeNext;
+
+        Node(final Object key, final long writeTime) {
+            this.key = key;
+            this.writeTime = writeTime;
+        }
+
+        static <OUT> Node<OUT> sentinel() {
+            final Node<OUT> sentinel = new Node<>(
+                                                  null, 0);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            sentinel.writePrev = sentinel;
+            sentinel.writeNext = sentinel;
+            return sentinel;
+        }
+    }
+
+    private static final class LoadResult<OUT> {
+        OUT value;
+        Node<OUT> replaced;
+        Node<OUT> created;
+    }
+
+    private static interface ValueReference<OUT> {
+        Node<OUT> node();
+    }
+
+    private static final class WeakValue<OUT> extends WeakReference<OUT> implements ValueReference<OUT> {
+        private final Node<OUT> node;
+
+        WeakValue(final OUT value, final ReferenceQueue<Object> queue, final Node<OUT> node) {
+            super(value, queue);
+            this.node = node;
+        }
+
+        @Override
+        public Node<OUT> node() {
+            return node;
+        }
+    }
+
+    private static final class SoftValue<OUT> extends SoftReference<OUT> implements ValueReference<OUT> {
+        private final Node<OUT> node;
+
+        SoftValue(final OUT value, final ReferenceQueue<Object> queue, final Node<OUT> node) {
+            super(value, queue);
+            this.node = node;
+        }
+
+        @Override
+        public Node<OUT> node() {
+            return node;
+        }
+    }
+
+    /**
+     * Builder for BoundedCache instances
+     *
+     * @param <OUT> Type of cached values
+     */
+    public static class Builder<OUT> {
+        private long maximumSize = UNBOUNDED;
+        private long expireAfterWriteNanos = UNBOUNDED;
+        private long refreshAfterWriteNanos = UNBOUNDED;
+        private ValueStrength valueStrength = ValueStrength.STRONG;
+        private Executor refreshExecutor = ForkJoinPool.commonPool();
+        private LongSupplier ticker = System::nanoTime;
+        private boolean recordStats = false;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maximumSize Maximum number of entries to retain, least valuable entries are evicted once exceeded
+         * @return This builder
+         */
+        public Builder<OUT> maximumSize(final long maximumSize) {
+            if (maximumSize < 0)
+                throw new IllegalArgumentException(
+                                                   "maximumSize must not be negative : " + maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @param duration Time after writing that an entry is considered expired
+         * @param unit Unit for duration
+         * @return This builder
+         */
+        public Builder<OUT> expireAfterWrite(final long duration, final TimeUnit unit) {
+            this.expireAfterWriteNanos = toNanos("expireAfterWrite", duration, unit);
+            return this;
+        }
+
+        /**
+         * @param duration Time after writing that the next read of an entry triggers an asynchronous reload
+         * @param unit Unit for duration
+         * @return This builder
+         */
+        public Builder<OUT> refreshAfterWrite(final long duration, final TimeUnit unit) {
+            this.refreshAfterWriteNanos = toNanos("refreshAfterWrite", duration, unit);
+            return this;
+        }
+
+        /**
+         * @param refreshExecutor Executor to perform asynchronous refreshes on (defaults to the common ForkJoinPool)
+         * @return This builder
+         */
+        public Builder<OUT> refreshExecutor(final Executor refreshExecutor) {
+            this.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        /**
+         * Hold values via WeakReferences, values are removed once no longer strongly reachable elsewhere
+         *
+         * @return This builder
+         */
+        public Builder<OUT> weakValues() {
+            this.valueStrength = ValueStrength.WEAK;
+            return this;
+        }
+
+        /**
+         * Hold values via SoftReferences, values are removed in response to memory pressure
+         *
+         * @return This builder
+         */
+        public Builder<OUT> softValues() {
+            this.valueStrength = ValueStrength.SOFT;
+            return this;
+        }
+
+        /**
+         * Record hit, miss, load and eviction statistics
+         *
+         * @return This builder
+         */
+        public Builder<OUT> recordStats() {
+            this.recordStats = true;
+            return this;
+        }
+
+        /**
+         * @param ticker Nanosecond time source (defaults to System::nanoTime)
+         * @return This builder
+         */
+        public Builder<OUT> ticker(final LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * @return Configured BoundedCache
+         */
+        public BoundedCache<OUT> build() {
+            return new BoundedCache<>(
+                                      this);
+        }
+
+        private static long toNanos(final String name, final long duration, final TimeUnit unit) {
+            if (duration < 0)
+                throw new IllegalArgumentException(
+                                                   name + " must not be negative : " + duration);
+            return unit.toNanos(duration);
+        }
+    }
+}
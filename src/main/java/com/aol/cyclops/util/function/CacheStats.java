@@ -0,0 +1,58 @@
+package com.aol.cyclops.util.function;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of the statistics recorded by a {@link BoundedCache}
+ *
+ * <pre>
+ * {@code
+ *   BoundedCache<Integer> cache = BoundedCache.<Integer>builder()
+ *                                             .maximumSize(1000)
+ *                                             .recordStats()
+ *                                             .build();
+ *
+ *   Function<Integer,Integer> fn = Memoize.memoizeFunction(i->i*2,cache);
+ *   fn.apply(10);
+ *   fn.apply(10);
+ *
+ *   cache.stats().hitRate(); //0.5
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+@Value
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long loadFailureCount;
+    private final long refreshCount;
+    private final long evictionCount;
+
+    /**
+     * @return Total number of lookups (hits + misses)
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return Ratio of lookups that were served from the cache, 1.0 if no lookups have been made
+     */
+    public double hitRate() {
+        final long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return Ratio of lookups that required the value to be computed, 0.0 if no lookups have been made
+     */
+    public double missRate() {
+        final long requests = requestCount();
+        return requests == 0 ? 0.0 : (double) missCount / requests;
+    }
+}
@@ -4,7 +4,12 @@ import static org.jooq.lambda.tuple.Tuple.tuple;
 
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -15,6 +20,7 @@ import org.jooq.lambda.tuple.Tuple2;
 import org.jooq.lambda.tuple.Tuple3;
 import org.jooq.lambda.tuple.Tuple4;
 
+import com.aol.cyclops.react.ThreadPools;
 import com.aol.cyclops.util.ExceptionSoftener;
 
 import lombok.val;
@@ -211,4 +217,144 @@ public class Memoize {
         return (t) -> memoised.apply(t);
     }
 
+    /**
+     * Convert a Function into one where concurrent calls with the same input share a single execution, rather than each
+     * running the Function. Results are not cached, once the shared execution completes the next call runs the Function
+     * again. Inputs must not be null.
+     *
+     * @param fn Function to coalesce calls to
+     * @return Single-flight Function
+     */
+    public static <T, R> Function<T, R> singleFlightFunction(final Function<T, R> fn) {
+        return singleFlightFunction(fn, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Convert a Function into one where concurrent calls with the same input share a single execution, and successful
+     * results are cached for a short time afterwards. Inputs must not be null.
+     *
+     * @param fn Function to coalesce calls to
+     * @param ttl Time to cache successful results for
+     * @param unit Unit for ttl
+     * @return Single-flight Function
+     */
+    public static <T, R> Function<T, R> singleFlightFunction(final Function<T, R> fn, final long ttl, final TimeUnit unit) {
+        final Function<T, CompletableFuture<R>> async = singleFlightAsync(t -> CompletableFuture.completedFuture(fn.apply(t)), ttl, unit);
+        return t -> {
+            try {
+                return async.apply(t)
+                            .join();
+            } catch (final CompletionException e) {
+                throw ExceptionSoftener.throwSoftenedException(e.getCause() == null ? e : e.getCause());
+            }
+        };
+    }
+
+    /**
+     * Convert an asynchronous Function into one where concurrent calls with the same input share one in-flight
+     * CompletableFuture, protecting the service behind the Function from a thundering herd (e.g. when a cached value
+     * expires). Once the CompletableFuture completes the next call starts a new one. Inputs must not be null.
+     *
+     * <pre>
+     * {@code
+     *  Function<String, CompletableFuture<User>> load = Memoize.singleFlightAsync(client::loadUser);
+     *
+     *  load.apply("user-1"); //starts a call
+     *  load.apply("user-1"); //shares the first call while it is running
+     * }
+     * </pre>
+     *
+     * @param fn Function that starts an asynchronous call
+     * @return Single-flight Function
+     */
+    public static <T, R> Function<T, CompletableFuture<R>> singleFlightAsync(final Function<T, ? extends CompletableFuture<? extends R>> fn) {
+        return singleFlightAsync(fn, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Convert an asynchronous Function into one where concurrent calls with the same input share one in-flight
+     * CompletableFuture, and successful results are cached for a short time afterwards. Failures are never cached.
+     * Inputs must not be null.
+     *
+     * @param fn Function that starts an asynchronous call
+     * @param ttl Time to cache successful results for
+     * @param unit Unit for ttl
+     * @return Single-flight Function
+     */
+    public static <T, R> Function<T, CompletableFuture<R>> singleFlightAsync(final Function<T, ? extends CompletableFuture<? extends R>> fn,
+            final long ttl, final TimeUnit unit) {
+        final ConcurrentMap<T, Flight<R>> flights = new ConcurrentHashMap<>();
+        final long ttlNanos = unit.toNanos(ttl);
+        final ScheduledExecutorService expiry = ttlNanos > 0 ? ThreadPools.getSequentialRetry() : null;
+        //a copy, so callers can't complete or cancel the shared CompletableFuture
+        return t -> join(flights, t, fn, ttlNanos, expiry).thenApply(Function.identity());
+    }
+
+    /**
+     * Convert a Supplier into one where concurrent calls share a single execution, see {@link #singleFlightFunction(Function)}
+     *
+     * @param s Supplier to coalesce calls to
+     * @return Single-flight Supplier
+     */
+    public static <T> Supplier<T> singleFlightSupplier(final Supplier<T> s) {
+        return singleFlightSupplier(s, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Convert a Supplier into one where concurrent calls share a single execution, see
+     * {@link #singleFlightFunction(Function, long, TimeUnit)}
+     *
+     * @param s Supplier to coalesce calls to
+     * @param ttl Time to cache a successful result for, 0 to not cache it
+     * @param unit Unit for ttl
+     * @return Single-flight Supplier
+     */
+    public static <T> Supplier<T> singleFlightSupplier(final Supplier<T> s, final long ttl, final TimeUnit unit) {
+        final Function<Object, T> single = singleFlightFunction(k -> s.get(), ttl, unit);
+        return () -> single.apply("k");
+    }
+
+    private static <T, R> CompletableFuture<R> join(final ConcurrentMap<T, Flight<R>> flights, final T key,
+            final Function<T, ? extends CompletableFuture<? extends R>> fn, final long ttlNanos, final ScheduledExecutorService expiry) {
+        while (true) {
+            final Flight<R> existing = flights.get(key);
+            if (existing != null) {
+                if (existing.expires > System.nanoTime())
+                    return existing.future;
+                flights.remove(key, existing);
+                continue;
+            }
+            final Flight<R> flight = new Flight<>();
+            if (flights.putIfAbsent(key, flight) != null)
+                continue;
+            final CompletableFuture<? extends R> started;
+            try {
+                started = fn.apply(key);
+            } catch (final Throwable e) {
+                flights.remove(key, flight);
+                flight.future.completeExceptionally(e);
+                return flight.future;
+            }
+            started.whenComplete((value, error) -> {
+                if (error == null && ttlNanos > 0) {
+                    flight.expires = System.nanoTime() + ttlNanos;
+                    expiry.schedule(() -> flights.remove(key, flight), ttlNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    flights.remove(key, flight);
+                }
+                if (error == null)
+                    flight.future.complete(value);
+                else
+                    flight.future.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                            : error);
+            });
+            return flight.future;
+        }
+    }
+
+    private static class Flight<R> {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        volatile long expires = Long.MAX_VALUE;
+    }
+
 }
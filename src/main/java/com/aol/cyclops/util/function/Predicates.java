@@ -2,7 +2,6 @@ package com.aol.cyclops.util.function;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -17,6 +16,8 @@ import com.aol.cyclops.control.Maybe;
 import com.aol.cyclops.control.ReactiveSeq;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 import com.aol.cyclops.internal.matcher2.ADTPredicateBuilder;
+import com.aol.cyclops.internal.matcher2.TypeGuard;
+import com.aol.cyclops.internal.matcher2.ValueGuard;
 import com.aol.cyclops.types.Value;
 
 import lombok.NoArgsConstructor;
@@ -701,7 +702,8 @@ public class Predicates {
      */
     public static <V> Predicate<V> eq(final V value) {
 
-        return test -> Objects.equals(test, value);
+        return new ValueGuard<>(
+                                value);
     }
 
     /**
@@ -826,7 +828,8 @@ public static <T1> Predicate<Iterable<? super T1>> endsWith(final T1... items) {
 
 public static <T1> Predicate<? super T1> instanceOf(final Class<?> clazz) {
 
-        return test -> clazz.isAssignableFrom(test.getClass());
+        return new TypeGuard<>(
+                               clazz);
     }
 
     @SafeVarargs
@@ -0,0 +1,93 @@
+package com.aol.cyclops.util.function;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries as a proportion of calls, so when a downstream service fails retrying can't multiply the load on it. Every
+ * call deposits ratio tokens, each retry withdraws one, and tokens accumulate up to the reserve. Share one RetryBudget
+ * between all the {@link RetryPolicy} instances that call the same service.
+ *
+ * <pre>
+ * {@code
+ *  //allow a burst of 10 retries, and 1 retry for every 10 calls after that
+ *  RetryBudget budget = RetryBudget.of(0.1, 10);
+ *
+ *  RetryPolicy policy = RetryPolicy.decorrelatedJitter(5, 100, 5000, TimeUnit.MILLISECONDS)
+ *                                  .withBudget(budget);
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxTokens;
+    private final AtomicLong tokens;
+
+    private RetryBudget(final double ratio, final int reserve) {
+        if (ratio < 0 || reserve < 0)
+            throw new IllegalArgumentException(
+                                               "Retry budget ratio and reserve can't be negative");
+        this.deposit = (long) (ratio * SCALE);
+        this.maxTokens = Math.max(1, reserve) * SCALE;
+        this.tokens = new AtomicLong(
+                                     reserve * SCALE);
+    }
+
+    /**
+     * @param ratio Retries permitted per call (e.g. 0.1 for 10%)
+     * @param reserve Retries permitted before any calls have been made, and the most that can accumulate
+     * @return RetryBudget
+     */
+    public static RetryBudget of(final double ratio, final int reserve) {
+        return new RetryBudget(
+                               ratio, reserve);
+    }
+
+    /**
+     * @return RetryBudget that never prevents a retry
+     */
+    public static RetryBudget unlimited() {
+        return new RetryBudget(
+                               0, 0) {
+            @Override
+            void deposit() {
+            }
+
+            @Override
+            boolean tryWithdraw() {
+                return true;
+            }
+
+            @Override
+            public long available() {
+                return Long.MAX_VALUE;
+            }
+        };
+    }
+
+    void deposit() {
+        tokens.accumulateAndGet(deposit, (current, add) -> Math.min(maxTokens, current + add));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE)
+                return false;
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * @return Number of retries currently permitted
+     */
+    public long available() {
+        return tokens.get() / SCALE;
+    }
+}
@@ -0,0 +1,190 @@
+package com.aol.cyclops.util.function;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+
+import com.aol.cyclops.data.collections.extensions.persistent.PVectorX;
+import com.aol.cyclops.react.ThreadPools;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.Builder;
+import lombok.experimental.Wither;
+
+/**
+ * Non-blocking retry policy. Failed attempts are retried by scheduling the next attempt on a timer, rather than sleeping the
+ * calling thread, so retrying inside a thread pool doesn't tie up it's threads for the backoff.
+ *
+ * Delays either double from baseDelayMillis, or use decorrelated jitter (each delay is random between baseDelayMillis and
+ * three times the previous delay), which spreads out retries from many callers that failed at the same time. Both are capped
+ * at maxDelayMillis. Exception types can be given their own policy, and a {@link RetryBudget} shared between calls caps the
+ * total number of retries.
+ *
+ * <pre>
+ * {@code
+ *  RetryPolicy policy = RetryPolicy.decorrelatedJitter(5, 100, 5000, TimeUnit.MILLISECONDS)
+ *                                  .on(TimeoutException.class, RetryPolicy.exponential(10, 10, TimeUnit.MILLISECONDS))
+ *                                  .abortOn(IllegalArgumentException.class)
+ *                                  .withBudget(RetryBudget.of(0.1, 10));
+ *
+ *  CompletableFuture<User> user = FluentFunctions.of(this::loadUser)
+ *                                                .retryAsync(policy, executor)
+ *                                                .apply(id);
+ * }
+ * </pre>
+ *
+ * @author johnmcclean
+ *
+ */
+@AllArgsConstructor
+@Getter
+@Wither
+@Builder
+public class RetryPolicy {
+
+    /**
+     * Maximum number of attempts, including the first
+     */
+    private final int maxAttempts;
+    /**
+     * Delay before the first retry, and the minimum delay when jittered
+     */
+    private final long baseDelayMillis;
+    /**
+     * Maximum delay between attempts
+     */
+    private final long maxDelayMillis;
+    /**
+     * Use decorrelated jitter rather than doubling delays
+     */
+    private final boolean jitter;
+    /**
+     * Budget shared across calls, checked before every retry
+     */
+    private final RetryBudget budget;
+    /**
+     * Policies (maximum attempts and delays) for particular exception types, the first matching type is used
+     */
+    private final PVectorX<Tuple2<Class<? extends Throwable>, RetryPolicy>> exceptionPolicies;
+    /**
+     * Schedules retries
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param maxAttempts Maximum number of attempts, including the first
+     * @param baseDelay Delay before the first retry, doubled for each subsequent retry
+     * @param unit Unit for baseDelay
+     * @return Exponential backoff policy, with no budget
+     */
+    public static RetryPolicy exponential(final int maxAttempts, final long baseDelay, final TimeUnit unit) {
+        return new RetryPolicy(
+                               maxAttempts, unit.toMillis(baseDelay), Long.MAX_VALUE, false, RetryBudget.unlimited(),
+                               PVectorX.empty(), ThreadPools.getSequentialRetry());
+    }
+
+    /**
+     * @param maxAttempts Maximum number of attempts, including the first
+     * @param baseDelay Minimum delay between attempts
+     * @param maxDelay Maximum delay between attempts
+     * @param unit Unit for baseDelay and maxDelay
+     * @return Decorrelated jitter policy, with no budget
+     */
+    public static RetryPolicy decorrelatedJitter(final int maxAttempts, final long baseDelay, final long maxDelay, final TimeUnit unit) {
+        return new RetryPolicy(
+                               maxAttempts, unit.toMillis(baseDelay), unit.toMillis(maxDelay), true, RetryBudget.unlimited(),
+                               PVectorX.empty(), ThreadPools.getSequentialRetry());
+    }
+
+    /**
+     * @param type Exception type
+     * @param policy Policy to use when an attempt fails with this exception type (or a subtype), it's budget, scheduler and
+     *            exception policies are ignored
+     * @return RetryPolicy with an additional exception policy
+     */
+    public RetryPolicy on(final Class<? extends Throwable> type, final RetryPolicy policy) {
+        return withExceptionPolicies(exceptionPolicies.plus(Tuple.tuple(type, policy)));
+    }
+
+    /**
+     * @param types Exception types that should never be retried
+     * @return RetryPolicy that fails immediately on the supplied exception types
+     */
+    @SafeVarargs
+    public final RetryPolicy abortOn(final Class<? extends Throwable>... types) {
+        RetryPolicy result = this;
+        for (final Class<? extends Throwable> type : types)
+            result = result.on(type, withMaxAttempts(1));
+        return result;
+    }
+
+    /**
+     * Make a call, retrying failures according to this policy. The Supplier is called again for each attempt, from the
+     * scheduler thread, so it should start an asynchronous call rather than block.
+     *
+     * @param attempt Starts an attempt
+     * @return Result of the first successful attempt, or the failure of the last attempt
+     */
+    public <R> CompletableFuture<R> call(final Supplier<? extends CompletableFuture<? extends R>> attempt) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        budget.deposit();
+        attempt(attempt, result, 1, 0);
+        return result;
+    }
+
+    private <R> void attempt(final Supplier<? extends CompletableFuture<? extends R>> attempt, final CompletableFuture<R> result,
+            final int count, final long previousDelay) {
+        if (result.isDone())
+            return;
+        CompletableFuture<? extends R> future;
+        try {
+            future = attempt.get();
+        } catch (final Throwable t) {
+            final CompletableFuture<R> failed = new CompletableFuture<>();
+            failed.completeExceptionally(t);
+            future = failed;
+        }
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            final RetryPolicy policy = policyFor(cause);
+            if (count >= policy.maxAttempts || !budget.tryWithdraw()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            final long delay = policy.nextDelay(previousDelay);
+            scheduler.schedule(() -> attempt(attempt, result, count + 1, delay), delay, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private RetryPolicy policyFor(final Throwable error) {
+        for (final Tuple2<Class<? extends Throwable>, RetryPolicy> policy : exceptionPolicies)
+            if (policy.v1.isInstance(error))
+                return policy.v2;
+        return this;
+    }
+
+    /**
+     * @param previousDelay Previous delay in milliseconds, 0 before the first retry
+     * @return Delay in milliseconds before the next retry
+     */
+    long nextDelay(final long previousDelay) {
+        final long base = Math.min(baseDelayMillis, maxDelayMillis);
+        if (!jitter)
+            return previousDelay == 0 ? base : Math.min(maxDelayMillis, previousDelay > maxDelayMillis / 2 ? maxDelayMillis : previousDelay * 2);
+        final long upper = Math.min(maxDelayMillis, Math.max(base, previousDelay) > maxDelayMillis / 3 ? maxDelayMillis
+                : Math.max(base, previousDelay) * 3);
+        return upper <= base ? base : ThreadLocalRandom.current()
+                                                       .nextLong(base, upper + 1);
+    }
+}
@@ -4,8 +4,10 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 
+import java.lang.ref.WeakReference;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.jooq.lambda.Seq;
@@ -78,6 +80,72 @@ public class EvalTest {
 		assertThat(count,equalTo(1));
 	}
 	@Test
+	public void laterCachesFlatMap(){
+		count = 0;
+		Eval<Integer> eval = Eval.later(()->1).flatMap(i->{
+			count++;
+			return Eval.now(i+2);
+		});
+		eval.get();
+		assertThat(eval.get(),equalTo(3));
+		assertThat(count,equalTo(1));
+	}
+	@Test
+	public void laterDeepMapChain(){
+		Eval<Integer> eval = Eval.later(()->0);
+		for(int i=0;i<100_000;i++)
+			eval = eval.map(x->x+1);
+		assertThat(eval.get(),equalTo(100_000));
+	}
+	@Test
+	public void alwaysDeepMapChain(){
+		Eval<Integer> eval = Eval.always(()->0);
+		for(int i=0;i<100_000;i++)
+			eval = eval.map(x->x+1);
+		assertThat(eval.get(),equalTo(100_000));
+	}
+	@Test
+	public void laterNullValue(){
+		count = 0;
+		Eval<Integer> eval = Eval.later(()->{
+			count++;
+			return null;
+		});
+		eval.get();
+		eval.get();
+		assertThat(count,equalTo(1));
+	}
+	@Test
+	public void laterEvaluatesOnceConcurrently(){
+		AtomicInteger calls = new AtomicInteger(0);
+		Eval<Integer> eval = Eval.later(()->calls.incrementAndGet())
+		                         .map(i->i+1);
+		ReactiveSeq.range(0,1000)
+		           .parallel()
+		           .forEach(i->eval.get());
+		assertThat(calls.get(),equalTo(1));
+	}
+	WeakReference<Object> source;
+	private Eval<Integer> chainOverSource(){
+		Object value = new Object();
+		source = new WeakReference<>(value);
+		return Eval.later(()->value)
+		           .map(o->1)
+		           .flatMap(i->Eval.later(()->i+1))
+		           .map(i->i+1);
+	}
+	@Test
+	public void evaluatedLaterReleasesSource() throws InterruptedException{
+		Eval<Integer> eval = chainOverSource();
+		assertThat(eval.get(),equalTo(3));
+		for(int i=0;i<50 && source.get()!=null;i++){
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertThat(source.get(),equalTo(null));
+		assertThat(eval.get(),equalTo(3));
+	}
+	@Test
 	public void always(){
 		assertThat(Eval.always(()->1).map(i->i+2).get(),equalTo(3));
 	}
@@ -113,6 +113,14 @@ public class FutureWTest {
         assertThat(strings.get().size(), is(equalTo(1)));
     }
 	@Test
+    public void testBreakoutCancelsRemaining(){
+        FutureW<Integer> remaining = FutureW.future();
+        FutureW<ListX<Integer>> strings = FutureW.quorum(status -> status.getCompleted() >0, FutureW.ofResult(1),remaining);
+
+        assertThat(strings.get().size(), is(equalTo(1)));
+        assertThat(remaining.getFuture().isCancelled(), is(true));
+    }
+	@Test
     public void testApFeatureToggle() {
         
         assertThat(just.combine(FeatureToggle.enable(20),this::add).get(),equalTo(30));
@@ -0,0 +1,162 @@
+package com.aol.cyclops.data.async;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.aol.cyclops.data.async.Queue.ClosedQueueException;
+import com.aol.cyclops.data.async.Queue.QueueTimeoutException;
+
+public class QueueMetricsTest {
+
+    StripedQueueMetrics metrics = QueueMetrics.striped();
+
+    @Test
+    public void disabledByDefault() {
+        assertThat(new Queue<Integer>().getMetrics()
+                                       .isEnabled(),
+                   equalTo(false));
+    }
+
+    @Test
+    public void enqueueDequeue() {
+        Queue<Integer> q = QueueFactories.<Integer> unboundedNonBlockingQueue()
+                                         .withMetrics(() -> metrics)
+                                         .build();
+        q.offer(1);
+        q.offer(2);
+        q.add(3);
+        q.get();
+        QueueStats stats = metrics.stats();
+        assertThat(stats.getEnqueued(), equalTo(3l));
+        assertThat(stats.getDequeued(), equalTo(1l));
+        assertThat(stats.depth(), equalTo(2l));
+        assertThat(stats.enqueueRate(), greaterThan(0.0));
+    }
+
+    @Test
+    public void timeouts() {
+        Queue<Integer> q = new Queue<Integer>().withTimeout(1)
+                                               .withTimeUnit(TimeUnit.MILLISECONDS);
+        q.setMetrics(metrics);
+        try {
+            q.get();
+        } catch (QueueTimeoutException e) {
+
+        }
+        assertThat(metrics.stats()
+                          .getTimeouts(),
+                   equalTo(1l));
+        assertThat(metrics.stats()
+                          .getConsumerWaitNanos(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void poisonPills() {
+        Queue<Integer> q = new Queue<>();
+        q.setMetrics(metrics);
+        q.stream();
+        q.close();
+        try {
+            q.get();
+        } catch (ClosedQueueException e) {
+
+        }
+        assertThat(metrics.stats()
+                          .getPoisonPills(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void queueStream() {
+        Queue<Integer> q = QueueFactories.<Integer> boundedQueue(100)
+                                         .withMetrics(() -> metrics)
+                                         .build();
+        for (int i = 0; i < 10; i++)
+            q.offer(i);
+        q.close();
+        assertThat(q.stream()
+                    .toList()
+                    .size(),
+                   equalTo(10));
+        assertThat(metrics.stats()
+                          .getDequeued(),
+                   equalTo(10l));
+    }
+
+    @Test
+    public void reset() {
+        Queue<Integer> q = new Queue<>();
+        q.setMetrics(metrics);
+        q.offer(1);
+        metrics.reset();
+        assertThat(metrics.stats()
+                          .getEnqueued(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void topicSubscriberLag() {
+        Topic<Integer> topic = new Topic<>();
+        List<StripedQueueMetrics> subscribers = new CopyOnWriteArrayList<>();
+        topic.setMetrics(() -> {
+            StripedQueueMetrics m = QueueMetrics.striped();
+            subscribers.add(m);
+            return m;
+        });
+        topic.stream();
+        topic.stream();
+        topic.offer(1);
+        topic.offer(2);
+        topic.getDistributor()
+             .getSubscribers()
+             .get(0)
+             .get();
+        assertThat(topic.subscriberLag(), equalTo(Arrays.asList(1, 2)));
+        assertThat(subscribers.get(subscribers.size() - 2)
+                              .stats()
+                              .depth(),
+                   equalTo(1l));
+        assertThat(subscribers.get(subscribers.size() - 1)
+                              .stats()
+                              .depth(),
+                   equalTo(2l));
+    }
+
+    @Test
+    public void signal() {
+        Signal<Integer> signal = Signal.queueBackedSignal();
+        signal.setMetrics(() -> metrics);
+        signal.set(1);
+        signal.set(1);
+        signal.set(2);
+        assertThat(metrics.stats()
+                          .getEnqueued(),
+                   equalTo(5l));
+    }
+
+    @Test
+    public void sizeSignalTracksDepth() {
+        Queue<Integer> q = QueueFactories.<Integer> unboundedNonBlockingQueue()
+                                         .build();
+        q.offer(1);
+        Signal<Integer> sizes = Signal.queueBackedSignal();
+        q.setSizeSignal(sizes);
+        q.offer(2);
+        q.offer(3);
+        q.get();
+        assertThat(sizes.getContinuous()
+                        .stream()
+                        .limit(3)
+                        .toList(),
+                   equalTo(Arrays.asList(2, 3, 2)));
+    }
+}
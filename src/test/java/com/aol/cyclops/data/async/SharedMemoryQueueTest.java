@@ -0,0 +1,144 @@
+package com.aol.cyclops.data.async;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.stream.Serializer;
+
+/**
+ * Each Queue maps the file independently, as a Queue in another process would
+ */
+public class SharedMemoryQueueTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file() throws IOException {
+        return new File(
+                        folder.getRoot(), "ring");
+    }
+
+    @Test
+    public void offerAndStream() throws IOException {
+        final File file = file();
+        final Queue<Integer> producer = QueueFactories.sharedMemoryQueue(file, 64 * 1024, Serializer.ints())
+                                                      .build();
+        final Queue<Integer> consumer = QueueFactories.sharedMemoryQueue(file, 64 * 1024, Serializer.ints())
+                                                      .build();
+        for (int i = 0; i < 1000; i++)
+            producer.offer(i);
+        producer.disconnectStreams(1);
+        assertThat(consumer.size(), equalTo(1001));
+        assertThat(consumer.stream()
+                           .toList(),
+                   equalTo(ReactiveSeq.range(0, 1000)
+                                      .toList()));
+    }
+
+    @Test
+    public void nulls() throws IOException {
+        final File file = file();
+        final Queue<String> producer = QueueFactories.sharedMemoryQueue(file, 1024, Serializer.strings())
+                                                     .build();
+        producer.offer("a");
+        producer.offer(null);
+        producer.offer("b");
+        producer.disconnectStreams(1);
+        assertThat(QueueFactories.sharedMemoryQueue(file, 1024, Serializer.strings())
+                                 .build()
+                                 .stream()
+                                 .toList(),
+                   equalTo(ListX.of("a", null, "b")));
+    }
+
+    @Test
+    public void fullRingRejectsOffers() throws IOException {
+        final MappedRingBufferQueue<Long> queue = new MappedRingBufferQueue<>(
+                                                                              file(), 1024, Serializer.longs(), true);
+        int offered = 0;
+        while (queue.offer((long) offered))
+            offered++;
+        assertThat(offered > 0 && offered < 1024 / 8, equalTo(true));
+        assertThat(queue.size(), equalTo(offered));
+        assertThat(queue.peek(), equalTo(0l));
+        for (long i = 0; i < offered; i++)
+            assertThat(queue.poll(), equalTo(i));
+        assertThat(queue.poll(), equalTo(null));
+        assertThat(queue.offer((long) offered), equalTo(true));
+        assertThat(queue.size(), equalTo(1));
+    }
+
+    @Test
+    public void manyProducers() throws Exception {
+        final File file = file();
+        final Queue<Integer> consumer = QueueFactories.sharedMemoryQueue(file, 4096, Serializer.ints())
+                                                      .build();
+        final List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            final int start = p * 10_000;
+            final Queue<Integer> producer = QueueFactories.sharedMemoryQueue(file, 4096, Serializer.ints())
+                                                          .build();
+            producers.add(new Thread(
+                                     () -> {
+                                         for (int i = start; i < start + 10_000; i++)
+                                             producer.offer(i);
+                                     }));
+        }
+        producers.forEach(Thread::start);
+        final List<Integer> result = consumer.stream()
+                                             .limit(40_000)
+                                             .sorted()
+                                             .toList();
+        for (final Thread producer : producers)
+            producer.join();
+        assertThat(result, equalTo(ReactiveSeq.range(0, 40_000)
+                                              .toList()));
+    }
+
+    @Test
+    public void singleWriterWithLazyFutureStream() throws Exception {
+        final File file = file();
+        final Queue<String> producer = QueueFactories.singleWriterSharedMemoryQueue(file, 4096, Serializer.strings())
+                                                     .build();
+        final Thread thread = new Thread(
+                                         () -> {
+                                             for (int i = 0; i < 5_000; i++)
+                                                 producer.offer("event " + i);
+                                             producer.disconnectStreams(1);
+                                         });
+        thread.start();
+        final List<String> result = new LazyReact().fromAdapter(QueueFactories.singleWriterSharedMemoryQueue(file, 4096, Serializer.strings())
+                                                                              .build())
+                                                   .map(s -> s.substring(6))
+                                                   .toList();
+        thread.join();
+        assertThat(result.stream()
+                         .map(Integer::valueOf)
+                         .sorted()
+                         .collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(0, 5_000)
+                                      .toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMismatch() throws IOException {
+        final File file = file();
+        QueueFactories.sharedMemoryQueue(file, 1024, Serializer.ints())
+                      .build();
+        QueueFactories.sharedMemoryQueue(file, 2048, Serializer.ints())
+                      .build();
+    }
+}
@@ -0,0 +1,221 @@
+package com.aol.cyclops.data.async;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.stream.FsyncPolicy;
+import com.aol.cyclops.types.stream.Serializer;
+
+public class SpillingQueueTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SpillingQueueConfig<Integer> config(final int maxInMemory) {
+        return SpillingQueueConfig.of(Serializer.ints())
+                                  .withMaxInMemory(maxInMemory)
+                                  .withSegmentBytes(1024)
+                                  .withDirectory(folder.getRoot());
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> dirs = Files.walk(folder.getRoot()
+                                                  .toPath())) {
+            return dirs.filter(p -> p.getFileName()
+                                     .toString()
+                                     .startsWith("segment-"))
+                       .collect(Collectors.toList());
+        }
+    }
+
+    private List<Integer> poll(final SpillingBlockingQueue<Integer> queue, final int count) {
+        final List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < count; i++)
+            result.add(queue.poll());
+        return result;
+    }
+
+    @Test
+    public void heldInMemory() throws IOException {
+        final SpillingBlockingQueue<Integer> queue = new SpillingBlockingQueue<>(
+                                                                                 config(10));
+        for (int i = 0; i < 10; i++)
+            queue.offer(i);
+        assertThat(segments().size(), equalTo(0));
+        assertThat(poll(queue, 10), equalTo(ReactiveSeq.range(0, 10)
+                                                       .toList()));
+        assertThat(queue.poll(), equalTo(null));
+    }
+
+    @Test
+    public void spillsInOrder() throws IOException {
+        final SpillingBlockingQueue<Integer> queue = new SpillingBlockingQueue<>(
+                                                                                 config(10));
+        for (int i = 0; i < 10_000; i++)
+            queue.offer(i);
+        assertThat(queue.size(), equalTo(10_000));
+        assertThat(segments().size() > 1, equalTo(true));
+        assertThat(poll(queue, 10_000), equalTo(ReactiveSeq.range(0, 10_000)
+                                                           .toList()));
+        assertThat(queue.size(), equalTo(0));
+        assertThat(segments().size(), equalTo(1));
+    }
+
+    @Test
+    public void interleaved() {
+        final SpillingBlockingQueue<Integer> queue = new SpillingBlockingQueue<>(
+                                                                                 config(5));
+        final List<Integer> result = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 20; i++)
+                queue.offer(next++);
+            result.addAll(poll(queue, 15));
+        }
+        result.addAll(poll(queue, queue.size()));
+        assertThat(result, equalTo(ReactiveSeq.range(0, 2000)
+                                              .toList()));
+    }
+
+    @Test
+    public void peekDoesNotConsume() {
+        final SpillingBlockingQueue<Integer> queue = new SpillingBlockingQueue<>(
+                                                                                 config(1));
+        for (int i = 0; i < 300; i++)
+            queue.offer(i);
+        queue.poll();
+        assertThat(queue.peek(), equalTo(1));
+        assertThat(queue.peek(), equalTo(1));
+        assertThat(poll(queue, 299), equalTo(ReactiveSeq.range(1, 300)
+                                                        .toList()));
+    }
+
+    @Test
+    public void clear() {
+        final SpillingBlockingQueue<Integer> queue = new SpillingBlockingQueue<>(
+                                                                                 config(1));
+        for (int i = 0; i < 300; i++)
+            queue.offer(i);
+        queue.clear();
+        assertThat(queue.size(), equalTo(0));
+        queue.offer(1);
+        queue.offer(2);
+        assertThat(poll(queue, 2), equalTo(ListX.of(1, 2)));
+    }
+
+    @Test
+    public void asyncQueueNullsAndClose() {
+        final Queue<Integer> queue = QueueFactories.spillingQueue(config(5))
+                                                   .build();
+        final List<Integer> data = ReactiveSeq.range(0, 100)
+                                              .map(i -> i % 10 == 0 ? null : i)
+                                              .toList();
+        data.forEach(queue::offer);
+        queue.close();
+        assertThat(queue.stream()
+                        .toList(),
+                   equalTo(data));
+    }
+
+    @Test
+    public void concurrentProducerAndConsumer() throws InterruptedException {
+        final Queue<Integer> queue = QueueFactories.spillingQueue(config(100))
+                                                   .build();
+        final Thread producer = new Thread(
+                                           () -> {
+                                               for (int i = 0; i < 50_000; i++)
+                                                   queue.offer(i);
+                                               queue.close();
+                                           });
+        producer.start();
+        final List<Integer> result = queue.stream()
+                                          .toList();
+        producer.join();
+        assertThat(result, equalTo(ReactiveSeq.range(0, 50_000)
+                                              .toList()));
+    }
+
+    @Test
+    public void durableRecovery() {
+        final File directory = new File(
+                                        folder.getRoot(), "durable");
+        final SpillingQueueConfig<Integer> config = SpillingQueueConfig.durable(Serializer.ints(), directory)
+                                                                       .withSegmentBytes(256);
+        final SpillingBlockingQueue<Integer> queue = new SpillingBlockingQueue<>(
+                                                                                 config);
+        for (int i = 0; i < 100; i++)
+            queue.offer(i);
+        assertThat(poll(queue, 30), equalTo(ReactiveSeq.range(0, 30)
+                                                       .toList()));
+
+        final SpillingBlockingQueue<Integer> recovered = new SpillingBlockingQueue<>(
+                                                                                     config);
+        assertThat(recovered.size(), equalTo(70));
+        recovered.offer(100);
+        assertThat(poll(recovered, 71), equalTo(ReactiveSeq.range(30, 101)
+                                                           .toList()));
+        assertThat(new SpillingBlockingQueue<>(
+                                               config).size(),
+                   equalTo(0));
+    }
+
+    @Test
+    public void durableRecoveryWithFsync() {
+        for (final FsyncPolicy fsync : FsyncPolicy.values()) {
+            final File directory = new File(
+                                            folder.getRoot(), "durable-" + fsync);
+            final SpillingQueueConfig<Integer> config = SpillingQueueConfig.durable(Serializer.ints(), directory)
+                                                                           .withSegmentBytes(256)
+                                                                           .withFsync(fsync)
+                                                                           .withFsyncMillis(1);
+            final SpillingBlockingQueue<Integer> queue = new SpillingBlockingQueue<>(
+                                                                                     config);
+            for (int i = 0; i < 100; i++)
+                queue.offer(i);
+            poll(queue, 50);
+            assertThat(poll(new SpillingBlockingQueue<>(
+                                                        config),
+                            50),
+                       equalTo(ReactiveSeq.range(50, 100)
+                                          .toList()));
+        }
+    }
+
+    @Test
+    public void durableRecoverySkipsSignals() {
+        final File directory = new File(
+                                        folder.getRoot(), "durable");
+        final SpillingQueueConfig<Integer> config = SpillingQueueConfig.durable(Serializer.ints(), directory);
+        final Queue<Integer> queue = QueueFactories.spillingQueue(config)
+                                                   .build();
+        queue.offer(1);
+        queue.offer(2);
+        queue.stream()
+             .limit(1)
+             .toList();
+        queue.close();
+
+        final Queue<Integer> recovered = QueueFactories.spillingQueue(config)
+                                                       .build();
+        recovered.offer(3);
+        recovered.close();
+        assertThat(recovered.stream()
+                            .toList(),
+                   equalTo(ListX.of(2, 3)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.aol.cyclops.internal.invokedynamic;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.aol.cyclops.types.Decomposable;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+public class FieldExtractorTest {
+
+    @AllArgsConstructor
+    static class Parent {
+        int a;
+    }
+
+    static class Child extends Parent {
+        String b;
+        static int ignored = 100;
+
+        Child(int a, String b) {
+            super(a);
+            this.b = b;
+        }
+    }
+
+    static class Empty {
+    }
+
+    @Value
+    static class Case implements Decomposable {
+        int num;
+        String name;
+        long big;
+    }
+
+    @Test
+    public void superClassFieldsFirst() {
+        assertThat(FieldExtractor.unapply(new Child(1, "hello")), equalTo(Arrays.asList(1, "hello")));
+    }
+
+    @Test
+    public void noFields() {
+        assertThat(FieldExtractor.unapply(new Empty()), equalTo(Collections.emptyList()));
+        assertThat(FieldExtractor.of(Empty.class)
+                                 .arity(),
+                   equalTo(0));
+    }
+
+    @Test
+    public void decomposable() {
+        List<?> values = new Case(
+                                  1, "two", 3l).unapply();
+        assertThat(values, equalTo(Arrays.asList(1, "two", 3l)));
+    }
+
+    @Test
+    public void singleField() {
+        assertThat(FieldExtractor.of(Child.class)
+                                 .get(new Child(1, "hello"), 1),
+                   equalTo("hello"));
+    }
+
+    @Test
+    public void nullValues() {
+        assertThat(FieldExtractor.unapply(new Child(1, null)), equalTo(Arrays.asList(1, null)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOnly() {
+        FieldExtractor.unapply(new Child(1, "hello"))
+                      .add(10);
+    }
+
+    @Test
+    public void repeatedExtraction() {
+        for (int i = 0; i < 10_000; i++)
+            assertThat(FieldExtractor.unapply(new Child(i, "x"))
+                                     .get(0),
+                       equalTo(i));
+    }
+}
@@ -0,0 +1,95 @@
+package com.aol.cyclops.internal.invokedynamic;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class InvokeDynamicSiteTest {
+
+    static class Box {
+        int value;
+
+        Box(int value) {
+            this.value = value;
+        }
+
+        public int get() {
+            return value;
+        }
+
+        public int add(int a, int b) {
+            return value + a + b;
+        }
+
+        public static Box of(int value) {
+            return new Box(value);
+        }
+    }
+
+    static class Other {
+        public String get() {
+            return "other";
+        }
+    }
+
+    @Test
+    public void instanceMethod() {
+        Optional<Integer> result = new InvokeDynamic().execute("get", new Box(10));
+        assertThat(result.get(), equalTo(10));
+    }
+
+    @Test
+    public void instanceMethodWithPrimitiveArgs() {
+        Optional<Integer> result = new InvokeDynamic().execute("add", new Box(10), 1, 2);
+        assertThat(result.get(), equalTo(13));
+    }
+
+    @Test
+    public void staticMethod() {
+        Optional<Box> result = new InvokeDynamic().execute("of", Box.class, 5);
+        assertThat(result.get()
+                         .get(),
+                   equalTo(5));
+    }
+
+    @Test
+    public void missingMethod() {
+        assertFalse(new InvokeDynamic().execute("missing", new Box(10))
+                                       .isPresent());
+        assertFalse(new InvokeDynamic().execute("of", new Box(10), 5)
+                                       .isPresent());
+    }
+
+    @Test
+    public void firstMatchingName() {
+        Optional<Integer> result = new InvokeDynamic().execute(Arrays.asList("missing", "get"), new Box(3));
+        assertThat(result.get(), equalTo(3));
+    }
+
+    @Test
+    public void polymorphicReceivers() {
+        InvokeDynamic.Site site = InvokeDynamic.site("get", 0);
+        for (int i = 0; i < 10; i++) {
+            assertThat(site.execute(new Box(i))
+                           .get(),
+                       equalTo(i));
+            assertThat(site.execute(new Other())
+                           .get(),
+                       equalTo("other"));
+            assertThat(site.execute(Optional.of(i))
+                           .get(),
+                       equalTo(i));
+            assertThat(site.execute(new java.util.concurrent.atomic.AtomicInteger(i))
+                           .get(),
+                       equalTo(i));
+            assertThat(site.execute(new java.util.concurrent.atomic.AtomicLong(i))
+                           .get(),
+                       equalTo((long) i));
+        }
+    }
+}
@@ -105,5 +105,27 @@ public class InvokeDynamicProxiesTest {
             throw new RuntimeException();
         }
     }
+    interface Mapper<T, R> {
+        R transform(T t);
+    }
+    @Value
+    static class PrivateInterfaceStream<T>{
+        T value;
+        public <R> PrivateInterfaceStream<R> map(Mapper<? super T, ? extends R> fn){
+            return new PrivateInterfaceStream<R>(fn.transform(value));
+        }
+    }
+    @Test
+    public void mapNonPublicInterface(){
+       PrivateInterfaceStream<Integer> res = AnyM.<Integer>ofValue(new PrivateInterfaceStream<>(1)).map(i->i+2).unwrap();
+       assertThat(res.getValue(),equalTo(3));
+    }
+    @Test
+    public void mapRepeatedly(){
+       for(int i=0;i<1000;i++){
+           MyStream<Integer> res = AnyM.<Integer>ofValue(MyStream.of(i)).map(x->x+2).unwrap();
+           assertThat(res.get(),equalTo(i+2));
+       }
+    }
 }
 
@@ -3,11 +3,13 @@ package com.aol.cyclops.matcher;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static com.aol.cyclops.util.function.Predicates.__;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.Test;
@@ -15,6 +17,7 @@ import org.junit.Test;
 import com.aol.cyclops.internal.matcher2.Case;
 import com.aol.cyclops.internal.matcher2.Cases;
 import com.aol.cyclops.types.Decomposable;
+import com.aol.cyclops.util.function.Predicates;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -134,4 +137,54 @@ public class CasesTest {
 
 	
 
+	@Test
+	public void compiledTypeDispatch() {
+		Cases<Object,String> cases = Cases.of(Case.of(Predicates.instanceOf(String.class),input->"string"),
+				Case.of(Predicates.instanceOf(Long.class),input->"long"),
+				Case.of((Object input)->input.equals(10),input->"ten"),
+				Case.of(Predicates.instanceOf(Integer.class),input->"int"),
+				Case.of(Predicates.instanceOf(Number.class),input->"number"),
+				Case.of(input->true,input->"other")).compile();
+		assertThat(cases.match((Object)"hello").get(),is("string"));
+		assertThat(cases.match((Object)10).get(),is("ten"));
+		assertThat(cases.match((Object)11).get(),is("int"));
+		assertThat(cases.match((Object)2.0).get(),is("number"));
+		assertThat(cases.match((Object)'c').get(),is("other"));
+	}
+	@Test
+	public void compiledValueDispatchKeepsFirstMatch() {
+		Cases<Object,String> cases = Cases.of(Case.of(Predicates.eq(1),input->"one"),
+				Case.of(Predicates.eq(2),input->"two"),
+				Case.of(Predicates.eq(1),input->"ignored"),
+				Case.of((Object input)->Integer.valueOf(3).equals(input),input->"three"),
+				Case.of(Predicates.eq(3),input->"ignored"),
+				Case.of(Predicates.eq(null),input->"null"));
+		assertThat(cases.matchFromStream(Stream.of(1,2,3,4,1)).collect(Collectors.toList()),
+				is(Arrays.asList("one","two","three","one")));
+		assertThat(cases.match((Object)null).get(),is("null"));
+	}
+	@Test
+	public void compiledADTDispatch() {
+		Cases<Object,String> cases = Cases.of(Case.of(Predicates.type(Person.class).hasGuard("bob",__),input->"bob"),
+				Case.of(Predicates.type(MyClass.class).isGuard(1,__),input->"myclass"),
+				Case.of(Predicates.type(Person.class).hasGuard(__,10),input->"ten"),
+				Case.of(Predicates.type(Person.class).anyValues(),input->"person"));
+		assertThat(cases.match((Object)new Person("bob",10)).get(),is("bob"));
+		assertThat(cases.match((Object)new Person("alice",10)).get(),is("ten"));
+		assertThat(cases.match((Object)new Person("alice",11)).get(),is("person"));
+		assertThat(cases.match((Object)new MyClass(1,"hello")).get(),is("myclass"));
+		assertThat(cases.match((Object)"hello").isPresent(),is(false));
+	}
+	@Test
+	public void ofLargeList() {
+		List<Case<Integer,Integer>> list = IntStream.range(0,10_000)
+													.mapToObj(i->Case.<Integer,Integer>of(Predicates.eq(i),in->in*2))
+													.collect(Collectors.toList());
+		Cases<Integer,Integer> cases = Cases.ofList(list);
+		assertThat(cases.size(),is(10_000));
+		assertThat(cases.get().get(0).match(0).get(),is(0));
+		assertThat(cases.match(9_999).get(),is(19_998));
+		assertThat(cases.match(10_000).isPresent(),is(false));
+	}
+
 }
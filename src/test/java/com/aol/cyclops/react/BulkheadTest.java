@@ -0,0 +1,248 @@
+package com.aol.cyclops.react;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.SimpleReact;
+
+public class BulkheadTest {
+
+    Bulkhead bulkhead;
+
+    @After
+    public void shutdown() {
+        if (bulkhead != null)
+            bulkhead.shutdownNow();
+    }
+
+    private Runnable await(CountDownLatch latch) {
+        return () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+            }
+        };
+    }
+
+    private BulkheadConfig config(RejectionPolicy policy) {
+        return BulkheadConfig.builder()
+                             .name("test")
+                             .coreThreads(1)
+                             .maxThreads(1)
+                             .queueCapacity(1)
+                             .keepAliveMillis(1000)
+                             .rejectionPolicy(policy)
+                             .daemon(true)
+                             .build();
+    }
+
+    @Test
+    public void abortWhenSaturated() {
+        bulkhead = new Bulkhead(
+                                config(RejectionPolicy.ABORT));
+        CountDownLatch latch = new CountDownLatch(
+                                                  1);
+        bulkhead.execute(await(latch));
+        bulkhead.execute(await(latch));
+        try {
+            bulkhead.execute(() -> {
+            });
+            fail("expected rejection");
+        } catch (RejectedExecutionException e) {
+
+        }
+        latch.countDown();
+        assertThat(bulkhead.stats()
+                           .getRejected(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void callerRunsWhenSaturated() {
+        bulkhead = new Bulkhead(
+                                config(RejectionPolicy.CALLER_RUNS));
+        CountDownLatch latch = new CountDownLatch(
+                                                  1);
+        bulkhead.execute(await(latch));
+        bulkhead.execute(await(latch));
+        AtomicReference<Thread> ran = new AtomicReference<>();
+        bulkhead.execute(() -> ran.set(Thread.currentThread()));
+        latch.countDown();
+        assertThat(ran.get(), equalTo(Thread.currentThread()));
+    }
+
+    @Test
+    public void blockWhenSaturated() throws InterruptedException {
+        bulkhead = new Bulkhead(
+                                config(RejectionPolicy.BLOCK));
+        CountDownLatch latch = new CountDownLatch(
+                                                  1);
+        bulkhead.execute(await(latch));
+        bulkhead.execute(await(latch));
+        CountDownLatch done = new CountDownLatch(
+                                                 1);
+        Thread producer = new Thread(
+                                     () -> bulkhead.execute(done::countDown));
+        producer.start();
+        assertThat(done.await(200, TimeUnit.MILLISECONDS), equalTo(false));
+        latch.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(bulkhead.stats()
+                           .getRejected(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void stats() throws InterruptedException {
+        bulkhead = new Bulkhead(
+                                config(RejectionPolicy.ABORT).withQueueCapacity(10));
+        CountDownLatch latch = new CountDownLatch(
+                                                  1);
+        bulkhead.execute(await(latch));
+        bulkhead.execute(() -> {
+        });
+        Thread.sleep(50);
+        BulkheadStats stats = bulkhead.stats();
+        assertThat(stats.getName(), equalTo("test"));
+        assertThat(stats.getSubmitted(), equalTo(2l));
+        assertThat(stats.getActiveThreads(), equalTo(1));
+        assertThat(stats.utilisation(), equalTo(1.0));
+        assertThat(stats.getQueueDepth(), equalTo(1));
+        assertThat(stats.queueUtilisation(), equalTo(0.1));
+        latch.countDown();
+        bulkhead.shutdown();
+        bulkhead.awaitTermination(5, TimeUnit.SECONDS);
+        stats = bulkhead.stats();
+        assertThat(stats.getCompleted(), equalTo(2l));
+        assertThat(stats.getQueueing()
+                        .getMax(),
+                   greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40)));
+    }
+
+    @Test
+    public void threadNames() throws InterruptedException {
+        bulkhead = new Bulkhead(
+                                BulkheadConfig.cpu("named"));
+        AtomicReference<String> name = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(
+                                                  1);
+        bulkhead.execute(() -> {
+            name.set(Thread.currentThread()
+                           .getName());
+            latch.countDown();
+        });
+        latch.await();
+        assertThat(name.get(), startsWith("named-"));
+    }
+
+    @Test
+    public void isolatedFromBlockedBulkhead() {
+        Bulkhead blocked = ThreadPools.bulkhead(BulkheadConfig.elastic("blocked", 1)
+                                                              .withRejectionPolicy(RejectionPolicy.ABORT));
+        CountDownLatch latch = new CountDownLatch(
+                                                  1);
+        try {
+            blocked.execute(await(latch));
+            bulkhead = ThreadPools.bulkhead("isolated");
+            long start = System.currentTimeMillis();
+            List<Integer> result = LazyReact.isolatedBuilder(bulkhead)
+                                            .range(0, 100)
+                                            .map(i -> i * 2)
+                                            .toList();
+            assertThat(result.size(), equalTo(100));
+            assertThat(System.currentTimeMillis() - start, lessThan(5000l));
+            assertThat(ThreadPools.bulkheadStats()
+                                  .get("isolated")
+                                  .getCompleted(),
+                       greaterThan(0l));
+        } finally {
+            latch.countDown();
+            ThreadPools.removeBulkhead("blocked");
+            ThreadPools.removeBulkhead("isolated");
+        }
+    }
+
+    @Test
+    public void maxActiveBoundedByCapacity() {
+        bulkhead = new Bulkhead(
+                                config(RejectionPolicy.BLOCK).withMaxThreads(4)
+                                                             .withQueueCapacity(16));
+        assertThat(bulkhead.maxActive()
+                           .getMaxActive(),
+                   equalTo(16));
+        List<Integer> result = LazyReact.isolatedBuilder(bulkhead)
+                                        .range(0, 1000)
+                                        .map(i -> i + 1)
+                                        .toList();
+        assertThat(result.size(), equalTo(1000));
+    }
+
+    @Test
+    public void simpleReact() {
+        bulkhead = new Bulkhead(
+                                BulkheadConfig.io("simple"));
+        List<Integer> result = SimpleReact.isolatedBuilder(bulkhead)
+                                          .of(1, 2, 3)
+                                          .then(i -> i * 10)
+                                          .block();
+        assertThat(result.size(), equalTo(3));
+        assertThat(bulkhead.stats()
+                           .getSubmitted(),
+                   greaterThan(0l));
+    }
+
+    @Test
+    public void simpleReactCopiesResultsOutsideBulkhead() {
+        bulkhead = new Bulkhead(
+                                BulkheadConfig.cpu("simple"));
+        SimpleReact react = SimpleReact.isolatedBuilder(bulkhead);
+        assertThat(react.getQueueService(), equalTo(ThreadPools.getQueueCopyExecutor()));
+        assertThat(react.withQueueCopyExecutor(bulkhead)
+                        .getQueueService(),
+                   equalTo(bulkhead));
+    }
+
+    @Test
+    public void queueCopyExecutorNotRegistered() {
+        ThreadPools.bulkhead(BulkheadConfig.io("cyclops-queue-copy"));
+        assertThat(ThreadPools.removeBulkhead("cyclops-queue-copy"), equalTo(true));
+        assertThat(ThreadPools.removeBulkhead("cyclops-queue-copy"), equalTo(false));
+        assertThat(((Bulkhead) ThreadPools.getQueueCopyExecutor()).isShutdown(), equalTo(false));
+        List<Integer> result = new SimpleReact().of(1, 2)
+                                                .flatMap(i -> ReactiveSeq.of(i, i))
+                                                .block();
+        assertThat(result.size(), equalTo(4));
+    }
+
+    @Test
+    public void hotStream() throws InterruptedException {
+        bulkhead = new Bulkhead(
+                                BulkheadConfig.elastic("hot", 2));
+        CountDownLatch latch = new CountDownLatch(
+                                                  3);
+        ReactiveSeq.of(1, 2, 3)
+                   .peek(i -> latch.countDown())
+                   .hotStream(bulkhead);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(bulkhead.stats()
+                           .getSubmitted(),
+                   equalTo(1l));
+    }
+}
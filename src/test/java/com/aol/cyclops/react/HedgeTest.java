@@ -0,0 +1,189 @@
+package com.aol.cyclops.react;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+
+public class HedgeTest {
+
+    ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+
+    @After
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> after(final long millis, final T value) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(value), millis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    private <T> CompletableFuture<T> failAfter(final long millis) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.completeExceptionally(new IllegalStateException(
+                                                                                        "failed")),
+                           millis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    private Hedge hedge(final long delayMillis, final double budget) {
+        return new Hedge(
+                         HedgeConfig.delay(delayMillis, TimeUnit.MILLISECONDS)
+                                    .withBudget(budget));
+    }
+
+    @Test
+    public void slowCallHedged() throws Exception {
+        final Hedge hedge = hedge(10, 1.0);
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<String> primary = after(5_000, "slow");
+        final CompletableFuture<String> result = hedge.call(() -> calls.getAndIncrement() == 0 ? primary : after(0, "fast"));
+        assertThat(result.get(), equalTo("fast"));
+        //the loser is cancelled by a callback on the result, which may run just after get() returns
+        assertThat(primary.handle((value, error) -> error)
+                          .get(1, TimeUnit.SECONDS),
+                   instanceOf(CancellationException.class));
+        assertThat(hedge.stats()
+                        .getHedges(),
+                   equalTo(1l));
+        assertThat(hedge.stats()
+                        .getHedgeWins(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void fastCallNotHedged() throws Exception {
+        final Hedge hedge = hedge(1_000, 1.0);
+        for (int i = 0; i < 10; i++)
+            assertThat(hedge.call(() -> after(1, "fast"))
+                            .get(),
+                       equalTo("fast"));
+        assertThat(hedge.stats()
+                        .getCalls(),
+                   equalTo(10l));
+        assertThat(hedge.stats()
+                        .getHedges(),
+                   equalTo(0l));
+        assertThat(hedge.stats()
+                        .getLatency()
+                        .getCount(),
+                   equalTo(10l));
+    }
+
+    @Test
+    public void budgetCapsHedges() throws Exception {
+        final Hedge hedge = hedge(1, 0.0);
+        assertThat(hedge.call(() -> after(50, "slow"))
+                        .get(),
+                   equalTo("slow"));
+        assertThat(hedge.stats()
+                        .getHedges(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void failureWaitsForDuplicate() throws Exception {
+        final Hedge hedge = hedge(10, 1.0);
+        final AtomicInteger calls = new AtomicInteger();
+        assertThat(hedge.call(() -> calls.getAndIncrement() == 0 ? failAfter(100) : after(200, "duplicate"))
+                        .get(),
+                   equalTo("duplicate"));
+    }
+
+    @Test
+    public void failsWhenAllCallsFail() throws Exception {
+        final Hedge hedge = hedge(10, 1.0);
+        try {
+            hedge.call(() -> failAfter(50))
+                 .get();
+            fail("exception expected");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+        }
+        assertThat(hedge.stats()
+                        .getHedges(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void percentileDelay() throws Exception {
+        final Hedge hedge = new Hedge(
+                                      HedgeConfig.percentile(90.0, 10, TimeUnit.SECONDS)
+                                                 .withMinSamples(10));
+        assertThat(hedge.stats()
+                        .getDelay(),
+                   equalTo(TimeUnit.SECONDS.toNanos(10)));
+        for (int i = 0; i < 10; i++)
+            hedge.call(() -> CompletableFuture.completedFuture("fast"))
+                 .get();
+        assertThat(hedge.stats()
+                        .getDelay(),
+                   lessThan(TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void lazyFutureStream() {
+        final Set<Integer> started = ConcurrentHashMap.newKeySet();
+        final Hedge hedge = hedge(20, 1.0);
+        assertThat(new LazyReact(
+                                 20, 20).range(0, 10)
+                                        .hedge(i -> {
+                                            if (started.add(i))
+                                                sleep(500);
+                                            return i * 10;
+                                        }, hedge)
+                                        .toList()
+                                        .stream()
+                                        .sorted()
+                                        .collect(Collectors.toList()),
+                   equalTo(ReactiveSeq.range(0, 10)
+                                      .map(i -> i * 10)
+                                      .toList()));
+        assertThat(hedge.stats()
+                        .getHedges(),
+                   equalTo(10l));
+        assertThat(hedge.stats()
+                        .getHedgeWins(),
+                   greaterThan(0l));
+    }
+
+    @Test
+    public void hedgeAsync() {
+        final AtomicInteger calls = new AtomicInteger();
+        assertThat(new LazyReact().of("a", "b", "c")
+                                  .hedgeAsync(s -> calls.getAndIncrement() == 0 ? after(5_000, s) : after(1, s), hedge(10, 1.0))
+                                  .toList()
+                                  .size(),
+                   equalTo(3));
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
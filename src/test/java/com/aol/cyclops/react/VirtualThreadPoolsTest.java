@@ -0,0 +1,98 @@
+package com.aol.cyclops.react;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.SimpleReact;
+import com.aol.cyclops.internal.react.VirtualThreads;
+import com.aol.cyclops.react.collectors.lazy.MaxActive;
+
+public class VirtualThreadPoolsTest {
+
+    private int sleep(int i) {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+        }
+        return i;
+    }
+
+    @Test
+    public void blockingTasksRunConcurrently() {
+        long start = System.currentTimeMillis();
+        List<Integer> result = LazyReact.virtualThreadBuilder()
+                                        .range(0, 50)
+                                        .map(this::sleep)
+                                        .toList();
+        assertThat(result.size(), equalTo(50));
+        assertThat(System.currentTimeMillis() - start, lessThan(2_000l));
+    }
+
+    @Test
+    public void simpleReact() {
+        List<Integer> result = SimpleReact.virtualThreadBuilder()
+                                          .of(1, 2, 3)
+                                          .then(this::sleep)
+                                          .block();
+        assertThat(result.size(), equalTo(3));
+    }
+
+    @Test
+    public void threadPerTask() throws InterruptedException {
+        ExecutorService exec = ThreadPools.newVirtualThreadPerTaskExecutor();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(
+                                                  10);
+        for (int i = 0; i < 10; i++) {
+            exec.execute(() -> {
+                threads.add(Thread.currentThread());
+                latch.countDown();
+                sleep(1);
+            });
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(threads.size(), equalTo(10));
+        threads.forEach(t -> assertThat(VirtualThreads.isVirtual(t), equalTo(ThreadPools.isVirtualThreadsSupported())));
+        exec.shutdown();
+    }
+
+    @Test
+    public void maxActivePreset() {
+        if (ThreadPools.isVirtualThreadsSupported())
+            assertThat(MaxActive.VIRTUAL.getMaxActive(), equalTo(10_000));
+        else
+            assertThat(MaxActive.VIRTUAL, equalTo(MaxActive.IO));
+    }
+
+    @Test
+    public void fallbackPoolBounded() {
+        if (ThreadPools.isVirtualThreadsSupported())
+            return;
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> result = SimpleReact.virtualThreadBuilder()
+                                          .from(ReactiveSeq.range(0, 300)
+                                                           .toList())
+                                          .then(i -> {
+                                              threads.add(Thread.currentThread());
+                                              return sleep(i);
+                                          })
+                                          .block();
+        assertThat(result.size(), equalTo(300));
+        //pool threads, plus the calling thread once the pool is saturated
+        assertThat(threads.size(), lessThanOrEqualTo(VirtualThreads.FALLBACK_MAX_THREADS + 1));
+    }
+}
@@ -0,0 +1,92 @@
+package com.aol.cyclops.react.metrics;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void emptySnapshot() {
+        HistogramSnapshot snapshot = new LatencyHistogram().snapshot();
+        assertThat(snapshot.getCount(), equalTo(0l));
+        assertThat(snapshot.p99(), equalTo(0l));
+        assertThat(snapshot.mean(), equalTo(0.0));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++)
+            histogram.record(i);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount(), equalTo(100l));
+        assertThat(snapshot.getMin(), equalTo(1l));
+        assertThat(snapshot.getMax(), equalTo(100l));
+        assertThat(snapshot.p50(), equalTo(50l));
+        assertThat(snapshot.p99(), equalTo(99l));
+        assertThat(snapshot.mean(), equalTo(50.5));
+    }
+
+    @Test
+    public void largeValuesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++)
+            histogram.record(i * 1_000);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.p50(), both(greaterThanOrEqualTo(5_000_000l)).and(lessThanOrEqualTo(5_080_000l)));
+        assertThat(snapshot.p999(), both(greaterThanOrEqualTo(9_990_000l)).and(lessThanOrEqualTo(10_000_000l)));
+        assertThat(snapshot.valueAtPercentile(100), equalTo(10_000_000l));
+    }
+
+    @Test
+    public void valuesAboveHighestTrackableAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram(
+                                                          1000);
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertThat(histogram.snapshot()
+                            .getMax(),
+                   equalTo(1000l));
+        assertThat(histogram.snapshot()
+                            .getMin(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void indexRoundTrip() {
+        for (long v : new long[] { 0, 1, 127, 128, 129, 255, 256, 1000, 1 << 20, 123_456_789l, Long.MAX_VALUE >> 1 }) {
+            long highest = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(v));
+            assertThat(highest, greaterThanOrEqualTo(v));
+            assertThat((double) (highest - v), lessThanOrEqualTo(v / 64.0));
+        }
+    }
+
+    @Test
+    public void concurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.range(0, 100_000)
+                 .parallel()
+                 .forEach(i -> histogram.record(i % 1000));
+        assertThat(histogram.count(), equalTo(100_000l));
+        assertThat(histogram.snapshot()
+                            .getCount(),
+                   equalTo(100_000l));
+    }
+
+    @Test
+    public void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.reset();
+        assertThat(histogram.snapshot()
+                            .getCount(),
+                   equalTo(0l));
+    }
+}
@@ -0,0 +1,189 @@
+package com.aol.cyclops.react.metrics;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.pcollections.PMap;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.internal.react.async.future.FastFuture;
+import com.aol.cyclops.internal.react.async.future.PipelineBuilder;
+import com.aol.cyclops.types.futurestream.LazyFutureStream;
+
+public class PipelineMetricsTest {
+
+    PipelineMetrics metrics;
+
+    @Before
+    public void setup() {
+        metrics = new PipelineMetrics();
+    }
+
+    private int sleep(int i) {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+        }
+        return i;
+    }
+
+    @Test
+    public void namedStages() {
+        List<Integer> result = new LazyReact().instrument(metrics)
+                                              .of(1, 2, 3, 4)
+                                              .map(this::sleep)
+                                              .named("sleep")
+                                              .map(i -> i * 2)
+                                              .named("double")
+                                              .toList();
+        assertThat(result.size(), equalTo(4));
+        PMap<String, StageSnapshot> snapshot = metrics.snapshot();
+        assertThat(snapshot.keySet(), hasItems("sleep", "double"));
+        assertThat(snapshot.get("sleep")
+                           .invocations(),
+                   equalTo(4l));
+        assertThat(snapshot.get("sleep")
+                           .getExecution()
+                           .getMin(),
+                   greaterThanOrEqualTo(2_000_000l));
+        assertThat(snapshot.get("double")
+                           .invocations(),
+                   equalTo(4l));
+    }
+
+    @Test
+    public void unnamedStages() {
+        new LazyReact().instrument(metrics)
+                       .of(1, 2, 3)
+                       .map(i -> i + 1)
+                       .peek(i -> {
+                       })
+                       .toList();
+        assertThat(metrics.snapshot()
+                          .keySet(),
+                   hasItems("stage-0", "stage-1"));
+    }
+
+    @Test
+    public void asyncStagesRecordQueueing() {
+        new LazyReact().autoOptimizeOff()
+                       .instrument(metrics)
+                       .of(1, 2, 3)
+                       .then(this::sleep)
+                       .named("async")
+                       .toList();
+        assertThat(metrics.snapshot()
+                          .get("async")
+                          .getQueueing()
+                          .getCount(),
+                   equalTo(3l));
+    }
+
+    @Test
+    public void namingDoesNotAffectSiblingPipelines() {
+        PipelineBuilder mapped = new PipelineBuilder(
+                                                     false, null, false, null, metrics).thenApply((Integer i) -> i + 1);
+        FastFuture<Integer> a = mapped.named("a")
+                                      .build();
+        FastFuture<Integer> b = mapped.named("b")
+                                      .build();
+        FastFuture<Integer> unnamed = mapped.build();
+        a.set(1);
+        assertThat(a.join(), equalTo(2));
+        b.set(2);
+        b.join();
+        unnamed.set(3);
+        unnamed.join();
+        PMap<String, StageSnapshot> snapshot = metrics.snapshot();
+        assertThat(snapshot.get("a")
+                           .invocations(),
+                   equalTo(1l));
+        assertThat(snapshot.get("b")
+                           .invocations(),
+                   equalTo(1l));
+        assertThat(snapshot.get("stage-0")
+                           .invocations(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void namingKeepsRecovery() {
+        List<Integer> result = new LazyReact().instrument(metrics)
+                                              .of(1, 2, 3)
+                                              .map(i -> {
+                                                  if (i == 2)
+                                                      throw new RuntimeException(
+                                                                                 "boom");
+                                                  return i;
+                                              })
+                                              .onFail(e -> -1)
+                                              .named("recovered")
+                                              .toList();
+        assertThat(result, hasItems(1, -1, 3));
+        assertThat(metrics.snapshot()
+                          .get("recovered")
+                          .getFailures(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void failures() {
+        List<Integer> result = new LazyReact().instrument(metrics)
+                                              .of(1, 2, 3)
+                                              .map(i -> {
+                                                  if (i == 2)
+                                                      throw new RuntimeException(
+                                                                                 "boom");
+                                                  return i;
+                                              })
+                                              .named("fails")
+                                              .filter(i -> i != 3)
+                                              .named("filter")
+                                              .capture(e -> {
+                                              })
+                                              .toList();
+        assertThat(result, equalTo(Arrays.asList(1)));
+        assertThat(metrics.snapshot()
+                          .get("fails")
+                          .getFailures(),
+                   equalTo(1l));
+        assertThat(metrics.snapshot()
+                          .get("filter")
+                          .getFailures(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void composedStagesTimedToCompletion() {
+        LazyFutureStream<Integer> composed = (LazyFutureStream<Integer>) new LazyReact().instrument(metrics)
+                                                                                    .of(1, 2)
+                                                                                    .flatMapToCompletableFuture(i -> CompletableFuture.supplyAsync(() -> sleep(i)));
+        composed.named("compose")
+                .toList();
+        assertThat(metrics.snapshot()
+                          .get("compose")
+                          .getExecution()
+                          .getMin(),
+                   greaterThan(1_000_000l));
+    }
+
+    @Test
+    public void notInstrumentedByDefault() {
+        new LazyReact().of(1, 2, 3)
+                       .map(i -> i + 1)
+                       .named("ignored")
+                       .toList();
+        assertThat(metrics.snapshot()
+                          .size(),
+                   equalTo(0));
+    }
+}
@@ -0,0 +1,157 @@
+package com.aol.cyclops.react.simple;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.SimpleReact;
+import com.aol.cyclops.react.ThreadPools;
+
+public class WindowedTest {
+
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+    AtomicInteger started = new AtomicInteger();
+
+    private int track(int i) {
+        started.incrementAndGet();
+        int now = active.incrementAndGet();
+        maxActive.accumulateAndGet(now, Math::max);
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+        }
+        active.decrementAndGet();
+        return i;
+    }
+
+    @Test
+    public void boundedInFlight() {
+        long count = new SimpleReact().windowed(8)
+                                      .from(IntStream.range(0, 500))
+                                      .then(this::track)
+                                      .then(i -> i * 2)
+                                      .block(Collectors.counting());
+        assertThat(count, equalTo(500l));
+        assertThat(maxActive.get(), lessThanOrEqualTo(8));
+        assertThat(maxActive.get(), greaterThan(1));
+    }
+
+    @Test
+    public void sameResultsAsEager() {
+        List<Integer> eager = new SimpleReact().from(IntStream.range(0, 100))
+                                               .then(i -> i * 3)
+                                               .filter(i -> i % 2 == 0)
+                                               .peek(i -> {
+                                               })
+                                               .block();
+        List<Integer> windowed = new SimpleReact().windowed(4)
+                                                  .from(IntStream.range(0, 100))
+                                                  .then(i -> i * 3)
+                                                  .filter(i -> i % 2 == 0)
+                                                  .peek(i -> {
+                                                  })
+                                                  .block();
+        assertThat(windowed, equalTo(eager));
+    }
+
+    @Test
+    public void lazyUntilConsumed() throws InterruptedException {
+        new SimpleReact().windowed(4)
+                         .from(IntStream.range(0, 100))
+                         .then(this::track);
+        Thread.sleep(50);
+        assertThat(started.get(), equalTo(0));
+    }
+
+    @Test
+    public void runIsBounded() {
+        new SimpleReact().windowed(4)
+                         .from(IntStream.range(0, 100))
+                         .then(this::track)
+                         .run();
+        assertThat(maxActive.get(), lessThanOrEqualTo(4));
+        assertThat(started.get(), greaterThan(95));
+    }
+
+    @Test
+    public void errorsCaptured() {
+        List<Throwable> errors = new java.util.concurrent.CopyOnWriteArrayList<>();
+        List<Integer> result = new SimpleReact().windowed(2)
+                                                .of(1, 2, 3, 4)
+                                                .then(i -> {
+                                                    if (i == 3)
+                                                        throw new RuntimeException(
+                                                                                   "boom");
+                                                    return i;
+                                                })
+                                                .capture(errors::add)
+                                                .block();
+        assertThat(result, equalTo(Arrays.asList(1, 2, 4)));
+        assertThat(errors.size(), equalTo(1));
+    }
+
+    @Test
+    public void onFail() {
+        List<Integer> result = new SimpleReact().windowed(2)
+                                                .of(1, 2, 3)
+                                                .then(i -> {
+                                                    if (i == 2)
+                                                        throw new RuntimeException(
+                                                                                   "boom");
+                                                    return i;
+                                                })
+                                                .onFail(e -> -1)
+                                                .block();
+        assertThat(result, equalTo(Arrays.asList(1, -1, 3)));
+    }
+
+    @Test
+    public void allOfMaterialises() {
+        List<Integer> result = new SimpleReact().windowed(2)
+                                                .of(1, 2, 3)
+                                                .then(i -> i + 1)
+                                                .allOf(list -> list.size())
+                                                .block();
+        assertThat(result, equalTo(Arrays.asList(3)));
+    }
+
+    @Test
+    public void flatMap() {
+        List<Integer> result = new SimpleReact().windowed(2)
+                                                .of(1, 2, 3)
+                                                .flatMap(i -> java.util.stream.Stream.of(i, i))
+                                                .block();
+        assertThat(result, containsInAnyOrder(1, 1, 2, 2, 3, 3));
+    }
+
+    @Test
+    public void windowedSurvivesQueueCopyExecutor() {
+        SimpleReact react = new SimpleReact().windowed(8)
+                                             .withAsync(false)
+                                             .withQueueCopyExecutor(ThreadPools.getQueueCopyExecutor());
+        assertThat(react.isWindowed(), equalTo(true));
+        assertThat(react.getMaxInFlight(), equalTo(8));
+        assertThat(react.isAsync(), equalTo(false));
+        long count = react.from(IntStream.range(0, 200))
+                          .then(this::track)
+                          .block(Collectors.counting());
+        assertThat(count, equalTo(200l));
+        assertThat(maxActive.get(), lessThanOrEqualTo(8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWindow() {
+        new SimpleReact().windowed(0);
+    }
+}
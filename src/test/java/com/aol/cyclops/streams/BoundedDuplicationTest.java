@@ -0,0 +1,143 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.jooq.lambda.tuple.Tuple2;
+import org.jooq.lambda.tuple.Tuple3;
+import org.jooq.lambda.tuple.Tuple4;
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.futurestream.LazyFutureStream;
+import com.aol.cyclops.types.stream.BufferFullException;
+import com.aol.cyclops.types.stream.OverflowPolicy;
+
+public class BoundedDuplicationTest {
+
+    @Test
+    public void duplicateSpill() {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, 1000)
+                                                                               .duplicateSequence(10, OverflowPolicy.SPILL);
+        assertThat(copies.v1.toList()
+                            .size(),
+                   equalTo(1000));
+        assertThat(copies.v2.toList(), equalTo(ReactiveSeq.range(0, 1000)
+                                                          .toList()));
+    }
+
+    @Test(expected = BufferFullException.class)
+    public void duplicateFail() {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, 1000)
+                                                                               .duplicateSequence(10, OverflowPolicy.FAIL);
+        copies.v1.toList();
+    }
+
+    @Test
+    public void duplicateFailInLockStep() {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, 1000)
+                                                                               .duplicateSequence(1, OverflowPolicy.FAIL);
+        assertThat(copies.v1.zip(copies.v2, (a, b) -> a - b)
+                            .allMatch(i -> i == 0),
+                   equalTo(true));
+    }
+
+    @Test
+    public void duplicateFailWithinBound() {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.of(1, 2, 3)
+                                                                               .duplicateSequence(3, OverflowPolicy.FAIL);
+        assertThat(copies.v1.toList(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(copies.v2.toList(), equalTo(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test
+    public void leaderCanChange() {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.iterate(0, i -> i + 1)
+                                                                               .duplicateSequence(100, OverflowPolicy.FAIL);
+        assertThat(copies.v1.limit(10)
+                            .toList(),
+                   equalTo(ReactiveSeq.range(0, 10)
+                                      .toList()));
+        assertThat(copies.v2.limit(20)
+                            .toList(),
+                   equalTo(ReactiveSeq.range(0, 20)
+                                      .toList()));
+    }
+
+    @Test
+    public void duplicateBlockConcurrentConsumers() {
+        Tuple2<ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.range(0, 100_000)
+                                                                               .duplicateSequence(16, OverflowPolicy.BLOCK);
+        CompletableFuture<List<Integer>> first = CompletableFuture.supplyAsync(() -> copies.v1.toList());
+        CompletableFuture<List<Integer>> second = CompletableFuture.supplyAsync(() -> copies.v2.toList());
+
+        List<Integer> expected = ReactiveSeq.range(0, 100_000)
+                                            .toList();
+        assertThat(first.join(), equalTo(expected));
+        assertThat(second.join(), equalTo(expected));
+    }
+
+    @Test
+    public void triplicateBounded() {
+        Tuple3<ReactiveSeq<Integer>, ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.of(1, 2, 3, 4)
+                                                                                                     .triplicate(2, OverflowPolicy.SPILL);
+        assertThat(copies.v1.toList(), equalTo(Arrays.asList(1, 2, 3, 4)));
+        assertThat(copies.v3.toList(), equalTo(Arrays.asList(1, 2, 3, 4)));
+        assertThat(copies.v2.toList(), equalTo(Arrays.asList(1, 2, 3, 4)));
+    }
+
+    @Test
+    public void quadruplicateBounded() {
+        Tuple4<ReactiveSeq<Integer>, ReactiveSeq<Integer>, ReactiveSeq<Integer>, ReactiveSeq<Integer>> copies = ReactiveSeq.of(1, 2, 3)
+                                                                                                                           .quadruplicate(3,
+                                                                                                                                          OverflowPolicy.FAIL);
+        assertThat(copies.v4.toList(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(copies.v1.toList(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(copies.v3.toList(), equalTo(Arrays.asList(1, 2, 3)));
+        assertThat(copies.v2.toList(), equalTo(Arrays.asList(1, 2, 3)));
+    }
+
+    @Test
+    public void copierReleasesAndGrows() {
+        ListX<Iterator<Integer>> copies = StreamUtils.toBufferingCopier(ReactiveSeq.range(0, 100)
+                                                                                   .iterator(),
+                                                                        3, 4, OverflowPolicy.SPILL);
+        for (int i = 0; i < 50; i++)
+            copies.get(0)
+                  .next();
+        for (int i = 0; i < 100; i++)
+            assertThat(copies.get(1)
+                             .next(),
+                       equalTo(i));
+        for (int i = 0; i < 100; i++)
+            assertThat(copies.get(2)
+                             .next(),
+                       equalTo(i));
+        assertThat(copies.get(0)
+                         .next(),
+                   equalTo(50));
+    }
+
+    @Test
+    public void lazyFutureStreamCopy() {
+        List<LazyFutureStream<Integer>> copies = new LazyReact().of(1, 2, 3)
+                                                                .map(i -> i + 1)
+                                                                .copy(3, 10, OverflowPolicy.SPILL);
+        assertThat(copies.stream()
+                         .map(s -> s.toList()
+                                    .stream()
+                                    .sorted()
+                                    .collect(Collectors.toList()))
+                         .collect(Collectors.toList()),
+                   equalTo(Arrays.asList(Arrays.asList(2, 3, 4), Arrays.asList(2, 3, 4), Arrays.asList(2, 3, 4))));
+    }
+}
@@ -0,0 +1,138 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+import org.junit.Test;
+
+import com.aol.cyclops.Reducers;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.futurestream.LazyFutureStream;
+import com.aol.cyclops.types.stream.EventWindow;
+import com.aol.cyclops.types.stream.EventWindows;
+import com.aol.cyclops.types.stream.Watermarks;
+
+public class EventTimeWindowTest {
+
+    private static <K> EventWindow<K, Integer> w(final K key, final long start, final long end, final int value) {
+        return new EventWindow<>(
+                                 key, start, end, value, false);
+    }
+
+    private static <K> EventWindow<K, Integer> late(final K key, final long start, final long end, final int value) {
+        return new EventWindow<>(
+                                 key, start, end, value, true);
+    }
+
+    @Test
+    public void tumbling() {
+        assertThat(ReactiveSeq.of(1l, 5l, 9l, 12l)
+                              .windowByEventTime(EventWindows.tumbling(10), Watermarks.of(t -> t), t -> 1, Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(w(null, 0, 10, 3), w(null, 10, 20, 1))));
+    }
+
+    @Test
+    public void tumblingEmitsAsWatermarkPasses() {
+        final List<Long> seen = new ArrayList<>();
+        final ReactiveSeq<EventWindow<Void, Integer>> windows = ReactiveSeq.of(1l, 5l, 12l, 15l)
+                                                                           .peek(seen::add)
+                                                                           .windowByEventTime(EventWindows.tumbling(10), Watermarks.of(t -> t),
+                                                                                              t -> 1, Reducers.toTotalInt());
+        assertThat(windows.findFirst()
+                          .get(),
+                   equalTo(w(null, 0, 10, 2)));
+        assertThat(seen, equalTo(ListX.of(1l, 5l, 12l)));
+    }
+
+    @Test
+    public void sliding() {
+        assertThat(ReactiveSeq.of(1l, 6l, 11l)
+                              .windowByEventTime(EventWindows.sliding(10, 5), Watermarks.of(t -> t), t -> 1, Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(w(null, -5, 5, 1), w(null, 0, 10, 2), w(null, 5, 15, 2), w(null, 10, 20, 1))));
+    }
+
+    @Test
+    public void sessionsPerKey() {
+        assertThat(ReactiveSeq.of(Tuple.tuple("a", 0l), Tuple.tuple("b", 2l), Tuple.tuple("a", 5l), Tuple.tuple("a", 30l))
+                              .windowByEventTime(t -> t.v1, EventWindows.session(10), Watermarks.<Tuple2<String, Long>> of(t -> t.v2),
+                                                 t -> 1, Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(w("b", 2, 12, 1), w("a", 0, 15, 2), w("a", 30, 40, 1))));
+    }
+
+    @Test
+    public void sessionsMerge() {
+        assertThat(ReactiveSeq.of(0l, 18l, 9l)
+                              .windowByEventTime(EventWindows.session(10), Watermarks.<Long> boundedOutOfOrder(t -> t, 15), t -> 1,
+                                                 Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(w(null, 0, 28, 3))));
+    }
+
+    @Test
+    public void outOfOrderWithinBound() {
+        assertThat(ReactiveSeq.of(1l, 12l, 8l, 20l)
+                              .windowByEventTime(EventWindows.tumbling(10), Watermarks.<Long> boundedOutOfOrder(t -> t, 5), t -> 1,
+                                                 Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(w(null, 0, 10, 2), w(null, 10, 20, 1), w(null, 20, 30, 1))));
+    }
+
+    @Test
+    public void lateElementsDropped() {
+        final List<Long> dropped = new ArrayList<>();
+        assertThat(ReactiveSeq.of(1l, 12l, 3l)
+                              .windowByEventTime(EventWindows.tumbling(10), Watermarks.<Long> of(t -> t)
+                                                                                      .withOnLate(dropped::add),
+                                                 t -> 1, Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(w(null, 0, 10, 1), w(null, 10, 20, 1))));
+        assertThat(dropped, equalTo(ListX.of(3l)));
+    }
+
+    @Test
+    public void allowedLatenessUpdatesWindow() {
+        final List<Long> dropped = new ArrayList<>();
+        assertThat(ReactiveSeq.of(1l, 12l, 3l, 25l, 4l)
+                              .windowByEventTime(EventWindows.tumbling(10), Watermarks.<Long> of(t -> t)
+                                                                                      .withAllowedLateness(10)
+                                                                                      .withOnLate(dropped::add),
+                                                 t -> 1, Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(w(null, 0, 10, 1), late(null, 0, 10, 2), w(null, 10, 20, 1), w(null, 20, 30, 1))));
+        assertThat(dropped, equalTo(ListX.of(4l)));
+    }
+
+    @Test
+    public void incrementalMonoid() {
+        assertThat(ReactiveSeq.range(0, 1_000_000)
+                              .windowByEventTime(EventWindows.tumbling(1000), Watermarks.<Integer> of(t -> t), t -> t,
+                                                 Reducers.toTotalInt())
+                              .map(EventWindow::getValue)
+                              .limit(2)
+                              .toList(),
+                   equalTo(ListX.of(499500, 1499500)));
+    }
+
+    @Test
+    public void lazyFutureStream() {
+        assertThat(LazyFutureStream.of(1l, 5l, 9l, 12l)
+                                   .windowByEventTime(EventWindows.tumbling(10), Watermarks.<Long> boundedOutOfOrder(t -> t, 100), t -> 1,
+                                                      Reducers.toTotalInt())
+                                   .toList(),
+                   equalTo(ListX.of(w(null, 0, 10, 3), w(null, 10, 20, 1))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSize() {
+        EventWindows.tumbling(0);
+    }
+}
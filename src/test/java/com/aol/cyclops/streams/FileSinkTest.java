@@ -0,0 +1,188 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.stream.FileSink;
+import com.aol.cyclops.types.stream.FileSinkConfig;
+import com.aol.cyclops.types.stream.FsyncPolicy;
+
+public class FileSinkTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path() throws IOException {
+        return folder.getRoot()
+                     .toPath()
+                     .resolve("out.txt");
+    }
+
+    private List<String> read(final List<Path> files) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        for (final Path file : files)
+            lines.addAll(Files.readAllLines(file));
+        return lines;
+    }
+
+    private List<String> numbers(final int count) {
+        return ReactiveSeq.range(0, count)
+                          .map(String::valueOf)
+                          .toList();
+    }
+
+    @Test
+    public void writeLines() throws IOException {
+        final Path path = path();
+        assertThat(ReactiveSeq.of("hello", "world")
+                              .writeTo(FileSinkConfig.lines(path)),
+                   equalTo(ListX.of(path)));
+        assertThat(Files.readAllLines(path), equalTo(ListX.of("hello", "world")));
+    }
+
+    @Test
+    public void emptyStreamWritesNoFiles() throws IOException {
+        assertThat(ReactiveSeq.empty()
+                              .writeTo(FileSinkConfig.lines(path())),
+                   equalTo(ListX.empty()));
+    }
+
+    @Test
+    public void smallBuffersCoalesced() throws IOException {
+        final ListX<Path> files = ReactiveSeq.range(0, 100_000)
+                                             .writeTo(FileSinkConfig.lines(path())
+                                                                    .withBufferSize(64)
+                                                                    .withBuffers(2));
+        assertThat(read(files), equalTo(numbers(100_000)));
+    }
+
+    @Test
+    public void rotateBySize() throws IOException {
+        final ListX<Path> files = ReactiveSeq.range(0, 10_000)
+                                             .writeTo(FileSinkConfig.lines(path())
+                                                                    .withBufferSize(1024)
+                                                                    .withRotateBytes(8 * 1024));
+        assertThat(files.size() > 1, equalTo(true));
+        assertThat(files.get(0)
+                        .getFileName()
+                        .toString(),
+                   equalTo("out.txt.0"));
+        for (final Path file : files.subList(0, files.size() - 1))
+            assertThat(Files.size(file) < 8 * 1024 + 8 * 1024, equalTo(true));
+        assertThat(read(files), equalTo(numbers(10_000)));
+    }
+
+    @Test
+    public void rotateByTime() throws IOException {
+        final FileSink<Object> sink = new FileSink<>(
+                                                     FileSinkConfig.lines(path())
+                                                                   .withBufferSize(32)
+                                                                   .withRotateMillis(20));
+        sink.accept("first line of data");
+        sink.accept("second line of data");
+        sleep(100);
+        sink.accept("third line of data");
+        sink.close();
+        assertThat(sink.files()
+                       .size(),
+                   equalTo(2));
+        assertThat(read(sink.files()), equalTo(ListX.of("first line of data", "second line of data", "third line of data")));
+    }
+
+    @Test
+    public void fsyncEveryWrite() throws IOException {
+        assertThat(read(ReactiveSeq.range(0, 1000)
+                                   .writeTo(FileSinkConfig.lines(path())
+                                                          .withBufferSize(128)
+                                                          .withFsync(FsyncPolicy.EVERY_WRITE))),
+                   equalTo(numbers(1000)));
+    }
+
+    @Test
+    public void fsyncInterval() throws IOException {
+        assertThat(read(ReactiveSeq.range(0, 1000)
+                                   .writeTo(FileSinkConfig.lines(path())
+                                                          .withBufferSize(128)
+                                                          .withFsync(FsyncPolicy.INTERVAL)
+                                                          .withFsyncMillis(1))),
+                   equalTo(numbers(1000)));
+    }
+
+    @Test
+    public void customEncoder() throws IOException {
+        final Path path = path();
+        ReactiveSeq.of(1l, 2l, 3l)
+                   .writeTo(FileSinkConfig.<Long> of(path, (l, buffer) -> buffer.putLong(l))
+                                          .withBufferSize(16));
+        assertThat(ReactiveSeq.fromFixedWidthFile(path, 8, b -> b.getLong(0))
+                              .toList(),
+                   equalTo(ListX.of(1l, 2l, 3l)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void elementLargerThanBuffer() throws IOException {
+        ReactiveSeq.of("this line is longer than the buffer")
+                   .writeTo(FileSinkConfig.lines(path())
+                                          .withBufferSize(8));
+    }
+
+    @Test
+    public void lazyFutureStream() throws IOException {
+        final ListX<Path> files = new LazyReact().range(0, 10_000)
+                                                .map(i -> i)
+                                                .writeTo(FileSinkConfig.lines(path())
+                                                                       .withBufferSize(256)
+                                                                       .withBuffers(2));
+        assertThat(read(files).stream()
+                              .map(Integer::valueOf)
+                              .sorted()
+                              .map(String::valueOf)
+                              .collect(Collectors.toList()),
+                   equalTo(numbers(10_000)));
+    }
+
+    @Test
+    public void concurrentLazyFutureStream() throws IOException {
+        final String padding = "-abcdefghijklmnopqrstuvwxyz";
+        final ListX<Path> files = new LazyReact(
+                                                8, 8).range(0, 200_000)
+                                                     .map(i -> i + padding)
+                                                     .writeTo(FileSinkConfig.lines(path())
+                                                                            .withBufferSize(512)
+                                                                            .withBuffers(4));
+        final List<String> lines = read(files);
+        assertThat(lines.size(), equalTo(200_000));
+        assertThat(lines.stream()
+                        .map(line -> Integer.valueOf(line.substring(0, line.length() - padding.length())))
+                        .sorted()
+                        .map(String::valueOf)
+                        .collect(Collectors.toList()),
+                   equalTo(numbers(200_000)));
+        assertThat(lines.stream()
+                        .allMatch(line -> line.endsWith(padding)),
+                   equalTo(true));
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.jooq.lambda.tuple.Tuple;
+import org.jooq.lambda.tuple.Tuple2;
+import org.junit.Test;
+
+import com.aol.cyclops.Reducers;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.Streamable;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.futurestream.LazyFutureStream;
+
+public class KeyedAggregateTest {
+
+    @Test
+    public void countsInEncounterOrder() {
+        assertThat(ReactiveSeq.of("a", "bb", "c", "dd", "eee")
+                              .aggregateBy(String::length, Collectors.counting())
+                              .toList(),
+                   equalTo(ListX.of(Tuple.tuple(1, 2l), Tuple.tuple(2, 2l), Tuple.tuple(3, 1l))));
+    }
+
+    @Test
+    public void monoid() {
+        assertThat(ReactiveSeq.of("a", "bb", "c", "dd", "eee")
+                              .aggregateBy(String::length, s -> 1, Reducers.toTotalInt())
+                              .toList(),
+                   equalTo(ListX.of(Tuple.tuple(1, 2), Tuple.tuple(2, 2), Tuple.tuple(3, 1))));
+    }
+
+    @Test
+    public void countMonoidIsLeftFold() {
+        assertThat(ReactiveSeq.of(1, 2, 3, 4, 5)
+                              .aggregateBy(i -> i % 2, i -> i, Reducers.toCountInt())
+                              .toList(),
+                   equalTo(ListX.of(Tuple.tuple(1, 3), Tuple.tuple(0, 2))));
+    }
+
+    @Test
+    public void empty() {
+        assertThat(ReactiveSeq.<Integer> empty()
+                              .aggregateBy(i -> i, Collectors.counting())
+                              .toList(),
+                   equalTo(ListX.empty()));
+    }
+
+    @Test
+    public void nullKey() {
+        assertThat(ReactiveSeq.of(1, 2, 3)
+                              .aggregateBy(i -> i == 2 ? null : "odd", Collectors.counting())
+                              .toList(),
+                   equalTo(ListX.of(Tuple.tuple("odd", 2l), Tuple.tuple(null, 1l))));
+    }
+
+    @Test
+    public void isLazy() {
+        final int[] consumed = { 0 };
+        final ReactiveSeq<Tuple2<Integer, Long>> agg = ReactiveSeq.of(1, 2, 3)
+                                                                  .peek(i -> consumed[0]++)
+                                                                  .aggregateBy(i -> i, Collectors.counting());
+        assertThat(consumed[0], equalTo(0));
+        agg.toList();
+        assertThat(consumed[0], equalTo(3));
+    }
+
+    @Test
+    public void maxKeysEmitsPartials() {
+        assertThat(ReactiveSeq.of(1, 2, 1, 3, 1, 2)
+                              .aggregateBy(i -> i, Collectors.counting(), 2, 0, TimeUnit.SECONDS)
+                              .toList(),
+                   equalTo(ListX.of(Tuple.tuple(1, 2l), Tuple.tuple(2, 1l), Tuple.tuple(3, 1l), Tuple.tuple(1, 1l),
+                                    Tuple.tuple(2, 1l))));
+    }
+
+    @Test
+    public void partialsCombineToTotal() {
+        final Map<Integer, Long> totals = new HashMap<>();
+        ReactiveSeq.range(0, 10_000)
+                   .aggregateBy(i -> i % 101, Collectors.counting(), 10, 0, TimeUnit.SECONDS)
+                   .forEach(t -> totals.merge(t.v1, t.v2, Long::sum));
+        assertThat(totals, equalTo(ReactiveSeq.range(0, 10_000)
+                                              .collect(Collectors.groupingBy(i -> i % 101, Collectors.counting()))));
+    }
+
+    @Test
+    public void timeLimitEmitsPartials() {
+        final List<Tuple2<Integer, Long>> result = ReactiveSeq.of(1, 1, 1)
+                                                              .peek(i -> sleep(20))
+                                                              .aggregateBy(i -> i, Collectors.counting(), 0, 1, TimeUnit.MILLISECONDS)
+                                                              .toList();
+        assertThat(result, equalTo(ListX.of(Tuple.tuple(1, 1l), Tuple.tuple(1, 1l), Tuple.tuple(1, 1l))));
+    }
+
+    @Test
+    public void maxKeysAndTimeLimit() {
+        //accumulating 3 outlasts the time limit, straight after 1 and 2 are flushed for exceeding maxKeys
+        assertThat(ReactiveSeq.of(1, 2, 3)
+                              .aggregateBy(i -> i, Collectors.summingInt(i -> {
+                                  if (i == 3)
+                                      sleep(50);
+                                  return 1;
+                              }), 2, 10, TimeUnit.MILLISECONDS)
+                              .toList(),
+                   equalTo(ListX.of(Tuple.tuple(1, 1), Tuple.tuple(2, 1), Tuple.tuple(3, 1))));
+    }
+
+    @Test
+    public void groupedWithDownstream() {
+        assertThat(ReactiveSeq.of(1, 2, 3, 4)
+                              .grouped(i -> i % 2, Collectors.summingInt(i -> i))
+                              .toList(),
+                   equalTo(ListX.of(Tuple.tuple(1, 4), Tuple.tuple(0, 6))));
+        assertThat(Streamable.of(1, 2, 3, 4)
+                             .grouped(i -> i % 2, Collectors.toList())
+                             .toList(),
+                   equalTo(ListX.of(Tuple.tuple(1, Arrays.asList(1, 3)), Tuple.tuple(0, Arrays.asList(2, 4)))));
+    }
+
+    @Test
+    public void concurrent() {
+        final Map<Integer, Long> result = LazyFutureStream.parallel(ReactiveSeq.range(0, 10_000)
+                                                                               .toList()
+                                                                               .toArray(new Integer[0]))
+                                                          .aggregateByConcurrently(i -> i % 7, Collectors.counting())
+                                                          .toMap(t -> t.v1, t -> t.v2);
+        assertThat(result, equalTo(ReactiveSeq.range(0, 10_000)
+                                              .collect(Collectors.groupingBy(i -> i % 7, Collectors.counting()))));
+    }
+
+    @Test
+    public void concurrentMonoid() {
+        final Map<Integer, Integer> result = LazyFutureStream.of("a", "bb", "c")
+                                                             .aggregateByConcurrently(String::length, s -> 1, Reducers.toTotalInt())
+                                                             .toMap(t -> t.v1, t -> t.v2);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        expected.put(1, 2);
+        expected.put(2, 1);
+        assertThat(result, equalTo(expected));
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.Streamable;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.internal.stream.spliterators.MappedFileSpliterator;
+
+public class MappedFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(final String contents) throws IOException {
+        final File file = folder.newFile();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file.toPath();
+    }
+
+    private Path bigFile(final int lines) throws IOException {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < lines; i++)
+            b.append("line ")
+             .append(i)
+             .append('\n');
+        return write(b.toString());
+    }
+
+    @Test
+    public void lines() throws IOException {
+        assertThat(ReactiveSeq.lines(write("hello\nworld\r\n\nlast"))
+                              .toList(),
+                   equalTo(ListX.of("hello", "world", "", "last")));
+    }
+
+    @Test
+    public void linesMatchFilesLines() throws IOException {
+        final Path path = write("a\nbé世\n\nc\n");
+        assertThat(ReactiveSeq.lines(path)
+                              .toList(),
+                   equalTo(Files.lines(path)
+                                .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        assertThat(ReactiveSeq.lines(write(""))
+                              .toList(),
+                   equalTo(ListX.empty()));
+    }
+
+    @Test
+    public void linesAcrossWindows() throws IOException {
+        final Path path = bigFile(1000);
+        final List<String> lines = new ArrayList<>();
+        StreamSupport.stream(MappedFileSpliterator.lines(path, StandardCharsets.UTF_8, 100), false)
+                     .forEach(lines::add);
+        assertThat(lines, equalTo(Files.lines(path)
+                                       .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void splitsOnLineBoundaries() throws IOException {
+        final Path path = bigFile(50_000);
+        final Spliterator<String> lines = MappedFileSpliterator.lines(path, StandardCharsets.UTF_8, 4096);
+        final Spliterator<String> prefix = lines.trySplit();
+        final List<String> result = new ArrayList<>();
+        prefix.forEachRemaining(result::add);
+        lines.forEachRemaining(result::add);
+        assertThat(result, equalTo(Files.lines(path)
+                                        .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void parallelLines() throws IOException {
+        final Path path = bigFile(100_000);
+        assertThat(StreamSupport.stream(ReactiveSeq.lines(path)
+                                                   .spliterator(),
+                                        true)
+                                .filter(l -> l.endsWith("7"))
+                                .count(),
+                   equalTo(10_000l));
+    }
+
+    @Test
+    public void chunksEndOnLines() throws IOException {
+        final Path path = bigFile(1000);
+        final List<String> lines = new ArrayList<>();
+        ReactiveSeq.chunks(path, 100)
+                   .forEach(chunk -> {
+                       assertThat(chunk.limit() <= 100, equalTo(true));
+                       assertThat(chunk.get(chunk.limit() - 1), equalTo((byte) '\n'));
+                       ReactiveSeq.lines(chunk, StandardCharsets.UTF_8)
+                                  .forEach(lines::add);
+                   });
+        assertThat(lines, equalTo(Files.lines(path)
+                                       .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void chunkLongerThanChunkSize() throws IOException {
+        assertThat(ReactiveSeq.chunks(write("short\na much longer line\nend"), 8)
+                              .map(chunk -> StandardCharsets.UTF_8.decode(chunk)
+                                                                  .toString())
+                              .toList(),
+                   equalTo(ListX.of("short\n", "a much longer line\n", "end")));
+    }
+
+    @Test
+    public void chunksInParallelWithLazyReact() throws IOException {
+        final Path path = bigFile(100_000);
+        assertThat(new LazyReact().fromStream(ReactiveSeq.chunks(path, 64 * 1024))
+                                  .map(chunk -> ReactiveSeq.lines(chunk, StandardCharsets.UTF_8)
+                                                           .count())
+                                  .reduce(0l, (a, b) -> a + b),
+                   equalTo(100_000l));
+    }
+
+    @Test
+    public void delimitedRecords() throws IOException {
+        assertThat(ReactiveSeq.fromFile(write("a,bb,,ccc"), (byte) ',', b -> b.remaining())
+                              .toList(),
+                   equalTo(ListX.of(1, 2, 0, 3)));
+    }
+
+    @Test
+    public void fixedWidthRecords() throws IOException {
+        final File file = folder.newFile();
+        final ByteBuffer data = ByteBuffer.allocate(8 * 1000);
+        for (long i = 0; i < 1000; i++)
+            data.putLong(i * 3);
+        Files.write(file.toPath(), data.array());
+        assertThat(ReactiveSeq.fromFixedWidthFile(file.toPath(), 8, b -> b.getLong(0))
+                              .skip(999)
+                              .toList(),
+                   equalTo(ListX.of(2997l)));
+        assertThat(StreamSupport.stream(MappedFileSpliterator.fixedWidth(file.toPath(), 8, b -> b.getLong(0), 64), true)
+                                .mapToLong(l -> l)
+                                .sum(),
+                   equalTo(3l * 999 * 1000 / 2));
+    }
+
+    @Test
+    public void streamableRereads() throws IOException {
+        final Path path = write("a\nb\n");
+        final Streamable<String> lines = Streamable.lines(path);
+        assertThat(lines.toList(), equalTo(ListX.of("a", "b")));
+        Files.write(path, "c\n".getBytes(StandardCharsets.UTF_8));
+        assertThat(lines.toList(), equalTo(ListX.of("c")));
+    }
+}
@@ -4,10 +4,19 @@ package com.aol.cyclops.streams;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
 import org.junit.Test;
 
+import com.aol.cyclops.DoubleMonoid;
+import com.aol.cyclops.LongMonoid;
+import com.aol.cyclops.Monoid;
 import com.aol.cyclops.Reducers;
 import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.StreamUtils;
 
 
 public class ReductionTest {
@@ -42,4 +51,59 @@ public class ReductionTest {
 				equalTo(",hello,2,world,4"));
 	}
 	
+	@Test
+	public void reduceWithMultipleMonoids(){
+		Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
+		Monoid<Integer> mult = Monoid.of(1,(a,b)->a*b);
+		assertThat(ReactiveSeq.of(1,2,3,4).reduce(Arrays.asList(sum,mult)),
+				equalTo(Arrays.asList(10,24)));
+	}
+	@Test
+	public void reduceWithMultipleMonoidsIsLeftFold(){
+		Monoid<Object> count = Monoid.of(0,(a,b)->(Integer)a+1);
+		Monoid<Object> join = Monoid.of("",(a,b)->a+","+b);
+		assertThat(ReactiveSeq.<Object>of("a","b","c").reduce(Arrays.asList(count,join)),
+				equalTo(Arrays.asList(3,",a,b,c")));
+	}
+	@Test
+	public void reduceWithMultipleMonoidsEmpty(){
+		Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
+		Monoid<Integer> mult = Monoid.of(1,(a,b)->a*b);
+		assertThat(ReactiveSeq.<Integer>empty().reduce(Arrays.asList(sum,mult)),
+				equalTo(Arrays.asList(0,1)));
+	}
+	@Test
+	public void parallelReduceWithMultipleMonoids(){
+		Monoid<Integer> sum = Monoid.of(0,(a,b)->a+b);
+		Monoid<Integer> max = Monoid.of(Integer.MIN_VALUE,Math::max);
+		assertThat(StreamUtils.parallelReduce(IntStream.range(0,100_000).boxed(),Arrays.asList(sum,max)),
+				equalTo(Arrays.asList(704982704,99999)));
+	}
+	@Test
+	public void reduceDoubles(){
+		double[] stats = ReactiveSeq.of(1,2,3,4).reduceDoubles(i->i,DoubleMonoid.sum(),DoubleMonoid.min(),DoubleMonoid.max());
+		assertThat(stats[0],equalTo(10.0));
+		assertThat(stats[1],equalTo(1.0));
+		assertThat(stats[2],equalTo(4.0));
+	}
+	@Test
+	public void reduceLongs(){
+		long[] stats = ReactiveSeq.of(1,2,3,4).reduceLongs(i->i,LongMonoid.sum(),LongMonoid.min(),LongMonoid.max(),LongMonoid.of(0,(a,b)->a+1));
+		assertThat(stats[0],equalTo(10l));
+		assertThat(stats[1],equalTo(1l));
+		assertThat(stats[2],equalTo(4l));
+		assertThat(stats[3],equalTo(4l));
+	}
+	@Test
+	public void parallelReducePrimitives(){
+		assertThat(StreamUtils.parallelReduce(LongStream.range(0,100_000),LongMonoid.sum(),LongMonoid.max())[0],
+				equalTo(4999950000l));
+		assertThat(StreamUtils.parallelReduce(DoubleStream.of(1,2,3),DoubleMonoid.sum(),DoubleMonoid.max())[1],
+				equalTo(3.0));
+	}
+	@Test
+	public void primitiveMonoidsAreMonoids(){
+		assertThat(ReactiveSeq.of(1l,2l,3l).reduce(LongMonoid.sum()),equalTo(6l));
+	}
+	
 }
@@ -0,0 +1,154 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.control.StreamUtils;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+public class RollingWindowTest {
+
+    @Test
+    public void slidingMatchesWindows() {
+        assertThat(ReactiveSeq.of(1, 2, 3, 4, 5, 6)
+                              .sliding(3, 2)
+                              .map(l -> (List<Integer>) l)
+                              .toList(),
+                   equalTo(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(3, 4, 5), Arrays.asList(5, 6))));
+    }
+
+    @Test
+    public void slidingShortStream() {
+        assertThat(ReactiveSeq.of(1, 2)
+                              .sliding(3)
+                              .map(l -> (List<Integer>) l)
+                              .toList(),
+                   equalTo(Arrays.asList(Arrays.asList(1, 2))));
+    }
+
+    @Test
+    public void slidingIncrementLargerThanWindow() {
+        assertThat(ReactiveSeq.of(1, 2, 3, 4, 5)
+                              .sliding(2, 3)
+                              .map(l -> (List<Integer>) l)
+                              .toList(),
+                   equalTo(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5))));
+    }
+
+    @Test
+    public void slidingCopiesAreRetained() {
+        List<ListX<Integer>> windows = ReactiveSeq.range(0, 5)
+                                                  .sliding(2)
+                                                  .toList();
+        assertThat(windows.get(0), equalTo(Arrays.asList(0, 1)));
+        assertThat(windows.get(3), equalTo(Arrays.asList(3, 4)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void slidingCopiesAreReadOnly() {
+        ReactiveSeq.of(1, 2, 3)
+                   .sliding(2)
+                   .findFirst()
+                   .get()
+                   .add(10);
+    }
+
+    @Test
+    public void slidingView() {
+        assertThat(ReactiveSeq.of(1, 2, 3, 4, 5, 6)
+                              .slidingView(3, 1)
+                              .map(w -> w.stream()
+                                         .mapToInt(i -> i)
+                                         .sum())
+                              .toList(),
+                   equalTo(Arrays.asList(6, 9, 12, 15)));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void slidingViewInvalidatedOnSlide() {
+        List<ListX<Integer>> views = ReactiveSeq.of(1, 2, 3, 4)
+                                                .slidingView(2, 1)
+                                                .toList();
+        views.get(0)
+             .get(0);
+    }
+
+    @Test
+    public void rollingSum() {
+        assertThat(ReactiveSeq.of(1, 2, 3, 4, 5)
+                              .rollingSum(3, i -> i)
+                              .toList(),
+                   equalTo(Arrays.asList(6.0, 9.0, 12.0)));
+    }
+
+    @Test
+    public void rollingSumMatchesSliding() {
+        List<Double> values = new Random(
+                                         7).doubles(10_000)
+                                           .boxed()
+                                           .collect(Collectors.toList());
+        List<Double> expected = StreamUtils.sliding(values.stream(), 100)
+                                           .map(w -> w.stream()
+                                                      .mapToDouble(d -> d)
+                                                      .sum())
+                                           .collect(Collectors.toList());
+        List<Double> rolling = StreamUtils.rollingSum(values.stream(), 100, d -> d)
+                                          .collect(Collectors.toList());
+        assertThat(rolling.size(), equalTo(expected.size()));
+        for (int i = 0; i < expected.size(); i++)
+            assertThat(rolling.get(i), closeTo(expected.get(i), 0.000001));
+    }
+
+    @Test
+    public void rollingMinMax() {
+        assertThat(ReactiveSeq.of(4, 2, 5, 3, 1)
+                              .rollingMin(2, Comparator.naturalOrder())
+                              .toList(),
+                   equalTo(Arrays.asList(2, 2, 3, 1)));
+        assertThat(ReactiveSeq.of(4, 2, 5, 3, 1)
+                              .rollingMax(2, Comparator.naturalOrder())
+                              .toList(),
+                   equalTo(Arrays.asList(4, 5, 5, 3)));
+    }
+
+    @Test
+    public void rollingMinMatchesSliding() {
+        List<Integer> values = new Random(
+                                          11).ints(5_000, 0, 100)
+                                             .boxed()
+                                             .collect(Collectors.toList());
+        List<Integer> expected = StreamUtils.sliding(values.stream(), 37)
+                                            .map(w -> w.stream()
+                                                       .min(Comparator.naturalOrder())
+                                                       .get())
+                                            .collect(Collectors.toList());
+        assertThat(StreamUtils.rollingMin(values.stream(), 37, Comparator.<Integer> naturalOrder())
+                              .collect(Collectors.toList()),
+                   equalTo(expected));
+    }
+
+    @Test
+    public void rollingEmpty() {
+        assertThat(StreamUtils.rollingMax(Stream.<Integer> empty(), 3, Comparator.<Integer> naturalOrder())
+                              .count(),
+                   equalTo(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rollingWindowSizeMustBePositive() {
+        ReactiveSeq.of(1, 2, 3)
+                   .rollingSum(0, i -> i);
+    }
+}
@@ -0,0 +1,172 @@
+package com.aol.cyclops.streams;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.jooq.lambda.tuple.Tuple2;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+import com.aol.cyclops.types.stream.Serializer;
+import com.aol.cyclops.types.stream.SpillConfig;
+
+public class SpillToDiskTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SpillConfig<Integer> ints(final int maxInMemory) {
+        return SpillConfig.of(Serializer.ints(), maxInMemory)
+                          .withDirectory(folder.getRoot());
+    }
+
+    private List<Integer> random(final int size) {
+        return new Random(
+                          42).ints(size, 0, 1000)
+                             .boxed()
+                             .collect(Collectors.toList());
+    }
+
+    @Test
+    public void sortInMemory() {
+        assertThat(ReactiveSeq.of(4, 3, 6, 7)
+                              .sorted(Comparator.naturalOrder(), ints(10))
+                              .toList(),
+                   equalTo(ListX.of(3, 4, 6, 7)));
+        assertThat(folder.getRoot()
+                         .list().length,
+                   equalTo(0));
+    }
+
+    @Test
+    public void sortEmpty() {
+        assertThat(ReactiveSeq.<Integer> empty()
+                              .sorted(Comparator.naturalOrder(), ints(10))
+                              .toList(),
+                   equalTo(ListX.empty()));
+    }
+
+    @Test
+    public void sortSpills() {
+        List<Integer> data = random(10_000);
+        List<Integer> expected = new ArrayList<>(
+                                                 data);
+        Collections.sort(expected);
+
+        assertThat(ReactiveSeq.fromIterable(data)
+                              .sorted(Comparator.naturalOrder(), ints(100))
+                              .toList(),
+                   equalTo(expected));
+        assertThat(folder.getRoot()
+                         .list().length,
+                   equalTo(0));
+    }
+
+    @Test
+    public void sortMultiPassMerge() {
+        List<Integer> data = random(5_000);
+        List<Integer> expected = new ArrayList<>(
+                                                 data);
+        expected.sort(Comparator.reverseOrder());
+
+        assertThat(ReactiveSeq.fromIterable(data)
+                              .sorted(Comparator.reverseOrder(), ints(10).withMergeFactor(4))
+                              .toList(),
+                   equalTo(expected));
+    }
+
+    @Test
+    public void sortIsStable() {
+        List<String> data = ReactiveSeq.range(0, 1000)
+                                       .map(i -> (i % 7) + ":" + i)
+                                       .toList();
+        List<String> expected = new ArrayList<>(
+                                                data);
+        expected.sort(Comparator.comparing(s -> s.charAt(0)));
+
+        assertThat(ReactiveSeq.fromIterable(data)
+                              .sorted(Comparator.comparing(s -> s.charAt(0)), SpillConfig.of(Serializer.strings(), 50)
+                                                                                         .withDirectory(folder.getRoot()))
+                              .toList(),
+                   equalTo(expected));
+    }
+
+    @Test
+    public void sortCloseDeletesFiles() {
+        ReactiveSeq<Integer> sorted = ReactiveSeq.fromIterable(random(1000))
+                                                 .sorted(Comparator.naturalOrder(), ints(10));
+        sorted.limit(5)
+              .toList();
+        assertThat(folder.getRoot()
+                         .list().length
+                > 0, equalTo(true));
+        sorted.close();
+        assertThat(folder.getRoot()
+                         .list().length,
+                   equalTo(0));
+    }
+
+    @Test
+    public void groupedInMemory() {
+        List<Tuple2<Integer, ListX<Integer>>> groups = ReactiveSeq.of(1, 2, 3, 4)
+                                                                  .grouped(i -> i % 2, ints(10))
+                                                                  .toList();
+        assertThat(groups.size(), equalTo(2));
+        assertThat(groups.get(0).v2, equalTo(ListX.of(1, 3)));
+        assertThat(groups.get(1).v2, equalTo(ListX.of(2, 4)));
+    }
+
+    @Test
+    public void groupedSpills() {
+        List<Integer> data = random(10_000);
+        Map<Integer, List<Integer>> expected = data.stream()
+                                                   .collect(Collectors.groupingBy(i -> i % 97));
+
+        Map<Integer, List<Integer>> result = new HashMap<>();
+        ReactiveSeq.fromIterable(data)
+                   .grouped(i -> i % 97, ints(500).withPartitions(8))
+                   .forEach(t -> assertThat(result.put(t.v1, t.v2) == null, equalTo(true)));
+
+        assertThat(result, equalTo(expected));
+        assertThat(folder.getRoot()
+                         .list().length,
+                   equalTo(0));
+    }
+
+    @Test
+    public void groupedRepartitions() {
+        List<Integer> data = random(2_000);
+        Map<Integer, List<Integer>> expected = data.stream()
+                                                   .collect(Collectors.groupingBy(i -> i));
+
+        Map<Integer, List<Integer>> result = ReactiveSeq.fromIterable(data)
+                                                        .grouped(i -> i, ints(50).withPartitions(2))
+                                                        .toMap(t -> t.v1, t -> t.v2);
+        assertThat(result, equalTo(expected));
+    }
+
+    @Test
+    public void javaSerializer() {
+        SpillConfig<String> config = SpillConfig.<String> of(Serializer.java(), 3)
+                                                .withDirectory(folder.getRoot());
+        assertThat(ReactiveSeq.of("d", "b", "a", "e", "c")
+                              .sorted(Comparator.naturalOrder(), config)
+                              .toList(),
+                   equalTo(ListX.of("a", "b", "c", "d", "e")));
+        assertThat(folder.getRoot()
+                         .list().length,
+                   equalTo(0));
+    }
+}
@@ -8,6 +8,7 @@ import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.aol.cyclops.Monoids;
 import com.aol.cyclops.data.collections.extensions.standard.ListX;
 
 public class CompletableFuturesTest {
@@ -41,5 +42,49 @@ public class CompletableFuturesTest {
         CompletableFuture<ListX<Integer>> maybes =CompletableFutures.sequence(ListX.of(just,just2));
         assertThat(maybes.join(),equalTo(ListX.of(10,20)));
     }
+    @Test
+    public void testAccumulateOutOfOrderPreservesOrder() {
+        CompletableFuture<Integer> f1 = new CompletableFuture<>();
+        CompletableFuture<Integer> f2 = new CompletableFuture<>();
+        CompletableFuture<Integer> f3 = new CompletableFuture<>();
+        CompletableFuture<Integer> f4 = new CompletableFuture<>();
+        CompletableFuture<String> result = CompletableFutures.accumulate(ListX.of(f1,f2,f3,f4),i->""+i,Monoids.stringConcat);
+        f4.complete(4);
+        f2.complete(2);
+        f1.complete(1);
+        assertThat(result.isDone(),equalTo(false));
+        f3.complete(3);
+        assertThat(result.join(),equalTo("1234"));
+    }
+    @Test
+    public void testAccumulateEmpty() {
+        assertThat(CompletableFutures.accumulate(Monoids.intSum,ListX.<CompletableFuture<Integer>>empty()).join(),equalTo(0));
+    }
+    @Test
+    public void testAccumulateErrorFailsFast() {
+        CompletableFuture<Integer> result = CompletableFutures.accumulate(Monoids.intSum,ListX.of(active,none));
+        assertThat(result.isCompletedExceptionally(),equalTo(true));
+    }
+    @Test
+    public void testAccumulateSuccessSkipsErrors() {
+        CompletableFuture<Integer> result = CompletableFutures.accumulateSuccess(Monoids.intSum,ListX.of(just,none,active,just2));
+        assertThat(result.isDone(),equalTo(false));
+        active.complete(5);
+        assertThat(result.join(),equalTo(35));
+    }
+    @Test
+    public void testAccumulateUntilCancelsRemaining() {
+        CompletableFuture<Integer> slow = new CompletableFuture<>();
+        CompletableFuture<Integer> result = CompletableFutures.accumulateUntil(Monoids.intSum,ListX.of(just,active,slow,just2),sum->sum>=30);
+        assertThat(result.join(),equalTo(30));
+        assertThat(active.isCancelled(),equalTo(true));
+        assertThat(slow.isCancelled(),equalTo(true));
+    }
+    @Test
+    public void testAccumulateUntilAllComplete() {
+        CompletableFuture<Integer> result = CompletableFutures.accumulateUntil(ListX.of(just,active),i->1,Monoids.intSum,count->count>2);
+        active.complete(1);
+        assertThat(result.join(),equalTo(2));
+    }
 
 }
@@ -0,0 +1,186 @@
+package com.aol.cyclops.util.function;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.aol.cyclops.control.LazyReact;
+import com.aol.cyclops.control.FluentFunctions;
+
+public class BoundedCacheTest {
+
+    AtomicInteger called = new AtomicInteger(0);
+    AtomicLong time = new AtomicLong(0);
+
+    @Before
+    public void setup() {
+        called.set(0);
+        time.set(0);
+    }
+
+    private Integer calc(Integer i) {
+        called.incrementAndGet();
+        return i * 2;
+    }
+
+    @Test
+    public void memoizeWithBoundedCache() {
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(this::calc, BoundedCache.maximumSize(10));
+        assertThat(fn.apply(1), equalTo(2));
+        assertThat(fn.apply(1), equalTo(2));
+        assertThat(fn.apply(1), equalTo(2));
+        assertThat(called.get(), equalTo(1));
+    }
+
+    @Test
+    public void sizeIsBounded() {
+        BoundedCache<Integer> cache = BoundedCache.<Integer> builder()
+                                                  .maximumSize(100)
+                                                  .recordStats()
+                                                  .build();
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(this::calc, cache);
+        for (int i = 0; i < 10_000; i++)
+            fn.apply(i);
+        assertThat(cache.estimatedSize(), lessThanOrEqualTo(100l));
+        assertThat(cache.stats()
+                        .getEvictionCount(),
+                   equalTo(9_900l));
+    }
+
+    @Test
+    public void frequentlyUsedKeysSurviveScan() {
+        BoundedCache<Integer> cache = BoundedCache.maximumSize(10);
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(this::calc, cache);
+        fn.apply(-1);
+        fn.apply(-1);
+        for (int i = 0; i < 1000; i++)
+            fn.apply(i);
+        called.set(0);
+        fn.apply(-1);
+        assertThat(called.get(), equalTo(0));
+    }
+
+    @Test
+    public void expireAfterWrite() {
+        BoundedCache<Integer> cache = BoundedCache.<Integer> builder()
+                                                  .expireAfterWrite(10, TimeUnit.NANOSECONDS)
+                                                  .ticker(time::get)
+                                                  .build();
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(this::calc, cache);
+        fn.apply(1);
+        fn.apply(1);
+        assertThat(called.get(), equalTo(1));
+        time.set(10);
+        fn.apply(1);
+        assertThat(called.get(), equalTo(2));
+    }
+
+    @Test
+    public void expiredEntriesAreRemovedOnCleanUp() {
+        BoundedCache<Integer> cache = BoundedCache.<Integer> builder()
+                                                  .expireAfterWrite(10, TimeUnit.NANOSECONDS)
+                                                  .ticker(time::get)
+                                                  .build();
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(this::calc, cache);
+        for (int i = 0; i < 100; i++)
+            fn.apply(i);
+        assertThat(cache.estimatedSize(), equalTo(100l));
+        time.set(20);
+        cache.cleanUp();
+        assertThat(cache.estimatedSize(), equalTo(0l));
+    }
+
+    @Test
+    public void refreshAfterWriteReturnsStaleValue() {
+        BoundedCache<Integer> cache = BoundedCache.<Integer> builder()
+                                                  .refreshAfterWrite(10, TimeUnit.NANOSECONDS)
+                                                  .refreshExecutor(Runnable::run)
+                                                  .ticker(time::get)
+                                                  .recordStats()
+                                                  .build();
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(i -> i + called.incrementAndGet(), cache);
+        assertThat(fn.apply(0), equalTo(1));
+        time.set(10);
+        assertThat(fn.apply(0), equalTo(1));
+        assertThat(fn.apply(0), equalTo(2));
+        assertThat(cache.stats()
+                        .getRefreshCount(),
+                   equalTo(1l));
+    }
+
+    @Test
+    public void weakValues() {
+        BoundedCache<List<Integer>> cache = BoundedCache.<List<Integer>> builder()
+                                                        .weakValues()
+                                                        .build();
+        Function<Integer, List<Integer>> fn = Memoize.memoizeFunction(i -> {
+            called.incrementAndGet();
+            return java.util.Arrays.asList(i);
+        } , cache);
+        List<Integer> held = fn.apply(1);
+        assertThat(fn.apply(1), equalTo(held));
+        assertThat(called.get(), equalTo(1));
+    }
+
+    @Test
+    public void stats() {
+        BoundedCache<Integer> cache = BoundedCache.<Integer> builder()
+                                                  .recordStats()
+                                                  .build();
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(this::calc, cache);
+        fn.apply(1);
+        fn.apply(1);
+        fn.apply(1);
+        fn.apply(2);
+        CacheStats stats = cache.stats();
+        assertThat(stats.getHitCount(), equalTo(2l));
+        assertThat(stats.getMissCount(), equalTo(2l));
+        assertThat(stats.getLoadCount(), equalTo(2l));
+        assertThat(stats.hitRate(), equalTo(0.5));
+    }
+
+    @Test
+    public void invalidate() {
+        BoundedCache<Integer> cache = BoundedCache.maximumSize(10);
+        Function<Integer, Integer> fn = Memoize.memoizeFunction(this::calc, cache);
+        fn.apply(1);
+        cache.invalidate(1);
+        fn.apply(1);
+        assertThat(called.get(), equalTo(2));
+        cache.invalidateAll();
+        assertThat(cache.estimatedSize(), equalTo(0l));
+    }
+
+    @Test
+    public void fluentFunctionMemoize() {
+        Function<Integer, Integer> fn = FluentFunctions.of(this::calc)
+                                                      .memoize(BoundedCache.maximumSize(10));
+        fn.apply(1);
+        fn.apply(1);
+        assertThat(called.get(), equalTo(1));
+    }
+
+    @Test
+    public void autoMemoize() {
+        List<Integer> result = new LazyReact().autoMemoizeOn(BoundedCache.maximumSize(10))
+                                              .of(1, 1, 1, 1)
+                                              .map(this::calc)
+                                              .toList();
+        assertThat(result.size(), equalTo(4));
+        assertThat(called.get(), equalTo(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSize() {
+        BoundedCache.maximumSize(-1);
+    }
+}
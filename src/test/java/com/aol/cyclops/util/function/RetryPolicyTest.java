@@ -0,0 +1,213 @@
+package com.aol.cyclops.util.function;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.aol.cyclops.control.FluentFunctions;
+import com.aol.cyclops.control.FutureW;
+import com.aol.cyclops.control.ReactiveSeq;
+import com.aol.cyclops.data.collections.extensions.standard.ListX;
+
+public class RetryPolicyTest {
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return Function that fails with the supplied exception until it has been called failures times
+     */
+    private <T> Function<T, T> failing(final int failures, final RuntimeException error, final AtomicInteger calls) {
+        return t -> {
+            if (calls.incrementAndGet() <= failures)
+                throw error;
+            return t;
+        };
+    }
+
+    private void assertFailsWith(final CompletableFuture<?> future, final Class<? extends Throwable> type) throws InterruptedException {
+        try {
+            future.get();
+            fail("exception expected");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(type));
+        }
+    }
+
+    @Test
+    public void retriesUntilSuccess() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        assertThat(FluentFunctions.of(failing(2, new IllegalStateException(), calls))
+                                  .retryAsync(RetryPolicy.exponential(3, 1, TimeUnit.MILLISECONDS), executor)
+                                  .apply("hello")
+                                  .get(),
+                   equalTo("hello"));
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    public void failsAfterMaxAttempts() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        assertFailsWith(FluentFunctions.of(failing(5, new IllegalStateException(), calls))
+                                       .retryAsync(RetryPolicy.exponential(3, 1, TimeUnit.MILLISECONDS), executor)
+                                       .apply("hello"),
+                        IllegalStateException.class);
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    public void backoffDoesNotBlockExecutor() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<String> retrying = FluentFunctions.of(this.<String> failing(1, new IllegalStateException(), calls))
+                                                                  .retryAsync(RetryPolicy.exponential(2, 500, TimeUnit.MILLISECONDS),
+                                                                              executor)
+                                                                  .apply("slow");
+        while (calls.get() == 0)
+            Thread.sleep(1);
+        assertThat(CompletableFuture.supplyAsync(() -> "free", executor)
+                                    .get(250, TimeUnit.MILLISECONDS),
+                   equalTo("free"));
+        assertThat(retrying.isDone(), equalTo(false));
+        assertThat(retrying.get(), equalTo("slow"));
+    }
+
+    @Test
+    public void decorrelatedJitterBounds() {
+        final RetryPolicy policy = RetryPolicy.decorrelatedJitter(10, 10, 1000, TimeUnit.MILLISECONDS);
+        long delay = 0;
+        for (int i = 0; i < 100; i++) {
+            final long next = policy.nextDelay(delay);
+            assertThat(next, greaterThanOrEqualTo(10l));
+            assertThat(next, lessThanOrEqualTo(Math.min(1000, Math.max(10, delay) * 3)));
+            delay = next;
+        }
+    }
+
+    @Test
+    public void exponentialDelays() {
+        final RetryPolicy policy = RetryPolicy.exponential(10, 10, TimeUnit.MILLISECONDS)
+                                              .withMaxDelayMillis(50);
+        assertThat(policy.nextDelay(0), equalTo(10l));
+        assertThat(policy.nextDelay(10), equalTo(20l));
+        assertThat(policy.nextDelay(40), equalTo(50l));
+    }
+
+    @Test
+    public void abortOn() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        assertFailsWith(FluentFunctions.of(failing(5, new IllegalArgumentException(), calls))
+                                       .retryAsync(RetryPolicy.exponential(5, 1, TimeUnit.MILLISECONDS)
+                                                              .abortOn(IllegalArgumentException.class),
+                                                   executor)
+                                       .apply("hello"),
+                        IllegalArgumentException.class);
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void exceptionPolicy() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final RetryPolicy policy = RetryPolicy.exponential(2, 1, TimeUnit.MILLISECONDS)
+                                              .on(IllegalStateException.class, RetryPolicy.exponential(6, 1, TimeUnit.MILLISECONDS));
+        assertThat(FluentFunctions.of(failing(4, new IllegalStateException(), calls))
+                                  .retryAsync(policy, executor)
+                                  .apply("hello")
+                                  .get(),
+                   equalTo("hello"));
+        assertThat(calls.get(), equalTo(5));
+    }
+
+    @Test
+    public void budgetSharedAcrossCalls() throws Exception {
+        final RetryPolicy policy = RetryPolicy.exponential(3, 1, TimeUnit.MILLISECONDS)
+                                              .withBudget(RetryBudget.of(0.0, 2));
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> failing = () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        };
+        final Supplier<CompletableFuture<String>> supplier = FluentFunctions.of(failing)
+                                                                            .retryAsync(policy, executor);
+        assertFailsWith(supplier.get(), IllegalStateException.class);
+        assertThat(calls.get(), equalTo(3));
+        assertFailsWith(supplier.get(), IllegalStateException.class);
+        assertThat(calls.get(), equalTo(4));
+        assertThat(policy.getBudget()
+                         .available(),
+                   equalTo(0l));
+    }
+
+    @Test
+    public void budgetRefilledByCalls() {
+        final RetryBudget budget = RetryBudget.of(0.5, 1);
+        assertThat(budget.tryWithdraw(), equalTo(true));
+        assertThat(budget.tryWithdraw(), equalTo(false));
+        budget.deposit();
+        assertThat(budget.tryWithdraw(), equalTo(false));
+        budget.deposit();
+        assertThat(budget.tryWithdraw(), equalTo(true));
+        budget.deposit();
+        budget.deposit();
+        budget.deposit();
+        budget.deposit();
+        assertThat(budget.available(), equalTo(1l));
+    }
+
+    @Test
+    public void biAndTriFunctions() throws Exception {
+        final RetryPolicy policy = RetryPolicy.decorrelatedJitter(3, 1, 5, TimeUnit.MILLISECONDS);
+        final AtomicInteger biCalls = new AtomicInteger();
+        assertThat(FluentFunctions.of((final Integer a, final Integer b) -> {
+            if (biCalls.incrementAndGet() == 1)
+                throw new IllegalStateException();
+            return a + b;
+        })
+                                  .retryAsync(policy, executor)
+                                  .apply(1, 2)
+                                  .get(),
+                   equalTo(3));
+        final AtomicInteger triCalls = new AtomicInteger();
+        assertThat(FluentFunctions.of((final Integer a, final Integer b, final Integer c) -> {
+            if (triCalls.incrementAndGet() == 1)
+                throw new IllegalStateException();
+            return a + b + c;
+        })
+                                  .retryAsync(policy, executor)
+                                  .apply(1, 2, 3)
+                                  .get(),
+                   equalTo(6));
+    }
+
+    @Test
+    public void reactiveSeq() {
+        final AtomicInteger calls = new AtomicInteger();
+        assertThat(ReactiveSeq.of(1, 2, 3)
+                              .retryAsync(failing(2, new RuntimeException(
+                                                                          new IOException()),
+                                                  calls),
+                                          RetryPolicy.decorrelatedJitter(5, 1, 10, TimeUnit.MILLISECONDS), executor)
+                              .map(FutureW::get)
+                              .toList(),
+                   equalTo(ListX.of(1, 2, 3)));
+    }
+}
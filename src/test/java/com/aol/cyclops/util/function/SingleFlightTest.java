@@ -0,0 +1,160 @@
+package com.aol.cyclops.util.function;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.aol.cyclops.control.FluentFunctions;
+
+public class SingleFlightTest {
+
+    ExecutorService executor = Executors.newFixedThreadPool(10);
+    AtomicInteger calls = new AtomicInteger();
+    List<CompletableFuture<String>> started = new ArrayList<>();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized CompletableFuture<String> start(final String key) {
+        calls.incrementAndGet();
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        started.add(future);
+        return future;
+    }
+
+    @Test
+    public void concurrentCallsShareFuture() throws Exception {
+        final Function<String, CompletableFuture<String>> fn = Memoize.singleFlightAsync(this::start);
+        final CompletableFuture<String> first = fn.apply("a");
+        final CompletableFuture<String> second = fn.apply("a");
+        fn.apply("b");
+        assertThat(calls.get(), equalTo(2));
+        started.get(0)
+               .complete("result");
+        assertThat(first.get(), equalTo("result"));
+        assertThat(second.get(), equalTo("result"));
+        fn.apply("a");
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    public void callersCantCancelSharedFuture() throws Exception {
+        final Function<String, CompletableFuture<String>> fn = Memoize.singleFlightAsync(this::start);
+        final CompletableFuture<String> first = fn.apply("a");
+        final CompletableFuture<String> second = fn.apply("a");
+        first.cancel(true);
+        started.get(0)
+               .complete("result");
+        assertThat(second.get(), equalTo("result"));
+    }
+
+    @Test
+    public void successCachedForTtl() throws Exception {
+        final Function<String, CompletableFuture<String>> fn = Memoize.singleFlightAsync(this::start, 200, TimeUnit.MILLISECONDS);
+        fn.apply("a");
+        started.get(0)
+               .complete("result");
+        assertThat(fn.apply("a")
+                     .get(),
+                   equalTo("result"));
+        assertThat(calls.get(), equalTo(1));
+        Thread.sleep(300);
+        fn.apply("a");
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    public void failuresNotCached() throws Exception {
+        final Function<String, CompletableFuture<String>> fn = Memoize.singleFlightAsync(this::start, 10, TimeUnit.SECONDS);
+        final CompletableFuture<String> failed = fn.apply("a");
+        started.get(0)
+               .completeExceptionally(new IllegalStateException());
+        assertThat(failed.isCompletedExceptionally(), equalTo(true));
+        fn.apply("a");
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    public void thunderingHerd() throws Exception {
+        final Function<Integer, Integer> fn = Memoize.singleFlightFunction(i -> {
+            calls.incrementAndGet();
+            sleep(200);
+            return i * 2;
+        });
+        final CountDownLatch latch = new CountDownLatch(
+                                                        1);
+        final List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            results.add(executor.submit(() -> {
+                latch.await();
+                return fn.apply(21);
+            }));
+        latch.countDown();
+        for (final Future<Integer> result : results)
+            assertThat(result.get(), equalTo(42));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void syncFailureRethrown() {
+        Memoize.singleFlightFunction(i -> {
+            throw new IllegalStateException();
+        })
+               .apply(1);
+    }
+
+    @Test
+    public void fluentFunctionAsync() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(
+                                                        1);
+        final FluentFunctions.FluentFunction<Integer, CompletableFuture<Integer>> fn = FluentFunctions.of((final Integer i) -> {
+            calls.incrementAndGet();
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+            return i + 1;
+        })
+                                                                                                      .singleFlightAsync(executor);
+        final CompletableFuture<Integer> first = fn.apply(1);
+        final CompletableFuture<Integer> second = fn.apply(1);
+        latch.countDown();
+        assertThat(first.get() + second.get(), equalTo(4));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void fluentSupplierTtl() {
+        final Supplier<Integer> supplier = FluentFunctions.of(() -> calls.incrementAndGet())
+                                                          .singleFlight(10, TimeUnit.SECONDS);
+        assertThat(supplier.get(), equalTo(1));
+        assertThat(supplier.get(), equalTo(1));
+    }
+
+    private void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}